@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+#
+# Compares wall time and peak RSS of the JVM importer and the native importer on the bundled dexdata.
+# Build both first:
+#   ./mvnw -B -DskipTests package                      -> target/TCGWatcher-Data-0.0.1-SNAPSHOT.jar
+#   ./mvnw -B -DskipTests -Pnative-import package      -> target/tcgwatcher-import
+#
+# Usage: scripts/compare-native-startup.sh [runs]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+JAR=target/TCGWatcher-Data-0.0.1-SNAPSHOT.jar
+NATIVE=target/tcgwatcher-import
+ARGS=(--spring.profiles.active=import --spring.datasource.url=jdbc:sqlite:target/compare-import.db)
+
+measure() {
+  local label=$1
+  shift
+  for i in $(seq 1 "${RUNS}"); do
+    rm -f target/compare-import.db
+    # %e = elapsed seconds, %M = max resident set size in KB
+    /usr/bin/time -f "${label} run ${i}: %e s, %M KB max RSS" "$@" "${ARGS[@]}" > /dev/null
+  done
+}
+
+[[ -f "${JAR}" ]] && measure "jvm   " java -jar "${JAR}"
+[[ -x "${NATIVE}" ]] && measure "native" "${NATIVE}"
+rm -f target/compare-import.db
@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+#
+# Builds the importer jar, extracts it into a CDS/AOT friendly layout and records an AOT cache
+# (JEP 483/514, JDK 25) from a training import run. Scheduled imports then start with
+#
+#   java -XX:AOTCache=target/import-app/import.aot -jar target/import-app/TCGWatcher-Data-0.0.1-SNAPSHOT.jar \
+#        --spring.profiles.active=import
+#
+# TRAINING=refresh only starts the context (spring.context.exit=onRefresh) instead of running a full
+# import, which is faster but records fewer of the parser/mapper classes.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+APP_DIR=target/import-app
+JAR_NAME=TCGWatcher-Data-0.0.1-SNAPSHOT.jar
+AOT_CACHE=${APP_DIR}/import.aot
+TRAINING=${TRAINING:-import}
+
+./mvnw -B -q -DskipTests package
+
+rm -rf "${APP_DIR}"
+java -Djarmode=tools -jar "target/${JAR_NAME}" extract --destination "${APP_DIR}"
+
+TRAINING_ARGS=(--spring.profiles.active=import "--spring.datasource.url=jdbc:sqlite:${APP_DIR}/training.db")
+if [[ "${TRAINING}" == "refresh" ]]; then
+  TRAINING_ARGS+=(--spring.context.exit=onRefresh)
+fi
+
+echo "Recording AOT cache (${TRAINING} training run)..."
+java -XX:AOTCacheOutput="${AOT_CACHE}" -jar "${APP_DIR}/${JAR_NAME}" "${TRAINING_ARGS[@]}"
+rm -f "${APP_DIR}/training.db"
+
+echo "AOT cache written to ${AOT_CACHE}"
+echo "Run: java -XX:AOTCache=${AOT_CACHE} -jar ${APP_DIR}/${JAR_NAME} --spring.profiles.active=import"
@@ -1,5 +1,10 @@
 package de.dktutzer.tcgwatcher.data;
 
+import de.dktutzer.tcgwatcher.data.service.HeadlessImportRunner;
+import de.dktutzer.tcgwatcher.data.service.export.ColumnarCsvRunner;
+import de.dktutzer.tcgwatcher.data.service.jfr.JfrSummaryRunner;
+import de.dktutzer.tcgwatcher.data.service.price.PriceIngestRunner;
+import de.dktutzer.tcgwatcher.data.service.refresh.PriceRefreshRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,7 +12,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class TcgWatcherDataApplication {
 
   public static void main(String[] args) {
-    SpringApplication.run(TcgWatcherDataApplication.class, args);
+    var context = SpringApplication.run(TcgWatcherDataApplication.class, args);
+    if (context.getEnvironment()
+        .matchesProfiles(HeadlessImportRunner.PROFILE, JfrSummaryRunner.PROFILE,
+            PriceRefreshRunner.PROFILE, PriceIngestRunner.PROFILE, ColumnarCsvRunner.PROFILE)) {
+      // batch mode: the runner already ran, shut down instead of idling
+      System.exit(SpringApplication.exit(context));
+    }
   }
 
 }
@@ -6,14 +6,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.boot.restclient.RestTemplateBuilder;
 
 @Configuration
+@ImportRuntimeHints(TcgWatcherRuntimeHints.class)
 public class TcgWatcherDataConfiguration {
 
   private static final Logger log = LoggerFactory.getLogger(TcgWatcherDataConfiguration.class);
@@ -25,22 +28,32 @@ public class TcgWatcherDataConfiguration {
   }
 
   @Bean
+  @Primary
   public RestTemplate restTemplate() {
     return restTemplateBuilder
         .errorHandler(
-            new ResponseErrorHandler() {
-              @Override
-              public boolean hasError(ClientHttpResponse response) throws IOException {
-                return response.getStatusCode().isError();
-              }
-
+            // the exceptions keep the response headers, e.g. Retry-After of a 429
+            new DefaultResponseErrorHandler() {
               @Override
               public void handleError(URI url, HttpMethod method, ClientHttpResponse response) throws IOException {
-                log.error("RestTemplate error: {}", response.getStatusCode());
-                throw new HttpStatusCodeException(response.getStatusCode()) {};
+                HttpStatusCode status = response.getStatusCode();
+                if (status.value() == 429 || status.is5xxServerError()) {
+                  // throttled or busy upstream, the callers retry and log when they give up
+                  // or surface the exception
+                  log.debug("RestTemplate error: {} {}", status, url);
+                } else {
+                  log.warn("RestTemplate error: {} {}", status, url);
+                }
+                super.handleError(url, method, response);
               }
 
             })
         .build();
   }
+
+  // the TCGdex client expects 404s for languages without a translation and logs errors itself
+  @Bean
+  public RestTemplate dexRestTemplate() {
+    return restTemplateBuilder.errorHandler(new DefaultResponseErrorHandler()).build();
+  }
 }
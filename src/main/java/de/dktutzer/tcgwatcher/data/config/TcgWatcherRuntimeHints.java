@@ -0,0 +1,40 @@
+package de.dktutzer.tcgwatcher.data.config;
+
+import de.dktutzer.tcgwatcher.data.data.model.CardDetail;
+import de.dktutzer.tcgwatcher.data.data.model.CatalogHierarchy;
+import de.dktutzer.tcgwatcher.data.data.model.DexCardData;
+import de.dktutzer.tcgwatcher.data.data.model.DexSeriesData;
+import de.dktutzer.tcgwatcher.data.data.model.DexSetData;
+import de.dktutzer.tcgwatcher.data.data.model.TCGWatcherCardModel;
+import de.dktutzer.tcgwatcher.data.data.model.TCGWatcherSeriesModel;
+import de.dktutzer.tcgwatcher.data.data.model.TCGWatcherSetModel;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reachability metadata for the native importer that Spring AOT cannot infer on its own: the
+ * classpath resources loaded by name and the models that are (de)serialized with Jackson.
+ * Entities, repositories and the SQLite driver are covered by Spring AOT and the metadata shipped
+ * with sqlite-jdbc/Hibernate.
+ */
+public class TcgWatcherRuntimeHints implements RuntimeHintsRegistrar {
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    // Cardmarket product csv, loaded via ClassLoader#getResourceAsStream(app.external.csv.path)
+    hints.resources().registerPattern("*.csv.zip");
+    hints.resources().registerPattern("schema.sql");
+
+    BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+    bindingRegistrar.registerReflectionHints(hints.reflection(),
+        DexSeriesData.class,
+        DexSetData.class,
+        DexCardData.class,
+        TCGWatcherSeriesModel.class,
+        TCGWatcherSetModel.class,
+        TCGWatcherCardModel.class,
+        CardDetail.class,
+        CatalogHierarchy.class);
+  }
+}
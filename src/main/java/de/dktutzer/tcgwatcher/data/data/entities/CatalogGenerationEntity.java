@@ -0,0 +1,33 @@
+package de.dktutzer.tcgwatcher.data.data.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The single row naming the catalog currently in the database. Every import raises the
+ * generation, so processes sharing the database (a server next to the import profile) notice a
+ * new catalog without an event.
+ */
+@Entity(name = "CatalogGeneration")
+@Table(name = "catalog_generation")
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class CatalogGenerationEntity {
+
+  public static final int ID = 1;
+
+  @Id
+  @EqualsAndHashCode.Include
+  @Column(columnDefinition = "INTEGER")
+  private Integer id;
+
+  // epoch millis of the import, or the previous generation + 1 if the clock went back
+  @Column(nullable = false, columnDefinition = "INTEGER")
+  private Long generation;
+}
@@ -0,0 +1,31 @@
+package de.dktutzer.tcgwatcher.data.data.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Rich attributes of a card (attacks, abilities, weaknesses, ...) as one deflated JSON blob,
+ * kept out of qs_pokemon_cards so the quick search rows stay small. Decoded by CardDetailCodec
+ * only when a single card is opened.
+ */
+@Entity(name = "PokemonCardDetail")
+@Table(name = "qs_pokemon_card_details")
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class PokemonCardDetailEntity {
+
+  // same id as the card
+  @Id
+  @EqualsAndHashCode.Include
+  @Column(columnDefinition = "TEXT")
+  private String id;
+
+  @Column(nullable = false, columnDefinition = "BLOB")
+  private byte[] payload;
+}
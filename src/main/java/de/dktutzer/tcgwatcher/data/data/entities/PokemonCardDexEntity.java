@@ -0,0 +1,32 @@
+package de.dktutzer.tcgwatcher.data.data.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+// national pokedex number of a card, tag team cards have one row per pokemon
+@Entity(name = "PokemonCardDex")
+@Table(name = "qs_pokemon_card_dex", indexes = @Index(name = "idx_qs_pokemon_card_dex_dex_id",
+    columnList = "dex_id"))
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class PokemonCardDexEntity {
+
+  // <cardId>:<dexId>, eg: sv03-125:6
+  @Id
+  @EqualsAndHashCode.Include
+  @Column(columnDefinition = "TEXT")
+  private String id;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String cardId;
+
+  @Column(nullable = false, columnDefinition = "INTEGER")
+  private Integer dexId;
+}
@@ -1,8 +1,10 @@
 package de.dktutzer.tcgwatcher.data.data.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.EqualsAndHashCode.Include;
@@ -10,7 +12,18 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "PokemonCard")
-@Table(name = "qs_pokemon_cards")
+@Table(name = "qs_pokemon_cards", indexes = {
+    @Index(name = "idx_qs_pokemon_cards_reprint_cluster", columnList = "reprint_cluster_id"),
+    @Index(name = "idx_qs_pokemon_cards_evolution_chain", columnList = "evolution_chain_id"),
+    @Index(name = "idx_qs_pokemon_cards_sort_de", columnList = "sort_key_de, id"),
+    @Index(name = "idx_qs_pokemon_cards_sort_en", columnList = "sort_key_en, id"),
+    @Index(name = "idx_qs_pokemon_cards_sort_fr", columnList = "sort_key_fr, id"),
+    @Index(name = "idx_qs_pokemon_cards_set_number", columnList = "set_id, number_sort, id"),
+    // exact identifier lookups of the card resolution fallback
+    @Index(name = "idx_qs_pokemon_cards_code", columnList = "code"),
+    @Index(name = "idx_qs_pokemon_cards_cm_page_id", columnList = "cm_page_id"),
+    @Index(name = "idx_qs_pokemon_cards_cm_product_id", columnList = "cm_product_id"),
+    @Index(name = "idx_qs_pokemon_cards_tcgp_id", columnList = "tcgp_id")})
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -30,6 +43,17 @@ public class PokemonCardEntity {
   @Column(name = "name_en", nullable = false, columnDefinition = "TEXT")
   private String nameEn;
 
+  // CollationKey bytes of the names per language, for locale correct ORDER BY (see CollationKeys)
+  @JsonIgnore
+  @Column(name = "sort_key_de", columnDefinition = "BLOB")
+  private byte[] sortKeyDe;
+  @JsonIgnore
+  @Column(name = "sort_key_fr", columnDefinition = "BLOB")
+  private byte[] sortKeyFr;
+  @JsonIgnore
+  @Column(name = "sort_key_en", columnDefinition = "BLOB")
+  private byte[] sortKeyEn;
+
   // the card code
   // eg: MEG 104 for Mega-Kangaskhan-ex-V1-MEG104
   @Column(nullable = false, columnDefinition = "TEXT")
@@ -49,4 +73,27 @@ public class PokemonCardEntity {
   @Column(nullable = false, columnDefinition = "TEXT")
   private String setId;
 
+  // number within the set as printed, eg: 4, TG05, 177a
+  @Column(columnDefinition = "TEXT")
+  private String number;
+
+  // number with zero padded digit runs, orders 2 before 10 (see CardNumbers)
+  @JsonIgnore
+  @Column(name = "number_sort", columnDefinition = "TEXT")
+  private String numberSort;
+
+  // content fingerprint, equal for all reprints of the same card
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String reprintClusterId;
+
+  // evolution graph, null for cards without species (trainers, energies)
+  // eg: dex:6
+  @Column(columnDefinition = "TEXT")
+  private String speciesKey;
+  @Column(columnDefinition = "TEXT")
+  private String evolutionChainId;
+  // 0 = basic, 1 = first evolution, ...
+  @Column(columnDefinition = "INTEGER")
+  private Integer evolutionStage;
+
 }
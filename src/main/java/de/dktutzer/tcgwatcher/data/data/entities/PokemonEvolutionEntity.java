@@ -0,0 +1,37 @@
+package de.dktutzer.tcgwatcher.data.data.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+// one "evolves into" edge between two species
+@Entity(name = "PokemonEvolution")
+@Table(name = "qs_pokemon_evolutions", indexes = {
+    @Index(name = "idx_qs_pokemon_evolutions_chain", columnList = "chain_id"),
+    @Index(name = "idx_qs_pokemon_evolutions_from", columnList = "from_species"),
+    @Index(name = "idx_qs_pokemon_evolutions_to", columnList = "to_species")})
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class PokemonEvolutionEntity {
+
+  // <fromSpecies>><toSpecies>, eg: dex:5>dex:6
+  @Id
+  @EqualsAndHashCode.Include
+  @Column(columnDefinition = "TEXT")
+  private String id;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String chainId;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String fromSpecies;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String toSpecies;
+}
@@ -0,0 +1,35 @@
+package de.dktutzer.tcgwatcher.data.data.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+// upstream url of a set logo/symbol or card image, served through the image proxy
+@Entity(name = "PokemonImage")
+@Table(name = "qs_pokemon_images")
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class PokemonImageEntity {
+
+  // <ownerId>:<kind>, eg: base1:logo or base1-4:card
+  @Id
+  @EqualsAndHashCode.Include
+  @Column(columnDefinition = "TEXT")
+  private String id;
+
+  // set or card id
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String ownerId;
+
+  // logo, symbol or card
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String kind;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String url;
+}
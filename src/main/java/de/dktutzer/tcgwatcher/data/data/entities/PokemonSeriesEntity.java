@@ -1,15 +1,20 @@
 package de.dktutzer.tcgwatcher.data.data.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "PokemonSeries")
-@Table(name = "qs_pokemon_series")
+@Table(name = "qs_pokemon_series", indexes = {
+    @Index(name = "idx_qs_pokemon_series_sort_de", columnList = "sort_key_de, id"),
+    @Index(name = "idx_qs_pokemon_series_sort_en", columnList = "sort_key_en, id"),
+    @Index(name = "idx_qs_pokemon_series_sort_fr", columnList = "sort_key_fr, id")})
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -26,4 +31,15 @@ public class PokemonSeriesEntity {
   private String nameFr;
   @Column(name = "name_en", nullable = false, columnDefinition = "TEXT")
   private String nameEn;
+
+  // CollationKey bytes of the names per language, for locale correct ORDER BY (see CollationKeys)
+  @JsonIgnore
+  @Column(name = "sort_key_de", columnDefinition = "BLOB")
+  private byte[] sortKeyDe;
+  @JsonIgnore
+  @Column(name = "sort_key_fr", columnDefinition = "BLOB")
+  private byte[] sortKeyFr;
+  @JsonIgnore
+  @Column(name = "sort_key_en", columnDefinition = "BLOB")
+  private byte[] sortKeyEn;
 }
@@ -1,8 +1,10 @@
 package de.dktutzer.tcgwatcher.data.data.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -11,7 +13,11 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "PokemonSet")
-@Table(name = "qs_pokemon_sets")
+@Table(name = "qs_pokemon_sets", indexes = {
+    @Index(name = "idx_qs_pokemon_sets_sort_de", columnList = "sort_key_de, id"),
+    @Index(name = "idx_qs_pokemon_sets_sort_en", columnList = "sort_key_en, id"),
+    @Index(name = "idx_qs_pokemon_sets_sort_fr", columnList = "sort_key_fr, id"),
+    @Index(name = "idx_qs_pokemon_sets_release", columnList = "release_date, id")})
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -29,6 +35,17 @@ public class PokemonSetEntity {
   @Column(name = "name_en", nullable = false, columnDefinition = "TEXT")
   private String nameEn;
 
+  // CollationKey bytes of the names per language, for locale correct ORDER BY (see CollationKeys)
+  @JsonIgnore
+  @Column(name = "sort_key_de", columnDefinition = "BLOB")
+  private byte[] sortKeyDe;
+  @JsonIgnore
+  @Column(name = "sort_key_fr", columnDefinition = "BLOB")
+  private byte[] sortKeyFr;
+  @JsonIgnore
+  @Column(name = "sort_key_en", columnDefinition = "BLOB")
+  private byte[] sortKeyEn;
+
   @Column(nullable = false, columnDefinition = "TEXT")
   private String code;
 
@@ -47,6 +64,10 @@ public class PokemonSetEntity {
   @Column(nullable = false, columnDefinition = "TEXT")
   private String cmProductId;
 
+  // ISO8601 date time, eg: 1999-01-09 00:00:00.000; empty if unknown
+  @Column(name = "release_date", columnDefinition = "TEXT")
+  private String releaseDate;
+
   @ManyToOne(optional = false)
   @JoinColumn(name = "series_id", referencedColumnName = "id")
   private PokemonSeriesEntity series;
@@ -0,0 +1,64 @@
+package de.dktutzer.tcgwatcher.data.data.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Daily price history of one product of one price source, stored column-wise: one delta/varint
+ * encoded blob for the days and one per price metric. Prices are kept in cents, shifted by one so
+ * that 0 can mark a missing value (see PriceSeriesCodec).
+ */
+@Entity(name = "PriceSeries")
+@Table(name = "price_series", indexes = @Index(name = "idx_price_series_product",
+    columnList = "source, product_id"))
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class PriceSeriesEntity {
+
+  // <source>:<productId>, eg: cardmarket:273537
+  @Id
+  @EqualsAndHashCode.Include
+  @Column(columnDefinition = "TEXT")
+  private String id;
+
+  // cardmarket or tcgplayer
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String source;
+
+  // cmProductId or tcgpId of the card
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String productId;
+
+  // epoch days
+  @Column(nullable = false, columnDefinition = "INTEGER")
+  private Integer firstDay;
+  @Column(nullable = false, columnDefinition = "INTEGER")
+  private Integer lastDay;
+
+  @Column(nullable = false, columnDefinition = "INTEGER")
+  private Integer pointCount;
+
+  // last raw values, the base for the next delta
+  @Column(nullable = false, columnDefinition = "INTEGER")
+  private Long lastLow;
+  @Column(nullable = false, columnDefinition = "INTEGER")
+  private Long lastAvg;
+  @Column(nullable = false, columnDefinition = "INTEGER")
+  private Long lastTrend;
+
+  @Column(nullable = false, columnDefinition = "BLOB")
+  private byte[] days;
+  @Column(nullable = false, columnDefinition = "BLOB")
+  private byte[] low;
+  @Column(nullable = false, columnDefinition = "BLOB")
+  private byte[] avg;
+  @Column(nullable = false, columnDefinition = "BLOB")
+  private byte[] trend;
+}
@@ -0,0 +1,55 @@
+package de.dktutzer.tcgwatcher.data.data.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A user's price watch on one product, e.g. "cardmarket trend of 273537 drops below 5.00" or
+ * "rises 20% within 7 days". Evaluated by the PriceAlertService whenever a snapshot is ingested.
+ */
+@Entity(name = "PriceWatch")
+@Table(name = "price_watches", indexes = @Index(name = "idx_price_watches_user",
+    columnList = "user_id"))
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class PriceWatchEntity {
+
+  @Id
+  @EqualsAndHashCode.Include
+  @Column(columnDefinition = "TEXT")
+  private String id;
+
+  @Column(name = "user_id", nullable = false, columnDefinition = "TEXT")
+  private String userId;
+
+  // cardmarket or tcgplayer
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String source;
+
+  // cmProductId or tcgpId of the card
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String productId;
+
+  // LOW, AVG or TREND
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String metric;
+
+  // BELOW, ABOVE, RISE_PERCENT or DROP_PERCENT
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String kind;
+
+  // cents for BELOW/ABOVE, basis points (2000 = 20%) for RISE_PERCENT/DROP_PERCENT
+  @Column(nullable = false, columnDefinition = "INTEGER")
+  private Long threshold;
+
+  // compare with the price this many days ago, only for the percent kinds
+  @Column(nullable = false, columnDefinition = "INTEGER")
+  private Integer windowDays;
+}
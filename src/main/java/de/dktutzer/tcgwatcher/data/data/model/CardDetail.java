@@ -0,0 +1,27 @@
+package de.dktutzer.tcgwatcher.data.data.model;
+
+import java.util.List;
+import java.util.Map;
+
+// everything of a DexCardData that is not part of the quick search row
+public record CardDetail(
+    String cardId,
+    Map<String, String> names,
+    String supertype,
+    List<String> subtypes,
+    String rarity,
+    String hp,
+    List<String> types,
+    String stage,
+    Map<String, String> evolveFrom,
+    List<Map<String, String>> abilities,
+    List<Map<String, String>> attacks,
+    List<Map<String, String>> weaknesses,
+    List<Map<String, String>> resistances,
+    List<String> retreatCost,
+    Integer retreat,
+    Integer convertedRetreatCost,
+    String artist,
+    Map<String, String> description,
+    List<Integer> dexIds) {
+}
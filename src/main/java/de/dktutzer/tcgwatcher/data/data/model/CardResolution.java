@@ -0,0 +1,23 @@
+package de.dktutzer.tcgwatcher.data.data.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+
+// result for one requested identifier, matchedBy and card are null if it could not be resolved
+public record CardResolution(
+    String identifier,
+    IdentifierType matchedBy,
+    PokemonCardEntity card) {
+
+  public enum IdentifierType {
+    CODE,
+    CM_PAGE_ID,
+    CM_PRODUCT_ID,
+    TCGP_ID
+  }
+
+  @JsonProperty("resolved")
+  public boolean resolved() {
+    return card != null;
+  }
+}
@@ -0,0 +1,27 @@
+package de.dktutzer.tcgwatcher.data.data.model;
+
+import java.util.List;
+
+/** The series → sets tree of the browse screen. */
+public record CatalogHierarchy(
+    List<Series> series) {
+
+  public record Series(
+      String id,
+      String nameDe,
+      String nameFr,
+      String nameEn,
+      List<CardSet> sets) {
+  }
+
+  public record CardSet(
+      String id,
+      String code, // eg: MEG
+      String abbreviation,
+      String nameDe,
+      String nameFr,
+      String nameEn,
+      int total,
+      int official) {
+  }
+}
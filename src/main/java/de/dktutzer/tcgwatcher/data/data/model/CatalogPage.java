@@ -0,0 +1,9 @@
+package de.dktutzer.tcgwatcher.data.data.model;
+
+import java.util.List;
+
+// one page of a keyset paginated listing, next is null on the last page
+public record CatalogPage<T>(
+    List<T> items,
+    String next) {
+}
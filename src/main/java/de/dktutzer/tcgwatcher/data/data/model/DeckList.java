@@ -0,0 +1,33 @@
+package de.dktutzer.tcgwatcher.data.data.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import java.util.List;
+
+// a resolved deck list, cardCount is the sum of all quantities
+public record DeckList(
+    List<Entry> entries,
+    int cardCount,
+    int unresolved) {
+
+  public enum MatchType {
+    SET_CODE_NUMBER,
+    NAME
+  }
+
+  // one card line, matchedBy and card are null if it could not be resolved
+  public record Entry(
+      int line, // 1 based line in the submitted text
+      int quantity,
+      String name,
+      String setCode, // null if the line has no set code and number
+      String number,
+      MatchType matchedBy,
+      PokemonCardEntity card) {
+
+    @JsonProperty("resolved")
+    public boolean resolved() {
+      return card != null;
+    }
+  }
+}
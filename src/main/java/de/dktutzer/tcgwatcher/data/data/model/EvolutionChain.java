@@ -0,0 +1,20 @@
+package de.dktutzer.tcgwatcher.data.data.model;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import java.util.List;
+
+public record EvolutionChain(
+    String chainId, // smallest species key of the chain, eg: dex:4
+    List<Stage> stages, // ordered by stage: basic first
+    List<Evolution> evolutions) { // species edges, needed for branching lines (eevee)
+
+  public record Stage(
+      int stage,
+      List<PokemonCardEntity> cards) {
+  }
+
+  public record Evolution(
+      String fromSpecies,
+      String toSpecies) {
+  }
+}
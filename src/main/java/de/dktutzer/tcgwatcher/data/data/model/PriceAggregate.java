@@ -0,0 +1,12 @@
+package de.dktutzer.tcgwatcher.data.data.model;
+
+import java.time.LocalDate;
+
+// min/max/avg of one price metric over a day or week, in cents
+public record PriceAggregate(
+    LocalDate periodStart,
+    long min,
+    long max,
+    double avg,
+    int count) {
+}
@@ -0,0 +1,17 @@
+package de.dktutzer.tcgwatcher.data.data.model;
+
+import java.time.LocalDate;
+
+// a triggered price watch, prices in cents
+public record PriceAlert(
+    String watchId,
+    String userId,
+    String source,
+    String productId,
+    String metric,
+    String kind,
+    long threshold, // cents or basis points, see PriceWatchEntity
+    LocalDate date, // day of the snapshot that triggered the watch
+    Long previousPrice, // null if the product had no price for the metric before
+    long price) {
+}
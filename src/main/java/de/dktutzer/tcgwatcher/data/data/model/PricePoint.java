@@ -0,0 +1,11 @@
+package de.dktutzer.tcgwatcher.data.data.model;
+
+import java.time.LocalDate;
+
+// one day of a price series, prices in cents (null = not reported that day)
+public record PricePoint(
+    LocalDate date,
+    Long low,
+    Long avg,
+    Long trend) {
+}
@@ -0,0 +1,18 @@
+package de.dktutzer.tcgwatcher.data.data.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record PriceSnapshot(
+    String source, // cardmarket or tcgplayer
+    LocalDate date,
+    List<Entry> entries) {
+
+  // prices in cents, null if the dump has no value for the product
+  public record Entry(
+      String productId,
+      Long low,
+      Long avg,
+      Long trend) {
+  }
+}
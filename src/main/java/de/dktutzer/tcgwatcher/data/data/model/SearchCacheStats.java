@@ -0,0 +1,12 @@
+package de.dktutzer.tcgwatcher.data.data.model;
+
+// counters since startup, generation counts the imports seen by the cache
+public record SearchCacheStats(
+    long generation,
+    long hitCount,
+    long missCount,
+    double hitRate,
+    long evictionCount,
+    long estimatedSize,
+    long weightedSize) {
+}
@@ -1,5 +1,6 @@
 package de.dktutzer.tcgwatcher.data.data.model;
 
+import java.util.List;
 import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,5 +23,10 @@ public class TCGWatcherCardModel {
   private String tcgpId; //TCGPlayer id
   private String cmCode; //cardmarket code like 'reecko-PRC6'
 
+  private String reprintClusterId; //content fingerprint shared by all printings of the card
+
+  private List<Integer> dexIds; //national pokedex numbers, several for tag teams
+  private Map<String, String> evolveFrom; //localized name of the pre-evolution
+
 
 }
@@ -0,0 +1,127 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import de.dktutzer.tcgwatcher.data.data.model.DexCardData;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical content fingerprint of a card: everything that makes two printings "the same card"
+ * (names, hp, types, stage, evolveFrom, abilities, attacks, weaknesses, resistances, retreat) and
+ * nothing that differs between reprints (number, rarity, artist, set, flavor text, ids). Cards
+ * with the same fingerprint form a reprint cluster, so clustering is a single hash per card.
+ *
+ * <p>Localized texts only contribute their {@value #CANONICAL_LANGUAGE} version (the first
+ * language in key order if there is none): later prints often add languages or fix a translation,
+ * which must not split a cluster.
+ */
+public final class CardFingerprints {
+
+  static final String CANONICAL_LANGUAGE = "en";
+
+  private static final HexFormat HEX = HexFormat.of();
+  // a localized text inside an attack or ability as the card file has it: { en: "...", de: "..." }
+  private static final Pattern LOCALIZED_ENTRY =
+      Pattern.compile("(\\w+)\\s*[:=]\\s*(?:'([^']*)'|\"([^\"]*)\")");
+
+  private CardFingerprints() {
+  }
+
+  /** 64 bit fingerprint as 16 hex chars, used as the reprint cluster id. */
+  public static String fingerprint(DexCardData card) {
+    StringBuilder canonical = new StringBuilder(256);
+    appendValue(canonical, "name", canonical(card.names()));
+    appendValue(canonical, "supertype", card.supertype());
+    appendList(canonical, "subtypes", card.subtypes(), true);
+    appendValue(canonical, "hp", card.hp());
+    appendList(canonical, "types", card.types(), true);
+    appendValue(canonical, "stage", card.stage());
+    appendValue(canonical, "evolveFrom", canonical(card.evolveFrom()));
+    appendObjects(canonical, "abilities", card.abilities());
+    appendObjects(canonical, "attacks", card.attacks());
+    appendObjects(canonical, "weaknesses", card.weaknesses());
+    appendObjects(canonical, "resistances", card.resistances());
+    appendValue(canonical, "retreat", card.retreat() == null ? null : card.retreat().toString());
+
+    byte[] digest = sha256().digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+    return HEX.formatHex(digest, 0, 8);
+  }
+
+  private static void appendValue(StringBuilder sb, String key, String value) {
+    sb.append(key).append('=').append(normalize(value)).append('\n');
+  }
+
+  private static void appendMap(StringBuilder sb, String key, Map<String, String> map) {
+    sb.append(key).append("={");
+    if (map != null) {
+      new TreeMap<>(map).forEach((k, v) ->
+          sb.append(k).append(':').append(normalize(canonicalText(v))).append(';'));
+    }
+    sb.append("}\n");
+  }
+
+  /** The canonical language version of a localized text, null if there is none. */
+  static String canonical(Map<String, String> localized) {
+    if (localized == null || localized.isEmpty()) {
+      return null;
+    }
+    String value = localized.get(CANONICAL_LANGUAGE);
+    return value != null ? value : new TreeMap<>(localized).firstEntry().getValue();
+  }
+
+  // attack and ability values may be localized objects, anything else is taken as is
+  private static String canonicalText(String value) {
+    if (value == null || !value.startsWith("{") || !value.endsWith("}")) {
+      return value;
+    }
+    Map<String, String> localized = new TreeMap<>();
+    Matcher entry = LOCALIZED_ENTRY.matcher(value);
+    while (entry.find()) {
+      localized.put(entry.group(1), entry.group(2) != null ? entry.group(2) : entry.group(3));
+    }
+    return localized.isEmpty() ? value : canonical(localized);
+  }
+
+  private static void appendList(StringBuilder sb, String key, List<String> values,
+      boolean unordered) {
+    sb.append(key).append("=[");
+    if (values != null) {
+      var normalized = values.stream().map(CardFingerprints::normalize);
+      (unordered ? normalized.sorted() : normalized).forEach(v -> sb.append(v).append(';'));
+    }
+    sb.append("]\n");
+  }
+
+  // attack/ability order is part of the card, key order inside one object is not
+  private static void appendObjects(StringBuilder sb, String key, List<Map<String, String>> objects) {
+    sb.append(key).append("=[");
+    if (objects != null) {
+      for (Map<String, String> object : objects) {
+        appendMap(sb, "", object);
+      }
+    }
+    sb.append("]\n");
+  }
+
+  private static String normalize(String value) {
+    if (value == null) {
+      return "";
+    }
+    return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+/**
+ * Sortable form of printed card numbers: every run of digits is padded to {@value #DIGITS} places,
+ * so a plain string order puts 2 before 10 and the numbered cards of a set before its subsets
+ * (digits sort before letters): 1, 2, 10, 102, 177a, SV001, TG05.
+ */
+public final class CardNumbers {
+
+  private static final int DIGITS = 6;
+
+  private CardNumbers() {
+  }
+
+  public static String sortKey(String number) {
+    if (number == null) {
+      return "";
+    }
+    StringBuilder key = new StringBuilder(number.length() + DIGITS);
+    int i = 0;
+    while (i < number.length()) {
+      char c = number.charAt(i);
+      if (c < '0' || c > '9') {
+        key.append(c);
+        i++;
+        continue;
+      }
+      int start = i;
+      while (i < number.length() && number.charAt(i) >= '0' && number.charAt(i) <= '9') {
+        i++;
+      }
+      // 05 and 5 are the same number
+      int significant = start;
+      while (significant < i - 1 && number.charAt(significant) == '0') {
+        significant++;
+      }
+      key.repeat('0', Math.max(0, DIGITS - (i - significant)));
+      key.append(number, significant, i);
+    }
+    return key.toString();
+  }
+}
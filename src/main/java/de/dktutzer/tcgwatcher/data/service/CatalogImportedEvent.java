@@ -0,0 +1,15 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import java.time.Instant;
+
+/**
+ * Published by {@link TCGMapperService} after a new generation of the quick-search tables has been
+ * written. In-memory read structures built from those tables are stale from here on.
+ *
+ * @param generation the {@code catalog_generation} number the import raised the row to
+ */
+public record CatalogImportedEvent(
+    Instant importedAt,
+    int cardCount,
+    long generation) {
+}
@@ -0,0 +1,114 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSeriesEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSetEntity;
+import de.dktutzer.tcgwatcher.data.data.model.CatalogPage;
+import de.dktutzer.tcgwatcher.data.service.CollationKeys.Language;
+import de.dktutzer.tcgwatcher.data.service.persistence.QuickSearchCardsSqliteRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.SeriesSqlRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.SetsSqliteRepository;
+import java.util.List;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Catalog listings sorted by name the way a reader of the language expects. The order comes from
+ * the collation keys stored at import time, so SQLite walks an index instead of sorting with a
+ * Java {@link java.text.Collator} on every request.
+ *
+ * <p>The browse listings page by keyset: the cursor holds the sort key of the last row and the
+ * next page seeks behind it in the index, so page N costs the same as page 1.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogListingService {
+
+  private final QuickSearchCardsSqliteRepository quickSearchCardsSqliteRepository;
+  private final SetsSqliteRepository setsSqliteRepository;
+  private final SeriesSqlRepository seriesSqlRepository;
+
+  public List<PokemonCardEntity> listCards(Language language, int limit) {
+    var max = Limit.of(Math.clamp(limit, 1, CatalogSearchService.MAX_LIMIT));
+    return switch (language) {
+      case DE -> quickSearchCardsSqliteRepository.findAllByOrderBySortKeyDeAscIdAsc(max);
+      case EN -> quickSearchCardsSqliteRepository.findAllByOrderBySortKeyEnAscIdAsc(max);
+      case FR -> quickSearchCardsSqliteRepository.findAllByOrderBySortKeyFrAscIdAsc(max);
+    };
+  }
+
+  public List<PokemonSetEntity> listSets(Language language) {
+    return switch (language) {
+      case DE -> setsSqliteRepository.findAllByOrderBySortKeyDeAscIdAsc();
+      case EN -> setsSqliteRepository.findAllByOrderBySortKeyEnAscIdAsc();
+      case FR -> setsSqliteRepository.findAllByOrderBySortKeyFrAscIdAsc();
+    };
+  }
+
+  /**
+   * Sets by release date, newest first unless {@code oldestFirst}.
+   *
+   * @param cursor {@link CatalogPage#next()} of the previous page, null for the first page
+   * @throws IllegalArgumentException if the cursor is invalid
+   */
+  public CatalogPage<PokemonSetEntity> browseSets(boolean oldestFirst, int limit, String cursor) {
+    var max = Limit.of(Math.clamp(limit, 1, CatalogSearchService.MAX_LIMIT) + 1);
+    List<PokemonSetEntity> rows;
+    if (cursor == null) {
+      rows = oldestFirst
+          ? setsSqliteRepository.findAllByOrderByReleaseDateAscIdAsc(max)
+          : setsSqliteRepository.findAllByOrderByReleaseDateDescIdDesc(max);
+    } else {
+      String[] key = KeysetCursor.decode(cursor, 2);
+      rows = oldestFirst
+          ? setsSqliteRepository.findPageAfter(key[0], key[1], max)
+          : setsSqliteRepository.findPageBefore(key[0], key[1], max);
+    }
+    return page(rows, max.max() - 1, set -> KeysetCursor.encode(set.getReleaseDate(), set.getId()));
+  }
+
+  /**
+   * Cards by set and card number, optionally of one set only.
+   *
+   * @param cursor {@link CatalogPage#next()} of the previous page, null for the first page
+   * @throws IllegalArgumentException if the cursor is invalid
+   */
+  public CatalogPage<PokemonCardEntity> browseCards(String setId, int limit, String cursor) {
+    var max = Limit.of(Math.clamp(limit, 1, CatalogSearchService.MAX_LIMIT) + 1);
+    List<PokemonCardEntity> rows;
+    if (cursor == null) {
+      rows = setId == null
+          ? quickSearchCardsSqliteRepository.findAllByOrderBySetIdAscNumberSortAscIdAsc(max)
+          : quickSearchCardsSqliteRepository.findBySetIdOrderByNumberSortAscIdAsc(setId, max);
+    } else {
+      String[] key = KeysetCursor.decode(cursor, 3);
+      if (setId != null && !setId.equals(key[0])) {
+        throw new IllegalArgumentException("Cursor belongs to set " + key[0]);
+      }
+      rows = setId == null
+          ? quickSearchCardsSqliteRepository.findPageAfter(key[0], key[1], key[2], max)
+          : quickSearchCardsSqliteRepository.findPageInSetAfter(key[0], key[1], key[2], max);
+    }
+    return page(rows, max.max() - 1,
+        card -> KeysetCursor.encode(card.getSetId(), card.getNumberSort(), card.getId()));
+  }
+
+  public List<PokemonSeriesEntity> listSeries(Language language) {
+    return switch (language) {
+      case DE -> seriesSqlRepository.findAllByOrderBySortKeyDeAscIdAsc();
+      case EN -> seriesSqlRepository.findAllByOrderBySortKeyEnAscIdAsc();
+      case FR -> seriesSqlRepository.findAllByOrderBySortKeyFrAscIdAsc();
+    };
+  }
+
+  // rows holds one row more than the page when there is a next page
+  private static <T> CatalogPage<T> page(List<T> rows, int pageSize, Function<T, String> cursor) {
+    if (rows.size() <= pageSize) {
+      return new CatalogPage<>(rows, null);
+    }
+    List<T> items = rows.subList(0, pageSize);
+    return new CatalogPage<>(List.copyOf(items), cursor.apply(items.getLast()));
+  }
+}
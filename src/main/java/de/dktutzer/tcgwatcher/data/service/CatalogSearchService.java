@@ -0,0 +1,68 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSetEntity;
+import de.dktutzer.tcgwatcher.data.service.persistence.QuickSearchCardsSqliteRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.SetsSqliteRepository;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CatalogSearchService {
+
+  public static final int MAX_LIMIT = 500;
+
+  private final QuickSearchCardsSqliteRepository quickSearchCardsSqliteRepository;
+  private final SetsSqliteRepository setsSqliteRepository;
+  private final SearchResultCache searchResultCache;
+
+  /**
+   * Cards whose name (any language) or code contains the query.
+   *
+   * @param collapseReprints return only one card per reprint cluster
+   */
+  public List<PokemonCardEntity> searchCards(String query, boolean collapseReprints, int limit) {
+    String normalized = normalizeQuery(query);
+    if (normalized.isEmpty()) {
+      return List.of();
+    }
+    int max = Math.clamp(limit, 1, MAX_LIMIT);
+    return searchResultCache.get("cards", normalized, collapseReprints, max, () -> {
+      String pattern = "%" + escapeLike(normalized) + "%";
+      return collapseReprints
+          ? quickSearchCardsSqliteRepository.searchCollapsingReprints(pattern, Limit.of(max))
+          : quickSearchCardsSqliteRepository.search(pattern, Limit.of(max));
+    });
+  }
+
+  /** Sets whose name (any language), code or abbreviation contains the query. */
+  public List<PokemonSetEntity> searchSets(String query, int limit) {
+    String normalized = normalizeQuery(query);
+    if (normalized.isEmpty()) {
+      return List.of();
+    }
+    int max = Math.clamp(limit, 1, MAX_LIMIT);
+    return searchResultCache.get("sets", normalized, false, max, () -> setsSqliteRepository
+        .search("%" + escapeLike(normalized) + "%", Limit.of(max)));
+  }
+
+  /** All printings of the given card, including the card itself. */
+  public List<PokemonCardEntity> findReprints(String cardId) {
+    return quickSearchCardsSqliteRepository.findById(cardId)
+        .map(card -> quickSearchCardsSqliteRepository
+            .findByReprintClusterIdOrderBySetIdAscIdAsc(card.getReprintClusterId()))
+        .orElse(List.of());
+  }
+
+  static String normalizeQuery(String query) {
+    return query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  private static String escapeLike(String value) {
+    return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+  }
+}
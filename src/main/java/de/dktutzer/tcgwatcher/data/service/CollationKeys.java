@@ -0,0 +1,63 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import java.text.Collator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Locale specific sort keys ({@link java.text.CollationKey} bytes) for names. Comparing the keys
+ * byte by byte gives the same order as the {@link Collator}, so SQLite can ORDER BY the stored
+ * BLOBs through an index and still sort "Äther" next to "Ather".
+ *
+ * <p>Not thread safe (neither is {@link Collator}); use one instance per import. Keys are cached,
+ * since names repeat a lot across reprints and languages.
+ */
+public final class CollationKeys {
+
+  public enum Language {
+    DE(Locale.GERMAN),
+    EN(Locale.ENGLISH),
+    FR(Locale.FRENCH);
+
+    private final Locale locale;
+
+    Language(Locale locale) {
+      this.locale = locale;
+    }
+
+    public Locale locale() {
+      return locale;
+    }
+
+    /** Language for an ISO code like "de", case insensitive. */
+    public static Language of(String code) {
+      for (Language language : values()) {
+        if (language.locale.getLanguage().equalsIgnoreCase(code == null ? "" : code.trim())) {
+          return language;
+        }
+      }
+      throw new IllegalArgumentException("Unsupported language " + code);
+    }
+  }
+
+  private final Map<Language, Collator> collators = new EnumMap<>(Language.class);
+  private final Map<Language, Map<String, byte[]>> cache = new EnumMap<>(Language.class);
+
+  public CollationKeys() {
+    for (Language language : Language.values()) {
+      Collator collator = Collator.getInstance(language.locale());
+      collator.setStrength(Collator.TERTIARY);
+      collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+      collators.put(language, collator);
+      cache.put(language, new HashMap<>());
+    }
+  }
+
+  public byte[] sortKey(Language language, String value) {
+    String name = value == null ? "" : value;
+    return cache.get(language).computeIfAbsent(name,
+        n -> collators.get(language).getCollationKey(n).toByteArray());
+  }
+}
@@ -0,0 +1,93 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * On-disk cache of TCGdex API responses. Every url maps to {@code <sha256>.json} holding the body
+ * and {@code <sha256>.properties} holding the validators (ETag, Last-Modified) for conditional
+ * requests. Files are written to a temp file and moved, so concurrent writers never expose a
+ * partial body.
+ */
+class DexApiResponseCache {
+
+  private static final String KEY_ETAG = "etag";
+  private static final String KEY_LAST_MODIFIED = "lastModified";
+  private static final String KEY_URL = "url";
+
+  private final Path dir;
+
+  DexApiResponseCache(Path dir) {
+    this.dir = dir;
+  }
+
+  Optional<Entry> get(String url) {
+    Path body = dir.resolve(key(url) + ".json");
+    Path meta = dir.resolve(key(url) + ".properties");
+    if (!Files.isRegularFile(body) || !Files.isRegularFile(meta)) {
+      return Optional.empty();
+    }
+    try (var reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+      Properties properties = new Properties();
+      properties.load(reader);
+      return Optional.of(new Entry(Files.readAllBytes(body), properties.getProperty(KEY_ETAG),
+          properties.getProperty(KEY_LAST_MODIFIED)));
+    } catch (IOException e) {
+      // a broken cache entry only costs a full request
+      return Optional.empty();
+    }
+  }
+
+  void put(String url, byte[] body, String etag, String lastModified) {
+    if (etag == null && lastModified == null) {
+      // nothing to revalidate with
+      return;
+    }
+    try {
+      Files.createDirectories(dir);
+      String key = key(url);
+      Properties properties = new Properties();
+      properties.setProperty(KEY_URL, url);
+      if (etag != null) {
+        properties.setProperty(KEY_ETAG, etag);
+      }
+      if (lastModified != null) {
+        properties.setProperty(KEY_LAST_MODIFIED, lastModified);
+      }
+      Path bodyTmp = Files.createTempFile(dir, key, ".json.tmp");
+      Files.write(bodyTmp, body);
+      Files.move(bodyTmp, dir.resolve(key + ".json"), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      Path metaTmp = Files.createTempFile(dir, key, ".properties.tmp");
+      try (var writer = Files.newBufferedWriter(metaTmp, StandardCharsets.UTF_8)) {
+        properties.store(writer, null);
+      }
+      Files.move(metaTmp, dir.resolve(key + ".properties"), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to cache response of " + url, e);
+    }
+  }
+
+  private static String key(String url) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(url.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  record Entry(byte[] body, String etag, String lastModified) {
+  }
+}
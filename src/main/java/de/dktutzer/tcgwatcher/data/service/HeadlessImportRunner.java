@@ -0,0 +1,37 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a single import when the application is started with the {@value #PROFILE} profile.
+ * The profile disables the web server and Hibernate schema diffing (see
+ * application-import.properties), so the process starts, imports and exits. With
+ * {@code app.import.workers} above 1 it coordinates a {@link PartitionedImportService} instead.
+ */
+@Component
+@Profile(HeadlessImportRunner.PROFILE)
+@RequiredArgsConstructor
+@Slf4j
+public class HeadlessImportRunner implements ApplicationRunner {
+
+  public static final String PROFILE = "import";
+
+  private final TCGMapperService tcgMapperService;
+  private final PartitionedImportService partitionedImportService;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    long start = System.nanoTime();
+    if (partitionedImportService.isEnabled()) {
+      partitionedImportService.readFromFilesAndWriteToSqlite();
+    } else {
+      tcgMapperService.readFromFilesAndWriteToSqlite();
+    }
+    log.info("Headless import finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+  }
+}
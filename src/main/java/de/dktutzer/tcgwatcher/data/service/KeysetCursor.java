@@ -0,0 +1,46 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque page cursors: the sort key of the last row of a page, so the next page starts with an
+ * index seek behind it instead of skipping {@code offset} rows.
+ */
+public final class KeysetCursor {
+
+  private static final String VERSION = "1";
+  private static final String SEPARATOR = "\u0000";
+
+  private KeysetCursor() {
+  }
+
+  // null keys (rows imported before the key column existed) become empty strings
+  public static String encode(String... keys) {
+    StringBuilder joined = new StringBuilder(VERSION);
+    for (String key : keys) {
+      joined.append(SEPARATOR).append(key == null ? "" : key);
+    }
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(joined.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @throws IllegalArgumentException if the cursor is malformed or has a different number of keys
+   */
+  public static String[] decode(String cursor, int keyCount) {
+    String joined;
+    try {
+      joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+    }
+    String[] parts = joined.split(SEPARATOR, -1);
+    if (parts.length != keyCount + 1 || !parts[0].equals(VERSION)) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+    String[] keys = new String[keyCount];
+    System.arraycopy(parts, 1, keys, 0, keyCount);
+    return keys;
+  }
+}
@@ -0,0 +1,368 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import static de.dktutzer.tcgwatcher.data.service.TCGMapperService.end;
+import static de.dktutzer.tcgwatcher.data.service.TCGMapperService.stage;
+
+import de.dktutzer.tcgwatcher.data.TcgWatcherDataApplication;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonEvolutionEntity;
+import de.dktutzer.tcgwatcher.data.data.model.CardDetail;
+import de.dktutzer.tcgwatcher.data.data.model.TCGWatcherCardModel;
+import de.dktutzer.tcgwatcher.data.service.detail.CardDetailCodec;
+import de.dktutzer.tcgwatcher.data.service.evolution.EvolutionGraph;
+import de.dktutzer.tcgwatcher.data.service.persistence.CatalogGenerationRepository;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/**
+ * Splits a file based import across local worker processes, so parsing is not bounded by the heap
+ * and GC of a single JVM.
+ *
+ * <p>The coordinator assigns the series folders of {@code app.dex.data.dir} to
+ * {@code app.import.workers} partitions and starts one JVM per partition with the same classpath
+ * and the {@value HeadlessImportRunner#PROFILE} profile. Each worker imports its series into a
+ * partial SQLite file. The coordinator then copies the partials into its own database with
+ * {@code ATTACH} and {@code INSERT ... SELECT}. The evolution graph spans all series, so it is
+ * built afterwards from the merged card details, which makes the result identical to a single
+ * process import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionedImportService {
+
+  // everything a worker writes except the evolution graph
+  private static final List<String> MERGED_TABLES = List.of("qs_pokemon_series",
+      "qs_pokemon_sets", "qs_pokemon_cards", "qs_fts_pokemon_cards", "qs_pokemon_card_dex",
+      "qs_pokemon_card_details", "qs_pokemon_images");
+
+  private final DataSource dataSource;
+  private final CatalogGenerationRepository catalogGenerationRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${app.import.workers}")
+  private int workers;
+  @Value("${app.import.partition.series}")
+  private List<String> partitionSeries;
+  @Value("${app.dex.source}")
+  private String dexSource;
+  @Value("${app.dex.data.dir}")
+  private String dexDataDir;
+  @Value("${app.external.csv.path}")
+  private String csvPath;
+  @Value("${app.import.persist.batch-size}")
+  private int persistBatchSize;
+  @Value("${app.export.columnar.dir}")
+  private String columnarExportDir;
+
+  /** Whether this process should coordinate workers instead of importing by itself. */
+  public boolean isEnabled() {
+    return workers > 1 && (partitionSeries == null || partitionSeries.isEmpty())
+        && !TCGMapperService.DEX_SOURCE_API.equalsIgnoreCase(dexSource);
+  }
+
+  public void readFromFilesAndWriteToSqlite() throws IOException, InterruptedException {
+    List<List<String>> partitions = partition(seriesSizes(Path.of(dexDataDir)), workers);
+    log.info("Starting partitioned import of {} with {} workers", dexDataDir, partitions.size());
+    Path workDir = Files.createTempDirectory("tcgwatcher-import-");
+    try {
+      var workerStage = stage("workers");
+      List<Path> partials = runWorkers(partitions, workDir);
+      end(workerStage, partitions.size());
+
+      int cardCount = mergePartials(partials);
+      log.info("Partitioned import of {} cards completed successfully.", cardCount);
+      if (!columnarExportDir.isBlank()) {
+        // the export needs the parsed dex data, which only the workers have
+        log.warn("The columnar export is not written by a partitioned import");
+      }
+      long generation = catalogGenerationRepository.raise();
+      log.info("Catalog generation is now {}", generation);
+      eventPublisher.publishEvent(new CatalogImportedEvent(Instant.now(), cardCount, generation));
+    } finally {
+      try (Stream<Path> files = Files.walk(workDir)) {
+        files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+      }
+    }
+  }
+
+  /**
+   * Replaces the catalog tables of this database with the rows of the partial databases and builds
+   * the evolution graph over all of them.
+   *
+   * @return the number of merged cards
+   */
+  int mergePartials(List<Path> partials) {
+    try (Connection connection = dataSource.getConnection()) {
+      var mergeStage = stage("merge");
+      int cardCount = merge(connection, partials);
+      end(mergeStage, cardCount);
+      var graphStage = stage("evolution-graph");
+      writeEvolutionGraph(connection);
+      end(graphStage, cardCount);
+      return cardCount;
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to merge the partial imports", e);
+    }
+  }
+
+  /**
+   * Greedy balancing: the largest series goes to the partition with the least data so far. Series
+   * within a partition are sorted by name, empty partitions are dropped.
+   */
+  static List<List<String>> partition(Map<String, Long> seriesSizes, int count) {
+    List<Map.Entry<String, Long>> bySize = new ArrayList<>(seriesSizes.entrySet());
+    bySize.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+        .thenComparing(Map.Entry.comparingByKey()));
+    List<List<String>> partitions = new ArrayList<>();
+    long[] sizes = new long[Math.max(1, count)];
+    for (int i = 0; i < sizes.length; i++) {
+      partitions.add(new ArrayList<>());
+    }
+    for (Map.Entry<String, Long> series : bySize) {
+      int smallest = 0;
+      for (int i = 1; i < sizes.length; i++) {
+        if (sizes[i] < sizes[smallest]) {
+          smallest = i;
+        }
+      }
+      partitions.get(smallest).add(series.getKey());
+      sizes[smallest] += series.getValue();
+    }
+    partitions.removeIf(List::isEmpty);
+    partitions.forEach(names -> names.sort(Comparator.naturalOrder()));
+    return partitions;
+  }
+
+  // series folder name -> bytes of its set and card files
+  private static Map<String, Long> seriesSizes(Path base) throws IOException {
+    Map<String, Long> sizes = new TreeMap<>();
+    try (Stream<Path> entries = Files.list(base)) {
+      for (Path file : entries.filter(p -> p.toString().endsWith(".ts")).toList()) {
+        String name = file.getFileName().toString();
+        String folder = name.substring(0, name.length() - ".ts".length());
+        if (folder.contains(",")) {
+          throw new IllegalStateException("Series folder names must not contain ',': " + folder);
+        }
+        Path seriesDir = base.resolve(folder);
+        long size = Files.size(file);
+        if (Files.isDirectory(seriesDir)) {
+          try (Stream<Path> files = Files.walk(seriesDir)) {
+            size += files.filter(Files::isRegularFile).mapToLong(PartitionedImportService::size)
+                .sum();
+          }
+        }
+        sizes.put(folder, size);
+      }
+    }
+    return sizes;
+  }
+
+  private List<Path> runWorkers(List<List<String>> partitions, Path workDir)
+      throws IOException, InterruptedException {
+    List<Path> partials = new ArrayList<>();
+    List<Process> processes = new ArrayList<>();
+    try {
+      for (int i = 0; i < partitions.size(); i++) {
+        Path partial = workDir.resolve("partition-" + i + ".db");
+        partials.add(partial);
+        processes.add(new ProcessBuilder(workerCommand(partitions.get(i), partial))
+            .inheritIO()
+            .start());
+        log.info("Started worker {} for {} series", i, partitions.get(i).size());
+      }
+      for (int i = 0; i < processes.size(); i++) {
+        int exitCode = processes.get(i).waitFor();
+        if (exitCode != 0) {
+          throw new IllegalStateException(
+              "Import worker " + i + " failed with exit code " + exitCode);
+        }
+      }
+    } finally {
+      processes.stream().filter(Process::isAlive).forEach(Process::destroyForcibly);
+    }
+    return partials;
+  }
+
+  private List<String> workerCommand(List<String> series, Path partial) {
+    List<String> command = new ArrayList<>();
+    command.add(ProcessHandle.current().info().command()
+        .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+    String classPath = System.getProperty("java.class.path", "");
+    if (!classPath.isEmpty()) {
+      // same heap and module settings, but no second debugger or recording on the same port/file
+      ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+          .filter(arg -> !arg.startsWith("-agentlib") && !arg.startsWith("-javaagent")
+              && !arg.startsWith("-Xrunjdwp") && !arg.startsWith("-XX:StartFlightRecording"))
+          .forEach(command::add);
+      if (!classPath.contains(File.pathSeparator) && classPath.endsWith(".jar")) {
+        // the executable boot jar
+        command.add("-jar");
+        command.add(classPath);
+      } else {
+        command.add("-cp");
+        command.add(classPath);
+        command.add(TcgWatcherDataApplication.class.getName());
+      }
+    }
+    // without a class path this is the native importer, which is started as it is
+    command.add("--spring.profiles.active=" + HeadlessImportRunner.PROFILE);
+    command.add("--spring.datasource.url=jdbc:sqlite:" + partial.toAbsolutePath());
+    command.add("--app.dex.source=files");
+    command.add("--app.dex.data.dir=" + dexDataDir);
+    command.add("--app.external.csv.path=" + csvPath);
+    command.add("--app.import.workers=1");
+    command.add("--app.import.partition.series=" + String.join(",", series));
+    command.add("--app.import.persist.batch-size=" + persistBatchSize);
+    command.add("--app.export.columnar.dir=");
+    return command;
+  }
+
+  private int merge(Connection connection, List<Path> partials) throws SQLException {
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      for (String table : MERGED_TABLES) {
+        statement.executeUpdate("DELETE FROM " + table);
+      }
+      statement.executeUpdate("DELETE FROM qs_pokemon_evolutions");
+    }
+    connection.commit();
+
+    Map<String, String> columns = new TreeMap<>();
+    for (String table : MERGED_TABLES) {
+      columns.put(table, columnList(connection, table));
+    }
+    for (Path partial : partials) {
+      // ATTACH is not allowed inside a transaction
+      connection.setAutoCommit(true);
+      try (PreparedStatement attach = connection.prepareStatement("ATTACH DATABASE ? AS part")) {
+        attach.setString(1, partial.toAbsolutePath().toString());
+        attach.execute();
+      }
+      try {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+          for (String table : MERGED_TABLES) {
+            // column names instead of *, the main database may have been created by Hibernate
+            String cols = columns.get(table);
+            int rows = statement.executeUpdate("INSERT INTO main." + table + " (" + cols
+                + ") SELECT " + cols + " FROM part." + table);
+            log.debug("Merged {} rows of {} from {}", rows, table, partial.getFileName());
+          }
+        }
+        connection.commit();
+      } finally {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("DETACH DATABASE part");
+        }
+      }
+    }
+
+    try (Statement statement = connection.createStatement();
+        ResultSet count = statement.executeQuery("SELECT count(*) FROM qs_pokemon_cards")) {
+      count.next();
+      return count.getInt(1);
+    }
+  }
+
+  private static String columnList(Connection connection, String table) throws SQLException {
+    List<String> names = new ArrayList<>();
+    try (Statement statement = connection.createStatement();
+        ResultSet info = statement.executeQuery("PRAGMA main.table_info(" + table + ")")) {
+      while (info.next()) {
+        names.add(info.getString("name"));
+      }
+    }
+    return String.join(", ", names);
+  }
+
+  // the same graph a single process import builds, from the fields stored in the card details
+  private void writeEvolutionGraph(Connection connection) throws SQLException {
+    List<TCGWatcherCardModel> cards = new ArrayList<>();
+    try (Statement statement = connection.createStatement();
+        ResultSet details = statement.executeQuery(
+            "SELECT payload FROM qs_pokemon_card_details")) {
+      while (details.next()) {
+        CardDetail detail = CardDetailCodec.decode(details.getBytes(1));
+        cards.add(TCGWatcherCardModel.builder()
+            .id(detail.cardId())
+            .names(detail.names())
+            .dexIds(detail.dexIds())
+            .evolveFrom(detail.evolveFrom())
+            .build());
+      }
+    }
+    EvolutionGraph graph = EvolutionGraph.build(cards);
+    log.info("Evolution graph has {} species and {} edges.", graph.speciesCount(),
+        graph.edgeCount());
+
+    connection.setAutoCommit(false);
+    try (PreparedStatement update = connection.prepareStatement("UPDATE qs_pokemon_cards"
+        + " SET species_key = ?, evolution_chain_id = ?, evolution_stage = ? WHERE id = ?")) {
+      int pending = 0;
+      for (TCGWatcherCardModel card : cards) {
+        int species = graph.speciesOfCard(card.getId());
+        if (species >= 0) {
+          update.setString(1, graph.speciesKey(species));
+          update.setString(2, graph.chainId(species));
+          update.setInt(3, graph.stage(species));
+        } else {
+          update.setNull(1, Types.VARCHAR);
+          update.setNull(2, Types.VARCHAR);
+          update.setNull(3, Types.INTEGER);
+        }
+        update.setString(4, card.getId());
+        update.addBatch();
+        if (++pending == persistBatchSize) {
+          update.executeBatch();
+          pending = 0;
+        }
+      }
+      update.executeBatch();
+    }
+    try (PreparedStatement insert = connection.prepareStatement("INSERT INTO qs_pokemon_evolutions"
+        + " (id, chain_id, from_species, to_species) VALUES (?, ?, ?, ?)")) {
+      for (PokemonEvolutionEntity edge : TCGMapperService.toEvolutionEntities(graph)) {
+        insert.setString(1, edge.getId());
+        insert.setString(2, edge.getChainId());
+        insert.setString(3, edge.getFromSpecies());
+        insert.setString(4, edge.getToSpecies());
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+    connection.commit();
+    connection.setAutoCommit(true);
+  }
+
+  private static long size(Path file) {
+    try {
+      return Files.size(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
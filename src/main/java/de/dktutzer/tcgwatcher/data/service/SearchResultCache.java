@@ -0,0 +1,81 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.dktutzer.tcgwatcher.data.data.model.SearchCacheStats;
+import de.dktutzer.tcgwatcher.data.service.persistence.CatalogGenerationRepository;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Result cache in front of the card and set search (Caffeine, W-TinyLFU eviction). Entries are
+ * weighted by their number of rows, so a few large result lists cannot push out many small ones.
+ *
+ * <p>Every key carries the catalog generation it was computed for. The number is read from the
+ * {@code catalog_generation} row once at startup and advanced by the {@link CatalogImportedEvent}
+ * of every import, so a lookup is a field read plus the cache lookup and a lookup after an import
+ * can never match a result of the previous catalog. The import also drops the old entries right
+ * away instead of leaving them to eviction. An import by another process on the same database
+ * reaches this one with its next start.
+ */
+@Service
+@Slf4j
+public class SearchResultCache {
+
+  private final Cache<Key, List<?>> cache;
+  private final AtomicLong generation;
+
+  @Autowired
+  public SearchResultCache(@Value("${app.search.cache.max-weight}") long maxWeight,
+      CatalogGenerationRepository catalogGenerationRepository) {
+    this(maxWeight, Objects.requireNonNullElse(catalogGenerationRepository.findCurrent(), 0L));
+  }
+
+  SearchResultCache(long maxWeight, long generation) {
+    this.generation = new AtomicLong(generation);
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maxWeight)
+        .weigher((Key key, List<?> rows) -> 1 + rows.size())
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Cached result of the query, computed with {@code loader} on a miss. Concurrent misses for the
+   * same key run the loader only once.
+   *
+   * @param kind  what is searched (e.g. "cards", "sets"), part of the key
+   * @param query the normalized query
+   */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> get(String kind, String query, boolean flag, int limit,
+      Supplier<List<T>> loader) {
+    Key key = new Key(generation.get(), kind, query, flag, limit);
+    return (List<T>) cache.get(key, k -> List.copyOf(loader.get()));
+  }
+
+  @EventListener
+  public void onCatalogImported(CatalogImportedEvent event) {
+    // new keys first, a lookup racing the invalidation then misses instead of reading old entries
+    long current = generation.accumulateAndGet(event.generation(), Math::max);
+    cache.invalidateAll();
+    log.info("Search result cache invalidated, now at generation {}", current);
+  }
+
+  public SearchCacheStats stats() {
+    var stats = cache.stats();
+    return new SearchCacheStats(generation.get(), stats.hitCount(), stats.missCount(),
+        stats.hitRate(), stats.evictionCount(), cache.estimatedSize(),
+        cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+  }
+
+  private record Key(long generation, String kind, String query, boolean flag, int limit) {
+  }
+}
@@ -0,0 +1,342 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.dktutzer.tcgwatcher.data.data.model.DexCardData;
+import de.dktutzer.tcgwatcher.data.data.model.DexSeriesData;
+import de.dktutzer.tcgwatcher.data.data.model.DexSetData;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Alternative to {@link TCGDexService#readAllSeries(String)} that fetches series, sets and cards
+ * from a TCGdex compatible REST API (e.g. the local docker instance) and produces the same
+ * {@link DexSeriesData} tree.
+ *
+ * <p>Requests run on virtual threads, bounded by {@code app.dex.api.max-concurrency} in-flight
+ * requests. Responses are kept in an on-disk cache and revalidated with If-None-Match /
+ * If-Modified-Since, so a refresh of an unchanged catalog mostly consists of 304s. Connection
+ * pooling comes from the JDK HttpClient behind the {@link RestTemplate}.
+ */
+@Service
+@Slf4j
+public class TCGDexApiClient {
+
+  private final RestTemplate restTemplate;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final String baseUrl;
+  private final List<String> languages;
+  private final int maxConcurrency;
+  private final DexApiResponseCache cache;
+
+  private final AtomicInteger requestCount = new AtomicInteger();
+  private final AtomicInteger notModifiedCount = new AtomicInteger();
+
+  public TCGDexApiClient(
+      @Qualifier("dexRestTemplate") RestTemplate restTemplate,
+      @Value("${app.dex.api.base-url}") String baseUrl,
+      @Value("${app.dex.api.languages}") List<String> languages,
+      @Value("${app.dex.api.max-concurrency}") int maxConcurrency,
+      @Value("${app.dex.api.cache-dir}") String cacheDir) {
+    this.restTemplate = restTemplate;
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.languages = List.copyOf(languages);
+    this.maxConcurrency = maxConcurrency;
+    this.cache = new DexApiResponseCache(Path.of(cacheDir));
+  }
+
+  /**
+   * Fetches the whole catalog. The first configured language is the primary one: it defines which
+   * series, sets and cards exist; the other languages only contribute localized texts.
+   *
+   * @return map keyed by series id, like {@link TCGDexService#readAllSeries(String)}
+   */
+  public Map<String, DexSeriesData> readAllSeries() {
+    requestCount.set(0);
+    notModifiedCount.set(0);
+    long start = System.nanoTime();
+    Semaphore permits = new Semaphore(maxConcurrency);
+    String primary = languages.getFirst();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      JsonNode seriesList = fetch(permits, "/v2/" + primary + "/series", false);
+      List<String> seriesIds = new ArrayList<>();
+      seriesList.forEach(s -> seriesIds.add(s.path("id").asText()));
+
+      List<Map<String, JsonNode>> seriesDetails = runAll(executor, seriesIds.stream()
+          .map(id -> (Callable<Map<String, JsonNode>>) () -> fetchLocalized(permits, "series", id))
+          .toList());
+
+      List<String[]> setRefs = new ArrayList<>();
+      for (Map<String, JsonNode> series : seriesDetails) {
+        JsonNode primaryNode = series.get(primary);
+        primaryNode.path("sets").forEach(set ->
+            setRefs.add(new String[]{primaryNode.path("id").asText(), set.path("id").asText()}));
+      }
+      List<Map<String, JsonNode>> setDetails = runAll(executor, setRefs.stream()
+          .map(ref -> (Callable<Map<String, JsonNode>>) () -> fetchLocalized(permits, "sets", ref[1]))
+          .toList());
+
+      List<String> cardIds = new ArrayList<>();
+      for (Map<String, JsonNode> set : setDetails) {
+        set.get(primary).path("cards").forEach(card -> cardIds.add(card.path("id").asText()));
+      }
+      List<Map<String, JsonNode>> cardDetails = runAll(executor, cardIds.stream()
+          .map(id -> (Callable<Map<String, JsonNode>>) () -> fetchLocalized(permits, "cards", id))
+          .toList());
+
+      Map<String, DexSeriesData> result = assemble(seriesDetails, setRefs, setDetails, cardDetails);
+      log.info("Fetched {} series, {} sets and {} cards with {} requests ({} not modified) in {} ms",
+          seriesDetails.size(), setDetails.size(), cardDetails.size(), requestCount.get(),
+          notModifiedCount.get(), (System.nanoTime() - start) / 1_000_000);
+      return result;
+    }
+  }
+
+  private Map<String, DexSeriesData> assemble(
+      List<Map<String, JsonNode>> seriesDetails,
+      List<String[]> setRefs,
+      List<Map<String, JsonNode>> setDetails,
+      List<Map<String, JsonNode>> cardDetails) {
+    String primary = languages.getFirst();
+
+    Map<String, DexSeriesData> seriesMap = new HashMap<>();
+    for (Map<String, JsonNode> series : seriesDetails) {
+      String id = series.get(primary).path("id").asText();
+      seriesMap.put(id, new DexSeriesData(id, localized(series, "name"), new HashMap<>()));
+    }
+
+    // cards by set id, the card's set is part of every card response
+    Map<String, Map<String, DexCardData>> cardsBySet = new HashMap<>();
+    for (Map<String, JsonNode> card : cardDetails) {
+      JsonNode node = card.get(primary);
+      String setId = node.path("set").path("id").asText();
+      DexCardData cardData = toCard(card);
+      cardsBySet.computeIfAbsent(setId, k -> new HashMap<>()).put(cardData.id(), cardData);
+    }
+
+    for (int i = 0; i < setDetails.size(); i++) {
+      Map<String, JsonNode> set = setDetails.get(i);
+      JsonNode node = set.get(primary);
+      String seriesId = setRefs.get(i)[0];
+      String setId = node.path("id").asText();
+
+      Map<String, String> images = new HashMap<>();
+      putText(images, "logo", node.path("logo"));
+      putText(images, "symbol", node.path("symbol"));
+
+      DexSetData setData = new DexSetData(
+          setId,
+          localized(set, "name"),
+          seriesId,
+          node.path("cardCount").path("official").isNumber()
+              ? node.path("cardCount").path("official").asInt()
+              : null,
+          TCGDexService.toIso8601DateTime(text(node.path("releaseDate"))),
+          text(node.path("tcgOnline")),
+          textMap(node.path("abbreviation")),
+          textMap(node.path("thirdParty")),
+          images,
+          cardsBySet.getOrDefault(setId, new HashMap<>()));
+      seriesMap.get(seriesId).sets().put(setId, setData);
+    }
+    return seriesMap;
+  }
+
+  private DexCardData toCard(Map<String, JsonNode> localized) {
+    JsonNode node = localized.get(languages.getFirst());
+    String localId = node.path("localId").asText(node.path("id").asText());
+
+    List<String> subtypes = new ArrayList<>();
+    for (String key : List.of("trainerType", "energyType", "suffix")) {
+      String value = text(node.path(key));
+      if (!value.isEmpty()) {
+        subtypes.add(value);
+      }
+    }
+
+    Map<String, String> thirdParty = textMap(node.path("thirdParty"));
+    if (thirdParty.isEmpty()) {
+      // the public api only exposes the ids inside the pricing block
+      JsonNode pricing = node.path("pricing");
+      putText(thirdParty, "cardmarket", pricing.path("cardmarket").path("idProduct"));
+      putText(thirdParty, "tcgplayer", pricing.path("tcgplayer").path("productId"));
+    }
+
+    List<Integer> dexIds = new ArrayList<>();
+    node.path("dexId").forEach(d -> dexIds.add(d.asInt()));
+    List<String> types = new ArrayList<>();
+    node.path("types").forEach(t -> types.add(t.asText()));
+
+    return new DexCardData(
+        localId,
+        localized(localized, "name"),
+        localId,
+        text(node.path("category")),
+        subtypes,
+        text(node.path("rarity")),
+        text(node.path("hp")),
+        types,
+        localized(localized, "evolveFrom"),
+        text(node.path("stage")),
+        objects(node.path("abilities")),
+        objects(node.path("attacks")),
+        objects(node.path("weaknesses")),
+        objects(node.path("resistances")),
+        List.of(),
+        node.path("retreat").isNumber() ? node.path("retreat").asInt() : null,
+        null,
+        text(node.path("illustrator")),
+        localized(localized, "description"),
+        thirdParty,
+        dexIds,
+        null);
+  }
+
+  private Map<String, JsonNode> fetchLocalized(Semaphore permits, String type, String id) {
+    Map<String, JsonNode> result = new LinkedHashMap<>();
+    for (int i = 0; i < languages.size(); i++) {
+      String language = languages.get(i);
+      // not every card/set is translated, only the primary language is mandatory
+      JsonNode node = fetch(permits, "/v2/" + language + "/" + type + "/" + id, i > 0);
+      if (node != null) {
+        result.put(language, node);
+      }
+    }
+    return result;
+  }
+
+  private JsonNode fetch(Semaphore permits, String path, boolean optional) {
+    String url = baseUrl + path;
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting to fetch " + url, e);
+    }
+    try {
+      Optional<DexApiResponseCache.Entry> cached = cache.get(url);
+      HttpHeaders headers = new HttpHeaders();
+      cached.ifPresent(entry -> {
+        if (entry.etag() != null) {
+          headers.setIfNoneMatch(entry.etag());
+        }
+        if (entry.lastModified() != null) {
+          headers.set(HttpHeaders.IF_MODIFIED_SINCE, entry.lastModified());
+        }
+      });
+
+      requestCount.incrementAndGet();
+      ResponseEntity<byte[]> response = restTemplate.exchange(URI.create(url), HttpMethod.GET,
+          new HttpEntity<>(headers), byte[].class);
+      byte[] body;
+      if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && cached.isPresent()) {
+        notModifiedCount.incrementAndGet();
+        body = cached.get().body();
+      } else {
+        body = response.getBody() == null ? new byte[0] : response.getBody();
+        cache.put(url, body, response.getHeaders().getETag(),
+            response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+      }
+      return objectMapper.readTree(body);
+    } catch (HttpStatusCodeException e) {
+      if (optional && e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+        // not translated into this language
+        return null;
+      }
+      log.error("TCGdex api error: {} for {}", e.getStatusCode(), url);
+      throw e;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Invalid JSON from " + url, e);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private static <T> List<T> runAll(ExecutorService executor, List<Callable<T>> tasks) {
+    try {
+      List<T> results = new ArrayList<>(tasks.size());
+      for (Future<T> future : executor.invokeAll(tasks)) {
+        results.add(future.get());
+      }
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while fetching from the TCGdex api", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Failed to fetch from the TCGdex api", e.getCause());
+    }
+  }
+
+  private static Map<String, String> localized(Map<String, JsonNode> nodes, String field) {
+    Map<String, String> result = new HashMap<>();
+    nodes.forEach((language, node) -> {
+      String value = text(node.path(field));
+      if (!value.isEmpty()) {
+        result.put(language, value);
+      }
+    });
+    return result;
+  }
+
+  private static List<Map<String, String>> objects(JsonNode array) {
+    List<Map<String, String>> result = new ArrayList<>();
+    array.forEach(object -> result.add(textMap(object)));
+    return result;
+  }
+
+  private static Map<String, String> textMap(JsonNode object) {
+    Map<String, String> result = new HashMap<>();
+    object.properties().forEach(e -> putText(result, e.getKey(), e.getValue()));
+    return result;
+  }
+
+  private static void putText(Map<String, String> map, String key, JsonNode value) {
+    String text = text(value);
+    if (!text.isEmpty()) {
+      map.put(key, text);
+    }
+  }
+
+  // arrays (eg. attack costs) are flattened to a comma separated list
+  private static String text(JsonNode node) {
+    if (node == null || node.isMissingNode() || node.isNull()) {
+      return "";
+    }
+    if (node.isArray()) {
+      List<String> parts = new ArrayList<>();
+      node.forEach(n -> parts.add(n.asText()));
+      return String.join(", ", parts);
+    }
+    return node.isValueNode() ? node.asText() : "";
+  }
+}
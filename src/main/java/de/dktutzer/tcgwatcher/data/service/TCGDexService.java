@@ -3,6 +3,8 @@ package de.dktutzer.tcgwatcher.data.service;
 import de.dktutzer.tcgwatcher.data.data.model.DexCardData;
 import de.dktutzer.tcgwatcher.data.data.model.DexSeriesData;
 import de.dktutzer.tcgwatcher.data.data.model.DexSetData;
+import de.dktutzer.tcgwatcher.data.service.jfr.DexFileParseEvent;
+import de.dktutzer.tcgwatcher.data.service.jfr.DexSetParseEvent;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
@@ -16,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -75,6 +78,16 @@ public class TCGDexService {
    * @throws IOException on IO errors
    */
   public static Map<String, DexSeriesData> readAllSeries(String baseDirPath) throws IOException {
+    return readAllSeries(baseDirPath, seriesFolder -> true);
+  }
+
+  /**
+   * Like {@link #readAllSeries(String)}, but only for the series whose folder name (the series
+   * file name without extension, e.g. "Scarlet & Violet") passes the filter. Used to split an
+   * import into partitions.
+   */
+  public static Map<String, DexSeriesData> readAllSeries(String baseDirPath,
+      Predicate<String> seriesFolderFilter) throws IOException {
     Path base = Path.of(baseDirPath);
     if (!Files.isDirectory(base)) {
       return Collections.emptyMap();
@@ -88,7 +101,8 @@ public class TCGDexService {
       List<Path> entries = stream.toList();
       // process files to gather series metadata
       for (Path p : entries) {
-        if (Files.isRegularFile(p) && p.toString().endsWith(".ts")) {
+        if (Files.isRegularFile(p) && p.toString().endsWith(".ts")
+            && seriesFolderFilter.test(stripExt(p.getFileName().toString()))) {
           processSeries(base, p, seriesMap);
         }
       }
@@ -99,6 +113,8 @@ public class TCGDexService {
 
   private static void processSeries(
       Path base, Path seriesMetaFile, Map<String, DexSeriesData> seriesMap) {
+    var parseEvent = new DexFileParseEvent();
+    parseEvent.begin();
     String content = readFileSafe(seriesMetaFile);
     String seriesId = extractIdFromContent(content)
         .orElseThrow(
@@ -106,6 +122,7 @@ public class TCGDexService {
                 "Could not extract ID from series file: " + seriesMetaFile));
     String seriesFolderName = stripExt(seriesMetaFile.getFileName().toString());
     Map<String, String> seriesNameMap = extractLocalizedMap(content, KEY_NAME);
+    commit(parseEvent, seriesMetaFile, DexFileParseEvent.KIND_SERIES, content);
 
     // initialize series with empty sets; sets will be filled from subfolders
     seriesMap.putIfAbsent(
@@ -141,6 +158,8 @@ public class TCGDexService {
     // attempt to find metadata file for set (index.ts or <setId>.ts)
     Optional<Path> maybeMeta = findFile(seriesPath, setName + ".ts");
     if (maybeMeta.isPresent()) {
+      var parseEvent = new DexFileParseEvent();
+      parseEvent.begin();
       String setContent = readFileSafe(maybeMeta.get());
       setName = Optional.ofNullable(extractNameEn(setContent)).orElse(setName);
       setProps = parseProperties(setContent);
@@ -149,27 +168,31 @@ public class TCGDexService {
         setId = setName;
       }
       setRaw = setContent;
+      commit(parseEvent, maybeMeta.get(), DexFileParseEvent.KIND_SET, setContent);
     }
 
     Map<String, DexCardData> cards = new HashMap<>();
+    var setEvent = new DexSetParseEvent();
+    setEvent.begin();
     // read .ts files inside set folder (cards)
     try (Stream<Path> cardStream = Files.list(setPath)) {
       cardStream
           .filter(p -> Files.isRegularFile(p) && p.toString().endsWith(".ts"))
-          .forEach(cardFile -> processCard(cardFile, cards));
+          .forEach(cardFile -> processCard(cardFile, cards, setEvent));
     } catch (IOException e) {
       throw new UncheckedIOException("Failed to list cards in " + setPath, e);
     }
+    setEvent.end();
+    if (setEvent.shouldCommit()) {
+      setEvent.setDir = setPath.toString();
+      setEvent.files = cards.size();
+      setEvent.commit();
+    }
 
     // attempt to fill set images map from setProps
     Map<String, String> images = extractImages(setProps);
     String seriesIdRef = series.id();
-    String releaseDate = getString(setProps, KEY_RELEASE_DATE);
-    String releaseDateIso8601 = StringUtils.hasText(releaseDate)
-        ? LocalDate.parse(releaseDate)
-            .atStartOfDay()
-            .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS"))
-        : "";
+    String releaseDateIso8601 = toIso8601DateTime(getString(setProps, KEY_RELEASE_DATE));
 
     Map<String, String> nameMap = extractLocalizedMap(setRaw, KEY_NAME);
     Map<String, String> abbreviations = parseSubObject(setRaw, KEY_ABBREVIATIONS);
@@ -195,7 +218,10 @@ public class TCGDexService {
                 cards));
   }
 
-  private static void processCard(Path cardFile, Map<String, DexCardData> cards) {
+  private static void processCard(Path cardFile, Map<String, DexCardData> cards,
+      DexSetParseEvent setEvent) {
+    var parseEvent = new DexFileParseEvent();
+    parseEvent.begin();
     String cardContent = readFileSafe(cardFile);
     String cardId = stripExt(cardFile.getFileName().toString());
     Map<String, String> cardProps = parseProperties(cardContent);
@@ -250,6 +276,30 @@ public class TCGDexService {
             thirdPartyProps,
             dexId,
             cardFile));
+    commit(parseEvent, cardFile, DexFileParseEvent.KIND_CARD, cardContent);
+    if (setEvent.isEnabled()) {
+      setEvent.bytes += cardContent.getBytes(StandardCharsets.UTF_8).length;
+    }
+  }
+
+  // the path is only rendered for files above the event threshold
+  private static void commit(DexFileParseEvent event, Path file, String kind, String content) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.path = file.toString();
+      event.kind = kind;
+      event.bytes = content.getBytes(StandardCharsets.UTF_8).length;
+      event.commit();
+    }
+  }
+
+  // release dates are stored as ISO8601 date time so sqlite can handle them
+  static String toIso8601DateTime(String releaseDate) {
+    return StringUtils.hasText(releaseDate)
+        ? LocalDate.parse(releaseDate.trim())
+            .atStartOfDay()
+            .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS"))
+        : "";
   }
 
   // --- helpers to extract structured pieces
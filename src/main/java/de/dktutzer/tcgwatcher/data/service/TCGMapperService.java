@@ -3,8 +3,12 @@ package de.dktutzer.tcgwatcher.data.service;
 import static org.springframework.util.StringUtils.hasText;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardDetailEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardDexEntity;
 import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
 import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardFtsEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonEvolutionEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonImageEntity;
 import de.dktutzer.tcgwatcher.data.data.entities.PokemonSeriesEntity;
 import de.dktutzer.tcgwatcher.data.data.entities.PokemonSetEntity;
 
@@ -14,6 +18,18 @@ import de.dktutzer.tcgwatcher.data.data.model.DexCardData;
 import de.dktutzer.tcgwatcher.data.data.model.TCGWatcherCardModel;
 import de.dktutzer.tcgwatcher.data.data.model.TCGWatcherSeriesModel;
 import de.dktutzer.tcgwatcher.data.data.model.TCGWatcherSetModel;
+import de.dktutzer.tcgwatcher.data.service.CollationKeys.Language;
+import de.dktutzer.tcgwatcher.data.service.detail.CardDetailCodec;
+import de.dktutzer.tcgwatcher.data.service.evolution.EvolutionGraph;
+import de.dktutzer.tcgwatcher.data.service.export.CatalogColumnarExporter;
+import de.dktutzer.tcgwatcher.data.service.image.ImageRefs;
+import de.dktutzer.tcgwatcher.data.service.jfr.ImportStageEvent;
+import de.dktutzer.tcgwatcher.data.service.jfr.PersistenceBatchEvent;
+import de.dktutzer.tcgwatcher.data.service.persistence.CardDetailSqliteRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.CardDexSqliteRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.CatalogGenerationRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.EvolutionSqliteRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.ImageSqliteRepository;
 import de.dktutzer.tcgwatcher.data.service.persistence.QuickSearchCardsFtsSqliteRepository;
 import de.dktutzer.tcgwatcher.data.service.persistence.QuickSearchCardsSqliteRepository;
 import de.dktutzer.tcgwatcher.data.service.persistence.SeriesSqlRepository;
@@ -24,16 +40,22 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -41,39 +63,87 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class TCGMapperService {
 
+  static final String DEX_SOURCE_API = "api";
+
   private final QuickSearchCardsSqliteRepository quickSearchCardsSqliteRepository;
   private final SetsSqliteRepository setsSqliteRepository;
   private final SeriesSqlRepository seriesSqlRepository;
 
   private final QuickSearchCardsFtsSqliteRepository quickSearchCardsFtsSqliteRepository;
-
+  private final EvolutionSqliteRepository evolutionSqliteRepository;
+  private final CardDexSqliteRepository cardDexSqliteRepository;
+  private final CardDetailSqliteRepository cardDetailSqliteRepository;
+  private final ImageSqliteRepository imageSqliteRepository;
+  private final CatalogGenerationRepository catalogGenerationRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TCGDexApiClient tcgDexApiClient;
+  private final CatalogColumnarExporter catalogColumnarExporter;
+
+  @Value("${app.dex.source}")
+  private String dexSource;
   @Value("${app.dex.data.dir}")
   private String dexDataDir;
   @Value("${app.external.csv.path}")
   private String csvPath;
+  @Value("${app.export.columnar.dir}")
+  private String columnarExportDir;
+  @Value("${app.import.persist.batch-size}")
+  private int persistBatchSize;
+  // set on the worker processes of a partitioned import, see PartitionedImportService
+  @Value("${app.import.partition.series}")
+  private List<String> partitionSeries;
 
   // cache loaded lazily from resources
   private volatile Map<String, String> cmProductIdToCodeCache = null;
 
   public void readFromFilesAndWriteToSqlite() throws IOException {
-    log.info("Starting TCGMapperService data import from directory: {}", dexDataDir);
-
-    var dexSeriesDataMap = TCGDexService.readAllSeries(dexDataDir);
+    var parseStage = stage("parse");
+    Map<String, DexSeriesData> dexSeriesDataMap;
+    if (DEX_SOURCE_API.equalsIgnoreCase(dexSource)) {
+      log.info("Starting TCGMapperService data import from the TCGdex api");
+      dexSeriesDataMap = tcgDexApiClient.readAllSeries();
+    } else {
+      log.info("Starting TCGMapperService data import from directory: {}", dexDataDir);
+      dexSeriesDataMap = isPartitionWorker()
+          ? TCGDexService.readAllSeries(dexDataDir, Set.copyOf(partitionSeries)::contains)
+          : TCGDexService.readAllSeries(dexDataDir);
+    }
     log.info("Loaded {} series from DexService.", dexSeriesDataMap != null ? dexSeriesDataMap.size() : 0);
+    end(parseStage, dexSeriesDataMap != null ? dexSeriesDataMap.size() : 0);
 
+    // the first card triggers the CSV load, which is recorded as its own stage
+    var convertStage = stage("convert");
     List<TCGWatcherCardModel> cards = convertDexCardsToTCGWatcherCards(dexSeriesDataMap);
     List<TCGWatcherSetModel> sets = convertDexSetsToTCGWatcherSets(dexSeriesDataMap);
+    end(convertStage, cards.size());
     log.info("Converted {} cards and {} sets.", cards.size(), sets.size());
+    log.info("Cards form {} reprint clusters.",
+        cards.stream().map(TCGWatcherCardModel::getReprintClusterId).distinct().count());
+    var graphStage = stage("evolution-graph");
+    // the graph spans all partitions, the coordinator builds it after merging
+    var evolutionGraph = EvolutionGraph.build(isPartitionWorker() ? List.of() : cards);
+    end(graphStage, evolutionGraph.speciesCount());
+    log.info("Evolution graph has {} species and {} edges.", evolutionGraph.speciesCount(),
+        evolutionGraph.edgeCount());
 
     log.info("Clearing existing SQLite data...");
+    var clearStage = stage("clear");
     quickSearchCardsSqliteRepository.deleteAll();
     quickSearchCardsFtsSqliteRepository.deleteAll();
     setsSqliteRepository.deleteAll();
     seriesSqlRepository.deleteAll();
+    evolutionSqliteRepository.deleteAll();
+    cardDexSqliteRepository.deleteAll();
+    cardDetailSqliteRepository.deleteAll();
+    imageSqliteRepository.deleteAll();
+    end(clearStage, -1);
 
+    var prepareStage = stage("prepare-entities");
     var normalizedCards = new ArrayList<PokemonCardEntity>();
     var ftsCards = new ArrayList<PokemonCardFtsEntity>();
+    var cardDexRows = new ArrayList<PokemonCardDexEntity>();
     var nomalizedSets = new ArrayList<PokemonSetEntity>();
+    var collationKeys = new CollationKeys();
 
     cards.forEach(card -> {
       if (card != null) {
@@ -90,7 +160,7 @@ public class TCGMapperService {
             setCode = code.toUpperCase();
           }
 
-          var series = findOrCreateSeriesByName(tcgWatcherSetModel.getSeries());
+          var series = findOrCreateSeriesByName(tcgWatcherSetModel.getSeries(), collationKeys);
 
           normalSet.setCode(setCode);
           normalSet.setId(tcgWatcherSetModel.getId());
@@ -98,12 +168,17 @@ public class TCGMapperService {
           normalSet.setNameEn(setModelNames.getOrDefault("en", ""));
           normalSet.setNameDe(setModelNames.getOrDefault("de", setModelNames.getOrDefault("en", "")));
           normalSet.setNameFr(setModelNames.getOrDefault("fr", setModelNames.getOrDefault("en", "")));
+          normalSet.setSortKeyDe(collationKeys.sortKey(Language.DE, normalSet.getNameDe()));
+          normalSet.setSortKeyEn(collationKeys.sortKey(Language.EN, normalSet.getNameEn()));
+          normalSet.setSortKeyFr(collationKeys.sortKey(Language.FR, normalSet.getNameFr()));
           normalSet.setSeries(series);
           normalSet.setOfficial(tcgWatcherSetModel.getNumberOfficial());
           normalSet.setTotal(tcgWatcherSetModel.getNumberTotal());
           normalSet.setAbbreviation(tcgWatcherSetModel.getAbbreviation());
           normalSet.setTcgpId(tcgWatcherSetModel.getTcgpSetId());
           normalSet.setCmProductId(tcgWatcherSetModel.getCmSetId());
+          var releaseDate = tcgWatcherSetModel.getReleaseDate();
+          normalSet.setReleaseDate(releaseDate != null ? releaseDate : "");
 
           nomalizedSets.add(normalSet);
 
@@ -116,27 +191,76 @@ public class TCGMapperService {
         normalCard.setNameDe(cardNames.getOrDefault("de", cardNames.getOrDefault("en", "")));
         normalCard.setNameEn(cardNames.getOrDefault("en", ""));
         normalCard.setNameFr(cardNames.getOrDefault("fr", cardNames.getOrDefault("en", "")));
+        normalCard.setSortKeyDe(collationKeys.sortKey(Language.DE, normalCard.getNameDe()));
+        normalCard.setSortKeyEn(collationKeys.sortKey(Language.EN, normalCard.getNameEn()));
+        normalCard.setSortKeyFr(collationKeys.sortKey(Language.FR, normalCard.getNameFr()));
         normalCard.setSetId(card.getSetId());
+        normalCard.setNumber(card.getNumber());
+        normalCard.setNumberSort(CardNumbers.sortKey(card.getNumber()));
         normalCard.setCmProductId(card.getCmProductId());
         normalCard.setCmPageId(card.getCmCode());
         normalCard.setTcgpId(card.getTcgpId());
+        normalCard.setReprintClusterId(card.getReprintClusterId());
+        int species = evolutionGraph.speciesOfCard(card.getId());
+        if (species >= 0) {
+          normalCard.setSpeciesKey(evolutionGraph.speciesKey(species));
+          normalCard.setEvolutionChainId(evolutionGraph.chainId(species));
+          normalCard.setEvolutionStage(evolutionGraph.stage(species));
+        }
 
         ftsCard.setId(card.getId());
         ftsCard.setCode(card.getNumber());
         ftsCard.setNames(String.format("%s %s %s", cardNames.get("de"), cardNames.get("en"), cardNames.get("fr")));
         normalizedCards.add(normalCard);
         ftsCards.add(ftsCard);
+        if (card.getDexIds() != null) {
+          card.getDexIds().stream().distinct().forEach(dexId -> {
+            var dexRow = new PokemonCardDexEntity();
+            dexRow.setId(card.getId() + ":" + dexId);
+            dexRow.setCardId(card.getId());
+            dexRow.setDexId(dexId);
+            cardDexRows.add(dexRow);
+          });
+        }
 
       }
     });
 
+    end(prepareStage, normalizedCards.size());
     log.info("Prepared {} normalized cards, {} FTS cards, and {} normalized sets for persistence.",
         normalizedCards.size(), ftsCards.size(), nomalizedSets.size());
 
-    setsSqliteRepository.saveAll(nomalizedSets);
-    quickSearchCardsSqliteRepository.saveAll(normalizedCards);
-    quickSearchCardsFtsSqliteRepository.saveAll(ftsCards);
+    var persistStage = stage("persist");
+    saveInBatches(setsSqliteRepository, "qs_pokemon_sets", nomalizedSets);
+    saveInBatches(quickSearchCardsSqliteRepository, "qs_pokemon_cards", normalizedCards);
+    saveInBatches(quickSearchCardsFtsSqliteRepository, "qs_fts_pokemon_cards", ftsCards);
+    saveInBatches(evolutionSqliteRepository, "qs_pokemon_evolutions",
+        toEvolutionEntities(evolutionGraph));
+    saveInBatches(cardDexSqliteRepository, "qs_pokemon_card_dex", cardDexRows);
+    saveInBatches(cardDetailSqliteRepository, "qs_pokemon_card_details",
+        toDetailEntities(dexSeriesDataMap));
+    saveInBatches(imageSqliteRepository, "qs_pokemon_images", toImageEntities(dexSeriesDataMap));
+    end(persistStage, normalizedCards.size());
     log.info("Data import completed successfully.");
+    if (isPartitionWorker()) {
+      return;
+    }
+    // other processes on this database pick the new generation up when they start
+    long generation = catalogGenerationRepository.raise();
+    log.info("Catalog generation is now {}", generation);
+    eventPublisher.publishEvent(
+        new CatalogImportedEvent(Instant.now(), normalizedCards.size(), generation));
+    if (hasText(columnarExportDir)) {
+      // the catalog is imported at this point, a failed analytics export must not undo that
+      var exportStage = stage("columnar-export");
+      try {
+        catalogColumnarExporter.export(dexSeriesDataMap, Path.of(columnarExportDir));
+      } catch (IOException | RuntimeException e) {
+        log.error("Columnar export to {} failed, the import itself succeeded", columnarExportDir,
+            e);
+      }
+      end(exportStage, normalizedCards.size());
+    }
 
   }
 
@@ -187,6 +311,7 @@ public class TCGMapperService {
             .series(seriesModel)
             .cmSetId(cmId)
             .tcgpSetId(tcgpId)
+            .releaseDate(set.releaseDate())
             .build();
 
         result.add(model);
@@ -222,14 +347,18 @@ public class TCGMapperService {
           String cmCode = readCardmarketCodeFromCSVByProductId(cmProductId); // needs to read from the csv
           if (cmCode != null)
             log.debug("Found Cardmarket code {} for product ID {}", cmCode, cmProductId);
+          // card files are named by their number, so the id is only unique within its set
           var model = TCGWatcherCardModel.builder()
-              .id(card.id())
+              .id(set.id() + "-" + card.number())
               .names(names)
               .setId(set.id())
               .number(card.number())
               .cmProductId(cmProductId)
               .tcgpId(tcgpId)
               .cmCode(cmCode != null ? cmCode : "")
+              .reprintClusterId(CardFingerprints.fingerprint(card))
+              .dexIds(card.dexId())
+              .evolveFrom(card.evolveFrom())
               .build();
 
           log.debug("Created new card: {}", model);
@@ -257,9 +386,18 @@ public class TCGMapperService {
     if (cmProductIdToCodeCache != null)
       return;
     log.info("Loading Cardmarket CSV from: {}", csvPath);
+    var csvStage = stage("csv-load");
     Map<String, String> map = new ConcurrentHashMap<>();
 
     InputStream is = getClass().getClassLoader().getResourceAsStream(csvPath);
+    if (is == null && Files.isRegularFile(Path.of(csvPath))) {
+      // not on the classpath, but an explicit file (e.g. a generated benchmark catalog)
+      try {
+        is = Files.newInputStream(Path.of(csvPath));
+      } catch (IOException e) {
+        log.warn("Failed to open Cardmarket CSV file {}: {}", csvPath, e.getMessage());
+      }
+    }
     if (is == null) {
       // resource not present
       log.warn("Cardmarket CSV resource not found at: {}", csvPath);
@@ -312,6 +450,7 @@ public class TCGMapperService {
     }
 
     cmProductIdToCodeCache = map;
+    end(csvStage, map.size());
     log.info("Loaded {} Cardmarket product ID mappings.", map.size());
   }
 
@@ -325,7 +464,93 @@ public class TCGMapperService {
     return s;
   }
 
-  private PokemonSeriesEntity findOrCreateSeriesByName(TCGWatcherSeriesModel series) {
+  private <T> void saveInBatches(CrudRepository<T, ?> repository, String table, List<T> rows) {
+    for (int from = 0, batch = 0; from < rows.size(); from += persistBatchSize, batch++) {
+      List<T> chunk = rows.subList(from, Math.min(rows.size(), from + persistBatchSize));
+      var event = new PersistenceBatchEvent();
+      event.begin();
+      repository.saveAll(chunk);
+      event.end();
+      if (event.shouldCommit()) {
+        event.table = table;
+        event.batch = batch;
+        event.rows = chunk.size();
+        event.commit();
+      }
+    }
+  }
+
+  static ImportStageEvent stage(String name) {
+    var event = new ImportStageEvent();
+    event.stage = name;
+    event.begin();
+    return event;
+  }
+
+  static void end(ImportStageEvent event, long items) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.items = items;
+      event.commit();
+    }
+  }
+
+  private List<PokemonCardDetailEntity> toDetailEntities(Map<String, DexSeriesData> dexSeriesDataMap) {
+    List<PokemonCardDetailEntity> result = new ArrayList<>();
+    if (dexSeriesDataMap == null)
+      return result;
+    for (DexSeriesData seriesData : dexSeriesDataMap.values()) {
+      for (DexSetData set : seriesData.sets().values()) {
+        for (DexCardData card : set.cards().values()) {
+          if (card == null)
+            continue;
+          // same id scheme as convertDexCardsToTCGWatcherCards
+          String cardId = set.id() + "-" + card.number();
+          var detail = new PokemonCardDetailEntity();
+          detail.setId(cardId);
+          detail.setPayload(CardDetailCodec.encode(CardDetailCodec.toDetail(cardId, card)));
+          result.add(detail);
+        }
+      }
+    }
+    return result;
+  }
+
+  private List<PokemonImageEntity> toImageEntities(Map<String, DexSeriesData> dexSeriesDataMap) {
+    List<PokemonImageEntity> result = new ArrayList<>();
+    if (dexSeriesDataMap == null)
+      return result;
+    for (DexSeriesData seriesData : dexSeriesDataMap.values()) {
+      for (DexSetData set : seriesData.sets().values()) {
+        result.addAll(ImageRefs.of(set));
+      }
+    }
+    return result;
+  }
+
+  private boolean isPartitionWorker() {
+    return partitionSeries != null && !partitionSeries.isEmpty();
+  }
+
+  static List<PokemonEvolutionEntity> toEvolutionEntities(EvolutionGraph graph) {
+    List<PokemonEvolutionEntity> result = new ArrayList<>(graph.edgeCount());
+    int[] offsets = graph.childOffsets();
+    int[] children = graph.children();
+    for (int from = 0; from < graph.speciesCount(); from++) {
+      for (int e = offsets[from]; e < offsets[from + 1]; e++) {
+        var edge = new PokemonEvolutionEntity();
+        edge.setFromSpecies(graph.speciesKey(from));
+        edge.setToSpecies(graph.speciesKey(children[e]));
+        edge.setId(edge.getFromSpecies() + ">" + edge.getToSpecies());
+        edge.setChainId(graph.chainId(from));
+        result.add(edge);
+      }
+    }
+    return result;
+  }
+
+  private PokemonSeriesEntity findOrCreateSeriesByName(TCGWatcherSeriesModel series,
+      CollationKeys collationKeys) {
 
     var optional = seriesSqlRepository.findById(series.getId());
     if (optional.isPresent()) {
@@ -336,6 +561,9 @@ public class TCGMapperService {
     pokemonSeriesEntity.setNameDe(series.getNames().getOrDefault("de", ""));
     pokemonSeriesEntity.setNameEn(series.getNames().getOrDefault("en", ""));
     pokemonSeriesEntity.setNameFr(series.getNames().getOrDefault("fr", ""));
+    pokemonSeriesEntity.setSortKeyDe(collationKeys.sortKey(Language.DE, pokemonSeriesEntity.getNameDe()));
+    pokemonSeriesEntity.setSortKeyEn(collationKeys.sortKey(Language.EN, pokemonSeriesEntity.getNameEn()));
+    pokemonSeriesEntity.setSortKeyFr(collationKeys.sortKey(Language.FR, pokemonSeriesEntity.getNameFr()));
     log.debug("Creating new series: {} ({})", series.getId(), series.getNames().get("en"));
     seriesSqlRepository.save(pokemonSeriesEntity);
     return pokemonSeriesEntity;
@@ -0,0 +1,189 @@
+package de.dktutzer.tcgwatcher.data.service.alert;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PriceWatchEntity;
+import de.dktutzer.tcgwatcher.data.service.price.PriceSeriesCodec;
+import de.dktutzer.tcgwatcher.data.service.price.PriceSeriesService.Metric;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * All price watches, grouped per price series and (metric, kind, window) into ascending threshold
+ * arrays. Watches fire when the price crosses their threshold: a price change from {@code p0} to
+ * {@code p1} triggers exactly the "below" thresholds in {@code (p1, p0]} and the "above"
+ * thresholds in {@code (p0, p1]}, two binary searches per group. Percent watches work the same on
+ * the change against the reference price {@code windowDays} before, in basis points.
+ *
+ * <p>So evaluating a snapshot costs a hash lookup per product plus work proportional to the
+ * watched products whose price changed and the alerts they trigger, no matter how many watches
+ * there are in total. Products without a previous price count as coming from "no price": they
+ * trigger every watch whose condition holds.
+ */
+public final class PriceAlertIndex {
+
+  public enum Kind { BELOW, ABOVE, RISE_PERCENT, DROP_PERCENT }
+
+  /** Reference price (cents) of a metric {@code windowDays} before the snapshot, or null. */
+  @FunctionalInterface
+  public interface ReferencePrices {
+    Long reference(Metric metric, int windowDays);
+  }
+
+  private static final long BASIS_POINTS = 10_000;
+
+  private final PriceWatchEntity[] watches;
+  private final Map<String, Group[]> groupsBySeries;
+
+  private PriceAlertIndex(PriceWatchEntity[] watches, Map<String, Group[]> groupsBySeries) {
+    this.watches = watches;
+    this.groupsBySeries = groupsBySeries;
+  }
+
+  /**
+   * @throws IllegalArgumentException if a stored watch is invalid, see {@link #validate}
+   */
+  public static PriceAlertIndex build(Iterable<PriceWatchEntity> allWatches) {
+    List<PriceWatchEntity> watches = new ArrayList<>();
+    Map<String, Map<GroupKey, List<Integer>>> bySeries = new HashMap<>();
+    for (PriceWatchEntity watch : allWatches) {
+      validate(watch);
+      int ordinal = watches.size();
+      watches.add(watch);
+      Kind kind = Kind.valueOf(watch.getKind());
+      var key = new GroupKey(Metric.valueOf(watch.getMetric()), kind,
+          isPercent(kind) ? watch.getWindowDays() : 0);
+      bySeries.computeIfAbsent(PriceSeriesCodec.seriesId(watch.getSource(), watch.getProductId()),
+              id -> new HashMap<>())
+          .computeIfAbsent(key, k -> new ArrayList<>())
+          .add(ordinal);
+    }
+
+    PriceWatchEntity[] watchArray = watches.toArray(PriceWatchEntity[]::new);
+    Map<String, Group[]> groupsBySeries = HashMap.newHashMap(bySeries.size());
+    bySeries.forEach((seriesId, groups) -> groupsBySeries.put(seriesId, groups.entrySet().stream()
+        .map(entry -> Group.of(entry.getKey(), entry.getValue(), watchArray))
+        .toArray(Group[]::new)));
+    return new PriceAlertIndex(watchArray, groupsBySeries);
+  }
+
+  /**
+   * @throws IllegalArgumentException if a field is missing or out of range
+   */
+  public static void validate(PriceWatchEntity watch) {
+    if (watch.getUserId() == null || watch.getSource() == null || watch.getProductId() == null
+        || watch.getMetric() == null || watch.getKind() == null) {
+      throw new IllegalArgumentException("Watch needs a user, source, product, metric and kind");
+    }
+    Kind kind = Kind.valueOf(watch.getKind());
+    Metric.valueOf(watch.getMetric());
+    if (watch.getThreshold() == null || watch.getThreshold() <= 0) {
+      throw new IllegalArgumentException("Threshold must be positive: " + watch.getThreshold());
+    }
+    if (isPercent(kind) && (watch.getWindowDays() == null || watch.getWindowDays() <= 0)) {
+      throw new IllegalArgumentException("Percent watches need a positive window in days");
+    }
+  }
+
+  public int watchCount() {
+    return watches.length;
+  }
+
+  public PriceWatchEntity watch(int ordinal) {
+    return watches[ordinal];
+  }
+
+  public boolean isWatched(String seriesId) {
+    return groupsBySeries.containsKey(seriesId);
+  }
+
+  /**
+   * Emits the ordinals of all watches of the series triggered by a price change.
+   *
+   * @param previous raw prices (see {@link PriceSeriesCodec#toRaw}) per {@link Metric} ordinal
+   *                 before the snapshot, null for a product seen for the first time
+   * @param current  raw prices per {@link Metric} ordinal of the snapshot
+   */
+  public void evaluate(String seriesId, long[] previous, long[] current,
+      ReferencePrices references, IntConsumer triggered) {
+    Group[] groups = groupsBySeries.get(seriesId);
+    if (groups == null) {
+      return;
+    }
+    for (Group group : groups) {
+      int metric = group.key().metric().ordinal();
+      long now = current[metric];
+      long before = previous == null ? 0 : previous[metric];
+      if (now == 0 || now == before) {
+        continue;
+      }
+      long price = now - 1;
+      // without a previous price every threshold on the "condition holds" side fires
+      switch (group.key().kind()) {
+        case BELOW -> group.emit(price, before == 0 ? Long.MAX_VALUE : before - 1, triggered);
+        case ABOVE -> group.emit(before == 0 ? Long.MIN_VALUE : before - 1, price, triggered);
+        case RISE_PERCENT, DROP_PERCENT -> {
+          Long reference = references.reference(group.key().metric(), group.key().windowDays());
+          if (reference == null || reference <= 0) {
+            continue;
+          }
+          long sign = group.key().kind() == Kind.RISE_PERCENT ? 1 : -1;
+          long changeNow = sign * (price - reference) * BASIS_POINTS / reference;
+          long changeBefore = before == 0
+              ? Long.MIN_VALUE
+              : sign * (before - 1 - reference) * BASIS_POINTS / reference;
+          group.emit(changeBefore, changeNow, triggered);
+        }
+      }
+    }
+  }
+
+  private static boolean isPercent(Kind kind) {
+    return kind == Kind.RISE_PERCENT || kind == Kind.DROP_PERCENT;
+  }
+
+  private record GroupKey(Metric metric, Kind kind, int windowDays) {
+  }
+
+  private record Group(GroupKey key, long[] thresholds, int[] watches) {
+
+    static Group of(GroupKey key, List<Integer> ordinals, PriceWatchEntity[] all) {
+      Integer[] sorted = ordinals.toArray(Integer[]::new);
+      Arrays.sort(sorted, (a, b) -> Long.compare(all[a].getThreshold(), all[b].getThreshold()));
+      long[] thresholds = new long[sorted.length];
+      int[] watches = new int[sorted.length];
+      for (int i = 0; i < sorted.length; i++) {
+        thresholds[i] = all[sorted[i]].getThreshold();
+        watches[i] = sorted[i];
+      }
+      return new Group(key, thresholds, watches);
+    }
+
+    // all watches with from < threshold <= to
+    void emit(long from, long to, IntConsumer triggered) {
+      if (from >= to) {
+        return;
+      }
+      for (int i = upperBound(from), end = upperBound(to); i < end; i++) {
+        triggered.accept(watches[i]);
+      }
+    }
+
+    // index of the first threshold > value
+    private int upperBound(long value) {
+      int lo = 0;
+      int hi = thresholds.length;
+      while (lo < hi) {
+        int mid = (lo + hi) >>> 1;
+        if (thresholds[mid] <= value) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      return lo;
+    }
+  }
+}
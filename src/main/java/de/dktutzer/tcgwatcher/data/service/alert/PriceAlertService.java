@@ -0,0 +1,188 @@
+package de.dktutzer.tcgwatcher.data.service.alert;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PriceSeriesEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PriceWatchEntity;
+import de.dktutzer.tcgwatcher.data.data.model.PriceAlert;
+import de.dktutzer.tcgwatcher.data.data.model.PriceSnapshot;
+import de.dktutzer.tcgwatcher.data.service.persistence.PriceWatchRepository;
+import de.dktutzer.tcgwatcher.data.service.price.PriceSeriesCodec;
+import de.dktutzer.tcgwatcher.data.service.price.PriceSeriesService.Metric;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/**
+ * Manages price watches and evaluates ingested snapshots against them through the in-memory
+ * {@link PriceAlertIndex}. Triggered alerts are published as {@link PriceAlertsTriggeredEvent}s
+ * of at most {@code app.price.alerts.batch-size} alerts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceAlertService {
+
+  private final PriceWatchRepository priceWatchRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${app.price.alerts.batch-size}")
+  private int batchSize;
+
+  // raised after every change of the watches; an index built from an older version is stale
+  private final AtomicLong watchesVersion = new AtomicLong();
+  private volatile VersionedIndex index;
+
+  public List<PriceWatchEntity> findWatches(String userId) {
+    return priceWatchRepository.findByUserIdOrderByIdAsc(userId);
+  }
+
+  /**
+   * @throws IllegalArgumentException if the metric, kind, threshold or window is invalid
+   */
+  public PriceWatchEntity addWatch(PriceWatchEntity watch) {
+    if (watch.getWindowDays() == null) {
+      watch.setWindowDays(0);
+    }
+    PriceAlertIndex.validate(watch);
+    watch.setId(UUID.randomUUID().toString());
+    PriceWatchEntity saved = priceWatchRepository.save(watch);
+    watchesVersion.incrementAndGet();
+    return saved;
+  }
+
+  public void deleteWatch(String watchId) {
+    priceWatchRepository.deleteById(watchId);
+    watchesVersion.incrementAndGet();
+  }
+
+  /**
+   * Evaluates a snapshot before it is appended to the price series.
+   *
+   * @param seriesById the stored series of the snapshot's products, not yet containing the
+   *                   snapshot's day; products without a series are new
+   * @return number of triggered alerts
+   */
+  public int evaluate(PriceSnapshot snapshot, Map<String, PriceSeriesEntity> seriesById) {
+    PriceAlertIndex current = index();
+    if (current.watchCount() == 0) {
+      return 0;
+    }
+    long start = System.nanoTime();
+    int snapshotDay = (int) snapshot.date().toEpochDay();
+    List<PriceAlert> batch = new ArrayList<>();
+    int triggered = 0;
+    int evaluated = 0;
+    for (PriceSnapshot.Entry entry : snapshot.entries()) {
+      String seriesId = PriceSeriesCodec.seriesId(snapshot.source(), entry.productId());
+      if (!current.isWatched(seriesId)) {
+        continue;
+      }
+      PriceSeriesEntity series = seriesById.get(seriesId);
+      boolean hasHistory = series != null && series.getPointCount() > 0;
+      if (hasHistory && series.getLastDay() >= snapshotDay) {
+        // not newer than the stored series, ingest skips it as well
+        continue;
+      }
+      evaluated++;
+      long[] previous = hasHistory
+          ? new long[]{series.getLastLow(), series.getLastAvg(), series.getLastTrend()}
+          : null;
+      long[] prices = {PriceSeriesCodec.toRaw(entry.low()), PriceSeriesCodec.toRaw(entry.avg()),
+          PriceSeriesCodec.toRaw(entry.trend())};
+      var references = new SeriesReferences(hasHistory ? series : null, snapshotDay);
+      List<Integer> fired = new ArrayList<>();
+      current.evaluate(seriesId, previous, prices, references, fired::add);
+      for (int ordinal : fired) {
+        PriceWatchEntity watch = current.watch(ordinal);
+        int metric = Metric.valueOf(watch.getMetric()).ordinal();
+        batch.add(new PriceAlert(watch.getId(), watch.getUserId(), watch.getSource(),
+            watch.getProductId(), watch.getMetric(), watch.getKind(), watch.getThreshold(),
+            snapshot.date(), previous == null ? null : PriceSeriesCodec.fromRaw(previous[metric]),
+            prices[metric] - 1));
+        if (batch.size() >= batchSize) {
+          triggered += publish(batch);
+          batch = new ArrayList<>();
+        }
+      }
+    }
+    triggered += publish(batch);
+    log.info("Evaluated {} watched of {} products against {} watches in {} ms: {} alerts",
+        evaluated, snapshot.entries().size(), current.watchCount(),
+        (System.nanoTime() - start) / 1_000_000, triggered);
+    return triggered;
+  }
+
+  private int publish(List<PriceAlert> batch) {
+    if (!batch.isEmpty()) {
+      eventPublisher.publishEvent(new PriceAlertsTriggeredEvent(List.copyOf(batch)));
+    }
+    return batch.size();
+  }
+
+  /**
+   * The index of the current watches. The version is read before the watches are loaded, so a
+   * change while building leaves the new index stale and the next call builds again.
+   */
+  private PriceAlertIndex index() {
+    VersionedIndex current = index;
+    if (current != null && current.version() == watchesVersion.get()) {
+      return current.index();
+    }
+    synchronized (this) {
+      long version = watchesVersion.get();
+      current = index;
+      if (current == null || current.version() != version) {
+        long start = System.nanoTime();
+        current = new VersionedIndex(version,
+            PriceAlertIndex.build(priceWatchRepository.findAll()));
+        log.info("Built price alert index of {} watches in {} ms", current.index().watchCount(),
+            (System.nanoTime() - start) / 1_000_000);
+        index = current;
+      }
+      return current.index();
+    }
+  }
+
+  private record VersionedIndex(long version, PriceAlertIndex index) {
+  }
+
+  // decodes the series only if a percent watch of the product asks for a reference price
+  private static final class SeriesReferences implements PriceAlertIndex.ReferencePrices {
+
+    private final PriceSeriesEntity series;
+    private final int snapshotDay;
+    private PriceSeriesCodec.Decoded decoded;
+
+    SeriesReferences(PriceSeriesEntity series, int snapshotDay) {
+      this.series = series;
+      this.snapshotDay = snapshotDay;
+    }
+
+    @Override
+    public Long reference(Metric metric, int windowDays) {
+      if (series == null) {
+        return null;
+      }
+      if (decoded == null) {
+        decoded = PriceSeriesCodec.decode(series);
+      }
+      // the last stored day at or before the start of the window
+      int i = decoded.lowerBound(snapshotDay - windowDays + 1) - 1;
+      if (i < 0) {
+        return null;
+      }
+      long[] values = switch (metric) {
+        case LOW -> decoded.low();
+        case AVG -> decoded.avg();
+        case TREND -> decoded.trend();
+      };
+      return PriceSeriesCodec.fromRaw(values[i]);
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package de.dktutzer.tcgwatcher.data.service.alert;
+
+import de.dktutzer.tcgwatcher.data.data.model.PriceAlert;
+import java.util.List;
+
+/**
+ * One batch of alerts triggered by an ingested price snapshot, published by
+ * {@link PriceAlertService}. A snapshot can produce several batches.
+ */
+public record PriceAlertsTriggeredEvent(
+    List<PriceAlert> alerts) {
+}
@@ -0,0 +1,138 @@
+package de.dktutzer.tcgwatcher.data.service.deck;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.model.DeckList;
+import de.dktutzer.tcgwatcher.data.data.model.DeckList.MatchType;
+import de.dktutzer.tcgwatcher.data.service.CardNumbers;
+import de.dktutzer.tcgwatcher.data.service.scan.PackedNameColumn;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable hash indexes for deck list lines: (set code, number) taken from the card
+ * {@code code} ("OBF 125"), and the normalized de, en and fr names for lines whose set code the
+ * catalog does not know. Numbers are compared by {@link CardNumbers#sortKey}, so "OBF 6" finds
+ * "OBF 006". If several cards share a key the one with the lowest ordinal wins. The indexes hold
+ * card ordinals; only resolved cards are materialized from the card source.
+ */
+public final class DeckListIndex {
+
+  private final Map<String, Integer> bySetCodeAndNumber;
+  private final Map<String, Integer> byNameAndNumber;
+  private final Map<String, Integer> byName;
+  private final IntFunction<PokemonCardEntity> cards;
+
+  private DeckListIndex(Map<String, Integer> bySetCodeAndNumber,
+      Map<String, Integer> byNameAndNumber, Map<String, Integer> byName,
+      IntFunction<PokemonCardEntity> cards) {
+    this.bySetCodeAndNumber = bySetCodeAndNumber;
+    this.byNameAndNumber = byNameAndNumber;
+    this.byName = byName;
+    this.cards = cards;
+  }
+
+  /** For tests and benchmarks: deck lines resolve to the given cards, numbered in id order. */
+  public static DeckListIndex build(Iterable<PokemonCardEntity> allCards) {
+    List<PokemonCardEntity> sorted = new ArrayList<>();
+    allCards.forEach(sorted::add);
+    sorted.sort(Comparator.comparing(PokemonCardEntity::getId));
+    return build(sorted, sorted::get);
+  }
+
+  /**
+   * @param ordered the cards to take codes, numbers and names from, at the positions of their
+   *     ordinals in {@code cards}; the list is not kept
+   */
+  public static DeckListIndex build(List<PokemonCardEntity> ordered,
+      IntFunction<PokemonCardEntity> cards) {
+    Map<String, Integer> bySetCodeAndNumber = HashMap.newHashMap(ordered.size());
+    Map<String, Integer> byNameAndNumber = HashMap.newHashMap(ordered.size());
+    Map<String, Integer> byName = new HashMap<>();
+    for (int ordinal = 0; ordinal < ordered.size(); ordinal++) {
+      PokemonCardEntity card = ordered.get(ordinal);
+      String code = card.getCode();
+      int space = code == null ? -1 : code.lastIndexOf(' ');
+      if (space > 0) {
+        bySetCodeAndNumber.putIfAbsent(
+            key(code.substring(0, space), code.substring(space + 1)), ordinal);
+      }
+      String number = CardNumbers.sortKey(numberOf(card));
+      Set<String> names = new LinkedHashSet<>();
+      for (String name : new String[]{card.getNameEn(), card.getNameDe(), card.getNameFr()}) {
+        String normalized = PackedNameColumn.normalize(name);
+        if (!normalized.isEmpty()) {
+          names.add(normalized);
+        }
+      }
+      for (String name : names) {
+        byName.putIfAbsent(name, ordinal);
+        if (!number.isEmpty()) {
+          byNameAndNumber.putIfAbsent(name + '\n' + number, ordinal);
+        }
+      }
+    }
+    return new DeckListIndex(bySetCodeAndNumber, byNameAndNumber, byName, cards);
+  }
+
+  /**
+   * Resolves by set code and number first. Otherwise the name decides; among several prints of
+   * the name the one with the same number is preferred, then the lowest ordinal.
+   */
+  public DeckList.Entry resolve(DeckListParser.Line line) {
+    if (line.setCode() != null) {
+      Integer ordinal = bySetCodeAndNumber.get(key(line.setCode(), line.number()));
+      if (ordinal != null) {
+        return entry(line, MatchType.SET_CODE_NUMBER, ordinal);
+      }
+    }
+    String name = PackedNameColumn.normalize(line.name());
+    if (line.number() != null) {
+      Integer ordinal = byNameAndNumber.get(name + '\n' + CardNumbers.sortKey(line.number()));
+      if (ordinal != null) {
+        return entry(line, MatchType.NAME, ordinal);
+      }
+    }
+    Integer ordinal = byName.get(name);
+    return ordinal == null ? entry(line, null, null) : entry(line, MatchType.NAME, ordinal);
+  }
+
+  public DeckList resolve(List<DeckListParser.Line> lines) {
+    List<DeckList.Entry> entries = new ArrayList<>(lines.size());
+    int cardCount = 0;
+    int unresolved = 0;
+    for (DeckListParser.Line line : lines) {
+      DeckList.Entry entry = resolve(line);
+      entries.add(entry);
+      cardCount += line.quantity();
+      if (!entry.resolved()) {
+        unresolved++;
+      }
+    }
+    return new DeckList(entries, cardCount, unresolved);
+  }
+
+  private static String key(String setCode, String number) {
+    return setCode.toUpperCase(Locale.ROOT) + ' ' + CardNumbers.sortKey(number);
+  }
+
+  private static String numberOf(PokemonCardEntity card) {
+    if (card.getNumber() != null) {
+      return card.getNumber();
+    }
+    // databases imported before the number column only have it in the code
+    String code = card.getCode();
+    return code == null ? null : code.substring(code.lastIndexOf(' ') + 1);
+  }
+
+  private DeckList.Entry entry(DeckListParser.Line line, MatchType matchedBy, Integer ordinal) {
+    return new DeckList.Entry(line.line(), line.quantity(), line.name(), line.setCode(),
+        line.number(), matchedBy, ordinal == null ? null : cards.apply(ordinal));
+  }
+}
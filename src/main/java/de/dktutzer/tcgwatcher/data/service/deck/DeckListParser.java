@@ -0,0 +1,113 @@
+package de.dktutzer.tcgwatcher.data.service.deck;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tokenizes deck lists in the export format of Pokémon TCG Live and TCG Online, one card per line:
+ * {@code 4 Charizard ex OBF 125}, optionally behind a {@code *} as TCGO writes it. Lines that do
+ * not start with a quantity (section headers like {@code Pokémon: 12}, {@code Total Cards: 60},
+ * comments) are skipped. A line without a trailing set code and number keeps just its name.
+ */
+public final class DeckListParser {
+
+  private static final int MAX_SET_CODE_LENGTH = 8;
+
+  /** A card line; {@code setCode} and {@code number} are null if the line only names the card. */
+  public record Line(
+      int line,
+      int quantity,
+      String name,
+      String setCode,
+      String number) {
+  }
+
+  private DeckListParser() {
+  }
+
+  public static List<Line> parse(String text) {
+    List<Line> lines = new ArrayList<>();
+    if (text == null) {
+      return lines;
+    }
+    int lineNumber = 0;
+    int start = 0;
+    while (start <= text.length()) {
+      int end = text.indexOf('\n', start);
+      if (end < 0) {
+        end = text.length();
+      }
+      lineNumber++;
+      Line line = parseLine(lineNumber, text.substring(start, end));
+      if (line != null) {
+        lines.add(line);
+      }
+      start = end + 1;
+    }
+    return lines;
+  }
+
+  static Line parseLine(int lineNumber, String raw) {
+    String stripped = raw.strip();
+    if (stripped.startsWith("*")) {
+      stripped = stripped.substring(1).strip();
+    }
+    String[] tokens = stripped.split("\\s+");
+    if (tokens.length < 2 || !isQuantity(tokens[0])) {
+      return null;
+    }
+    int quantity = Integer.parseInt(tokens[0]);
+    int last = tokens.length - 1;
+    // quantity, at least one name token, set code, number
+    if (tokens.length >= 4 && isNumber(tokens[last]) && isSetCode(tokens[last - 1])) {
+      return new Line(lineNumber, quantity, String.join(" ", List.of(tokens).subList(1, last - 1)),
+          tokens[last - 1], tokens[last]);
+    }
+    return new Line(lineNumber, quantity, String.join(" ", List.of(tokens).subList(1, last + 1)),
+        null, null);
+  }
+
+  // at most three digits, a longer number is e.g. a year in a comment
+  private static boolean isQuantity(String token) {
+    if (token.isEmpty() || token.length() > 3) {
+      return false;
+    }
+    for (int i = 0; i < token.length(); i++) {
+      if (token.charAt(i) < '0' || token.charAt(i) > '9') {
+        return false;
+      }
+    }
+    return Integer.parseInt(token) > 0;
+  }
+
+  // 125, 177a, TG05, SV065, SWSH001
+  private static boolean isNumber(String token) {
+    boolean digit = false;
+    for (int i = 0; i < token.length(); i++) {
+      char c = token.charAt(i);
+      if (c >= '0' && c <= '9') {
+        digit = true;
+      } else if (!Character.isLetter(c) && c != '-') {
+        return false;
+      }
+    }
+    return digit;
+  }
+
+  // OBF, SV3, PR-SV: upper case letters, digits and dashes
+  private static boolean isSetCode(String token) {
+    if (token.length() < 2 || token.length() > MAX_SET_CODE_LENGTH) {
+      return false;
+    }
+    boolean letter = false;
+    for (int i = 0; i < token.length(); i++) {
+      char c = token.charAt(i);
+      if (c >= 'A' && c <= 'Z') {
+        letter = true;
+      } else if ((c < '0' || c > '9') && c != '-') {
+        return false;
+      }
+    }
+    return letter;
+  }
+}
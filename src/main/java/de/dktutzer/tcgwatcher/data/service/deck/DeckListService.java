@@ -0,0 +1,61 @@
+package de.dktutzer.tcgwatcher.data.service.deck;
+
+import de.dktutzer.tcgwatcher.data.data.model.DeckList;
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGeneration;
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGenerationService;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves pasted deck lists through the {@link DeckListIndex} of the current catalog generation.
+ * A batch is resolved against one generation, so an import in between can not mix two catalogs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeckListService {
+
+  public static final int MAX_LISTS = 10_000;
+  public static final int MAX_LIST_LENGTH = 64 * 1024;
+
+  private final CatalogGenerationService catalogGenerationService;
+
+  /**
+   * @throws IllegalArgumentException if the list is longer than {@value #MAX_LIST_LENGTH} chars
+   */
+  public DeckList resolve(String deckList) {
+    return resolveAll(List.of(deckList)).getFirst();
+  }
+
+  /**
+   * @throws IllegalArgumentException if more than {@value #MAX_LISTS} lists are given or one is
+   *                                  longer than {@value #MAX_LIST_LENGTH} chars
+   */
+  public List<DeckList> resolveAll(List<String> deckLists) {
+    if (deckLists.size() > MAX_LISTS) {
+      throw new IllegalArgumentException(
+          "At most " + MAX_LISTS + " deck lists per request, got " + deckLists.size());
+    }
+    List<List<DeckListParser.Line>> parsed = new ArrayList<>(deckLists.size());
+    for (String deckList : deckLists) {
+      if (deckList != null && deckList.length() > MAX_LIST_LENGTH) {
+        throw new IllegalArgumentException(
+            "Deck lists are limited to " + MAX_LIST_LENGTH + " characters");
+      }
+      parsed.add(DeckListParser.parse(deckList));
+    }
+
+    long start = System.nanoTime();
+    List<DeckList> result = new ArrayList<>(parsed.size());
+    try (CatalogGeneration.Lease lease = catalogGenerationService.acquire()) {
+      DeckListIndex index = lease.generation().deckListIndex();
+      parsed.forEach(lines -> result.add(index.resolve(lines)));
+    }
+    log.debug("Resolved {} deck lists in {} µs", result.size(),
+        (System.nanoTime() - start) / 1_000);
+    return result;
+  }
+}
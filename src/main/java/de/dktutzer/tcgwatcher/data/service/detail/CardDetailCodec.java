@@ -0,0 +1,76 @@
+package de.dktutzer.tcgwatcher.data.service.detail;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.dktutzer.tcgwatcher.data.data.model.CardDetail;
+import de.dktutzer.tcgwatcher.data.data.model.DexCardData;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Card detail payloads: JSON without empty fields, raw deflate compressed. Attack texts repeat a
+ * lot within a card (costs, damage, effect phrases), so payloads shrink to roughly a third.
+ */
+public final class CardDetailCodec {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+      .setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+
+  private CardDetailCodec() {
+  }
+
+  public static CardDetail toDetail(String cardId, DexCardData card) {
+    return new CardDetail(
+        cardId,
+        card.names(),
+        card.supertype(),
+        card.subtypes(),
+        card.rarity(),
+        card.hp(),
+        card.types(),
+        card.stage(),
+        card.evolveFrom(),
+        card.abilities(),
+        card.attacks(),
+        card.weaknesses(),
+        card.resistances(),
+        card.retreatCost(),
+        card.retreat(),
+        card.convertedRetreatCost(),
+        card.artist(),
+        card.description(),
+        card.dexId());
+  }
+
+  public static byte[] encode(CardDetail detail) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+    try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+      OBJECT_MAPPER.writeValue(out, detail);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to encode details of " + detail.cardId(), e);
+    } finally {
+      deflater.end();
+    }
+    return bytes.toByteArray();
+  }
+
+  public static CardDetail decode(byte[] payload) {
+    Inflater inflater = new Inflater(true);
+    try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(payload), inflater)) {
+      return OBJECT_MAPPER.readValue(in, CardDetail.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to decode card details", e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
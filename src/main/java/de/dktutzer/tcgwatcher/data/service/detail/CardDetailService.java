@@ -0,0 +1,20 @@
+package de.dktutzer.tcgwatcher.data.service.detail;
+
+import de.dktutzer.tcgwatcher.data.data.model.CardDetail;
+import de.dktutzer.tcgwatcher.data.service.persistence.CardDetailSqliteRepository;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CardDetailService {
+
+  private final CardDetailSqliteRepository cardDetailSqliteRepository;
+
+  /** Full attributes of one card, the payload is only decoded here. */
+  public Optional<CardDetail> findDetail(String cardId) {
+    return cardDetailSqliteRepository.findById(cardId)
+        .map(entity -> CardDetailCodec.decode(entity.getPayload()));
+  }
+}
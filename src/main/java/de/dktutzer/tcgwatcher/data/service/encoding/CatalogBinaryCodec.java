@@ -0,0 +1,306 @@
+package de.dktutzer.tcgwatcher.data.service.encoding;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSeriesEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSetEntity;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compact binary form of card, set and series lists, the alternative to JSON for the search and
+ * listing endpoints. Every distinct string is written once, rows only reference it; search pages
+ * repeat set ids, series names and names that are equal across languages a lot.
+ *
+ * <pre>
+ * "TCGB" version:u8
+ * columnCount:varint  (name:string kind:u8)*     kind 's' = table string, 'u' = inline string,
+ *                                                'i' = integer
+ * stringCount:varint  string*                    string = utf8 length:varint, utf8 bytes
+ * rowCount:varint     (value)* per row and column
+ * </pre>
+ * A value is the varint 0 for null, otherwise string table index + 1, zigzag(integer) + 1 or, for
+ * inline strings, utf8 length + 1 followed by the bytes. Ids and codes are unique per row, a table
+ * entry would only cost a lookup. Readers map columns by name and skip unknown ones, so columns
+ * can be added without a new version.
+ */
+public final class CatalogBinaryCodec {
+
+  public static final String MEDIA_TYPE = "application/x-tcgwatcher-catalog";
+
+  private static final byte[] MAGIC = {'T', 'C', 'G', 'B'};
+  private static final int VERSION = 1;
+  private static final char STRING = 's';
+  private static final char INLINE = 'u';
+  private static final char INTEGER = 'i';
+
+  public record Column<T>(String name, char kind, Function<T, Object> getter,
+      BiConsumer<T, Object> setter) {
+
+    static <T> Column<T> text(String name, Function<T, String> getter,
+        BiConsumer<T, String> setter) {
+      return new Column<>(name, STRING, getter::apply, (row, v) -> setter.accept(row, (String) v));
+    }
+
+    // for values that are (almost) unique per row, written in place instead of into the table
+    static <T> Column<T> unique(String name, Function<T, String> getter,
+        BiConsumer<T, String> setter) {
+      return new Column<>(name, INLINE, getter::apply, (row, v) -> setter.accept(row, (String) v));
+    }
+
+    static <T> Column<T> integer(String name, Function<T, Integer> getter,
+        BiConsumer<T, Integer> setter) {
+      return new Column<>(name, INTEGER, getter::apply,
+          (row, v) -> setter.accept(row, v == null ? null : ((Long) v).intValue()));
+    }
+  }
+
+  public record Schema<T>(Class<T> type, Supplier<T> factory, List<Column<T>> columns) {
+  }
+
+  public static final Schema<PokemonCardEntity> CARDS = new Schema<>(PokemonCardEntity.class,
+      PokemonCardEntity::new, List.of(
+      Column.unique("id", PokemonCardEntity::getId, PokemonCardEntity::setId),
+      Column.text("nameDe", PokemonCardEntity::getNameDe, PokemonCardEntity::setNameDe),
+      Column.text("nameFr", PokemonCardEntity::getNameFr, PokemonCardEntity::setNameFr),
+      Column.text("nameEn", PokemonCardEntity::getNameEn, PokemonCardEntity::setNameEn),
+      Column.unique("code", PokemonCardEntity::getCode, PokemonCardEntity::setCode),
+      Column.unique("cmProductId", PokemonCardEntity::getCmProductId,
+          PokemonCardEntity::setCmProductId),
+      Column.unique("cmPageId", PokemonCardEntity::getCmPageId, PokemonCardEntity::setCmPageId),
+      Column.unique("tcgpId", PokemonCardEntity::getTcgpId, PokemonCardEntity::setTcgpId),
+      Column.text("setId", PokemonCardEntity::getSetId, PokemonCardEntity::setSetId),
+      Column.text("number", PokemonCardEntity::getNumber, PokemonCardEntity::setNumber),
+      Column.text("reprintClusterId", PokemonCardEntity::getReprintClusterId,
+          PokemonCardEntity::setReprintClusterId),
+      Column.text("speciesKey", PokemonCardEntity::getSpeciesKey,
+          PokemonCardEntity::setSpeciesKey),
+      Column.text("evolutionChainId", PokemonCardEntity::getEvolutionChainId,
+          PokemonCardEntity::setEvolutionChainId),
+      Column.integer("evolutionStage", PokemonCardEntity::getEvolutionStage,
+          PokemonCardEntity::setEvolutionStage)));
+
+  public static final Schema<PokemonSeriesEntity> SERIES = new Schema<>(PokemonSeriesEntity.class,
+      PokemonSeriesEntity::new, List.of(
+      Column.unique("id", PokemonSeriesEntity::getId, PokemonSeriesEntity::setId),
+      Column.text("nameDe", PokemonSeriesEntity::getNameDe, PokemonSeriesEntity::setNameDe),
+      Column.text("nameFr", PokemonSeriesEntity::getNameFr, PokemonSeriesEntity::setNameFr),
+      Column.text("nameEn", PokemonSeriesEntity::getNameEn, PokemonSeriesEntity::setNameEn)));
+
+  // the series of a set is flattened into series.* columns
+  public static final Schema<PokemonSetEntity> SETS = new Schema<>(PokemonSetEntity.class,
+      PokemonSetEntity::new, List.of(
+      Column.unique("id", PokemonSetEntity::getId, PokemonSetEntity::setId),
+      Column.text("nameDe", PokemonSetEntity::getNameDe, PokemonSetEntity::setNameDe),
+      Column.text("nameFr", PokemonSetEntity::getNameFr, PokemonSetEntity::setNameFr),
+      Column.text("nameEn", PokemonSetEntity::getNameEn, PokemonSetEntity::setNameEn),
+      Column.unique("code", PokemonSetEntity::getCode, PokemonSetEntity::setCode),
+      Column.unique("abbreviation", PokemonSetEntity::getAbbreviation,
+          PokemonSetEntity::setAbbreviation),
+      Column.integer("total", PokemonSetEntity::getTotal, PokemonSetEntity::setTotal),
+      Column.integer("official", PokemonSetEntity::getOfficial, PokemonSetEntity::setOfficial),
+      Column.unique("tcgpId", PokemonSetEntity::getTcgpId, PokemonSetEntity::setTcgpId),
+      Column.unique("cmProductId", PokemonSetEntity::getCmProductId,
+          PokemonSetEntity::setCmProductId),
+      Column.text("releaseDate", PokemonSetEntity::getReleaseDate,
+          PokemonSetEntity::setReleaseDate),
+      Column.text("series.id", s -> series(s, false).getId(), (s, v) -> series(s, true).setId(v)),
+      Column.text("series.nameDe", s -> series(s, false).getNameDe(),
+          (s, v) -> series(s, true).setNameDe(v)),
+      Column.text("series.nameFr", s -> series(s, false).getNameFr(),
+          (s, v) -> series(s, true).setNameFr(v)),
+      Column.text("series.nameEn", s -> series(s, false).getNameEn(),
+          (s, v) -> series(s, true).setNameEn(v))));
+
+  private static final List<Schema<?>> SCHEMAS = List.of(CARDS, SETS, SERIES);
+
+  private CatalogBinaryCodec() {
+  }
+
+  /** The schema of an entity type or a subclass of it (e.g. a Hibernate proxy). */
+  public static Optional<Schema<?>> schemaFor(Class<?> type) {
+    return SCHEMAS.stream().filter(schema -> schema.type().isAssignableFrom(type)).findFirst();
+  }
+
+  public static <T> byte[] encode(Schema<T> schema, List<? extends T> rows) {
+    List<Column<T>> columns = schema.columns();
+    int columnCount = columns.size();
+    Map<String, Integer> stringIndex = new HashMap<>();
+    List<byte[]> strings = new ArrayList<>();
+    var body = new Buffer(rows.size() * columnCount * 2 + 8);
+    body.writeVarint(rows.size());
+    for (T row : rows) {
+      for (int c = 0; c < columnCount; c++) {
+        Column<T> column = columns.get(c);
+        Object value = column.getter().apply(row);
+        if (value == null) {
+          body.write(0);
+        } else if (column.kind() == STRING) {
+          Integer index = stringIndex.get(value);
+          if (index == null) {
+            index = strings.size();
+            stringIndex.put((String) value, index);
+            strings.add(((String) value).getBytes(StandardCharsets.UTF_8));
+          }
+          body.writeVarint(index + 1L);
+        } else if (column.kind() == INLINE) {
+          byte[] utf8 = ((String) value).getBytes(StandardCharsets.UTF_8);
+          body.writeVarint(utf8.length + 1L);
+          body.write(utf8, 0, utf8.length);
+        } else {
+          body.writeVarint(VarInts.zigZag(((Number) value).longValue()) + 1);
+        }
+      }
+    }
+
+    var out = new Buffer(body.size + strings.size() * 16 + columnCount * 16 + 16);
+    out.write(MAGIC, 0, MAGIC.length);
+    out.write(VERSION);
+    out.writeVarint(columnCount);
+    for (Column<T> column : columns) {
+      out.writeString(column.name().getBytes(StandardCharsets.UTF_8));
+      out.write(column.kind());
+    }
+    out.writeVarint(strings.size());
+    for (byte[] string : strings) {
+      out.writeString(string);
+    }
+    out.write(body.bytes, 0, body.size);
+    return out.size == out.bytes.length ? out.bytes : Arrays.copyOf(out.bytes, out.size);
+  }
+
+  /**
+   * @throws IllegalArgumentException if the payload is not a supported catalog encoding
+   */
+  public static <T> List<T> decode(Schema<T> schema, byte[] payload) {
+    if (payload.length < MAGIC.length + 1
+        || !Arrays.equals(payload, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+      throw new IllegalArgumentException("Not a catalog encoding");
+    }
+    if (payload[MAGIC.length] != VERSION) {
+      throw new IllegalArgumentException("Unsupported version " + payload[MAGIC.length]);
+    }
+    var reader = new VarInts.Reader(payload, MAGIC.length + 1, payload.length - MAGIC.length - 1);
+    try {
+      // columns of the payload mapped to the schema, null for unknown ones
+      Column<T>[] mapped = newColumnArray(readCount(reader, payload));
+      char[] kinds = new char[mapped.length];
+      for (int i = 0; i < mapped.length; i++) {
+        String name = readString(reader, payload);
+        kinds[i] = (char) payload[reader.position()];
+        reader.skip(1);
+        for (Column<T> column : schema.columns()) {
+          if (column.name().equals(name) && column.kind() == kinds[i]) {
+            mapped[i] = column;
+          }
+        }
+      }
+      String[] strings = new String[readCount(reader, payload)];
+      for (int i = 0; i < strings.length; i++) {
+        strings[i] = readString(reader, payload);
+      }
+
+      int rowCount = readCount(reader, payload);
+      List<T> rows = new ArrayList<>(rowCount);
+      for (int r = 0; r < rowCount; r++) {
+        T row = schema.factory().get();
+        for (int i = 0; i < mapped.length; i++) {
+          long value = reader.readUnsigned();
+          if (kinds[i] == INLINE && value != 0) {
+            int length = (int) (value - 1);
+            int start = reader.position();
+            reader.skip(length);
+            if (mapped[i] != null) {
+              mapped[i].setter().accept(row, new String(payload, start, length,
+                  StandardCharsets.UTF_8));
+            }
+          } else if (mapped[i] != null && value != 0) {
+            mapped[i].setter().accept(row, kinds[i] == STRING
+                ? strings[(int) (value - 1)]
+                : (Object) VarInts.unZigZag(value - 1));
+          }
+        }
+        rows.add(row);
+      }
+      return rows;
+    } catch (IllegalStateException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Malformed catalog encoding", e);
+    }
+  }
+
+  private static PokemonSeriesEntity series(PokemonSetEntity set, boolean create) {
+    if (set.getSeries() == null) {
+      if (!create) {
+        return new PokemonSeriesEntity();
+      }
+      set.setSeries(new PokemonSeriesEntity());
+    }
+    return set.getSeries();
+  }
+
+  private static String readString(VarInts.Reader reader, byte[] payload) {
+    int length = readCount(reader, payload);
+    int start = reader.position();
+    reader.skip(length);
+    return new String(payload, start, length, StandardCharsets.UTF_8);
+  }
+
+  // every counted item takes at least one byte, larger counts can only come from corrupt input
+  private static int readCount(VarInts.Reader reader, byte[] payload) {
+    long count = reader.readUnsigned();
+    if (count > payload.length - reader.position()) {
+      throw new IllegalStateException("Count " + count + " exceeds the payload");
+    }
+    return (int) count;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Column<T>[] newColumnArray(int length) {
+    return (Column<T>[]) new Column<?>[length];
+  }
+
+  // unsynchronized ByteArrayOutputStream, the encoder writes byte by byte
+  private static final class Buffer {
+
+    private byte[] bytes;
+    private int size;
+
+    Buffer(int capacity) {
+      bytes = new byte[Math.max(16, capacity)];
+    }
+
+    void write(int b) {
+      ensure(1);
+      bytes[size++] = (byte) b;
+    }
+
+    void write(byte[] source, int offset, int length) {
+      ensure(length);
+      System.arraycopy(source, offset, bytes, size, length);
+      size += length;
+    }
+
+    void writeVarint(long value) {
+      ensure(10);
+      size = VarInts.writeUnsigned(bytes, size, value);
+    }
+
+    void writeString(byte[] utf8) {
+      writeVarint(utf8.length);
+      write(utf8, 0, utf8.length);
+    }
+
+    private void ensure(int extra) {
+      if (size + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+      }
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package de.dktutzer.tcgwatcher.data.service.encoding;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * LEB128 style variable length integers with zigzag encoding for signed values. Small magnitudes
+ * (day gaps, price deltas, dictionary indices) take one or two bytes instead of eight.
+ */
+public final class VarInts {
+
+  private VarInts() {
+  }
+
+  public static void writeUnsigned(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  /**
+   * Writes into an array with at least 10 bytes left at {@code offset}.
+   *
+   * @return the offset after the written bytes
+   */
+  public static int writeUnsigned(byte[] target, int offset, long value) {
+    while ((value & ~0x7FL) != 0) {
+      target[offset++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    target[offset++] = (byte) value;
+    return offset;
+  }
+
+  public static void writeSigned(ByteArrayOutputStream out, long value) {
+    writeUnsigned(out, zigZag(value));
+  }
+
+  public static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  public static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /** Sequential reader over an encoded buffer. */
+  public static final class Reader {
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    public Reader(byte[] buffer) {
+      this(buffer, 0, buffer == null ? 0 : buffer.length);
+    }
+
+    public Reader(byte[] buffer, int offset, int length) {
+      this.buffer = buffer;
+      this.position = offset;
+      this.limit = offset + length;
+    }
+
+    public boolean hasRemaining() {
+      return position < limit;
+    }
+
+    public int position() {
+      return position;
+    }
+
+    public long readUnsigned() {
+      long result = 0;
+      int shift = 0;
+      while (true) {
+        if (position >= limit) {
+          throw new IllegalStateException("Truncated varint at offset " + position);
+        }
+        byte b = buffer[position++];
+        result |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return result;
+        }
+        shift += 7;
+        if (shift > 63) {
+          throw new IllegalStateException("Malformed varint at offset " + position);
+        }
+      }
+    }
+
+    public long readSigned() {
+      return unZigZag(readUnsigned());
+    }
+
+    /** Skips raw bytes, e.g. the payload of a length prefixed string. */
+    public void skip(int length) {
+      if (length < 0 || position + length > limit) {
+        throw new IllegalStateException("Cannot skip " + length + " bytes at offset " + position);
+      }
+      position += length;
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package de.dktutzer.tcgwatcher.data.service.evolution;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.model.EvolutionChain;
+import de.dktutzer.tcgwatcher.data.service.persistence.EvolutionSqliteRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.QuickSearchCardsSqliteRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/** Reads the evolution chains precomputed by the import. */
+@Service
+@RequiredArgsConstructor
+public class EvolutionChainService {
+
+  private final QuickSearchCardsSqliteRepository quickSearchCardsSqliteRepository;
+  private final EvolutionSqliteRepository evolutionSqliteRepository;
+
+  /**
+   * The whole evolution line of the card with every printed card per stage. The cards come from
+   * one lookup on the indexed chain id, the edges from another.
+   */
+  public Optional<EvolutionChain> findChainForCard(String cardId) {
+    return quickSearchCardsSqliteRepository.findById(cardId)
+        .map(PokemonCardEntity::getEvolutionChainId)
+        .map(this::findChain);
+  }
+
+  public EvolutionChain findChain(String chainId) {
+    Map<Integer, List<PokemonCardEntity>> cardsByStage = new TreeMap<>();
+    for (PokemonCardEntity card : quickSearchCardsSqliteRepository
+        .findByEvolutionChainIdOrderByEvolutionStageAscIdAsc(chainId)) {
+      int stage = card.getEvolutionStage() == null ? 0 : card.getEvolutionStage();
+      cardsByStage.computeIfAbsent(stage, s -> new ArrayList<>()).add(card);
+    }
+    List<EvolutionChain.Stage> stages = cardsByStage.entrySet().stream()
+        .map(e -> new EvolutionChain.Stage(e.getKey(), e.getValue()))
+        .toList();
+    List<EvolutionChain.Evolution> evolutions = evolutionSqliteRepository.findByChainId(chainId)
+        .stream()
+        .map(e -> new EvolutionChain.Evolution(e.getFromSpecies(), e.getToSpecies()))
+        .toList();
+    return new EvolutionChain(chainId, stages, evolutions);
+  }
+}
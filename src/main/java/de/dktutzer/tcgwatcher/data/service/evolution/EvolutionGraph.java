@@ -0,0 +1,235 @@
+package de.dktutzer.tcgwatcher.data.service.evolution;
+
+import de.dktutzer.tcgwatcher.data.data.model.TCGWatcherCardModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Directed "evolves into" graph over species, built once per import in linear time.
+ *
+ * <p>A card's species is {@code dex:<first dexId>}; cards without a dexId fall back to
+ * {@code name:<base name>}. The localized {@code evolveFrom} names are resolved to species through
+ * the english base names of all cards that carry a dexId. Adjacency is kept in compressed sparse
+ * row form ({@link #childOffsets}/{@link #children}), every species gets the id of its weakly
+ * connected component (the chain) and its stage, the longest distance from a chain root.
+ */
+public final class EvolutionGraph {
+
+  private static final Pattern PREFIXES = Pattern.compile(
+      "^(?:.+?'s |mega |m |dark |light |radiant |shining |alolan |galarian |hisuian |paldean )+");
+  private static final Pattern SUFFIXES = Pattern.compile(
+      "(?:[ -](?:ex|gx|v|vmax|vstar|v-union|break|lv\\.x|prime|legend|star|δ|◇|x|y))+$");
+
+  private final List<String> speciesKeys;
+  private final int[] childOffsets;
+  private final int[] children;
+  private final int[] chainRoot;
+  private final int[] stage;
+  private final Map<String, Integer> cardSpecies;
+
+  private EvolutionGraph(List<String> speciesKeys, int[] childOffsets, int[] children,
+      int[] chainRoot, int[] stage, Map<String, Integer> cardSpecies) {
+    this.speciesKeys = speciesKeys;
+    this.childOffsets = childOffsets;
+    this.children = children;
+    this.chainRoot = chainRoot;
+    this.stage = stage;
+    this.cardSpecies = cardSpecies;
+  }
+
+  public static EvolutionGraph build(List<TCGWatcherCardModel> cards) {
+    // the card with the smallest id names the species of a base name, so neither the species
+    // keys nor the chains and stages depend on the input order; only the ordinals do
+    Map<String, String> speciesByBaseName = new HashMap<>();
+    Map<String, String> speciesSourceCard = new HashMap<>();
+    Set<String> evolvedFromNames = new HashSet<>();
+    for (TCGWatcherCardModel card : cards) {
+      if (card.getDexIds() != null && !card.getDexIds().isEmpty()) {
+        String base = baseName(englishName(card.getNames()));
+        String source = speciesSourceCard.get(base);
+        if (source == null || card.getId().compareTo(source) < 0) {
+          speciesSourceCard.put(base, card.getId());
+          speciesByBaseName.put(base, "dex:" + card.getDexIds().getFirst());
+        }
+      }
+      String evolveFrom = englishName(card.getEvolveFrom());
+      if (!evolveFrom.isEmpty()) {
+        evolvedFromNames.add(baseName(evolveFrom));
+      }
+    }
+
+    Map<String, Integer> ordinals = new LinkedHashMap<>();
+    Map<String, Integer> cardSpecies = new HashMap<>();
+    Set<Long> edgeKeys = new HashSet<>();
+    List<int[]> edges = new ArrayList<>();
+    for (TCGWatcherCardModel card : cards) {
+      String species = speciesOf(card, speciesByBaseName, evolvedFromNames);
+      if (species == null) {
+        continue;
+      }
+      int to = ordinals.computeIfAbsent(species, k -> ordinals.size());
+      cardSpecies.put(card.getId(), to);
+
+      String evolveFrom = englishName(card.getEvolveFrom());
+      if (!evolveFrom.isEmpty()) {
+        String base = baseName(evolveFrom);
+        String parent = speciesByBaseName.getOrDefault(base, "name:" + base);
+        int from = ordinals.computeIfAbsent(parent, k -> ordinals.size());
+        if (from != to && edgeKeys.add(((long) from << 32) | to)) {
+          edges.add(new int[]{from, to});
+        }
+      }
+    }
+
+    int n = ordinals.size();
+    int[] offsets = new int[n + 1];
+    int[] inDegree = new int[n];
+    for (int[] edge : edges) {
+      offsets[edge[0] + 1]++;
+      inDegree[edge[1]]++;
+    }
+    for (int i = 0; i < n; i++) {
+      offsets[i + 1] += offsets[i];
+    }
+    int[] targets = new int[edges.size()];
+    int[] fill = Arrays.copyOf(offsets, n);
+    for (int[] edge : edges) {
+      targets[fill[edge[0]]++] = edge[1];
+    }
+
+    // chains: union-find over the undirected edges
+    int[] parent = new int[n];
+    for (int i = 0; i < n; i++) {
+      parent[i] = i;
+    }
+    for (int[] edge : edges) {
+      union(parent, edge[0], edge[1]);
+    }
+    List<String> keys = List.copyOf(ordinals.keySet());
+    int[] root = new int[n];
+    for (int i = 0; i < n; i++) {
+      root[i] = find(parent, i);
+    }
+    // use the smallest species key of a chain as its representative, independent of input order
+    int[] representative = new int[n];
+    Arrays.fill(representative, -1);
+    for (int i = 0; i < n; i++) {
+      int r = root[i];
+      if (representative[r] < 0 || keys.get(i).compareTo(keys.get(representative[r])) < 0) {
+        representative[r] = i;
+      }
+    }
+    int[] chainRoot = new int[n];
+    for (int i = 0; i < n; i++) {
+      chainRoot[i] = representative[root[i]];
+    }
+
+    // stages: longest path from a root, Kahn's algorithm (species on a cycle keep stage 0)
+    int[] stage = new int[n];
+    int[] remaining = Arrays.copyOf(inDegree, n);
+    int[] queue = new int[n];
+    int head = 0;
+    int tail = 0;
+    for (int i = 0; i < n; i++) {
+      if (remaining[i] == 0) {
+        queue[tail++] = i;
+      }
+    }
+    while (head < tail) {
+      int v = queue[head++];
+      for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+        int child = targets[e];
+        stage[child] = Math.max(stage[child], stage[v] + 1);
+        if (--remaining[child] == 0) {
+          queue[tail++] = child;
+        }
+      }
+    }
+
+    return new EvolutionGraph(keys, offsets, targets, chainRoot, stage, cardSpecies);
+  }
+
+  public int speciesCount() {
+    return speciesKeys.size();
+  }
+
+  public int edgeCount() {
+    return children.length;
+  }
+
+  /** Species ordinal of the card or -1 if it has none (trainers, energies). */
+  public int speciesOfCard(String cardId) {
+    return cardSpecies.getOrDefault(cardId, -1);
+  }
+
+  public String speciesKey(int species) {
+    return speciesKeys.get(species);
+  }
+
+  public String chainId(int species) {
+    return speciesKeys.get(chainRoot[species]);
+  }
+
+  public int stage(int species) {
+    return stage[species];
+  }
+
+  public int[] childOffsets() {
+    return childOffsets;
+  }
+
+  public int[] children() {
+    return children;
+  }
+
+  static String speciesOf(TCGWatcherCardModel card, Map<String, String> speciesByBaseName,
+      Set<String> evolvedFromNames) {
+    if (card.getDexIds() != null && !card.getDexIds().isEmpty()) {
+      return "dex:" + card.getDexIds().getFirst();
+    }
+    String base = baseName(englishName(card.getNames()));
+    if (englishName(card.getEvolveFrom()).isEmpty() && !evolvedFromNames.contains(base)) {
+      // no pokedex data and not part of any evolution: trainer, energy or unknown
+      return null;
+    }
+    return speciesByBaseName.getOrDefault(base, "name:" + base);
+  }
+
+  static String baseName(String name) {
+    String base = name.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    base = PREFIXES.matcher(base).replaceFirst("");
+    base = SUFFIXES.matcher(base).replaceFirst("");
+    return base.trim();
+  }
+
+  private static String englishName(Map<String, String> names) {
+    if (names == null || names.isEmpty()) {
+      return "";
+    }
+    return names.getOrDefault("en", names.values().iterator().next());
+  }
+
+  private static int find(int[] parent, int i) {
+    while (parent[i] != i) {
+      parent[i] = parent[parent[i]];
+      i = parent[i];
+    }
+    return i;
+  }
+
+  private static void union(int[] parent, int a, int b) {
+    int ra = find(parent, a);
+    int rb = find(parent, b);
+    if (ra != rb) {
+      parent[Math.max(ra, rb)] = Math.min(ra, rb);
+    }
+  }
+}
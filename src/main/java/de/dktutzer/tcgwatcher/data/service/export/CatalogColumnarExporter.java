@@ -0,0 +1,120 @@
+package de.dktutzer.tcgwatcher.data.service.export;
+
+import static de.dktutzer.tcgwatcher.data.service.export.ColumnarFormat.Column.integer;
+import static de.dktutzer.tcgwatcher.data.service.export.ColumnarFormat.Column.string;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.dktutzer.tcgwatcher.data.data.model.DexCardData;
+import de.dktutzer.tcgwatcher.data.data.model.DexSeriesData;
+import de.dktutzer.tcgwatcher.data.data.model.DexSetData;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Exports the parsed catalog to three columnar files (series, sets, cards) for analytics. Scalar
+ * attributes get their own column; maps and lists (names, attacks, ...) are stored as JSON text,
+ * which the dictionary encoding keeps small for the many repeated values (types, weaknesses).
+ *
+ * <p>Cards are streamed set by set into the writer, no row copy of the catalog is built.
+ */
+@Service
+@Slf4j
+public class CatalogColumnarExporter {
+
+  public static final String SERIES_FILE = "series" + ColumnarFormat.EXTENSION;
+  public static final String SETS_FILE = "sets" + ColumnarFormat.EXTENSION;
+  public static final String CARDS_FILE = "cards" + ColumnarFormat.EXTENSION;
+
+  static final List<ColumnarFormat.Column> SERIES_COLUMNS = List.of(
+      string("id"), string("names"), integer("set_count"));
+
+  static final List<ColumnarFormat.Column> SET_COLUMNS = List.of(
+      string("id"), string("series_id"), string("name_en"), string("names"),
+      integer("card_count_official"), integer("card_count_total"), string("release_date"),
+      string("ptcgo_code"), string("abbreviations"), string("third_party"), string("images"));
+
+  static final List<ColumnarFormat.Column> CARD_COLUMNS = List.of(
+      string("id"), string("set_id"), string("series_id"), string("number"), string("name_en"),
+      string("names"), string("supertype"), string("subtypes"), string("rarity"), string("hp"),
+      string("types"), string("evolve_from"), string("stage"), string("abilities"),
+      string("attacks"), string("weaknesses"), string("resistances"), string("retreat_cost"),
+      integer("retreat"), integer("converted_retreat_cost"), string("artist"),
+      string("description"), string("cardmarket_id"), string("tcgplayer_id"),
+      string("third_party"), string("dex_ids"), string("source_file"));
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+  public void export(Map<String, DexSeriesData> seriesMap, Path targetDir) throws IOException {
+    long start = System.nanoTime();
+    Files.createDirectories(targetDir);
+    Collection<DexSeriesData> allSeries = seriesMap.values();
+
+    try (var writer = new ColumnarWriter(targetDir.resolve(SERIES_FILE), SERIES_COLUMNS)) {
+      for (DexSeriesData series : allSeries) {
+        writer.addRow(series.id(), json(series.name()), series.sets().size());
+      }
+    }
+
+    try (var writer = new ColumnarWriter(targetDir.resolve(SETS_FILE), SET_COLUMNS)) {
+      for (DexSeriesData series : allSeries) {
+        for (DexSetData set : series.sets().values()) {
+          writer.addRow(set.id(), series.id(), name(set.name()), json(set.name()), set.cardCount(),
+              set.cards().size(), set.releaseDate(), set.ptcgoCode(), json(set.abbreviations()),
+              json(set.thirdParty()), json(set.images()));
+        }
+      }
+    }
+
+    long cardCount = 0;
+    try (var writer = new ColumnarWriter(targetDir.resolve(CARDS_FILE), CARD_COLUMNS)) {
+      for (DexSeriesData series : allSeries) {
+        for (DexSetData set : series.sets().values()) {
+          for (DexCardData card : set.cards().values()) {
+            Map<String, String> thirdParty = card.thirdParty() == null ? Map.of() : card.thirdParty();
+            writer.addRow(
+                set.id() + "-" + card.number(), set.id(), series.id(), card.number(),
+                name(card.names()), json(card.names()), card.supertype(), json(card.subtypes()),
+                card.rarity(), card.hp(), json(card.types()), json(card.evolveFrom()), card.stage(),
+                json(card.abilities()), json(card.attacks()), json(card.weaknesses()),
+                json(card.resistances()), json(card.retreatCost()), card.retreat(),
+                card.convertedRetreatCost(), card.artist(), json(card.description()),
+                thirdParty.get("cardmarket"), thirdParty.get("tcgplayer"), json(thirdParty),
+                json(card.dexId()),
+                card.sourceFile() == null ? null : card.sourceFile().toString());
+            cardCount++;
+          }
+        }
+      }
+    }
+    log.info("Exported {} series and {} cards to {} in {} ms", allSeries.size(), cardCount,
+        targetDir, (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private static String name(Map<String, String> names) {
+    return names == null ? null : names.get("en");
+  }
+
+  // empty collections are exported as null, analytics treat both the same
+  private String json(Object value) {
+    if (value == null
+        || value instanceof Collection<?> c && c.isEmpty()
+        || value instanceof Map<?, ?> m && m.isEmpty()) {
+      return null;
+    }
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
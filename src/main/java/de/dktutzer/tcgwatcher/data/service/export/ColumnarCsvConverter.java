@@ -0,0 +1,94 @@
+package de.dktutzer.tcgwatcher.data.service.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Converts columnar export files to RFC 4180 CSV (UTF-8, header row, CRLF line ends), which
+ * pandas, DuckDB and Spark read directly. Null values are empty fields, empty strings quoted ones,
+ * so {@code read_csv} can tell them apart. The file is converted row group by row group; only one
+ * group is held in memory.
+ */
+public final class ColumnarCsvConverter {
+
+  public static final String EXTENSION = ".csv";
+
+  private ColumnarCsvConverter() {
+  }
+
+  /** Converts every {@value ColumnarFormat#EXTENSION} file of the directory next to itself. */
+  public static List<Path> convertDirectory(Path dir) throws IOException {
+    List<Path> files;
+    try (Stream<Path> stream = Files.list(dir)) {
+      files = stream.filter(p -> p.getFileName().toString().endsWith(ColumnarFormat.EXTENSION))
+          .sorted()
+          .toList();
+    }
+    List<Path> converted = new ArrayList<>(files.size());
+    for (Path file : files) {
+      String name = file.getFileName().toString();
+      Path target = file.resolveSibling(
+          name.substring(0, name.length() - ColumnarFormat.EXTENSION.length()) + EXTENSION);
+      convert(file, target);
+      converted.add(target);
+    }
+    return converted;
+  }
+
+  public static void convert(Path source, Path target) throws IOException {
+    try (var reader = ColumnarReader.open(source);
+        Writer out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+      List<ColumnarFormat.Column> columns = reader.columns();
+      for (int c = 0; c < columns.size(); c++) {
+        if (c > 0) {
+          out.write(',');
+        }
+        writeField(out, columns.get(c).name());
+      }
+      out.write("\r\n");
+
+      Object[][] values = new Object[columns.size()][];
+      for (int group = 0; group < reader.rowGroups().size(); group++) {
+        for (int c = 0; c < columns.size(); c++) {
+          ColumnarFormat.Column column = columns.get(c);
+          values[c] = column.type() == ColumnarFormat.Type.STRING
+              ? reader.readStrings(group, column.name())
+              : reader.readInts(group, column.name());
+        }
+        int rowCount = reader.rowGroups().get(group).rowCount();
+        for (int row = 0; row < rowCount; row++) {
+          for (int c = 0; c < columns.size(); c++) {
+            if (c > 0) {
+              out.write(',');
+            }
+            Object value = values[c][row];
+            if (value instanceof String text) {
+              writeField(out, text);
+            } else if (value != null) {
+              out.write(value.toString());
+            }
+          }
+          out.write("\r\n");
+        }
+      }
+    }
+  }
+
+  // always quoted unless plain, an empty string has to stay distinguishable from null
+  private static void writeField(Writer out, String value) throws IOException {
+    if (!value.isEmpty() && value.chars().noneMatch(ch -> ch == ',' || ch == '"' || ch == '\n'
+        || ch == '\r')) {
+      out.write(value);
+      return;
+    }
+    out.write('"');
+    out.write(value.replace("\"", "\"\""));
+    out.write('"');
+  }
+}
@@ -0,0 +1,34 @@
+package de.dktutzer.tcgwatcher.data.service.export;
+
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts the columnar export of {@code app.export.columnar.dir} to CSV when started with the
+ * {@value #PROFILE} profile, see {@link ColumnarCsvConverter}.
+ */
+@Component
+@Profile(ColumnarCsvRunner.PROFILE)
+@Slf4j
+public class ColumnarCsvRunner implements ApplicationRunner {
+
+  public static final String PROFILE = "columnar-csv";
+
+  @Value("${app.export.columnar.dir}")
+  private String columnarExportDir;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    if (columnarExportDir.isBlank()) {
+      throw new IllegalStateException("app.export.columnar.dir is not set");
+    }
+    for (Path file : ColumnarCsvConverter.convertDirectory(Path.of(columnarExportDir))) {
+      log.info("Wrote {}", file);
+    }
+  }
+}
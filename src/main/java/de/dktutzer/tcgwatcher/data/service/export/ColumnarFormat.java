@@ -0,0 +1,78 @@
+package de.dktutzer.tcgwatcher.data.service.export;
+
+import de.dktutzer.tcgwatcher.data.service.encoding.VarInts;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Layout of the columnar export files ({@value #EXTENSION}).
+ *
+ * <pre>
+ * MAGIC
+ * row group 0: chunk column 0 | chunk column 1 | ...
+ * row group 1: ...
+ * footer: columns (name, type), row groups (row count, per column: offset, length, stats)
+ * footer length (8 bytes, big endian)
+ * MAGIC
+ * </pre>
+ *
+ * <p>All integers in chunks and footer are {@link VarInts}. A reader loads the footer first and
+ * then only the chunks of the columns it asks for; the per chunk statistics allow skipping row
+ * groups without touching their data.
+ */
+public final class ColumnarFormat {
+
+  public static final String EXTENSION = ".tcol";
+  static final byte[] MAGIC = {'T', 'C', 'O', 'L', '1'};
+
+  private ColumnarFormat() {
+  }
+
+  public enum Type {
+    STRING,
+    INT
+  }
+
+  public record Column(String name, Type type) {
+
+    public static Column string(String name) {
+      return new Column(name, Type.STRING);
+    }
+
+    public static Column integer(String name) {
+      return new Column(name, Type.INT);
+    }
+  }
+
+  /**
+   * Location and statistics of one column chunk. String chunks fill distinctCount and
+   * minString/maxString, int chunks minInt/maxInt.
+   */
+  public record ChunkMeta(
+      long offset,
+      int length,
+      int nullCount,
+      int distinctCount,
+      String minString,
+      String maxString,
+      long minInt,
+      long maxInt) {
+  }
+
+  public record RowGroup(int rowCount, List<ChunkMeta> chunks) {
+  }
+
+  static void writeString(ByteArrayOutputStream out, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    VarInts.writeUnsigned(out, bytes.length);
+    out.writeBytes(bytes);
+  }
+
+  static String readString(VarInts.Reader reader, byte[] buffer) {
+    int length = (int) reader.readUnsigned();
+    int offset = reader.position();
+    reader.skip(length);
+    return new String(buffer, offset, length, StandardCharsets.UTF_8);
+  }
+}
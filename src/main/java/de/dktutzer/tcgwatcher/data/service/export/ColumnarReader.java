@@ -0,0 +1,162 @@
+package de.dktutzer.tcgwatcher.data.service.export;
+
+import de.dktutzer.tcgwatcher.data.service.encoding.VarInts;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads files written by {@link ColumnarWriter}. Opening only parses the footer; column values
+ * are read chunk by chunk on request, so a scan over two columns of a wide table reads just those
+ * two columns from disk.
+ */
+public final class ColumnarReader implements AutoCloseable {
+
+  private final FileChannel channel;
+  private final List<ColumnarFormat.Column> columns;
+  private final List<ColumnarFormat.RowGroup> rowGroups;
+
+  private ColumnarReader(FileChannel channel, List<ColumnarFormat.Column> columns,
+      List<ColumnarFormat.RowGroup> rowGroups) {
+    this.channel = channel;
+    this.columns = columns;
+    this.rowGroups = rowGroups;
+  }
+
+  public static ColumnarReader open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      int magicLength = ColumnarFormat.MAGIC.length;
+      long size = channel.size();
+      if (size < 2L * magicLength + Long.BYTES) {
+        throw new IOException("Not a columnar export file: " + file);
+      }
+      ByteBuffer tail = read(channel, size - Long.BYTES - magicLength, Long.BYTES + magicLength);
+      long footerLength = tail.getLong();
+      byte[] magic = new byte[magicLength];
+      tail.get(magic);
+      if (!Arrays.equals(magic, ColumnarFormat.MAGIC)) {
+        throw new IOException("Not a columnar export file: " + file);
+      }
+      byte[] footer = read(channel, size - Long.BYTES - magicLength - footerLength,
+          (int) footerLength).array();
+      VarInts.Reader reader = new VarInts.Reader(footer);
+
+      int columnCount = (int) reader.readUnsigned();
+      List<ColumnarFormat.Column> columns = new ArrayList<>(columnCount);
+      for (int c = 0; c < columnCount; c++) {
+        String name = ColumnarFormat.readString(reader, footer);
+        columns.add(new ColumnarFormat.Column(name,
+            ColumnarFormat.Type.values()[(int) reader.readUnsigned()]));
+      }
+      int groupCount = (int) reader.readUnsigned();
+      List<ColumnarFormat.RowGroup> rowGroups = new ArrayList<>(groupCount);
+      for (int g = 0; g < groupCount; g++) {
+        int rowCount = (int) reader.readUnsigned();
+        List<ColumnarFormat.ChunkMeta> chunks = new ArrayList<>(columnCount);
+        for (int c = 0; c < columnCount; c++) {
+          chunks.add(new ColumnarFormat.ChunkMeta(
+              reader.readUnsigned(),
+              (int) reader.readUnsigned(),
+              (int) reader.readUnsigned(),
+              (int) reader.readUnsigned(),
+              ColumnarFormat.readString(reader, footer),
+              ColumnarFormat.readString(reader, footer),
+              reader.readSigned(),
+              reader.readSigned()));
+        }
+        rowGroups.add(new ColumnarFormat.RowGroup(rowCount, List.copyOf(chunks)));
+      }
+      return new ColumnarReader(channel, List.copyOf(columns), List.copyOf(rowGroups));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public List<ColumnarFormat.Column> columns() {
+    return columns;
+  }
+
+  public List<ColumnarFormat.RowGroup> rowGroups() {
+    return rowGroups;
+  }
+
+  public long rowCount() {
+    return rowGroups.stream().mapToLong(ColumnarFormat.RowGroup::rowCount).sum();
+  }
+
+  public int columnIndex(String name) {
+    for (int c = 0; c < columns.size(); c++) {
+      if (columns.get(c).name().equals(name)) {
+        return c;
+      }
+    }
+    throw new IllegalArgumentException("Unknown column " + name);
+  }
+
+  /** Values of a string column in one row group, null entries stay null. */
+  public String[] readStrings(int rowGroup, String column) throws IOException {
+    int c = requireType(column, ColumnarFormat.Type.STRING);
+    ColumnarFormat.RowGroup group = rowGroups.get(rowGroup);
+    byte[] chunk = readChunk(group.chunks().get(c));
+    VarInts.Reader reader = new VarInts.Reader(chunk);
+    String[] dictionary = new String[(int) reader.readUnsigned()];
+    for (int i = 0; i < dictionary.length; i++) {
+      dictionary[i] = ColumnarFormat.readString(reader, chunk);
+    }
+    String[] values = new String[group.rowCount()];
+    for (int r = 0; r < values.length; r++) {
+      int index = (int) reader.readUnsigned();
+      values[r] = index == 0 ? null : dictionary[index - 1];
+    }
+    return values;
+  }
+
+  /** Values of an int column in one row group, null entries stay null. */
+  public Integer[] readInts(int rowGroup, String column) throws IOException {
+    int c = requireType(column, ColumnarFormat.Type.INT);
+    ColumnarFormat.RowGroup group = rowGroups.get(rowGroup);
+    VarInts.Reader reader = new VarInts.Reader(readChunk(group.chunks().get(c)));
+    Integer[] values = new Integer[group.rowCount()];
+    for (int r = 0; r < values.length; r++) {
+      long raw = reader.readUnsigned();
+      values[r] = raw == 0 ? null : (int) VarInts.unZigZag(raw - 1);
+    }
+    return values;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private int requireType(String column, ColumnarFormat.Type type) {
+    int c = columnIndex(column);
+    if (columns.get(c).type() != type) {
+      throw new IllegalArgumentException("Column " + column + " is not of type " + type);
+    }
+    return c;
+  }
+
+  private byte[] readChunk(ColumnarFormat.ChunkMeta chunk) throws IOException {
+    return read(channel, chunk.offset(), chunk.length()).array();
+  }
+
+  private static ByteBuffer read(FileChannel channel, long position, int length)
+      throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Unexpected end of file at " + (position + buffer.position()));
+      }
+    }
+    return buffer.flip();
+  }
+}
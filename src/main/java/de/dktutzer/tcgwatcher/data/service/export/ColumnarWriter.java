@@ -0,0 +1,190 @@
+package de.dktutzer.tcgwatcher.data.service.export;
+
+import de.dktutzer.tcgwatcher.data.service.encoding.VarInts;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a table as a column oriented file (see {@link ColumnarFormat}). Rows are buffered for one
+ * row group only; once the group is full every column is encoded and written as its own chunk, so
+ * memory stays bounded by the row group size no matter how large the table gets.
+ */
+public final class ColumnarWriter implements AutoCloseable {
+
+  public static final int DEFAULT_ROW_GROUP_SIZE = 8192;
+
+  private final OutputStream out;
+  private final List<ColumnarFormat.Column> columns;
+  private final int rowGroupSize;
+  private final Object[][] buffer;
+  private final List<ColumnarFormat.RowGroup> rowGroups = new ArrayList<>();
+  private int buffered;
+  private long position;
+
+  public ColumnarWriter(Path file, List<ColumnarFormat.Column> columns) throws IOException {
+    this(file, columns, DEFAULT_ROW_GROUP_SIZE);
+  }
+
+  public ColumnarWriter(Path file, List<ColumnarFormat.Column> columns, int rowGroupSize)
+      throws IOException {
+    if (columns.isEmpty() || rowGroupSize <= 0) {
+      throw new IllegalArgumentException("Need at least one column and a positive row group size");
+    }
+    this.columns = List.copyOf(columns);
+    this.rowGroupSize = rowGroupSize;
+    this.buffer = new Object[columns.size()][rowGroupSize];
+    this.out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16);
+    write(ColumnarFormat.MAGIC);
+  }
+
+  /**
+   * Adds one row, values in column order. {@link ColumnarFormat.Type#STRING} columns take any
+   * object (stored via {@code toString()}), {@link ColumnarFormat.Type#INT} columns take
+   * {@link Integer}; null is allowed for both.
+   */
+  public void addRow(Object... values) throws IOException {
+    if (values.length != columns.size()) {
+      throw new IllegalArgumentException(
+          "Expected " + columns.size() + " values but got " + values.length);
+    }
+    for (int c = 0; c < values.length; c++) {
+      buffer[c][buffered] = values[c];
+    }
+    if (++buffered == rowGroupSize) {
+      flushRowGroup();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (out) {
+      if (buffered > 0) {
+        flushRowGroup();
+      }
+      byte[] footer = encodeFooter();
+      write(footer);
+      write(ByteBuffer.allocate(Long.BYTES).putLong(footer.length).array());
+      write(ColumnarFormat.MAGIC);
+    }
+  }
+
+  private void flushRowGroup() throws IOException {
+    List<ColumnarFormat.ChunkMeta> chunks = new ArrayList<>(columns.size());
+    for (int c = 0; c < columns.size(); c++) {
+      Object[] values = buffer[c];
+      ColumnarFormat.ChunkMeta meta = switch (columns.get(c).type()) {
+        case STRING -> writeStringChunk(values);
+        case INT -> writeIntChunk(values);
+      };
+      chunks.add(meta);
+      Arrays.fill(values, 0, buffered, null);
+    }
+    rowGroups.add(new ColumnarFormat.RowGroup(buffered, chunks));
+    buffered = 0;
+  }
+
+  // dictionary in first seen order, followed by one (index + 1) per row, 0 marks null
+  private ColumnarFormat.ChunkMeta writeStringChunk(Object[] values) throws IOException {
+    Map<String, Integer> dictionary = new HashMap<>();
+    List<String> entries = new ArrayList<>();
+    ByteArrayOutputStream indices = new ByteArrayOutputStream(buffered);
+    int nulls = 0;
+    String min = null;
+    String max = null;
+    for (int r = 0; r < buffered; r++) {
+      if (values[r] == null) {
+        nulls++;
+        VarInts.writeUnsigned(indices, 0);
+        continue;
+      }
+      String value = values[r].toString();
+      Integer index = dictionary.get(value);
+      if (index == null) {
+        index = entries.size();
+        dictionary.put(value, index);
+        entries.add(value);
+        min = min == null || value.compareTo(min) < 0 ? value : min;
+        max = max == null || value.compareTo(max) > 0 ? value : max;
+      }
+      VarInts.writeUnsigned(indices, index + 1L);
+    }
+
+    ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+    VarInts.writeUnsigned(chunk, entries.size());
+    for (String entry : entries) {
+      ColumnarFormat.writeString(chunk, entry);
+    }
+    indices.writeTo(chunk);
+    return writeChunk(chunk, nulls, entries.size(), min, max, 0, 0);
+  }
+
+  // one unsigned varint per row: 0 marks null, otherwise zigzag(value) + 1
+  private ColumnarFormat.ChunkMeta writeIntChunk(Object[] values) throws IOException {
+    ByteArrayOutputStream chunk = new ByteArrayOutputStream(buffered);
+    int nulls = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (int r = 0; r < buffered; r++) {
+      if (values[r] == null) {
+        nulls++;
+        VarInts.writeUnsigned(chunk, 0);
+        continue;
+      }
+      int value = (Integer) values[r];
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      VarInts.writeUnsigned(chunk, VarInts.zigZag(value) + 1);
+    }
+    boolean allNull = nulls == buffered;
+    return writeChunk(chunk, nulls, 0, null, null, allNull ? 0 : min, allNull ? 0 : max);
+  }
+
+  private ColumnarFormat.ChunkMeta writeChunk(ByteArrayOutputStream chunk, int nulls,
+      int distinct, String minString, String maxString, long minInt, long maxInt)
+      throws IOException {
+    long offset = position;
+    byte[] bytes = chunk.toByteArray();
+    write(bytes);
+    return new ColumnarFormat.ChunkMeta(offset, bytes.length, nulls, distinct, minString,
+        maxString, minInt, maxInt);
+  }
+
+  private byte[] encodeFooter() {
+    ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    VarInts.writeUnsigned(footer, columns.size());
+    for (ColumnarFormat.Column column : columns) {
+      ColumnarFormat.writeString(footer, column.name());
+      VarInts.writeUnsigned(footer, column.type().ordinal());
+    }
+    VarInts.writeUnsigned(footer, rowGroups.size());
+    for (ColumnarFormat.RowGroup rowGroup : rowGroups) {
+      VarInts.writeUnsigned(footer, rowGroup.rowCount());
+      for (ColumnarFormat.ChunkMeta chunk : rowGroup.chunks()) {
+        VarInts.writeUnsigned(footer, chunk.offset());
+        VarInts.writeUnsigned(footer, chunk.length());
+        VarInts.writeUnsigned(footer, chunk.nullCount());
+        VarInts.writeUnsigned(footer, chunk.distinctCount());
+        ColumnarFormat.writeString(footer, chunk.minString() == null ? "" : chunk.minString());
+        ColumnarFormat.writeString(footer, chunk.maxString() == null ? "" : chunk.maxString());
+        VarInts.writeSigned(footer, chunk.minInt());
+        VarInts.writeSigned(footer, chunk.maxInt());
+      }
+    }
+    return footer.toByteArray();
+  }
+
+  private void write(byte[] bytes) throws IOException {
+    out.write(bytes);
+    position += bytes.length;
+  }
+}
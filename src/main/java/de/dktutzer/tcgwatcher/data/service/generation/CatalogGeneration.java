@@ -0,0 +1,139 @@
+package de.dktutzer.tcgwatcher.data.service.generation;
+
+import de.dktutzer.tcgwatcher.data.service.deck.DeckListIndex;
+import de.dktutzer.tcgwatcher.data.service.hierarchy.RenderedHierarchy;
+import de.dktutzer.tcgwatcher.data.service.index.CardResolutionIndex;
+import de.dktutzer.tcgwatcher.data.service.index.PokedexIndex;
+import de.dktutzer.tcgwatcher.data.service.offheap.OffHeapCatalog;
+import de.dktutzer.tcgwatcher.data.service.scan.PackedNameColumn;
+import java.lang.foreign.Arena;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * All in-memory read structures of one catalog import, built together from the same tables and
+ * never modified afterwards. Readers get a generation through a {@link Lease}; a generation is
+ * reference counted, starting with the reference of its publisher, and unmaps its off-heap
+ * catalog on the {@code reclaimer} once it has been replaced and the last lease is closed.
+ */
+public final class CatalogGeneration {
+
+  private final long number;
+  private final Instant builtAt;
+  private final int cardCount;
+  private final PokedexIndex pokedexIndex;
+  private final CardResolutionIndex resolutionIndex;
+  private final PackedNameColumn names;
+  private final DeckListIndex deckListIndex;
+  private final RenderedHierarchy hierarchy;
+  private final OffHeapCatalog offHeapCatalog;
+  private final Arena offHeapArena;
+  private final Executor reclaimer;
+  // the publisher holds one reference until the generation is replaced
+  private final AtomicInteger references = new AtomicInteger(1);
+
+  CatalogGeneration(long number, Instant builtAt, int cardCount, PokedexIndex pokedexIndex,
+      CardResolutionIndex resolutionIndex, PackedNameColumn names, DeckListIndex deckListIndex,
+      RenderedHierarchy hierarchy, OffHeapCatalog offHeapCatalog, Arena offHeapArena,
+      Executor reclaimer) {
+    this.number = number;
+    this.builtAt = builtAt;
+    this.cardCount = cardCount;
+    this.pokedexIndex = pokedexIndex;
+    this.resolutionIndex = resolutionIndex;
+    this.names = names;
+    this.deckListIndex = deckListIndex;
+    this.hierarchy = hierarchy;
+    this.offHeapCatalog = offHeapCatalog;
+    this.offHeapArena = offHeapArena;
+    this.reclaimer = reclaimer;
+  }
+
+  public long number() {
+    return number;
+  }
+
+  public Instant builtAt() {
+    return builtAt;
+  }
+
+  public int cardCount() {
+    return cardCount;
+  }
+
+  public PokedexIndex pokedexIndex() {
+    return pokedexIndex;
+  }
+
+  public CardResolutionIndex resolutionIndex() {
+    return resolutionIndex;
+  }
+
+  public PackedNameColumn names() {
+    return names;
+  }
+
+  public DeckListIndex deckListIndex() {
+    return deckListIndex;
+  }
+
+  public RenderedHierarchy hierarchy() {
+    return hierarchy;
+  }
+
+  /** Only valid while the lease it was obtained through is open. */
+  public OffHeapCatalog offHeapCatalog() {
+    return offHeapCatalog;
+  }
+
+  /** False once the generation has been replaced and every lease is closed. */
+  public boolean isLive() {
+    return references.get() > 0;
+  }
+
+  // fails only if the last reference is gone, the caller then reads the newer generation
+  boolean tryRetain() {
+    int count;
+    do {
+      count = references.get();
+      if (count == 0) {
+        return false;
+      }
+    } while (!references.compareAndSet(count, count + 1));
+    return true;
+  }
+
+  void release() {
+    int count = references.decrementAndGet();
+    if (count == 0 && offHeapArena != null) {
+      // closing a shared arena waits for a handshake with all threads, keep that off the reader
+      reclaimer.execute(offHeapArena::close);
+    } else if (count < 0) {
+      throw new IllegalStateException("Catalog generation " + number + " released too often");
+    }
+  }
+
+  /** A reader's hold on a generation, closed exactly once after the read. */
+  public static final class Lease implements AutoCloseable {
+
+    private final CatalogGeneration generation;
+    private boolean closed;
+
+    Lease(CatalogGeneration generation) {
+      this.generation = generation;
+    }
+
+    public CatalogGeneration generation() {
+      return generation;
+    }
+
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        generation.release();
+      }
+    }
+  }
+}
@@ -0,0 +1,237 @@
+package de.dktutzer.tcgwatcher.data.service.generation;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSeriesEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSetEntity;
+import de.dktutzer.tcgwatcher.data.data.model.CatalogHierarchy;
+import de.dktutzer.tcgwatcher.data.service.CatalogImportedEvent;
+import de.dktutzer.tcgwatcher.data.service.CatalogListingService;
+import de.dktutzer.tcgwatcher.data.service.CollationKeys.Language;
+import de.dktutzer.tcgwatcher.data.service.deck.DeckListIndex;
+import de.dktutzer.tcgwatcher.data.service.hierarchy.RenderedHierarchy;
+import de.dktutzer.tcgwatcher.data.service.index.CardResolutionIndex;
+import de.dktutzer.tcgwatcher.data.service.index.PokedexIndex;
+import de.dktutzer.tcgwatcher.data.service.offheap.OffHeapCatalog;
+import de.dktutzer.tcgwatcher.data.service.offheap.OffHeapCatalogWriter;
+import de.dktutzer.tcgwatcher.data.service.persistence.CardDexSqliteRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.CatalogGenerationRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.QuickSearchCardsSqliteRepository;
+import de.dktutzer.tcgwatcher.data.service.scan.PackedNameColumn;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Builds and publishes the {@link CatalogGeneration}s. The first one is built on first use, every
+ * later one on a background thread after an import while requests keep reading the previous
+ * generation; the new one then replaces it with a single reference swap. Imports that finish
+ * while a build is running are folded into one follow-up build.
+ *
+ * <p>The off-heap catalog file carries the {@code catalog_generation} number it was written for
+ * in its header. A build maps the existing file if that stamp, the card count and the first and
+ * last id match the database, so all service processes on one database share one physical copy;
+ * only after an import (which raises the number) or on a mismatch, e.g. a file left behind by
+ * another database, the file is rewritten. The indexes hold ordinals into that catalog and
+ * materialize cards from it, so the card entities loaded for a build are garbage once the build
+ * is done.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogGenerationService {
+
+  // long enough for a large catalog, a headless import should not exit with a stale catalog file
+  private static final long SHUTDOWN_WAIT_MINUTES = 5;
+
+  private final QuickSearchCardsSqliteRepository quickSearchCardsSqliteRepository;
+  private final CardDexSqliteRepository cardDexSqliteRepository;
+  private final CatalogListingService catalogListingService;
+  private final CatalogGenerationRepository catalogGenerationRepository;
+
+  @Value("${app.catalog.offheap.file}")
+  private String catalogFile;
+
+  private final CatalogGenerations generations = new CatalogGenerations();
+  private final AtomicLong lastNumber = new AtomicLong();
+  private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+  private final ExecutorService builder = Executors.newSingleThreadExecutor(
+      Thread.ofPlatform().name("catalog-generation").daemon().factory());
+  private final Executor reclaimer =
+      command -> Thread.ofVirtual().name("catalog-generation-reclaim").start(command);
+  private volatile boolean shutDown;
+
+  /**
+   * Lease on the current generation, to be closed when the read is done. Only the very first call
+   * waits for a build; later calls never block, not even while a new generation is being built.
+   */
+  public CatalogGeneration.Lease acquire() {
+    CatalogGeneration.Lease lease = generations.acquire();
+    while (lease == null) {
+      synchronized (this) {
+        if (shutDown) {
+          throw new IllegalStateException("Catalog generations are shut down");
+        }
+        if (generations.current() == null) {
+          generations.publish(build());
+        }
+      }
+      lease = generations.acquire();
+    }
+    return lease;
+  }
+
+  @EventListener
+  public void onCatalogImported(CatalogImportedEvent event) {
+    if (shutDown || !rebuildQueued.compareAndSet(false, true)) {
+      return;
+    }
+    builder.execute(() -> {
+      rebuildQueued.set(false);
+      try {
+        synchronized (this) {
+          if (!shutDown) {
+            generations.publish(build());
+          }
+        }
+      } catch (RuntimeException e) {
+        log.error("Failed to build a new catalog generation, keeping the current one", e);
+      }
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    builder.shutdown();
+    if (!builder.awaitTermination(SHUTDOWN_WAIT_MINUTES, TimeUnit.MINUTES)) {
+      log.warn("Catalog generation build still running after {} minutes", SHUTDOWN_WAIT_MINUTES);
+    }
+    synchronized (this) {
+      shutDown = true;
+      generations.retire();
+    }
+  }
+
+  private CatalogGeneration build() {
+    long start = System.nanoTime();
+    long number = lastNumber.incrementAndGet();
+    Long stamp = catalogGenerationRepository.findCurrent();
+    List<PokemonCardEntity> cards = new ArrayList<>();
+    quickSearchCardsSqliteRepository.findAll().forEach(cards::add);
+    // ordinals of the indexes are the records of the off-heap catalog
+    cards.sort(OffHeapCatalog.ORDER);
+    RenderedHierarchy hierarchy = renderHierarchy();
+
+    Arena arena = Arena.ofShared();
+    OffHeapCatalog offHeapCatalog;
+    PokedexIndex pokedexIndex;
+    CardResolutionIndex resolutionIndex;
+    PackedNameColumn names;
+    DeckListIndex deckListIndex;
+    try {
+      offHeapCatalog = mapOrWrite(cards, stamp, arena);
+      if (offHeapCatalog.cardCount() != cards.size()) {
+        throw new IllegalStateException("Off-heap catalog has " + offHeapCatalog.cardCount()
+            + " cards, the database " + cards.size());
+      }
+      IntFunction<PokemonCardEntity> source = offHeapCatalog::toEntity;
+      pokedexIndex = PokedexIndex.build(cards, source, cardDexSqliteRepository.findAll());
+      resolutionIndex = CardResolutionIndex.build(cards, source);
+      names = PackedNameColumn.build(cards, source);
+      deckListIndex = DeckListIndex.build(cards, source);
+    } catch (RuntimeException e) {
+      arena.close();
+      throw e;
+    }
+
+    CatalogGeneration generation = new CatalogGeneration(number, Instant.now(), cards.size(),
+        pokedexIndex, resolutionIndex, names, deckListIndex, hierarchy, offHeapCatalog, arena,
+        reclaimer);
+    log.info("Built catalog generation {} over {} cards in {} ms: {} KB packed names, "
+            + "{} KB off-heap catalog, {} bytes hierarchy", number, cards.size(),
+        (System.nanoTime() - start) / 1_000_000, names.byteSize() >> 10,
+        offHeapCatalog.byteSize() >> 10, hierarchy.identity().length);
+    return generation;
+  }
+
+  // english collation order, the client re-sorts for its own locale if it cares
+  private RenderedHierarchy renderHierarchy() {
+    Map<String, List<CatalogHierarchy.CardSet>> setsBySeries = new LinkedHashMap<>();
+    for (PokemonSetEntity set : catalogListingService.listSets(Language.EN)) {
+      setsBySeries.computeIfAbsent(set.getSeries().getId(), id -> new ArrayList<>())
+          .add(new CatalogHierarchy.CardSet(set.getId(), set.getCode(), set.getAbbreviation(),
+              set.getNameDe(), set.getNameFr(), set.getNameEn(), set.getTotal(),
+              set.getOfficial()));
+    }
+    List<CatalogHierarchy.Series> series = new ArrayList<>();
+    for (PokemonSeriesEntity entity : catalogListingService.listSeries(Language.EN)) {
+      series.add(new CatalogHierarchy.Series(entity.getId(), entity.getNameDe(),
+          entity.getNameFr(), entity.getNameEn(),
+          setsBySeries.getOrDefault(entity.getId(), List.of())));
+    }
+    return RenderedHierarchy.render(new CatalogHierarchy(series));
+  }
+
+  /**
+   * Maps the catalog file if it was written for this database state, otherwise writes it. The
+   * written file is mapped before it replaces the old one, generations (and other processes)
+   * still reading the old one keep theirs. Without a stamp (a database from before the
+   * generation row) the file is always written.
+   */
+  private OffHeapCatalog mapOrWrite(List<PokemonCardEntity> cards, Long stamp, Arena arena) {
+    Path file = Path.of(catalogFile);
+    try {
+      if (stamp != null && Files.isRegularFile(file)) {
+        // checked in a mapping of its own, so a stale file is not kept mapped in the generation
+        boolean current;
+        try (Arena check = Arena.ofConfined()) {
+          current = matches(OffHeapCatalog.map(file, check), stamp, cards);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+          // an older format or a truncated file
+          current = false;
+        }
+        if (current) {
+          OffHeapCatalog mapped = OffHeapCatalog.map(file, arena);
+          // another process may have replaced the file in between
+          if (matches(mapped, stamp, cards)) {
+            log.info("Mapped off-heap catalog {} of generation {}", file, stamp);
+            return mapped;
+          }
+        }
+      }
+      return OffHeapCatalogWriter.writeAndMap(file, cards, stamp == null ? 0 : stamp, arena);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write off-heap catalog " + catalogFile, e);
+    }
+  }
+
+  private static boolean matches(OffHeapCatalog catalog, long stamp,
+      List<PokemonCardEntity> cards) {
+    if (catalog.stamp() != stamp || catalog.cardCount() != cards.size()) {
+      return false;
+    }
+    return cards.isEmpty()
+        || (catalog.compare(0, OffHeapCatalog.Field.ID, cards.getFirst().getId()) == 0
+            && catalog.compare(cards.size() - 1, OffHeapCatalog.Field.ID,
+                cards.getLast().getId()) == 0);
+  }
+}
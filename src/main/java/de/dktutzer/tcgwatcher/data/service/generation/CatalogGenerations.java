@@ -0,0 +1,47 @@
+package de.dktutzer.tcgwatcher.data.service.generation;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The published {@link CatalogGeneration}, swapped with a single atomic reference update. Readers
+ * never lock: a lease retains whatever generation is current, and a reader that loses the race
+ * against the release of a replaced generation simply retries with the new one.
+ */
+final class CatalogGenerations {
+
+  private final AtomicReference<CatalogGeneration> current = new AtomicReference<>();
+
+  /** Lease on the current generation, or null before the first one is published. */
+  CatalogGeneration.Lease acquire() {
+    while (true) {
+      CatalogGeneration generation = current.get();
+      if (generation == null) {
+        return null;
+      }
+      if (generation.tryRetain()) {
+        return new CatalogGeneration.Lease(generation);
+      }
+    }
+  }
+
+  /**
+   * Makes {@code next} the current generation and drops the publisher's reference on the previous
+   * one, which is reclaimed as soon as its last lease is closed.
+   */
+  void publish(CatalogGeneration next) {
+    CatalogGeneration previous = current.getAndSet(next);
+    if (previous != null) {
+      previous.release();
+    }
+  }
+
+  /** The current generation without a lease, for status and bookkeeping only. */
+  CatalogGeneration current() {
+    return current.get();
+  }
+
+  /** Unpublishes the current generation, used on shutdown. */
+  void retire() {
+    publish(null);
+  }
+}
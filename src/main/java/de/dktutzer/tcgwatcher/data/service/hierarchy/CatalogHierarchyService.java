@@ -0,0 +1,23 @@
+package de.dktutzer.tcgwatcher.data.service.hierarchy;
+
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGeneration;
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGenerationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the series → sets tree pre-rendered. It only changes with an import, so it is rendered
+ * once per catalog generation and every request just writes the stored bytes.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogHierarchyService {
+
+  private final CatalogGenerationService catalogGenerationService;
+
+  public RenderedHierarchy rendered() {
+    try (CatalogGeneration.Lease lease = catalogGenerationService.acquire()) {
+      return lease.generation().hierarchy();
+    }
+  }
+}
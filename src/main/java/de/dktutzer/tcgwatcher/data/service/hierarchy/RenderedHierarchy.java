@@ -0,0 +1,64 @@
+package de.dktutzer.tcgwatcher.data.service.hierarchy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.dktutzer.tcgwatcher.data.data.model.CatalogHierarchy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The JSON of a {@link CatalogHierarchy}, rendered once per import as plain and gzip encoded bytes.
+ * Both encodings are different representations and get their own strong ETag.
+ *
+ * <p>The arrays are handed to the response as they are and must not be modified.
+ */
+public record RenderedHierarchy(
+    byte[] identity,
+    byte[] gzip,
+    String identityEtag,
+    String gzipEtag) {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  public static RenderedHierarchy render(CatalogHierarchy hierarchy) {
+    byte[] identity;
+    try {
+      identity = OBJECT_MAPPER.writeValueAsBytes(hierarchy);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize the catalog hierarchy", e);
+    }
+    String hash = sha256(identity);
+    return new RenderedHierarchy(identity, gzip(identity), "\"" + hash + "\"",
+        "\"" + hash + "-gzip\"");
+  }
+
+  private static byte[] gzip(byte[] data) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+    // rendered once per import, so the best compression is worth its time
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+      {
+        def.setLevel(Deflater.BEST_COMPRESSION);
+      }
+    }) {
+      gzip.write(data);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static String sha256(byte[] data) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+      return HexFormat.of().formatHex(digest, 0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,310 @@
+package de.dktutzer.tcgwatcher.data.service.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Upstream images cached on disk, bounded to {@code app.images.cache.max-bytes} and evicted least
+ * recently used first.
+ *
+ * <p>Layout below {@code app.images.cache-dir}:
+ * <ul>
+ *   <li>{@code blobs/<ab>/<sha256 of the content>}: the image bytes, stored once no matter how many
+ *   urls serve them (TCGdex reuses one image for many reprints)</li>
+ *   <li>{@code refs/<sha256 of the url>}: content hash and content type of a url</li>
+ * </ul>
+ * Both are written to {@code tmp} first and moved into place, so a crash never leaves a partial
+ * image behind. A ref whose blob was evicted is a miss. The order of last use is the blob's
+ * modification time, so it survives restarts.
+ *
+ * <p>Concurrent misses on the same url share one upstream request.
+ */
+@Service
+@Slf4j
+public class DiskImageCache {
+
+  public record CachedImage(Path file, String contentType, String contentHash, long size) {
+  }
+
+  private final RestTemplate restTemplate;
+  private final long maxBytes;
+  private final Path refsDir;
+  private final Path blobsDir;
+  private final Path tmpDir;
+
+  private final Map<String, CompletableFuture<CachedImage>> inFlight = new ConcurrentHashMap<>();
+  // content hash → size, in access order; guarded by itself
+  private final LinkedHashMap<String, Long> lru = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+
+  public DiskImageCache(
+      RestTemplate restTemplate,
+      @Value("${app.images.cache-dir}") String cacheDir,
+      @Value("${app.images.cache.max-bytes}") long maxBytes) {
+    this.restTemplate = restTemplate;
+    this.maxBytes = maxBytes;
+    Path root = Path.of(cacheDir);
+    this.refsDir = root.resolve("refs");
+    this.blobsDir = root.resolve("blobs");
+    this.tmpDir = root.resolve("tmp");
+    try {
+      Files.createDirectories(refsDir);
+      Files.createDirectories(blobsDir);
+      Files.createDirectories(tmpDir);
+      load();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open image cache " + root, e);
+    }
+  }
+
+  /**
+   * The cached image of an url, fetched from upstream on a miss.
+   *
+   * @throws org.springframework.web.client.RestClientException if the upstream request fails
+   */
+  public CachedImage get(String url) {
+    String key = sha256(url.getBytes(StandardCharsets.UTF_8));
+    CachedImage cached = lookup(key);
+    if (cached != null) {
+      return cached;
+    }
+    var mine = new CompletableFuture<CachedImage>();
+    CompletableFuture<CachedImage> running = inFlight.putIfAbsent(key, mine);
+    if (running != null) {
+      return join(running);
+    }
+    try {
+      // the previous fill may have finished between the lookup and the putIfAbsent
+      CachedImage image = lookup(key);
+      if (image == null) {
+        image = fill(url, key);
+      }
+      mine.complete(image);
+      return image;
+    } catch (RuntimeException e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, mine);
+    }
+  }
+
+  public long totalBytes() {
+    synchronized (lru) {
+      return totalBytes;
+    }
+  }
+
+  public int blobCount() {
+    synchronized (lru) {
+      return lru.size();
+    }
+  }
+
+  private CachedImage lookup(String key) {
+    Path ref = refsDir.resolve(key);
+    List<String> lines;
+    try {
+      lines = Files.readAllLines(ref, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      return null;
+    }
+    if (lines.size() < 2) {
+      return null;
+    }
+    String hash = lines.get(0);
+    Long size;
+    synchronized (lru) {
+      size = lru.get(hash);
+    }
+    Path blob = blobPath(hash);
+    if (size == null || !Files.isRegularFile(blob)) {
+      return null;
+    }
+    try {
+      Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException e) {
+      // evicted in between, the next request refetches it
+      return null;
+    }
+    return new CachedImage(blob, lines.get(1), hash, size);
+  }
+
+  private CachedImage fill(String url, String key) {
+    Path part = createTemp();
+    try {
+      Fetched fetched = restTemplate.execute(URI.create(url), HttpMethod.GET, null, response -> {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(response.getBody(), digest);
+            OutputStream out = Files.newOutputStream(part)) {
+          long size = in.transferTo(out);
+          MediaType type = response.getHeaders().getContentType();
+          return new Fetched(HexFormat.of().formatHex(digest.digest()),
+              type == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : type.toString(), size);
+        }
+      });
+      Path blob = blobPath(fetched.hash());
+      Files.createDirectories(blob.getParent());
+      try {
+        move(part, blob, false);
+      } catch (FileAlreadyExistsException e) {
+        // same image as another url
+        Files.deleteIfExists(part);
+      }
+      Path refPart = createTemp();
+      Files.writeString(refPart, fetched.hash() + "\n" + fetched.contentType() + "\n");
+      move(refPart, refsDir.resolve(key), true);
+
+      synchronized (lru) {
+        if (lru.put(fetched.hash(), fetched.size()) == null) {
+          totalBytes += fetched.size();
+        }
+        evict();
+      }
+      log.debug("Cached {} ({} bytes) as {}", url, fetched.size(), fetched.hash());
+      return new CachedImage(blob, fetched.contentType(), fetched.hash(), fetched.size());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to cache image " + url, e);
+    } finally {
+      try {
+        Files.deleteIfExists(part);
+      } catch (IOException e) {
+        log.warn("Failed to delete {}", part, e);
+      }
+    }
+  }
+
+  // caller holds the lru lock; the newest blob always stays. A blob that cannot be deleted is
+  // dropped from the index anyway: it is a miss from then on and the next fill of it adds it back
+  private void evict() {
+    Iterator<Map.Entry<String, Long>> eldest = lru.entrySet().iterator();
+    while (totalBytes > maxBytes && lru.size() > 1 && eldest.hasNext()) {
+      Map.Entry<String, Long> entry = eldest.next();
+      try {
+        Files.deleteIfExists(blobPath(entry.getKey()));
+      } catch (IOException e) {
+        log.warn("Failed to evict image {}, dropping it from the index", entry.getKey(), e);
+      }
+      totalBytes -= entry.getValue();
+      eldest.remove();
+    }
+  }
+
+  private void load() throws IOException {
+    try (Stream<Path> leftovers = Files.list(tmpDir)) {
+      for (Path leftover : (Iterable<Path>) leftovers::iterator) {
+        Files.deleteIfExists(leftover);
+      }
+    }
+    List<Path> blobs;
+    try (Stream<Path> files = Files.walk(blobsDir)) {
+      blobs = files.filter(Files::isRegularFile)
+          .sorted(Comparator.comparing(DiskImageCache::lastModified))
+          .toList();
+    }
+    synchronized (lru) {
+      for (Path blob : blobs) {
+        long size = Files.size(blob);
+        lru.put(blob.getFileName().toString(), size);
+        totalBytes += size;
+      }
+      evict();
+    }
+    log.info("Image cache holds {} images ({} KB)", lru.size(), totalBytes >> 10);
+  }
+
+  private Path blobPath(String hash) {
+    return blobsDir.resolve(hash.substring(0, 2)).resolve(hash);
+  }
+
+  private Path createTemp() {
+    try {
+      return Files.createTempFile(tmpDir, "image", ".part");
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to create a file in " + tmpDir, e);
+    }
+  }
+
+  private static void move(Path from, Path to, boolean replace) throws IOException {
+    try {
+      if (replace) {
+        Files.move(from, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        // an atomic move may silently replace, check first
+        if (Files.exists(to)) {
+          throw new FileAlreadyExistsException(to.toString());
+        }
+        Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
+      }
+    } catch (AtomicMoveNotSupportedException e) {
+      if (replace) {
+        Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        Files.move(from, to);
+      }
+    }
+  }
+
+  private static CachedImage join(CompletableFuture<CachedImage> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private static FileTime lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+  private static String sha256(byte[] value) {
+    return HexFormat.of().formatHex(sha256().digest(value));
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private record Fetched(String hash, String contentType, long size) {
+  }
+}
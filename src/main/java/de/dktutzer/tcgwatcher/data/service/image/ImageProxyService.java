@@ -0,0 +1,28 @@
+package de.dktutzer.tcgwatcher.data.service.image;
+
+import de.dktutzer.tcgwatcher.data.service.image.DiskImageCache.CachedImage;
+import de.dktutzer.tcgwatcher.data.service.persistence.ImageSqliteRepository;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the image of a set or card to its upstream url and serves it from the
+ * {@link DiskImageCache}. Only urls stored by the import are ever fetched.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImageProxyService {
+
+  private final ImageSqliteRepository imageSqliteRepository;
+  private final DiskImageCache diskImageCache;
+
+  /**
+   * @param kind {@code logo} or {@code symbol} of a set, {@link ImageRefs#KIND_CARD} of a card
+   * @return empty if the catalog knows no such image
+   */
+  public Optional<CachedImage> find(String ownerId, String kind) {
+    return imageSqliteRepository.findById(ownerId + ":" + kind)
+        .map(image -> diskImageCache.get(image.getUrl()));
+  }
+}
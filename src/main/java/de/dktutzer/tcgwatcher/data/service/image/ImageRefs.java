@@ -0,0 +1,72 @@
+package de.dktutzer.tcgwatcher.data.service.image;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonImageEntity;
+import de.dktutzer.tcgwatcher.data.data.model.DexCardData;
+import de.dktutzer.tcgwatcher.data.data.model.DexSetData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Image references of a set: its logo/symbol urls as found in the dex data, and the card images
+ * derived from the logo. TCGdex asset urls name no file type ({@code .../en/base/base1/logo});
+ * the fetchable file is {@code <url>.webp} for logos and symbols and
+ * {@code <set url>/<number>/high.webp} for cards.
+ */
+public final class ImageRefs {
+
+  public static final String KIND_CARD = "card";
+
+  private static final Pattern TCGDEX_ASSET = Pattern.compile("^https?://assets\\.tcgdex\\.net/.*");
+  private static final Pattern TCGDEX_SET_LOGO = Pattern.compile(
+      "^(https?://assets\\.tcgdex\\.net/[^/]+/[^/]+/[^/]+)/logo(?:\\.\\w+)?$");
+
+  private ImageRefs() {
+  }
+
+  public static List<PokemonImageEntity> of(DexSetData set) {
+    List<PokemonImageEntity> result = new ArrayList<>();
+    if (set.images() == null) {
+      return result;
+    }
+    // sorted, so reimports write the same rows in the same order
+    Map<String, String> images = new TreeMap<>(set.images());
+    images.forEach((kind, url) -> {
+      if (url != null && url.startsWith("http")) {
+        result.add(image(set.id(), kind, fetchable(url)));
+      }
+    });
+
+    Matcher logo = TCGDEX_SET_LOGO.matcher(images.getOrDefault("logo", ""));
+    if (logo.matches() && set.cards() != null) {
+      for (DexCardData card : set.cards().values()) {
+        if (card != null && card.number() != null) {
+          // same id scheme as the card rows
+          result.add(image(set.id() + "-" + card.number(), KIND_CARD,
+              logo.group(1) + "/" + card.number() + "/high.webp"));
+        }
+      }
+    }
+    return result;
+  }
+
+  static String fetchable(String url) {
+    if (!TCGDEX_ASSET.matcher(url).matches()) {
+      return url;
+    }
+    String last = url.substring(url.lastIndexOf('/') + 1);
+    return last.contains(".") ? url : url + ".webp";
+  }
+
+  private static PokemonImageEntity image(String ownerId, String kind, String url) {
+    var image = new PokemonImageEntity();
+    image.setId(ownerId + ":" + kind);
+    image.setOwnerId(ownerId);
+    image.setKind(kind);
+    image.setUrl(url);
+    return image;
+  }
+}
@@ -0,0 +1,130 @@
+package de.dktutzer.tcgwatcher.data.service.index;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.model.CardResolution;
+import de.dktutzer.tcgwatcher.data.data.model.CardResolution.IdentifierType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable hash indexes from every external identifier of a card (code, Cardmarket page id,
+ * Cardmarket product id, TCGplayer id) to the card ordinal. If several cards share an identifier
+ * the one with the lowest ordinal wins, so results do not depend on table order. Cards are only
+ * materialized from the card source for the results.
+ *
+ * <p>Identifiers may carry a type prefix ({@code code:}, {@code cmpage:}, {@code cm:},
+ * {@code tcgp:}). Without one the types are tried in {@link IdentifierType} order, because a bare
+ * number can be a Cardmarket as well as a TCGplayer product id.
+ */
+public final class CardResolutionIndex {
+
+  private static final Map<String, IdentifierType> PREFIXES = Map.of(
+      "code:", IdentifierType.CODE,
+      "cmpage:", IdentifierType.CM_PAGE_ID,
+      "cm:", IdentifierType.CM_PRODUCT_ID,
+      "tcgp:", IdentifierType.TCGP_ID);
+
+  private final Map<IdentifierType, Map<String, Integer>> indexes;
+  private final IntFunction<PokemonCardEntity> cards;
+  private final int cardCount;
+
+  private CardResolutionIndex(Map<IdentifierType, Map<String, Integer>> indexes,
+      IntFunction<PokemonCardEntity> cards, int cardCount) {
+    this.indexes = indexes;
+    this.cards = cards;
+    this.cardCount = cardCount;
+  }
+
+  /** For tests: resolves to the given cards themselves, numbered in id order. */
+  public static CardResolutionIndex build(Iterable<PokemonCardEntity> allCards) {
+    List<PokemonCardEntity> sorted = new ArrayList<>();
+    allCards.forEach(sorted::add);
+    sorted.sort(Comparator.comparing(PokemonCardEntity::getId));
+    return build(sorted, sorted::get);
+  }
+
+  /**
+   * @param ordered the cards whose identifiers are indexed, position {@code i} being ordinal
+   *     {@code i} of {@code cards}; the list is not kept
+   */
+  public static CardResolutionIndex build(List<PokemonCardEntity> ordered,
+      IntFunction<PokemonCardEntity> cards) {
+    Map<IdentifierType, Map<String, Integer>> indexes = new EnumMap<>(IdentifierType.class);
+    for (IdentifierType type : IdentifierType.values()) {
+      indexes.put(type, HashMap.newHashMap(ordered.size()));
+    }
+    for (int ordinal = 0; ordinal < ordered.size(); ordinal++) {
+      PokemonCardEntity card = ordered.get(ordinal);
+      put(indexes, IdentifierType.CODE, card.getCode(), ordinal);
+      put(indexes, IdentifierType.CM_PAGE_ID, card.getCmPageId(), ordinal);
+      put(indexes, IdentifierType.CM_PRODUCT_ID, card.getCmProductId(), ordinal);
+      put(indexes, IdentifierType.TCGP_ID, card.getTcgpId(), ordinal);
+    }
+    return new CardResolutionIndex(indexes, cards, ordered.size());
+  }
+
+  public CardResolution resolve(String identifier) {
+    if (identifier == null) {
+      return new CardResolution(null, null, null);
+    }
+    String trimmed = identifier.trim();
+    for (Map.Entry<String, IdentifierType> prefix : PREFIXES.entrySet()) {
+      if (trimmed.regionMatches(true, 0, prefix.getKey(), 0, prefix.getKey().length())) {
+        IdentifierType type = prefix.getValue();
+        Integer ordinal = indexes.get(type)
+            .get(normalize(type, trimmed.substring(prefix.getKey().length())));
+        return ordinal == null
+            ? new CardResolution(identifier, null, null)
+            : new CardResolution(identifier, type, cards.apply(ordinal));
+      }
+    }
+    for (IdentifierType type : IdentifierType.values()) {
+      Integer ordinal = indexes.get(type).get(normalize(type, trimmed));
+      if (ordinal != null) {
+        return new CardResolution(identifier, type, cards.apply(ordinal));
+      }
+    }
+    return new CardResolution(identifier, null, null);
+  }
+
+  /** The identifier without type prefix, in every form it could be stored in. */
+  public static List<String> lookupValues(String identifier) {
+    String trimmed = identifier.trim();
+    for (String prefix : PREFIXES.keySet()) {
+      if (trimmed.regionMatches(true, 0, prefix, 0, prefix.length())) {
+        trimmed = trimmed.substring(prefix.length()).trim();
+        break;
+      }
+    }
+    String code = normalize(IdentifierType.CODE, trimmed);
+    return code.equals(trimmed) ? List.of(trimmed) : List.of(trimmed, code);
+  }
+
+  public int cardCount() {
+    return cardCount;
+  }
+
+  /**
+   * The form an identifier is indexed and looked up in. Codes are upper case with single spaces
+   * ("meg  104" finds "MEG 104"), the other ids are only trimmed.
+   */
+  public static String normalize(IdentifierType type, String value) {
+    String trimmed = value.trim();
+    return type == IdentifierType.CODE
+        ? trimmed.replaceAll("\\s+", " ").toUpperCase(Locale.ROOT)
+        : trimmed;
+  }
+
+  private static void put(Map<IdentifierType, Map<String, Integer>> indexes,
+      IdentifierType type, String value, int ordinal) {
+    if (value != null && !value.isBlank()) {
+      indexes.get(type).putIfAbsent(normalize(type, value), ordinal);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package de.dktutzer.tcgwatcher.data.service.index;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.model.CardResolution;
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGeneration;
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGenerationService;
+import de.dktutzer.tcgwatcher.data.service.persistence.QuickSearchCardsSqliteRepository;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves batches of mixed card identifiers (codes like "MEG 104", Cardmarket page and product
+ * ids, TCGplayer ids) through the {@link CardResolutionIndex} of the current catalog generation.
+ * Identifiers the index does not know are checked against the database with one set based query
+ * per chunk, which covers a catalog that was replaced before its generation was published.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CardResolutionService {
+
+  public static final int MAX_IDENTIFIERS = 50_000;
+
+  // each value is bound four times (code, page id, product id, tcgp id)
+  private static final int SQL_CHUNK_SIZE = 2_000;
+
+  private final QuickSearchCardsSqliteRepository quickSearchCardsSqliteRepository;
+  private final CatalogGenerationService catalogGenerationService;
+
+  public List<CardResolution> resolve(List<String> identifiers) {
+    List<CardResolution> result = new ArrayList<>(identifiers.size());
+    resolve(identifiers, result::add);
+    return result;
+  }
+
+  /**
+   * Streams one result per identifier. Identifiers found in memory are emitted first in request
+   * order, once the catalog generation is released; the rest follow after the database fallback.
+   *
+   * @throws IllegalArgumentException if more than {@value #MAX_IDENTIFIERS} identifiers are given
+   */
+  public void resolve(List<String> identifiers, Consumer<CardResolution> sink) {
+    if (identifiers.size() > MAX_IDENTIFIERS) {
+      throw new IllegalArgumentException(
+          "At most " + MAX_IDENTIFIERS + " identifiers per request, got " + identifiers.size());
+    }
+    List<CardResolution> hits = new ArrayList<>();
+    List<String> misses = new ArrayList<>();
+    // the results are collected first, a slow sink must not keep an old generation mapped
+    try (CatalogGeneration.Lease lease = catalogGenerationService.acquire()) {
+      CardResolutionIndex index = lease.generation().resolutionIndex();
+      for (String identifier : identifiers) {
+        CardResolution resolution = index.resolve(identifier);
+        if (resolution.resolved() || identifier == null || identifier.isBlank()) {
+          hits.add(resolution);
+        } else {
+          misses.add(identifier);
+        }
+      }
+    }
+    hits.forEach(sink);
+    if (misses.isEmpty()) {
+      return;
+    }
+
+    Set<String> values = new LinkedHashSet<>();
+    misses.forEach(identifier -> values.addAll(CardResolutionIndex.lookupValues(identifier)));
+    List<String> valueList = new ArrayList<>(values);
+    List<PokemonCardEntity> found = new ArrayList<>();
+    for (int from = 0; from < valueList.size(); from += SQL_CHUNK_SIZE) {
+      found.addAll(quickSearchCardsSqliteRepository.findByAnyIdentifier(
+          valueList.subList(from, Math.min(valueList.size(), from + SQL_CHUNK_SIZE))));
+    }
+    CardResolutionIndex fallback = CardResolutionIndex.build(found);
+    misses.forEach(identifier -> sink.accept(fallback.resolve(identifier)));
+    log.debug("Resolved {} identifiers, {} needed the database and {} of those were found",
+        identifiers.size(), misses.size(), found.size());
+  }
+}
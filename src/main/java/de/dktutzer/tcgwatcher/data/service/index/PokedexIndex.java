@@ -0,0 +1,121 @@
+package de.dktutzer.tcgwatcher.data.service.index;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardDexEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable inverted index from national pokedex number to card ordinals, in the order of the
+ * card source; every pokedex number has a sorted {@code int[]} posting list, so a lookup is one
+ * array access and cards of several pokemon (tag teams) appear in each of their lists.
+ *
+ * <p>The index only holds ordinals; cards are materialized from the {@code cards} source, in a
+ * catalog generation the off-heap catalog.
+ *
+ * <p>The posting array is indexed by dex number, so rows above {@link #MAX_DEX_ID} (typos or
+ * placeholder numbers in the source data) are skipped instead of sizing it.
+ */
+@Slf4j
+public final class PokedexIndex {
+
+  // the national pokedex has 1025 entries as of generation 9, with room for a few more
+  static final int MAX_DEX_ID = 2047;
+
+  private static final int[] EMPTY = new int[0];
+
+  private final IntFunction<PokemonCardEntity> cards;
+  private final int cardCount;
+  private final int[][] postings;
+
+  private PokedexIndex(IntFunction<PokemonCardEntity> cards, int cardCount, int[][] postings) {
+    this.cards = cards;
+    this.cardCount = cardCount;
+    this.postings = postings;
+  }
+
+  /** For tests: the posting lists refer to the given cards sorted by id. */
+  public static PokedexIndex build(Iterable<PokemonCardEntity> allCards,
+      Iterable<PokemonCardDexEntity> dexRows) {
+    List<PokemonCardEntity> sorted = new ArrayList<>();
+    allCards.forEach(sorted::add);
+    sorted.sort(Comparator.comparing(PokemonCardEntity::getId));
+    return build(sorted, sorted::get, dexRows);
+  }
+
+  /**
+   * @param ordered card {@code i} of this list is card {@code i} of {@code cards}; its ids join
+   *     the dex rows to ordinals and it is not referenced after the build
+   */
+  public static PokedexIndex build(List<PokemonCardEntity> ordered,
+      IntFunction<PokemonCardEntity> cards, Iterable<PokemonCardDexEntity> dexRows) {
+    Map<String, Integer> ordinals = HashMap.newHashMap(ordered.size());
+    for (int i = 0; i < ordered.size(); i++) {
+      ordinals.put(ordered.get(i).getId(), i);
+    }
+
+    // two passes: count per dex number, then fill the exactly sized posting lists
+    List<int[]> pairs = new ArrayList<>();
+    int maxDexId = 0;
+    int outOfRange = 0;
+    for (PokemonCardDexEntity row : dexRows) {
+      Integer ordinal = ordinals.get(row.getCardId());
+      if (ordinal == null || row.getDexId() == null) {
+        continue;
+      }
+      if (row.getDexId() < 0 || row.getDexId() > MAX_DEX_ID) {
+        outOfRange++;
+        continue;
+      }
+      pairs.add(new int[]{row.getDexId(), ordinal});
+      maxDexId = Math.max(maxDexId, row.getDexId());
+    }
+    if (outOfRange > 0) {
+      log.warn("Skipped {} pokedex rows with a dex id outside 0..{}", outOfRange, MAX_DEX_ID);
+    }
+    int[] counts = new int[maxDexId + 1];
+    for (int[] pair : pairs) {
+      counts[pair[0]]++;
+    }
+    int[][] postings = new int[maxDexId + 1][];
+    for (int dexId = 0; dexId <= maxDexId; dexId++) {
+      postings[dexId] = counts[dexId] == 0 ? EMPTY : new int[counts[dexId]];
+    }
+    int[] fill = new int[maxDexId + 1];
+    for (int[] pair : pairs) {
+      postings[pair[0]][fill[pair[0]]++] = pair[1];
+    }
+    for (int[] posting : postings) {
+      Arrays.sort(posting);
+    }
+    return new PokedexIndex(cards, ordered.size(), postings);
+  }
+
+  /** Ordinals of all cards showing the pokemon, ascending. Do not modify the returned array. */
+  public int[] ordinalsOf(int dexId) {
+    return dexId >= 0 && dexId < postings.length ? postings[dexId] : EMPTY;
+  }
+
+  public List<PokemonCardEntity> cardsOf(int dexId) {
+    int[] ordinals = ordinalsOf(dexId);
+    List<PokemonCardEntity> result = new ArrayList<>(ordinals.length);
+    for (int ordinal : ordinals) {
+      result.add(cards.apply(ordinal));
+    }
+    return result;
+  }
+
+  public PokemonCardEntity card(int ordinal) {
+    return cards.apply(ordinal);
+  }
+
+  public int cardCount() {
+    return cardCount;
+  }
+}
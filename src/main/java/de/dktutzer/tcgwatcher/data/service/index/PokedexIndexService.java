@@ -0,0 +1,23 @@
+package de.dktutzer.tcgwatcher.data.service.index;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGeneration;
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGenerationService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/** Serves pokedex lookups from the {@link PokedexIndex} of the current catalog generation. */
+@Service
+@RequiredArgsConstructor
+public class PokedexIndexService {
+
+  private final CatalogGenerationService catalogGenerationService;
+
+  /** All cards of the pokemon across every set, served from memory. */
+  public List<PokemonCardEntity> findCardsByDexId(int dexId) {
+    try (CatalogGeneration.Lease lease = catalogGenerationService.acquire()) {
+      return lease.generation().pokedexIndex().cardsOf(dexId);
+    }
+  }
+}
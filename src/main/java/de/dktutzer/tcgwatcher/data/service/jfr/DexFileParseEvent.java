@@ -0,0 +1,39 @@
+package de.dktutzer.tcgwatcher.data.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Parse of a single TCGdex .ts file. Only files slower than the threshold are recorded, so the
+ * event is cheap enough for continuous recordings and still catches pathological files.
+ */
+@Name(DexFileParseEvent.NAME)
+@Label("Dex File Parse")
+@Description("Parse of a single TCGdex TypeScript file")
+@Category({"TCGWatcher", "Import"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class DexFileParseEvent extends Event {
+
+  public static final String NAME = "tcgwatcher.DexFileParse";
+
+  public static final String KIND_SERIES = "series";
+  public static final String KIND_SET = "set";
+  public static final String KIND_CARD = "card";
+
+  @Label("Path")
+  public String path;
+
+  @Label("Kind")
+  public String kind;
+
+  @Label("Size")
+  @DataAmount
+  public long bytes;
+}
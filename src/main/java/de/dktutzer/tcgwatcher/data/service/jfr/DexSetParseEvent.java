@@ -0,0 +1,33 @@
+package de.dktutzer.tcgwatcher.data.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parse of all card files of one TCGdex set folder. Unlike {@link DexFileParseEvent} it has no
+ * threshold, so the set totals include the many fast files the per-file event leaves out.
+ */
+@Name(DexSetParseEvent.NAME)
+@Label("Dex Set Parse")
+@Description("Parse of the card files of a TCGdex set folder")
+@Category({"TCGWatcher", "Import"})
+@StackTrace(false)
+public class DexSetParseEvent extends Event {
+
+  public static final String NAME = "tcgwatcher.DexSetParse";
+
+  @Label("Set Folder")
+  public String setDir;
+
+  @Label("Files")
+  public int files;
+
+  @Label("Size")
+  @DataAmount
+  public long bytes;
+}
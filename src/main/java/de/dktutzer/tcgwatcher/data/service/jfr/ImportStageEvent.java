@@ -0,0 +1,26 @@
+package de.dktutzer.tcgwatcher.data.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One stage of {@code TCGMapperService#readFromFilesAndWriteToSqlite()}. */
+@Name(ImportStageEvent.NAME)
+@Label("Import Stage")
+@Description("Stage of a catalog import, e.g. parse, conversion or CSV load")
+@Category({"TCGWatcher", "Import"})
+@StackTrace(false)
+public class ImportStageEvent extends Event {
+
+  public static final String NAME = "tcgwatcher.ImportStage";
+
+  @Label("Stage")
+  public String stage;
+
+  @Label("Items")
+  @Description("Number of items the stage produced, -1 if not applicable")
+  public long items = -1;
+}
@@ -0,0 +1,97 @@
+package de.dktutzer.tcgwatcher.data.service.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Reads a JFR recording and summarizes the import events: the slowest files, the slowest sets
+ * (card parse time of the whole set folder), the slowest persistence batches and all import
+ * stages.
+ */
+public final class JfrSummary {
+
+  private JfrSummary() {
+  }
+
+  public record FileParse(String path, String kind, long bytes, Duration duration) {
+  }
+
+  public record SetParse(String setDir, int files, long bytes, Duration duration) {
+  }
+
+  public record Batch(String table, int batch, int rows, Duration duration) {
+  }
+
+  public record Stage(String stage, long items, Duration duration) {
+  }
+
+  public record Summary(List<FileParse> slowestFiles, List<SetParse> slowestSets,
+      List<Batch> slowestBatches, List<Stage> stages) {
+
+    public String format() {
+      StringBuilder sb = new StringBuilder();
+      sb.append("Import stages\n");
+      stages.forEach(s -> sb.append(String.format(Locale.ROOT, "  %10d ms  %-20s %d items%n",
+          s.duration().toMillis(), s.stage(), s.items())));
+      sb.append("Slowest files\n");
+      slowestFiles.forEach(f -> sb.append(String.format(Locale.ROOT,
+          "  %10.3f ms  %-6s %8d B  %s%n", f.duration().toNanos() / 1e6, f.kind(), f.bytes(), f.path())));
+      sb.append("Slowest sets\n");
+      slowestSets.forEach(s -> sb.append(String.format(Locale.ROOT,
+          "  %10.3f ms  %5d files  %s%n", s.duration().toNanos() / 1e6, s.files(), s.setDir())));
+      sb.append("Slowest persistence batches\n");
+      slowestBatches.forEach(b -> sb.append(String.format(Locale.ROOT,
+          "  %10d ms  %-22s batch %d, %d rows%n",
+          b.duration().toMillis(), b.table(), b.batch(), b.rows())));
+      return sb.toString();
+    }
+  }
+
+  public static Summary summarize(Path recording, int top) throws IOException {
+    List<FileParse> files = new ArrayList<>();
+    List<SetParse> sets = new ArrayList<>();
+    List<Batch> batches = new ArrayList<>();
+    List<Stage> stages = new ArrayList<>();
+
+    try (RecordingFile file = new RecordingFile(recording)) {
+      while (file.hasMoreEvents()) {
+        RecordedEvent event = file.readEvent();
+        switch (event.getEventType().getName()) {
+          case DexFileParseEvent.NAME -> files.add(new FileParse(event.getString("path"),
+              event.getString("kind"), event.getLong("bytes"), event.getDuration()));
+          case DexSetParseEvent.NAME -> sets.add(new SetParse(event.getString("setDir"),
+              event.getInt("files"), event.getLong("bytes"), event.getDuration()));
+          case PersistenceBatchEvent.NAME -> batches.add(new Batch(event.getString("table"),
+              event.getInt("batch"), event.getInt("rows"), event.getDuration()));
+          case ImportStageEvent.NAME -> stages.add(new Stage(event.getString("stage"),
+              event.getLong("items"), event.getDuration()));
+          default -> {
+            // not ours
+          }
+        }
+      }
+    }
+
+    return new Summary(
+        slowest(files, FileParse::duration, top),
+        slowest(sets, SetParse::duration, top),
+        slowest(batches, Batch::duration, top),
+        stages);
+  }
+
+  private static <T> List<T> slowest(List<T> items,
+      Function<T, Duration> duration, int top) {
+    return items.stream()
+        .sorted(Comparator.comparing(duration).reversed())
+        .limit(top)
+        .toList();
+  }
+}
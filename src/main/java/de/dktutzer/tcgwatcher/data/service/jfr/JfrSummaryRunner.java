@@ -0,0 +1,35 @@
+package de.dktutzer.tcgwatcher.data.service.jfr;
+
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs a {@link JfrSummary} of {@code app.jfr.summary.file} when started with the
+ * {@value #PROFILE} profile, e.g.
+ * {@code --spring.profiles.active=jfr-summary --app.jfr.summary.file=import.jfr}.
+ */
+@Component
+@Profile(JfrSummaryRunner.PROFILE)
+@Slf4j
+public class JfrSummaryRunner implements ApplicationRunner {
+
+  public static final String PROFILE = "jfr-summary";
+
+  @Value("${app.jfr.summary.file}")
+  private String recording;
+  @Value("${app.jfr.summary.top}")
+  private int top;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    log.info("Summarizing recording {}", recording);
+    // on its own lines, so the table columns are not shifted by the log prefix
+    log.info("Summary of {}:{}{}", recording, System.lineSeparator(),
+        JfrSummary.summarize(Path.of(recording), top).format());
+  }
+}
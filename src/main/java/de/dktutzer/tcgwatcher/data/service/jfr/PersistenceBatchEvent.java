@@ -0,0 +1,30 @@
+package de.dktutzer.tcgwatcher.data.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** One {@code saveAll} batch written during an import. */
+@Name(PersistenceBatchEvent.NAME)
+@Label("Persistence Batch")
+@Description("Batch of rows saved to the SQLite database during an import")
+@Category({"TCGWatcher", "Import"})
+@Threshold("10 ms")
+@StackTrace(false)
+public class PersistenceBatchEvent extends Event {
+
+  public static final String NAME = "tcgwatcher.PersistenceBatch";
+
+  @Label("Table")
+  public String table;
+
+  @Label("Batch")
+  public int batch;
+
+  @Label("Rows")
+  public int rows;
+}
@@ -0,0 +1,227 @@
+package de.dktutzer.tcgwatcher.data.service.offheap;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+
+/**
+ * Read-only card catalog in a memory mapped file, written by {@link OffHeapCatalogWriter}.
+ *
+ * <pre>
+ * header   magic, version, card count, record size (int each), string arena offset (long),
+ *          stamp (long, the catalog generation the file was written for, 0 if none)
+ * records  one fixed width record per card, sorted by the UTF-8 bytes of the id:
+ *          (offset, length) into the arena per {@link Field}, length -1 for null,
+ *          followed by the evolution stage (-1 for null)
+ * arena    deduplicated UTF-8 strings
+ * </pre>
+ *
+ * <p>Nothing but this object lives on the heap, so heap usage does not grow with the catalog, and
+ * every process mapping the same file shares the page cache copy. {@link #ordinalOf} and
+ * {@link #evolutionStage} do not allocate; strings are only materialized when asked for.
+ */
+public final class OffHeapCatalog {
+
+  static final int MAGIC = 0x54435743;
+  static final int VERSION = 3;
+  static final int HEADER_SIZE = 32;
+  static final int FIELD_SIZE = 2 * Integer.BYTES;
+  static final int STAGE_OFFSET = Field.values().length * FIELD_SIZE;
+  static final int RECORD_SIZE = STAGE_OFFSET + Long.BYTES;
+
+  static final ValueLayout.OfInt INT =
+      ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+  static final ValueLayout.OfLong LONG =
+      ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+  /** String columns of a card record, in record order. */
+  public enum Field {
+    ID,
+    NAME_DE,
+    NAME_FR,
+    NAME_EN,
+    CODE,
+    CM_PRODUCT_ID,
+    CM_PAGE_ID,
+    TCGP_ID,
+    SET_ID,
+    NUMBER,
+    REPRINT_CLUSTER_ID,
+    SPECIES_KEY,
+    EVOLUTION_CHAIN_ID
+  }
+
+  /**
+   * Record order of the catalog: the UTF-8 bytes of the id, which is the code point order of the
+   * id. Lists sorted by it have the ordinals of the catalog written from them.
+   */
+  public static final Comparator<PokemonCardEntity> ORDER =
+      (a, b) -> compareCodePoints(a.getId(), b.getId());
+
+  private final MemorySegment segment;
+  private final int cardCount;
+  private final long arenaOffset;
+  private final long stamp;
+
+  private OffHeapCatalog(MemorySegment segment) {
+    if (segment.byteSize() < HEADER_SIZE || segment.get(INT, 0) != MAGIC
+        || segment.get(INT, 4) != VERSION || segment.get(INT, 12) != RECORD_SIZE) {
+      throw new IllegalArgumentException("Not an off-heap catalog of version " + VERSION);
+    }
+    this.segment = segment;
+    this.cardCount = segment.get(INT, 8);
+    this.arenaOffset = segment.get(LONG, 16);
+    this.stamp = segment.get(LONG, 24);
+  }
+
+  /**
+   * Maps the file read-only. The mapping is released by the GC once the catalog is unreachable,
+   * so a replaced catalog never invalidates readers that still hold the old one.
+   */
+  public static OffHeapCatalog map(Path file) throws IOException {
+    return map(file, Arena.ofAuto());
+  }
+
+  /**
+   * Maps the file read-only into the given arena. Closing the arena unmaps the file right away;
+   * the caller has to make sure no reader uses the catalog any more.
+   */
+  public static OffHeapCatalog map(Path file, Arena arena) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new OffHeapCatalog(
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+    }
+  }
+
+  public int cardCount() {
+    return cardCount;
+  }
+
+  /** Catalog generation the file was written for, 0 if it was written without one. */
+  public long stamp() {
+    return stamp;
+  }
+
+  /** Mapped size of the catalog in bytes. */
+  public long byteSize() {
+    return segment.byteSize();
+  }
+
+  /** Ordinal of the card with the given id, or -1. Binary search without allocation. */
+  public int ordinalOf(CharSequence id) {
+    int low = 0;
+    int high = cardCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = compare(mid, Field.ID, id);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  public String get(int ordinal, Field field) {
+    long fieldOffset = recordOffset(ordinal) + (long) field.ordinal() * FIELD_SIZE;
+    int length = segment.get(INT, fieldOffset + Integer.BYTES);
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    MemorySegment.copy(segment, ValueLayout.JAVA_BYTE,
+        arenaOffset + segment.get(INT, fieldOffset), bytes, 0, length);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /** Evolution stage of the card, -1 if it has none. */
+  public int evolutionStage(int ordinal) {
+    return segment.get(INT, recordOffset(ordinal) + STAGE_OFFSET);
+  }
+
+  /**
+   * Compares the field of a card with a string in code point order (which equals UTF-8 byte
+   * order), decoding the UTF-8 in place. A null field sorts first.
+   */
+  public int compare(int ordinal, Field field, CharSequence value) {
+    long fieldOffset = recordOffset(ordinal) + (long) field.ordinal() * FIELD_SIZE;
+    int length = segment.get(INT, fieldOffset + Integer.BYTES);
+    if (length < 0) {
+      return -1;
+    }
+    long position = arenaOffset + segment.get(INT, fieldOffset);
+    long end = position + length;
+    int i = 0;
+    while (position < end && i < value.length()) {
+      int b = segment.get(ValueLayout.JAVA_BYTE, position) & 0xFF;
+      int size = b < 0x80 ? 1 : b < 0xE0 ? 2 : b < 0xF0 ? 3 : 4;
+      int codePoint = size == 1 ? b : b & (0xFF >>> (size + 1));
+      for (int k = 1; k < size; k++) {
+        codePoint = (codePoint << 6) | (segment.get(ValueLayout.JAVA_BYTE, position + k) & 0x3F);
+      }
+      position += size;
+      int other = Character.codePointAt(value, i);
+      i += Character.charCount(other);
+      if (codePoint != other) {
+        return Integer.compare(codePoint, other);
+      }
+    }
+    if (position < end) {
+      return 1;
+    }
+    return i < value.length() ? -1 : 0;
+  }
+
+  public PokemonCardEntity toEntity(int ordinal) {
+    var card = new PokemonCardEntity();
+    card.setId(get(ordinal, Field.ID));
+    card.setNameDe(get(ordinal, Field.NAME_DE));
+    card.setNameFr(get(ordinal, Field.NAME_FR));
+    card.setNameEn(get(ordinal, Field.NAME_EN));
+    card.setCode(get(ordinal, Field.CODE));
+    card.setCmProductId(get(ordinal, Field.CM_PRODUCT_ID));
+    card.setCmPageId(get(ordinal, Field.CM_PAGE_ID));
+    card.setTcgpId(get(ordinal, Field.TCGP_ID));
+    card.setSetId(get(ordinal, Field.SET_ID));
+    card.setNumber(get(ordinal, Field.NUMBER));
+    card.setReprintClusterId(get(ordinal, Field.REPRINT_CLUSTER_ID));
+    card.setSpeciesKey(get(ordinal, Field.SPECIES_KEY));
+    card.setEvolutionChainId(get(ordinal, Field.EVOLUTION_CHAIN_ID));
+    int stage = evolutionStage(ordinal);
+    card.setEvolutionStage(stage < 0 ? null : stage);
+    return card;
+  }
+
+  private long recordOffset(int ordinal) {
+    if (ordinal < 0 || ordinal >= cardCount) {
+      throw new IndexOutOfBoundsException("Card ordinal " + ordinal + " of " + cardCount);
+    }
+    return HEADER_SIZE + (long) ordinal * RECORD_SIZE;
+  }
+
+  private static int compareCodePoints(String a, String b) {
+    int i = 0;
+    int j = 0;
+    while (i < a.length() && j < b.length()) {
+      int left = a.codePointAt(i);
+      int right = b.codePointAt(j);
+      if (left != right) {
+        return Integer.compare(left, right);
+      }
+      i += Character.charCount(left);
+      j += Character.charCount(right);
+    }
+    return Integer.compare(a.length() - i, b.length() - j);
+  }
+}
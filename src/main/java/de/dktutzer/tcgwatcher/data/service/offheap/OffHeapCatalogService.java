@@ -0,0 +1,27 @@
+package de.dktutzer.tcgwatcher.data.service.offheap;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGeneration;
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGenerationService;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves card lookups from the memory mapped {@link OffHeapCatalog} of the current catalog
+ * generation. The lease keeps the mapping alive until the card has been copied to the heap.
+ */
+@Service
+@RequiredArgsConstructor
+public class OffHeapCatalogService {
+
+  private final CatalogGenerationService catalogGenerationService;
+
+  public Optional<PokemonCardEntity> findById(String cardId) {
+    try (CatalogGeneration.Lease lease = catalogGenerationService.acquire()) {
+      OffHeapCatalog catalog = lease.generation().offHeapCatalog();
+      int ordinal = catalog.ordinalOf(cardId);
+      return ordinal < 0 ? Optional.empty() : Optional.of(catalog.toEntity(ordinal));
+    }
+  }
+}
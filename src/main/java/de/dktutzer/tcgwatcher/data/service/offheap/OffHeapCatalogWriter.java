@@ -0,0 +1,139 @@
+package de.dktutzer.tcgwatcher.data.service.offheap;
+
+import static de.dktutzer.tcgwatcher.data.service.offheap.OffHeapCatalog.INT;
+import static de.dktutzer.tcgwatcher.data.service.offheap.OffHeapCatalog.LONG;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.service.offheap.OffHeapCatalog.Field;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Writes the file format read by {@link OffHeapCatalog}. */
+public final class OffHeapCatalogWriter {
+
+  private OffHeapCatalogWriter() {
+  }
+
+  /**
+   * Writes the cards to a temp file next to {@code file} and moves it into place, so processes
+   * that mapped the previous catalog keep reading a consistent (old) file.
+   */
+  public static void write(Path file, Iterable<PokemonCardEntity> cards) throws IOException {
+    write(file, cards, 0, null);
+  }
+
+  /**
+   * Writes the cards like {@link #write(Path, Iterable)} with the {@code stamp} in the header and
+   * maps the written file into the arena before it is moved into place, so the result is this
+   * catalog even if another process replaces the file right after.
+   */
+  public static OffHeapCatalog writeAndMap(Path file, Iterable<PokemonCardEntity> cards,
+      long stamp, Arena arena) throws IOException {
+    return write(file, cards, stamp, arena);
+  }
+
+  // maps the temp file into the arena if one is given
+  private static OffHeapCatalog write(Path file, Iterable<PokemonCardEntity> cards, long stamp,
+      Arena target) throws IOException {
+    List<Row> rows = new ArrayList<>();
+    cards.forEach(card -> rows.add(new Row(card, card.getId().getBytes(StandardCharsets.UTF_8))));
+    rows.sort((a, b) -> Arrays.compareUnsigned(a.id(), b.id()));
+
+    // string arena, equal strings (set ids, cluster ids, ...) are stored once
+    ByteArrayOutputStream arena = new ByteArrayOutputStream();
+    Map<String, Integer> arenaOffsets = new HashMap<>();
+    int[][] refs = new int[rows.size()][Field.values().length * 2];
+    for (int r = 0; r < rows.size(); r++) {
+      PokemonCardEntity card = rows.get(r).card();
+      for (Field field : Field.values()) {
+        String value = value(card, field);
+        int[] ref = refs[r];
+        if (value == null) {
+          ref[field.ordinal() * 2] = 0;
+          ref[field.ordinal() * 2 + 1] = -1;
+          continue;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        Integer offset = arenaOffsets.get(value);
+        if (offset == null) {
+          offset = arena.size();
+          arenaOffsets.put(value, offset);
+          arena.writeBytes(bytes);
+        }
+        ref[field.ordinal() * 2] = offset;
+        ref[field.ordinal() * 2 + 1] = bytes.length;
+      }
+    }
+
+    long arenaOffset = OffHeapCatalog.HEADER_SIZE + (long) rows.size() * OffHeapCatalog.RECORD_SIZE;
+    long size = arenaOffset + arena.size();
+    Path parent = file.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+    try {
+      try (Arena mapping = Arena.ofConfined();
+          FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ,
+              StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, mapping);
+        segment.set(INT, 0, OffHeapCatalog.MAGIC);
+        segment.set(INT, 4, OffHeapCatalog.VERSION);
+        segment.set(INT, 8, rows.size());
+        segment.set(INT, 12, OffHeapCatalog.RECORD_SIZE);
+        segment.set(LONG, 16, arenaOffset);
+        segment.set(LONG, 24, stamp);
+        for (int r = 0; r < rows.size(); r++) {
+          long record = OffHeapCatalog.HEADER_SIZE + (long) r * OffHeapCatalog.RECORD_SIZE;
+          int[] ref = refs[r];
+          for (int i = 0; i < ref.length; i++) {
+            segment.set(INT, record + (long) i * Integer.BYTES, ref[i]);
+          }
+          Integer stage = rows.get(r).card().getEvolutionStage();
+          segment.set(INT, record + OffHeapCatalog.STAGE_OFFSET, stage == null ? -1 : stage);
+        }
+        MemorySegment.copy(arena.toByteArray(), 0, segment, ValueLayout.JAVA_BYTE, arenaOffset,
+            arena.size());
+        segment.force();
+      }
+      OffHeapCatalog written = target == null ? null : OffHeapCatalog.map(tmp, target);
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      return written;
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  private static String value(PokemonCardEntity card, Field field) {
+    return switch (field) {
+      case ID -> card.getId();
+      case NAME_DE -> card.getNameDe();
+      case NAME_FR -> card.getNameFr();
+      case NAME_EN -> card.getNameEn();
+      case CODE -> card.getCode();
+      case CM_PRODUCT_ID -> card.getCmProductId();
+      case CM_PAGE_ID -> card.getCmPageId();
+      case TCGP_ID -> card.getTcgpId();
+      case SET_ID -> card.getSetId();
+      case NUMBER -> card.getNumber();
+      case REPRINT_CLUSTER_ID -> card.getReprintClusterId();
+      case SPECIES_KEY -> card.getSpeciesKey();
+      case EVOLUTION_CHAIN_ID -> card.getEvolutionChainId();
+    };
+  }
+
+  private record Row(PokemonCardEntity card, byte[] id) {
+  }
+}
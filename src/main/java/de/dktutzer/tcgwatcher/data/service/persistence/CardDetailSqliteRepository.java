@@ -0,0 +1,6 @@
+package de.dktutzer.tcgwatcher.data.service.persistence;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardDetailEntity;
+import org.springframework.data.repository.CrudRepository;
+
+public interface CardDetailSqliteRepository extends CrudRepository<PokemonCardDetailEntity, String> {}
@@ -0,0 +1,6 @@
+package de.dktutzer.tcgwatcher.data.service.persistence;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardDexEntity;
+import org.springframework.data.repository.CrudRepository;
+
+public interface CardDexSqliteRepository extends CrudRepository<PokemonCardDexEntity, String> {}
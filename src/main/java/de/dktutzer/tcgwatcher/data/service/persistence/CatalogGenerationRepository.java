@@ -0,0 +1,29 @@
+package de.dktutzer.tcgwatcher.data.service.persistence;
+
+import de.dktutzer.tcgwatcher.data.data.entities.CatalogGenerationEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+public interface CatalogGenerationRepository
+    extends CrudRepository<CatalogGenerationEntity, Integer> {
+
+  // null before the first import
+  @Query("select g.generation from CatalogGeneration g where g.id = "
+      + CatalogGenerationEntity.ID)
+  Long findCurrent();
+
+  /**
+   * Raises the generation after an import. It is taken from the clock, so it keeps rising even if
+   * the database file is recreated between two imports.
+   */
+  default long raise() {
+    CatalogGenerationEntity row = findById(CatalogGenerationEntity.ID).orElseGet(() -> {
+      var created = new CatalogGenerationEntity();
+      created.setId(CatalogGenerationEntity.ID);
+      created.setGeneration(0L);
+      return created;
+    });
+    row.setGeneration(Math.max(row.getGeneration() + 1, System.currentTimeMillis()));
+    return save(row).getGeneration();
+  }
+}
@@ -0,0 +1,10 @@
+package de.dktutzer.tcgwatcher.data.service.persistence;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonEvolutionEntity;
+import java.util.List;
+import org.springframework.data.repository.CrudRepository;
+
+public interface EvolutionSqliteRepository extends CrudRepository<PokemonEvolutionEntity, String> {
+
+  List<PokemonEvolutionEntity> findByChainId(String chainId);
+}
@@ -0,0 +1,6 @@
+package de.dktutzer.tcgwatcher.data.service.persistence;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonImageEntity;
+import org.springframework.data.repository.CrudRepository;
+
+public interface ImageSqliteRepository extends CrudRepository<PokemonImageEntity, String> {}
@@ -0,0 +1,21 @@
+package de.dktutzer.tcgwatcher.data.service.persistence;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PriceSeriesEntity;
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+public interface PriceSeriesRepository extends CrudRepository<PriceSeriesEntity, String> {
+
+  // last stored day per product, without loading the encoded columns
+  interface LastDay {
+    String getProductId();
+
+    Integer getLastDay();
+  }
+
+  @Query("select s.productId as productId, s.lastDay as lastDay from PriceSeries s"
+      + " where s.source = :source")
+  List<LastDay> findLastDaysBySource(@Param("source") String source);
+}
@@ -0,0 +1,10 @@
+package de.dktutzer.tcgwatcher.data.service.persistence;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PriceWatchEntity;
+import java.util.List;
+import org.springframework.data.repository.CrudRepository;
+
+public interface PriceWatchRepository extends CrudRepository<PriceWatchEntity, String> {
+
+  List<PriceWatchEntity> findByUserIdOrderByIdAsc(String userId);
+}
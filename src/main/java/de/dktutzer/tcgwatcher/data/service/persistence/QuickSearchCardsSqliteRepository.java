@@ -1,9 +1,61 @@
 package de.dktutzer.tcgwatcher.data.service.persistence;
 
 import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
-public interface QuickSearchCardsSqliteRepository extends CrudRepository<PokemonCardEntity, Long> {
+public interface QuickSearchCardsSqliteRepository extends CrudRepository<PokemonCardEntity, String> {
 
+  // :pattern is a lower case LIKE pattern, '!' escapes literal % and _
+  String MATCHES_PATTERN = "(lower(c.nameDe) like :pattern escape '!'"
+      + " or lower(c.nameEn) like :pattern escape '!'"
+      + " or lower(c.nameFr) like :pattern escape '!'"
+      + " or lower(c.code) like :pattern escape '!')";
 
+  @Query("select c from PokemonCard c where " + MATCHES_PATTERN + " order by c.nameEn, c.id")
+  List<PokemonCardEntity> search(@Param("pattern") String pattern, Limit limit);
+
+  // one card (the lowest id) per reprint cluster
+  @Query("select r from PokemonCard r where r.id in ("
+      + "select min(c.id) from PokemonCard c where " + MATCHES_PATTERN
+      + " group by c.reprintClusterId) order by r.nameEn, r.id")
+  List<PokemonCardEntity> searchCollapsingReprints(@Param("pattern") String pattern, Limit limit);
+
+  List<PokemonCardEntity> findByReprintClusterIdOrderBySetIdAscIdAsc(String reprintClusterId);
+
+  List<PokemonCardEntity> findByEvolutionChainIdOrderByEvolutionStageAscIdAsc(String evolutionChainId);
+
+  // exact match on any external identifier, used for bulk resolution
+  @Query("select c from PokemonCard c where c.code in :values or c.cmPageId in :values"
+      + " or c.cmProductId in :values or c.tcgpId in :values")
+  List<PokemonCardEntity> findByAnyIdentifier(@Param("values") Collection<String> values);
+
+  // ordered by the collation keys, see CollationKeys
+  List<PokemonCardEntity> findAllByOrderBySortKeyDeAscIdAsc(Limit limit);
+
+  List<PokemonCardEntity> findAllByOrderBySortKeyEnAscIdAsc(Limit limit);
+
+  List<PokemonCardEntity> findAllByOrderBySortKeyFrAscIdAsc(Limit limit);
+
+  // keyset pages over (set_id, number_sort, id); the leading bound lets SQLite seek the index
+  List<PokemonCardEntity> findAllByOrderBySetIdAscNumberSortAscIdAsc(Limit limit);
+
+  @Query("select c from PokemonCard c where c.setId >= :setId"
+      + " and (c.setId > :setId or c.numberSort > :numberSort"
+      + " or (c.numberSort = :numberSort and c.id > :id))"
+      + " order by c.setId, c.numberSort, c.id")
+  List<PokemonCardEntity> findPageAfter(@Param("setId") String setId,
+      @Param("numberSort") String numberSort, @Param("id") String id, Limit limit);
+
+  List<PokemonCardEntity> findBySetIdOrderByNumberSortAscIdAsc(String setId, Limit limit);
+
+  @Query("select c from PokemonCard c where c.setId = :setId and c.numberSort >= :numberSort"
+      + " and (c.numberSort > :numberSort or c.id > :id)"
+      + " order by c.numberSort, c.id")
+  List<PokemonCardEntity> findPageInSetAfter(@Param("setId") String setId,
+      @Param("numberSort") String numberSort, @Param("id") String id, Limit limit);
 }
@@ -1,6 +1,15 @@
 package de.dktutzer.tcgwatcher.data.service.persistence;
 
 import de.dktutzer.tcgwatcher.data.data.entities.PokemonSeriesEntity;
+import java.util.List;
 import org.springframework.data.repository.CrudRepository;
 
-public interface SeriesSqlRepository extends CrudRepository<PokemonSeriesEntity, String> {}
+public interface SeriesSqlRepository extends CrudRepository<PokemonSeriesEntity, String> {
+
+  // ordered by the collation keys, see CollationKeys
+  List<PokemonSeriesEntity> findAllByOrderBySortKeyDeAscIdAsc();
+
+  List<PokemonSeriesEntity> findAllByOrderBySortKeyEnAscIdAsc();
+
+  List<PokemonSeriesEntity> findAllByOrderBySortKeyFrAscIdAsc();
+}
@@ -1,6 +1,44 @@
 package de.dktutzer.tcgwatcher.data.service.persistence;
 
 import de.dktutzer.tcgwatcher.data.data.entities.PokemonSetEntity;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
-public interface SetsSqliteRepository  extends CrudRepository<PokemonSetEntity, String> {}
+public interface SetsSqliteRepository  extends CrudRepository<PokemonSetEntity, String> {
+
+  // :pattern is a lower case LIKE pattern, '!' escapes literal % and _
+  @Query("select s from PokemonSet s where lower(s.nameDe) like :pattern escape '!'"
+      + " or lower(s.nameEn) like :pattern escape '!'"
+      + " or lower(s.nameFr) like :pattern escape '!'"
+      + " or lower(s.code) like :pattern escape '!'"
+      + " or lower(s.abbreviation) like :pattern escape '!'"
+      + " order by s.nameEn, s.id")
+  List<PokemonSetEntity> search(@Param("pattern") String pattern, Limit limit);
+
+  // ordered by the collation keys, see CollationKeys
+  List<PokemonSetEntity> findAllByOrderBySortKeyDeAscIdAsc();
+
+  List<PokemonSetEntity> findAllByOrderBySortKeyEnAscIdAsc();
+
+  List<PokemonSetEntity> findAllByOrderBySortKeyFrAscIdAsc();
+
+  // keyset pages over (release_date, id); the leading bound lets SQLite seek the index
+  List<PokemonSetEntity> findAllByOrderByReleaseDateDescIdDesc(Limit limit);
+
+  @Query("select s from PokemonSet s where s.releaseDate <= :releaseDate"
+      + " and (s.releaseDate < :releaseDate or s.id < :id)"
+      + " order by s.releaseDate desc, s.id desc")
+  List<PokemonSetEntity> findPageBefore(@Param("releaseDate") String releaseDate,
+      @Param("id") String id, Limit limit);
+
+  List<PokemonSetEntity> findAllByOrderByReleaseDateAscIdAsc(Limit limit);
+
+  @Query("select s from PokemonSet s where s.releaseDate >= :releaseDate"
+      + " and (s.releaseDate > :releaseDate or s.id > :id)"
+      + " order by s.releaseDate, s.id")
+  List<PokemonSetEntity> findPageAfter(@Param("releaseDate") String releaseDate,
+      @Param("id") String id, Limit limit);
+}
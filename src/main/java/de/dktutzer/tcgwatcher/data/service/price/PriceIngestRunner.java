@@ -0,0 +1,29 @@
+package de.dktutzer.tcgwatcher.data.service.price;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs one {@link PriceSeriesService#ingestSnapshotDirectory()} when started with the
+ * {@value #PROFILE} profile, e.g. after a snapshot download.
+ */
+@Component
+@Profile(PriceIngestRunner.PROFILE)
+@RequiredArgsConstructor
+@Slf4j
+public class PriceIngestRunner implements ApplicationRunner {
+
+  public static final String PROFILE = "price-ingest";
+
+  private final PriceSeriesService priceSeriesService;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    int appended = priceSeriesService.ingestSnapshotDirectory();
+    log.info("Price snapshot ingest completed, {} product days appended", appended);
+  }
+}
@@ -0,0 +1,145 @@
+package de.dktutzer.tcgwatcher.data.service.price;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PriceSeriesEntity;
+import de.dktutzer.tcgwatcher.data.service.encoding.VarInts;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Encodes price series column by column: the days as unsigned varint gaps to the previous day and
+ * every price metric as zigzag varint deltas to the previous raw value. A daily series with slowly
+ * moving prices therefore costs about one byte per column and day.
+ *
+ * <p>Raw values are cents + 1, 0 marks a missing price.
+ */
+public final class PriceSeriesCodec {
+
+  private PriceSeriesCodec() {
+  }
+
+  public static PriceSeriesEntity newSeries(String source, String productId) {
+    var series = new PriceSeriesEntity();
+    series.setId(seriesId(source, productId));
+    series.setSource(source);
+    series.setProductId(productId);
+    series.setFirstDay(0);
+    series.setLastDay(0);
+    series.setPointCount(0);
+    series.setLastLow(0L);
+    series.setLastAvg(0L);
+    series.setLastTrend(0L);
+    series.setDays(new byte[0]);
+    series.setLow(new byte[0]);
+    series.setAvg(new byte[0]);
+    series.setTrend(new byte[0]);
+    return series;
+  }
+
+  public static String seriesId(String source, String productId) {
+    return source + ":" + productId;
+  }
+
+  /**
+   * Appends one day to the series. Days must be strictly increasing.
+   *
+   * @return false if the day is not after the last stored day (duplicate or out of order snapshot)
+   */
+  public static boolean append(PriceSeriesEntity series, int epochDay, Long low, Long avg,
+      Long trend) {
+    boolean empty = series.getPointCount() == 0;
+    if (!empty && epochDay <= series.getLastDay()) {
+      return false;
+    }
+    if (empty) {
+      series.setFirstDay(epochDay);
+    }
+    int previousDay = empty ? epochDay : series.getLastDay();
+    series.setDays(appendUnsigned(series.getDays(), epochDay - previousDay));
+
+    long rawLow = toRaw(low);
+    long rawAvg = toRaw(avg);
+    long rawTrend = toRaw(trend);
+    series.setLow(appendSigned(series.getLow(), rawLow - series.getLastLow()));
+    series.setAvg(appendSigned(series.getAvg(), rawAvg - series.getLastAvg()));
+    series.setTrend(appendSigned(series.getTrend(), rawTrend - series.getLastTrend()));
+
+    series.setLastDay(epochDay);
+    series.setLastLow(rawLow);
+    series.setLastAvg(rawAvg);
+    series.setLastTrend(rawTrend);
+    series.setPointCount(series.getPointCount() + 1);
+    return true;
+  }
+
+  public static Decoded decode(PriceSeriesEntity series) {
+    int count = series.getPointCount();
+    int[] days = new int[count];
+    long[] low = new long[count];
+    long[] avg = new long[count];
+    long[] trend = new long[count];
+
+    var dayReader = new VarInts.Reader(series.getDays());
+    var lowReader = new VarInts.Reader(series.getLow());
+    var avgReader = new VarInts.Reader(series.getAvg());
+    var trendReader = new VarInts.Reader(series.getTrend());
+    int day = series.getFirstDay();
+    long l = 0;
+    long a = 0;
+    long t = 0;
+    for (int i = 0; i < count; i++) {
+      day += (int) dayReader.readUnsigned();
+      l += lowReader.readSigned();
+      a += avgReader.readSigned();
+      t += trendReader.readSigned();
+      days[i] = day;
+      low[i] = l;
+      avg[i] = a;
+      trend[i] = t;
+    }
+    return new Decoded(days, low, avg, trend);
+  }
+
+  public static long toRaw(Long cents) {
+    return cents == null ? 0 : cents + 1;
+  }
+
+  public static Long fromRaw(long raw) {
+    return raw == 0 ? null : raw - 1;
+  }
+
+  private static byte[] appendUnsigned(byte[] existing, long value) {
+    var out = new ByteArrayOutputStream(existing.length + 2);
+    out.writeBytes(existing);
+    VarInts.writeUnsigned(out, value);
+    return out.toByteArray();
+  }
+
+  private static byte[] appendSigned(byte[] existing, long value) {
+    var out = new ByteArrayOutputStream(existing.length + 2);
+    out.writeBytes(existing);
+    VarInts.writeSigned(out, value);
+    return out.toByteArray();
+  }
+
+  /** Decoded columns, raw values (see {@link #fromRaw(long)}), days ascending. */
+  public record Decoded(int[] days, long[] low, long[] avg, long[] trend) {
+
+    public int size() {
+      return days.length;
+    }
+
+    /** Index of the first day >= epochDay, or size() if there is none. */
+    public int lowerBound(int epochDay) {
+      int lo = 0;
+      int hi = days.length;
+      while (lo < hi) {
+        int mid = (lo + hi) >>> 1;
+        if (days[mid] < epochDay) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      return lo;
+    }
+  }
+}
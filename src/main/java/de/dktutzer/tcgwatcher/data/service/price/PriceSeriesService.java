@@ -0,0 +1,218 @@
+package de.dktutzer.tcgwatcher.data.service.price;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PriceSeriesEntity;
+import de.dktutzer.tcgwatcher.data.data.model.PriceAggregate;
+import de.dktutzer.tcgwatcher.data.data.model.PricePoint;
+import de.dktutzer.tcgwatcher.data.data.model.PriceSnapshot;
+import de.dktutzer.tcgwatcher.data.service.alert.PriceAlertService;
+import de.dktutzer.tcgwatcher.data.service.persistence.PriceSeriesRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ingests price snapshot files into the per-product price series and answers range and
+ * downsampling queries on them. Every ingested snapshot is checked against the price watches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceSeriesService {
+
+  // sqlite allows at most 32766 host parameters per statement
+  private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+  public enum Metric { LOW, AVG, TREND }
+
+  public enum Resolution { DAILY, WEEKLY }
+
+  private final PriceSeriesRepository priceSeriesRepository;
+  private final PriceAlertService priceAlertService;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${app.price.snapshot.dir}")
+  private String snapshotDir;
+
+  /**
+   * Ingests all .json/.csv files of {@code app.price.snapshot.dir} in file name order. Snapshots
+   * that are not newer than the stored series are skipped, so re-running is harmless. Every file is
+   * appended in its own transaction.
+   */
+  public int ingestSnapshotDirectory() throws IOException {
+    Path dir = Path.of(snapshotDir);
+    if (!Files.isDirectory(dir)) {
+      log.warn("Price snapshot directory not found: {}", dir);
+      return 0;
+    }
+    List<Path> files;
+    try (Stream<Path> stream = Files.list(dir)) {
+      files = stream
+          .filter(p -> {
+            String name = p.getFileName().toString().toLowerCase(Locale.ROOT);
+            return Files.isRegularFile(p) && (name.endsWith(".json") || name.endsWith(".csv"));
+          })
+          .sorted()
+          .toList();
+    }
+    int appended = 0;
+    for (Path file : files) {
+      PriceSnapshot snapshot = read(file);
+      // ingest(...) called on this would bypass the transactional proxy
+      Integer added = transactionTemplate.execute(status -> ingest(snapshot));
+      appended += added == null ? 0 : added;
+    }
+    return appended;
+  }
+
+  /**
+   * Appends one snapshot file to the price series.
+   *
+   * @return number of products the snapshot added a day to
+   */
+  @Transactional
+  public int ingest(Path file) throws IOException {
+    return ingest(read(file));
+  }
+
+  /**
+   * Appends one snapshot to the price series, e.g. a batch of refreshed product pages.
+   *
+   * @return number of products the snapshot added a day to
+   */
+  @Transactional
+  public int ingest(PriceSnapshot snapshot) {
+    int epochDay = (int) snapshot.date().toEpochDay();
+
+    Map<String, PriceSeriesEntity> seriesById = new HashMap<>();
+    List<String> ids = snapshot.entries().stream()
+        .map(e -> PriceSeriesCodec.seriesId(snapshot.source(), e.productId()))
+        .toList();
+    for (int i = 0; i < ids.size(); i += LOOKUP_CHUNK_SIZE) {
+      priceSeriesRepository.findAllById(ids.subList(i, Math.min(ids.size(), i + LOOKUP_CHUNK_SIZE)))
+          .forEach(s -> seriesById.put(s.getId(), s));
+    }
+
+    // before appending, the alerts compare with the previous day
+    priceAlertService.evaluate(snapshot, seriesById);
+
+    List<PriceSeriesEntity> changed = new ArrayList<>();
+    int skipped = 0;
+    for (PriceSnapshot.Entry entry : snapshot.entries()) {
+      var series = seriesById.computeIfAbsent(
+          PriceSeriesCodec.seriesId(snapshot.source(), entry.productId()),
+          id -> PriceSeriesCodec.newSeries(snapshot.source(), entry.productId()));
+      if (PriceSeriesCodec.append(series, epochDay, entry.low(), entry.avg(), entry.trend())) {
+        changed.add(series);
+      } else {
+        skipped++;
+      }
+    }
+    priceSeriesRepository.saveAll(changed);
+
+    if (skipped > 0) {
+      log.warn("Skipped {} {} products of {}: snapshot is not newer than the stored series",
+          skipped, snapshot.source(), snapshot.date());
+    }
+    return changed.size();
+  }
+
+  /** All stored days of the product within [from, to]. */
+  public List<PricePoint> range(String source, String productId, LocalDate from, LocalDate to) {
+    return priceSeriesRepository.findById(PriceSeriesCodec.seriesId(source, productId))
+        .map(series -> range(PriceSeriesCodec.decode(series), from, to))
+        .orElse(List.of());
+  }
+
+  /**
+   * Min/max/avg of one metric per day or ISO week (starting monday) within [from, to]. Days without
+   * a value for the metric are ignored.
+   */
+  public List<PriceAggregate> downsample(String source, String productId, Metric metric,
+      Resolution resolution, LocalDate from, LocalDate to) {
+    return priceSeriesRepository.findById(PriceSeriesCodec.seriesId(source, productId))
+        .map(series -> downsample(PriceSeriesCodec.decode(series), metric, resolution, from, to))
+        .orElse(List.of());
+  }
+
+  static List<PricePoint> range(PriceSeriesCodec.Decoded decoded, LocalDate from, LocalDate to) {
+    int end = (int) to.toEpochDay();
+    List<PricePoint> result = new ArrayList<>();
+    for (int i = decoded.lowerBound((int) from.toEpochDay());
+        i < decoded.size() && decoded.days()[i] <= end; i++) {
+      result.add(new PricePoint(
+          LocalDate.ofEpochDay(decoded.days()[i]),
+          PriceSeriesCodec.fromRaw(decoded.low()[i]),
+          PriceSeriesCodec.fromRaw(decoded.avg()[i]),
+          PriceSeriesCodec.fromRaw(decoded.trend()[i])));
+    }
+    return result;
+  }
+
+  static List<PriceAggregate> downsample(PriceSeriesCodec.Decoded decoded, Metric metric,
+      Resolution resolution, LocalDate from, LocalDate to) {
+    long[] values = switch (metric) {
+      case LOW -> decoded.low();
+      case AVG -> decoded.avg();
+      case TREND -> decoded.trend();
+    };
+
+    int end = (int) to.toEpochDay();
+    List<PriceAggregate> result = new ArrayList<>();
+    LocalDate bucket = null;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    long sum = 0;
+    int count = 0;
+    for (int i = decoded.lowerBound((int) from.toEpochDay());
+        i < decoded.size() && decoded.days()[i] <= end; i++) {
+      if (values[i] == 0) {
+        continue;
+      }
+      long cents = values[i] - 1;
+      LocalDate day = LocalDate.ofEpochDay(decoded.days()[i]);
+      LocalDate dayBucket = resolution == Resolution.DAILY
+          ? day
+          : day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+      if (!dayBucket.equals(bucket)) {
+        if (count > 0) {
+          result.add(new PriceAggregate(bucket, min, max, (double) sum / count, count));
+        }
+        bucket = dayBucket;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+        sum = 0;
+        count = 0;
+      }
+      min = Math.min(min, cents);
+      max = Math.max(max, cents);
+      sum += cents;
+      count++;
+    }
+    if (count > 0) {
+      result.add(new PriceAggregate(bucket, min, max, (double) sum / count, count));
+    }
+    return result;
+  }
+
+  private static PriceSnapshot read(Path file) throws IOException {
+    PriceSnapshot snapshot = PriceSnapshotReader.read(file);
+    log.info("Ingesting {} {} prices of {} from {}", snapshot.entries().size(), snapshot.source(),
+        snapshot.date(), file);
+    return snapshot;
+  }
+}
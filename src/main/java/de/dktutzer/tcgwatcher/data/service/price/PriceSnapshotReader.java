@@ -0,0 +1,209 @@
+package de.dktutzer.tcgwatcher.data.service.price;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.dktutzer.tcgwatcher.data.data.model.PriceSnapshot;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads price-guide dumps from disk into a {@link PriceSnapshot}.
+ *
+ * <ul>
+ *   <li>Cardmarket price guide JSON: {@code {"createdAt": ..., "priceGuides": [{"idProduct": 1,
+ *       "low": 0.02, "avg": 0.93, "trend": 0.98}, ...]}}</li>
+ *   <li>CSV with a header row. The id column is {@code idProduct} / {@code cardmarket_product_id}
+ *       (Cardmarket) or {@code productId} / {@code tcgplayer_id} (TCGplayer); prices are taken from
+ *       {@code low|lowPrice}, {@code avg|midPrice} and {@code trend|marketPrice}.</li>
+ * </ul>
+ *
+ * The snapshot date is the JSON {@code createdAt}, otherwise a yyyy-MM-dd date in the file name,
+ * otherwise the file modification date.
+ */
+public final class PriceSnapshotReader {
+
+  public static final String SOURCE_CARDMARKET = "cardmarket";
+  public static final String SOURCE_TCGPLAYER = "tcgplayer";
+
+  private static final Pattern DATE_IN_NAME = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})");
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private PriceSnapshotReader() {
+  }
+
+  public static PriceSnapshot read(Path file) throws IOException {
+    String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+    if (name.endsWith(".json")) {
+      return readCardmarketJson(file);
+    }
+    if (name.endsWith(".csv")) {
+      return readCsv(file);
+    }
+    throw new IllegalArgumentException("Unsupported price snapshot file: " + file);
+  }
+
+  private static PriceSnapshot readCardmarketJson(Path file) throws IOException {
+    LocalDate date = null;
+    List<PriceSnapshot.Entry> entries = new ArrayList<>();
+
+    try (JsonParser parser = OBJECT_MAPPER.createParser(file.toFile())) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("Expected a JSON object in " + file);
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        parser.nextToken();
+        if ("createdAt".equals(field) && parser.currentToken() == JsonToken.VALUE_STRING) {
+          date = parseDate(parser.getText());
+        } else if ("priceGuides".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+          // stream the array, only one guide entry is materialized at a time
+          while (parser.nextToken() == JsonToken.START_OBJECT) {
+            JsonNode guide = parser.readValueAsTree();
+            JsonNode id = guide.get("idProduct");
+            if (id == null || id.isNull()) {
+              continue;
+            }
+            entries.add(new PriceSnapshot.Entry(
+                id.asText(),
+                toCents(guide.get("low")),
+                toCents(guide.get("avg")),
+                toCents(guide.get("trend"))));
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+
+    return new PriceSnapshot(SOURCE_CARDMARKET, date != null ? date : dateFromFile(file), entries);
+  }
+
+  private static PriceSnapshot readCsv(Path file) throws IOException {
+    List<PriceSnapshot.Entry> entries = new ArrayList<>();
+    String source;
+
+    try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String header = br.readLine();
+      if (header == null) {
+        throw new IOException("Empty price snapshot file: " + file);
+      }
+      List<String> columns = splitCsvLine(header.replace("\uFEFF", ""));
+      int idColumn = indexOf(columns, "idProduct", "cardmarket_product_id");
+      source = SOURCE_CARDMARKET;
+      if (idColumn < 0) {
+        idColumn = indexOf(columns, "productId", "tcgplayer_id");
+        source = SOURCE_TCGPLAYER;
+      }
+      if (idColumn < 0) {
+        throw new IOException("No product id column in " + file + ": " + header);
+      }
+      int lowColumn = indexOf(columns, "low", "lowPrice");
+      int avgColumn = indexOf(columns, "avg", "midPrice");
+      int trendColumn = indexOf(columns, "trend", "marketPrice");
+
+      String line;
+      while ((line = br.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        List<String> values = splitCsvLine(line);
+        String id = value(values, idColumn);
+        if (id == null || id.isEmpty()) {
+          continue;
+        }
+        entries.add(new PriceSnapshot.Entry(
+            id,
+            toCents(value(values, lowColumn)),
+            toCents(value(values, avgColumn)),
+            toCents(value(values, trendColumn))));
+      }
+    }
+
+    return new PriceSnapshot(source, dateFromFile(file), entries);
+  }
+
+  private static LocalDate dateFromFile(Path file) throws IOException {
+    Matcher m = DATE_IN_NAME.matcher(file.getFileName().toString());
+    if (m.find()) {
+      return LocalDate.parse(m.group(1));
+    }
+    return LocalDate.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneOffset.UTC);
+  }
+
+  private static LocalDate parseDate(String text) {
+    return text.length() >= 10 ? LocalDate.parse(text.substring(0, 10)) : null;
+  }
+
+  private static Long toCents(JsonNode node) {
+    if (node == null || node.isNull()) {
+      return null;
+    }
+    return toCents(node.asText());
+  }
+
+  private static Long toCents(String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      return new BigDecimal(value.trim()).movePointRight(2).setScale(0, RoundingMode.HALF_UP)
+          .longValueExact();
+    } catch (NumberFormatException | ArithmeticException e) {
+      return null;
+    }
+  }
+
+  private static int indexOf(List<String> columns, String... names) {
+    for (String name : names) {
+      for (int i = 0; i < columns.size(); i++) {
+        if (columns.get(i).trim().equalsIgnoreCase(name)) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static String value(List<String> values, int index) {
+    return index >= 0 && index < values.size() ? values.get(index).trim() : null;
+  }
+
+  // product names in TCGplayer exports may contain quoted commas
+  private static List<String> splitCsvLine(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          current.append('"');
+          i++;
+        } else {
+          quoted = !quoted;
+        }
+      } else if (c == ',' && !quoted) {
+        values.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(c);
+      }
+    }
+    values.add(current.toString());
+    return values;
+  }
+}
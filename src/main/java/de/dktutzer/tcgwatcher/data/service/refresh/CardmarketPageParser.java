@@ -0,0 +1,57 @@
+package de.dktutzer.tcgwatcher.data.service.refresh;
+
+import de.dktutzer.tcgwatcher.data.data.model.PriceSnapshot;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the prices of a Cardmarket product page (English locale). The info list of the page
+ * holds them as {@code <dt>Price Trend</dt><dd><span>1,23 €</span></dd>}; "From" is the lowest
+ * offer, "30-days average price" the average.
+ */
+public final class CardmarketPageParser {
+
+  private static final Pattern TAGS = Pattern.compile("<[^>]*>");
+
+  private CardmarketPageParser() {
+  }
+
+  /** @return empty if the page shows none of the prices */
+  public static Optional<PriceSnapshot.Entry> parse(String productId, String html) {
+    if (html == null) {
+      return Optional.empty();
+    }
+    Long low = price(html, "From");
+    Long avg = price(html, "30-days average price");
+    Long trend = price(html, "Price Trend");
+    if (low == null && avg == null && trend == null) {
+      return Optional.empty();
+    }
+    return Optional.of(new PriceSnapshot.Entry(productId, low, avg, trend));
+  }
+
+  private static Long price(String html, String label) {
+    Matcher matcher = Pattern.compile(
+            "<dt[^>]*>\\s*" + Pattern.quote(label) + "\\s*</dt>\\s*<dd[^>]*>(.*?)</dd>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL)
+        .matcher(html);
+    return matcher.find() ? cents(TAGS.matcher(matcher.group(1)).replaceAll("")) : null;
+  }
+
+  /**
+   * Cents of a displayed price like "1.234,56 €", "0,02 €" or "12 €"; a separator followed by
+   * exactly two digits at the end is the decimal one.
+   */
+  static Long cents(String text) {
+    String number = text.replaceAll("[^0-9.,]", "");
+    if (number.isEmpty() || number.chars().noneMatch(Character::isDigit)) {
+      return null;
+    }
+    int separator = Math.max(number.lastIndexOf(','), number.lastIndexOf('.'));
+    boolean hasDecimals = separator >= 0 && number.length() - separator - 1 == 2;
+    String euros = (hasDecimals ? number.substring(0, separator) : number).replaceAll("[.,]", "");
+    long cents = hasDecimals ? Long.parseLong(number.substring(separator + 1)) : 0;
+    return (euros.isEmpty() ? 0 : Long.parseLong(euros)) * 100 + cents;
+  }
+}
@@ -0,0 +1,222 @@
+package de.dktutzer.tcgwatcher.data.service.refresh;
+
+import de.dktutzer.tcgwatcher.data.data.model.PriceSnapshot;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Fetches Cardmarket product pages and hands the parsed prices to a consumer in batches.
+ *
+ * <p>Every page is fetched on its own virtual thread, at most {@code maxConcurrency} at a time.
+ * Each request, retries included, first takes a token from the {@link TokenBucket} of its host, so
+ * the configured rate is the only limit on throughput as long as enough requests are in flight to
+ * cover the response time. Targets are started in list order, i.e. by priority. 429, 5xx and I/O
+ * errors are retried with exponential backoff and jitter, other errors fail the page. A 429 pauses
+ * the whole host for the server's Retry-After (or the backoff), not just the throttled page.
+ */
+@Slf4j
+public class CardmarketRefresher {
+
+  public record Target(String productId, String pageId) {
+  }
+
+  public record Result(int fetched, int failed, int retries) {
+  }
+
+  private final RestTemplate restTemplate;
+  private final String pageUrlTemplate;
+  private final double ratePerSecond;
+  private final int burst;
+  private final int maxConcurrency;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+
+  private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+  /**
+   * @param pageUrlTemplate page url with {@code {productId}} and/or {@code {pageId}} placeholders
+   */
+  public CardmarketRefresher(RestTemplate restTemplate, String pageUrlTemplate,
+      double ratePerSecond, int burst, int maxConcurrency, int maxAttempts,
+      Duration initialBackoff) {
+    this.restTemplate = restTemplate;
+    this.pageUrlTemplate = pageUrlTemplate;
+    this.ratePerSecond = ratePerSecond;
+    this.burst = burst;
+    this.maxConcurrency = maxConcurrency;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+  }
+
+  /**
+   * Fetches all targets. {@code persist} is called with up to {@code batchSize} entries at a time,
+   * never concurrently.
+   */
+  public Result refresh(List<Target> targets, int batchSize,
+      Consumer<List<PriceSnapshot.Entry>> persist) throws InterruptedException {
+    var fetched = new AtomicInteger();
+    var failed = new AtomicInteger();
+    var retries = new AtomicInteger();
+    var batch = new Batch(batchSize, persist);
+    var inFlight = new Semaphore(maxConcurrency);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (Target target : targets) {
+        inFlight.acquire();
+        executor.submit(() -> {
+          try {
+            Optional<PriceSnapshot.Entry> entry = fetch(target, retries);
+            if (entry.isPresent()) {
+              fetched.incrementAndGet();
+              batch.add(entry.get());
+            } else {
+              failed.incrementAndGet();
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.warn("Failed to refresh {}: {}", target.productId(), e.toString());
+          } finally {
+            inFlight.release();
+          }
+        });
+      }
+    }
+    batch.flush();
+    return new Result(fetched.get(), failed.get(), retries.get());
+  }
+
+  URI pageUri(Target target) {
+    return URI.create(pageUrlTemplate
+        .replace("{productId}", encode(target.productId()))
+        .replace("{pageId}", encode(target.pageId())));
+  }
+
+  private Optional<PriceSnapshot.Entry> fetch(Target target, AtomicInteger retries)
+      throws InterruptedException {
+    URI uri = pageUri(target);
+    TokenBucket bucket = buckets.computeIfAbsent(uri.getHost(),
+        host -> new TokenBucket(ratePerSecond, burst));
+    for (int attempt = 1; ; attempt++) {
+      bucket.acquire();
+      Duration delay;
+      try {
+        String html = restTemplate.getForObject(uri, String.class);
+        Optional<PriceSnapshot.Entry> entry = CardmarketPageParser.parse(target.productId(), html);
+        if (entry.isEmpty()) {
+          log.debug("No prices on {}", uri);
+        }
+        return entry;
+      } catch (HttpStatusCodeException e) {
+        int status = e.getStatusCode().value();
+        if (status != 429 && status < 500) {
+          log.warn("Not refreshing {}: {}", uri, status);
+          return Optional.empty();
+        }
+        if (attempt >= maxAttempts) {
+          log.error("Giving up on {} after {} attempts: {}", uri, attempt, status);
+          return Optional.empty();
+        }
+        if (status == 429) {
+          // the retry waits in acquire like every other request to the host
+          Duration pause = retryAfter(e.getResponseHeaders()).orElse(backoff(attempt));
+          log.debug("Throttled by {}, pausing for {}", uri.getHost(), pause);
+          bucket.pause(pause);
+          retries.incrementAndGet();
+          continue;
+        }
+        delay = backoff(attempt);
+      } catch (ResourceAccessException e) {
+        if (attempt >= maxAttempts) {
+          log.error("Giving up on {} after {} attempts: {}", uri, attempt, e.getMessage());
+          return Optional.empty();
+        }
+        delay = backoff(attempt);
+      }
+      retries.incrementAndGet();
+      Thread.sleep(delay);
+    }
+  }
+
+  // initialBackoff * 2^(attempt - 1), scaled by a random factor in [0.5, 1)
+  private Duration backoff(int attempt) {
+    long nanos = initialBackoff.toNanos() << Math.min(attempt - 1, 20);
+    return Duration.ofNanos((long) (nanos * (0.5 + ThreadLocalRandom.current().nextDouble() / 2)));
+  }
+
+  private static Optional<Duration> retryAfter(HttpHeaders headers) {
+    String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+    if (value == null || !value.trim().matches("\\d{1,6}")) {
+      return Optional.empty();
+    }
+    return Optional.of(Duration.ofSeconds(Long.parseLong(value.trim())));
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+  }
+
+  private static final class Batch {
+
+    private final int size;
+    private final Consumer<List<PriceSnapshot.Entry>> persist;
+    private final Object persistLock = new Object();
+    private List<PriceSnapshot.Entry> entries = new ArrayList<>();
+
+    Batch(int size, Consumer<List<PriceSnapshot.Entry>> persist) {
+      this.size = size;
+      this.persist = persist;
+    }
+
+    void add(PriceSnapshot.Entry entry) {
+      List<PriceSnapshot.Entry> full = null;
+      synchronized (this) {
+        entries.add(entry);
+        if (entries.size() >= size) {
+          full = entries;
+          entries = new ArrayList<>();
+        }
+      }
+      if (full != null) {
+        persist(full);
+      }
+    }
+
+    void flush() {
+      List<PriceSnapshot.Entry> rest;
+      synchronized (this) {
+        rest = entries;
+        entries = new ArrayList<>();
+      }
+      if (!rest.isEmpty()) {
+        persist(rest);
+      }
+    }
+
+    // fetching goes on while a batch is written
+    private void persist(List<PriceSnapshot.Entry> full) {
+      synchronized (persistLock) {
+        persist.accept(full);
+      }
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package de.dktutzer.tcgwatcher.data.service.refresh;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs one {@link PriceRefreshService#refresh()} when started with the {@value #PROFILE} profile,
+ * e.g. from a nightly cron job.
+ */
+@Component
+@Profile(PriceRefreshRunner.PROFILE)
+@RequiredArgsConstructor
+public class PriceRefreshRunner implements ApplicationRunner {
+
+  public static final String PROFILE = "price-refresh";
+
+  private final PriceRefreshService priceRefreshService;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    priceRefreshService.refresh();
+  }
+}
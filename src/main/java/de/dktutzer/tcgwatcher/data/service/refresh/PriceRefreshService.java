@@ -0,0 +1,115 @@
+package de.dktutzer.tcgwatcher.data.service.refresh;
+
+import static org.springframework.util.StringUtils.hasText;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PriceWatchEntity;
+import de.dktutzer.tcgwatcher.data.data.model.PriceSnapshot;
+import de.dktutzer.tcgwatcher.data.service.persistence.PriceSeriesRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.PriceWatchRepository;
+import de.dktutzer.tcgwatcher.data.service.persistence.QuickSearchCardsSqliteRepository;
+import de.dktutzer.tcgwatcher.data.service.price.PriceSeriesService;
+import de.dktutzer.tcgwatcher.data.service.refresh.CardmarketRefresher.Result;
+import de.dktutzer.tcgwatcher.data.service.refresh.CardmarketRefresher.Target;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Refreshes the Cardmarket prices of the catalog from the product pages, most urgent first: the
+ * priority of a product is the number of days since its last price times one plus the number of
+ * watches on it. Products that already have today's price are skipped. Fetched prices are
+ * ingested as snapshots of {@code app.price.refresh.batch-size} products, so the price watches are
+ * evaluated as the refresh goes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceRefreshService {
+
+  public static final String SOURCE = "cardmarket";
+
+  // staleness of a product without any stored price
+  private static final int NEVER_FETCHED_DAYS = 365;
+
+  private final QuickSearchCardsSqliteRepository quickSearchCardsSqliteRepository;
+  private final PriceSeriesRepository priceSeriesRepository;
+  private final PriceWatchRepository priceWatchRepository;
+  private final PriceSeriesService priceSeriesService;
+  private final RestTemplate restTemplate;
+
+  @Value("${app.price.refresh.page-url}")
+  private String pageUrl;
+  @Value("${app.price.refresh.rate-per-second}")
+  private double ratePerSecond;
+  @Value("${app.price.refresh.burst}")
+  private int burst;
+  @Value("${app.price.refresh.max-concurrency}")
+  private int maxConcurrency;
+  @Value("${app.price.refresh.max-attempts}")
+  private int maxAttempts;
+  @Value("${app.price.refresh.backoff-ms}")
+  private long backoffMillis;
+  @Value("${app.price.refresh.batch-size}")
+  private int batchSize;
+
+  public Result refresh() throws InterruptedException {
+    LocalDate today = LocalDate.now();
+    Map<String, Integer> lastDays = new HashMap<>();
+    priceSeriesRepository.findLastDaysBySource(SOURCE)
+        .forEach(day -> lastDays.put(day.getProductId(), day.getLastDay()));
+    Map<String, Integer> watchCounts = new HashMap<>();
+    for (PriceWatchEntity watch : priceWatchRepository.findAll()) {
+      if (SOURCE.equals(watch.getSource())) {
+        watchCounts.merge(watch.getProductId(), 1, Integer::sum);
+      }
+    }
+    List<Target> targets = prioritize(quickSearchCardsSqliteRepository.findAll(), lastDays,
+        watchCounts, (int) today.toEpochDay());
+
+    long start = System.nanoTime();
+    log.info("Refreshing {} Cardmarket product pages at {}/s", targets.size(), ratePerSecond);
+    var refresher = new CardmarketRefresher(restTemplate, pageUrl, ratePerSecond, burst,
+        maxConcurrency, maxAttempts, Duration.ofMillis(backoffMillis));
+    Result result = refresher.refresh(targets, batchSize,
+        entries -> priceSeriesService.ingest(new PriceSnapshot(SOURCE, today, entries)));
+    log.info("Refreshed {} pages in {} s, {} failed, {} retries", result.fetched(),
+        (System.nanoTime() - start) / 1_000_000_000, result.failed(), result.retries());
+    return result;
+  }
+
+  static List<Target> prioritize(Iterable<PokemonCardEntity> cards, Map<String, Integer> lastDays,
+      Map<String, Integer> watchCounts, int today) {
+    record Ranked(Target target, long priority) {
+    }
+    List<Ranked> ranked = new ArrayList<>();
+    Set<String> seen = new HashSet<>();
+    for (PokemonCardEntity card : cards) {
+      String productId = card.getCmProductId();
+      if (!hasText(productId) || !hasText(card.getCmPageId()) || !seen.add(productId)) {
+        continue;
+      }
+      Integer lastDay = lastDays.get(productId);
+      if (lastDay != null && lastDay >= today) {
+        continue;
+      }
+      long staleDays = lastDay == null ? NEVER_FETCHED_DAYS : today - lastDay;
+      long priority = staleDays * (1 + watchCounts.getOrDefault(productId, 0));
+      ranked.add(new Ranked(new Target(productId, card.getCmPageId()), priority));
+    }
+    ranked.sort(Comparator.comparingLong(Ranked::priority).reversed()
+        .thenComparing(r -> r.target().productId()));
+    return ranked.stream().map(Ranked::target).toList();
+  }
+}
@@ -0,0 +1,88 @@
+package de.dktutzer.tcgwatcher.data.service.refresh;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limit of one host: {@code ratePerSecond} tokens per second, at most {@code burst} of them
+ * saved up. A caller reserves its token first and then sleeps until it is due, so waiting callers
+ * are served in reservation order and the rate holds no matter how many threads acquire: within
+ * any interval of length t at most {@code burst + t * ratePerSecond} tokens are handed out.
+ *
+ * <p>{@link #pause(Duration)} stops the bucket, e.g. for a server's Retry-After: no token becomes
+ * due before the pause ends, and callers that reserved one before the pause reserve again.
+ */
+public final class TokenBucket {
+
+  private final double nanosPerToken;
+  private final int burst;
+  private final LongSupplier nanoClock;
+
+  // negative while tokens are reserved ahead of time
+  private double tokens;
+  private long lastRefill;
+  private long pausedUntil;
+
+  public TokenBucket(double ratePerSecond, int burst) {
+    this(ratePerSecond, burst, System::nanoTime);
+  }
+
+  TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+    if (ratePerSecond <= 0 || burst < 1) {
+      throw new IllegalArgumentException(
+          "Rate and burst must be positive: " + ratePerSecond + "/s, burst " + burst);
+    }
+    this.nanosPerToken = 1e9 / ratePerSecond;
+    this.burst = burst;
+    this.nanoClock = nanoClock;
+    this.tokens = burst;
+    this.lastRefill = nanoClock.getAsLong();
+    this.pausedUntil = lastRefill;
+  }
+
+  /** Blocks until a token is available and takes it. */
+  public void acquire() throws InterruptedException {
+    long wait;
+    while ((wait = reserve()) > 0) {
+      Thread.sleep(Duration.ofNanos(wait));
+      if (!paused()) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Hands out no token for {@code duration}; the first one after the pause is due when it ends.
+   * A longer pause that is already running is kept.
+   */
+  public synchronized void pause(Duration duration) {
+    long now = refill();
+    if (duration.toNanos() > pausedUntil - now) {
+      pausedUntil = now + duration.toNanos();
+    }
+    // the tokens saved up are gone, the next reservation is due at the end of the pause
+    tokens = Math.min(tokens, 1 - (pausedUntil - now) / nanosPerToken);
+  }
+
+  /**
+   * Takes the next token.
+   *
+   * @return nanoseconds until the token is due, 0 if it is available now
+   */
+  synchronized long reserve() {
+    refill();
+    tokens -= 1;
+    return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * nanosPerToken);
+  }
+
+  synchronized boolean paused() {
+    return pausedUntil - nanoClock.getAsLong() > 0;
+  }
+
+  private long refill() {
+    long now = nanoClock.getAsLong();
+    tokens = Math.min(burst, tokens + (now - lastRefill) / nanosPerToken);
+    lastRefill = now;
+    return now;
+  }
+}
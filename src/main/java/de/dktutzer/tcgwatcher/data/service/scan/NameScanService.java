@@ -0,0 +1,33 @@
+package de.dktutzer.tcgwatcher.data.service.scan;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGeneration;
+import de.dktutzer.tcgwatcher.data.service.generation.CatalogGenerationService;
+import java.util.Arrays;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * "Contains" search over all card names by scanning the {@link PackedNameColumn} of the current
+ * catalog generation, for infixes (e.g. the middle of compound German names) that neither LIKE
+ * prefixes nor FTS tokens serve.
+ */
+@Service
+@RequiredArgsConstructor
+public class NameScanService {
+
+  private final CatalogGenerationService catalogGenerationService;
+  private final NameScanner scanner = NameScanner.best();
+
+  /** Cards with a name containing the query, ordered by id. */
+  public List<PokemonCardEntity> findContaining(String query, int limit) {
+    try (CatalogGeneration.Lease lease = catalogGenerationService.acquire()) {
+      PackedNameColumn column = lease.generation().names();
+      return Arrays.stream(column.scan(query, scanner, true))
+          .limit(Math.max(limit, 0))
+          .mapToObj(column::card)
+          .toList();
+    }
+  }
+}
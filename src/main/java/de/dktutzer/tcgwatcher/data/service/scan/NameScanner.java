@@ -0,0 +1,31 @@
+package de.dktutzer.tcgwatcher.data.service.scan;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Substring scan over the packed names of {@link PackedNameColumn}. Implementations report every
+ * card in {@code [fromCard, toCard)} whose names contain the needle, once and in ascending order.
+ */
+public interface NameScanner {
+
+  void scan(byte[] data, int[] starts, int fromCard, int toCard, byte[] needle,
+      IntConsumer matches);
+
+  /**
+   * The Vector API scanner if {@code jdk.incubator.vector} is available (JVM started with
+   * {@code --add-modules jdk.incubator.vector}), the scalar one otherwise.
+   */
+  static NameScanner best() {
+    return VectorSupport.AVAILABLE ? new VectorNameScanner() : new ScalarNameScanner();
+  }
+
+  final class VectorSupport {
+
+    // checked before VectorNameScanner is loaded, its class would not link without the module
+    static final boolean AVAILABLE =
+        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private VectorSupport() {
+    }
+  }
+}
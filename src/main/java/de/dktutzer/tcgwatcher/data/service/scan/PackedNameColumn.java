@@ -0,0 +1,133 @@
+package de.dktutzer.tcgwatcher.data.service.scan;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * All card names (de, en, fr) normalized and packed into one UTF-8 byte array, one
+ * newline terminated name after the other, cards in the order of the card source.
+ * {@code starts[card]} is the offset of the first name of a card, {@code starts[cardCount]} the end
+ * of the data. Matching cards are only materialized from the source when asked for.
+ *
+ * <p>Normalization lower cases, strips accents and folds whitespace, so "Äther" and "ather" match.
+ * The needle never contains a newline, so a match can not span two names.
+ */
+public final class PackedNameColumn {
+
+  // below this many cards splitting the scan costs more than it saves
+  private static final int PARALLEL_CHUNK_CARDS = 16_384;
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final IntFunction<PokemonCardEntity> cards;
+  private final byte[] data;
+  private final int[] starts;
+
+  private PackedNameColumn(IntFunction<PokemonCardEntity> cards, byte[] data, int[] starts) {
+    this.cards = cards;
+    this.data = data;
+    this.starts = starts;
+  }
+
+  /** For tests and benchmarks: the column packs the given cards in id order and returns them. */
+  public static PackedNameColumn build(Iterable<PokemonCardEntity> allCards) {
+    List<PokemonCardEntity> sorted = new ArrayList<>();
+    allCards.forEach(sorted::add);
+    sorted.sort(Comparator.comparing(PokemonCardEntity::getId));
+    return build(sorted, sorted::get);
+  }
+
+  /**
+   * @param ordered the cards whose names are packed, in the ordinal order of {@code cards}; only
+   *     the names are copied
+   */
+  public static PackedNameColumn build(List<PokemonCardEntity> ordered,
+      IntFunction<PokemonCardEntity> cards) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(ordered.size() * 32);
+    int[] starts = new int[ordered.size() + 1];
+    for (int card = 0; card < ordered.size(); card++) {
+      starts[card] = out.size();
+      PokemonCardEntity entity = ordered.get(card);
+      // the same name in several languages is only scanned once
+      Set<String> names = new LinkedHashSet<>();
+      for (String name : new String[]{entity.getNameDe(), entity.getNameEn(), entity.getNameFr()}) {
+        String normalized = normalize(name);
+        if (!normalized.isEmpty()) {
+          names.add(normalized);
+        }
+      }
+      for (String name : names) {
+        out.writeBytes(name.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+      }
+    }
+    starts[ordered.size()] = out.size();
+    return new PackedNameColumn(cards, out.toByteArray(), starts);
+  }
+
+  public static String normalize(String value) {
+    if (value == null) {
+      return "";
+    }
+    String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFKD))
+        .replaceAll("");
+    return WHITESPACE.matcher(stripped.replace("ß", "ss").toLowerCase(Locale.ROOT))
+        .replaceAll(" ")
+        .trim();
+  }
+
+  /**
+   * Ordinals of all cards with a name containing the query, ascending.
+   *
+   * @param parallel split the scan into chunks of cards on the common fork join pool
+   */
+  public int[] scan(String query, NameScanner scanner, boolean parallel) {
+    String normalized = normalize(query);
+    int cardCount = cardCount();
+    if (normalized.isEmpty() || cardCount == 0) {
+      return new int[0];
+    }
+    byte[] needle = normalized.getBytes(StandardCharsets.UTF_8);
+    if (!parallel || cardCount < 2 * PARALLEL_CHUNK_CARDS) {
+      IntStream.Builder matches = IntStream.builder();
+      scanner.scan(data, starts, 0, cardCount, needle, matches);
+      return matches.build().toArray();
+    }
+    int chunks = (cardCount + PARALLEL_CHUNK_CARDS - 1) / PARALLEL_CHUNK_CARDS;
+    return IntStream.range(0, chunks)
+        .parallel()
+        .mapToObj(chunk -> {
+          IntStream.Builder matches = IntStream.builder();
+          int from = chunk * PARALLEL_CHUNK_CARDS;
+          scanner.scan(data, starts, from, Math.min(cardCount, from + PARALLEL_CHUNK_CARDS),
+              needle, matches);
+          return matches.build().toArray();
+        })
+        .flatMapToInt(IntStream::of)
+        .toArray();
+  }
+
+  public PokemonCardEntity card(int ordinal) {
+    return cards.apply(ordinal);
+  }
+
+  public int cardCount() {
+    return starts.length - 1;
+  }
+
+  /** Size of the packed names in bytes. */
+  public int byteSize() {
+    return data.length;
+  }
+}
@@ -0,0 +1,26 @@
+package de.dktutzer.tcgwatcher.data.service.scan;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/** Byte by byte scan, checking first and last needle byte before comparing the whole needle. */
+public class ScalarNameScanner implements NameScanner {
+
+  @Override
+  public void scan(byte[] data, int[] starts, int fromCard, int toCard, byte[] needle,
+      IntConsumer matches) {
+    int n = needle.length;
+    byte first = needle[0];
+    byte last = needle[n - 1];
+    for (int card = fromCard; card < toCard; card++) {
+      int limit = starts[card + 1] - n;
+      for (int i = starts[card]; i <= limit; i++) {
+        if (data[i] == first && data[i + n - 1] == last
+            && Arrays.equals(data, i, i + n, needle, 0, n)) {
+          matches.accept(card);
+          break;
+        }
+      }
+    }
+  }
+}
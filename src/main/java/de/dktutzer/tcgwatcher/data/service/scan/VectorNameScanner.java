@@ -0,0 +1,66 @@
+package de.dktutzer.tcgwatcher.data.service.scan;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD scan: compares a whole vector of positions against the first and the last needle byte at
+ * once and only verifies the candidates where both match. With 32 or 64 byte lanes most of the
+ * data is skipped a vector at a time. Only loaded through {@link NameScanner#best()}.
+ */
+class VectorNameScanner implements NameScanner {
+
+  private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+  private static final NameScanner TAIL = new ScalarNameScanner();
+
+  @Override
+  public void scan(byte[] data, int[] starts, int fromCard, int toCard, byte[] needle,
+      IntConsumer matches) {
+    int n = needle.length;
+    byte first = needle[0];
+    byte last = needle[n - 1];
+    int lanes = SPECIES.length();
+    // last position a match may start at, and the last one a full vector pair can be loaded from
+    int limit = starts[toCard] - n;
+    int vectorLimit = Math.min(limit, data.length - n - lanes + 1);
+
+    int card = fromCard;
+    int i = starts[fromCard];
+    while (i <= vectorLimit) {
+      long candidates = ByteVector.fromArray(SPECIES, data, i).eq(first)
+          .and(ByteVector.fromArray(SPECIES, data, i + n - 1).eq(last))
+          .toLong();
+      int next = i + lanes;
+      while (candidates != 0) {
+        int position = i + Long.numberOfTrailingZeros(candidates);
+        candidates &= candidates - 1;
+        if (position > limit || !Arrays.equals(data, position, position + n, needle, 0, n)) {
+          continue;
+        }
+        while (starts[card + 1] <= position) {
+          card++;
+        }
+        if (position + n > starts[card + 1]) {
+          // runs into the next card, only possible for needles containing the name separator
+          continue;
+        }
+        matches.accept(card);
+        // the rest of this card does not matter anymore
+        next = starts[card + 1];
+        break;
+      }
+      i = next;
+    }
+
+    // tail that is too short for a full vector: the card containing i has no match before i
+    // (it would have been skipped otherwise), so it is safe to rescan it from its start
+    while (card < toCard && starts[card + 1] <= i) {
+      card++;
+    }
+    if (card < toCard) {
+      TAIL.scan(data, starts, card, toCard, needle, matches);
+    }
+  }
+}
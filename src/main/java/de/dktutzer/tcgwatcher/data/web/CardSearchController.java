@@ -0,0 +1,108 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.model.CardDetail;
+import de.dktutzer.tcgwatcher.data.data.model.EvolutionChain;
+import de.dktutzer.tcgwatcher.data.service.CatalogSearchService;
+import de.dktutzer.tcgwatcher.data.service.detail.CardDetailService;
+import de.dktutzer.tcgwatcher.data.service.evolution.EvolutionChainService;
+import de.dktutzer.tcgwatcher.data.service.index.CardResolutionService;
+import de.dktutzer.tcgwatcher.data.service.index.PokedexIndexService;
+import de.dktutzer.tcgwatcher.data.service.offheap.OffHeapCatalogService;
+import de.dktutzer.tcgwatcher.data.service.scan.NameScanService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/cards")
+@RequiredArgsConstructor
+public class CardSearchController {
+
+  private static final ObjectMapper NDJSON_MAPPER = new ObjectMapper();
+
+  private final CatalogSearchService catalogSearchService;
+  private final EvolutionChainService evolutionChainService;
+  private final PokedexIndexService pokedexIndexService;
+  private final CardDetailService cardDetailService;
+  private final CardResolutionService cardResolutionService;
+  private final OffHeapCatalogService offHeapCatalogService;
+  private final NameScanService nameScanService;
+
+  @GetMapping("/search")
+  public List<PokemonCardEntity> search(
+      @RequestParam("q") String query,
+      @RequestParam(defaultValue = "false") boolean collapseReprints,
+      @RequestParam(defaultValue = "50") int limit) {
+    return catalogSearchService.searchCards(query, collapseReprints, limit);
+  }
+
+  // substring anywhere in a name, accents and case ignored
+  @GetMapping("/contains")
+  public List<PokemonCardEntity> contains(
+      @RequestParam("q") String query,
+      @RequestParam(defaultValue = "50") int limit) {
+    return nameScanService.findContaining(query,
+        Math.clamp(limit, 1, CatalogSearchService.MAX_LIMIT));
+  }
+
+  /**
+   * Resolves a JSON array of mixed identifiers and streams one JSON line per identifier, unresolved
+   * ones with {@code "resolved": false}.
+   */
+  @PostMapping(value = "/resolve", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> resolve(@RequestBody List<String> identifiers) {
+    if (identifiers.size() > CardResolutionService.MAX_IDENTIFIERS) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "At most " + CardResolutionService.MAX_IDENTIFIERS + " identifiers per request");
+    }
+    StreamingResponseBody body = out -> cardResolutionService.resolve(identifiers, resolution -> {
+      try {
+        out.write(NDJSON_MAPPER.writeValueAsBytes(resolution));
+        out.write('\n');
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  @GetMapping("/{id}/reprints")
+  public List<PokemonCardEntity> reprints(@PathVariable String id) {
+    return catalogSearchService.findReprints(id);
+  }
+
+  @GetMapping("/{id}")
+  public ResponseEntity<PokemonCardEntity> card(@PathVariable String id) {
+    return ResponseEntity.of(offHeapCatalogService.findById(id));
+  }
+
+  @GetMapping("/{id}/details")
+  public ResponseEntity<CardDetail> details(@PathVariable String id) {
+    return ResponseEntity.of(cardDetailService.findDetail(id));
+  }
+
+  @GetMapping("/{id}/evolution-chain")
+  public ResponseEntity<EvolutionChain> evolutionChain(@PathVariable String id) {
+    return ResponseEntity.of(evolutionChainService.findChainForCard(id));
+  }
+
+  @GetMapping("/by-dex/{dexId}")
+  public List<PokemonCardEntity> byDexId(@PathVariable int dexId) {
+    return pokedexIndexService.findCardsByDexId(dexId);
+  }
+}
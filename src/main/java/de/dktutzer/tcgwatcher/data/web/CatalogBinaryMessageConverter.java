@@ -0,0 +1,112 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import de.dktutzer.tcgwatcher.data.data.model.CatalogPage;
+import de.dktutzer.tcgwatcher.data.service.encoding.CatalogBinaryCodec;
+import de.dktutzer.tcgwatcher.data.service.encoding.CatalogBinaryCodec.Schema;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes cards, sets and series (single, as a list or as a {@link CatalogPage}) in the
+ * {@link CatalogBinaryCodec} format when the client asks for
+ * {@value CatalogBinaryCodec#MEDIA_TYPE}. A single entity is written as a one row table, the items
+ * of a page as the table and its next cursor as the {@value #NEXT_CURSOR_HEADER} header. Response
+ * only, requests stay JSON.
+ *
+ * <p>Other responses (card details, evolution chains, prices) and the NDJSON stream of
+ * {@code /resolve} have no binary form and answer 406 to a request that only accepts it.
+ */
+public class CatalogBinaryMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+  public static final MediaType MEDIA_TYPE =
+      MediaType.parseMediaType(CatalogBinaryCodec.MEDIA_TYPE);
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  public CatalogBinaryMessageConverter() {
+    super(MEDIA_TYPE);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return CatalogBinaryCodec.schemaFor(clazz).isPresent()
+        || Collection.class.isAssignableFrom(clazz) || CatalogPage.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+    return schemaFor(type != null ? type : clazz, clazz).isPresent() && canWrite(mediaType);
+  }
+
+  @Override
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage)
+      throws IOException {
+    Schema schema = schemaFor(type != null ? type : value.getClass(), value.getClass())
+        .orElseThrow(() -> new IllegalArgumentException("No binary encoding for " + type));
+    List<?> rows;
+    if (value instanceof CatalogPage<?> page) {
+      rows = page.items();
+      if (page.next() != null) {
+        outputMessage.getHeaders().set(NEXT_CURSOR_HEADER, page.next());
+      }
+    } else if (value instanceof Collection<?> collection) {
+      rows = List.copyOf(collection);
+    } else {
+      rows = List.of(value);
+    }
+    byte[] body = CatalogBinaryCodec.encode(schema, rows);
+    outputMessage.getHeaders().setContentLength(body.length);
+    outputMessage.getBody().write(body);
+  }
+
+  @Override
+  public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("Binary catalog requests are not supported",
+        inputMessage);
+  }
+
+  @Override
+  protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+    return read(clazz, null, inputMessage);
+  }
+
+  // the entity type itself or the element type of a collection or page of it
+  private static Optional<Schema<?>> schemaFor(Type type, Class<?> clazz) {
+    ResolvableType resolved = ResolvableType.forType(type);
+    Class<?> raw = resolved.resolve(clazz);
+    if (raw == null) {
+      return Optional.empty();
+    }
+    if (Collection.class.isAssignableFrom(raw)) {
+      Class<?> element = type instanceof ParameterizedType
+          ? resolved.asCollection().resolveGeneric(0)
+          : null;
+      return element == null ? Optional.empty() : CatalogBinaryCodec.schemaFor(element);
+    }
+    if (CatalogPage.class.isAssignableFrom(raw)) {
+      Class<?> element = resolved.as(CatalogPage.class).resolveGeneric(0);
+      return element == null ? Optional.empty() : CatalogBinaryCodec.schemaFor(element);
+    }
+    return CatalogBinaryCodec.schemaFor(raw);
+  }
+}
@@ -0,0 +1,16 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class CatalogBinaryWebConfiguration implements WebMvcConfigurer {
+
+  // appended after Jackson, so JSON stays the answer to Accept: */* and missing Accept headers
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.add(new CatalogBinaryMessageConverter());
+  }
+}
@@ -0,0 +1,78 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSeriesEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSetEntity;
+import de.dktutzer.tcgwatcher.data.data.model.CatalogPage;
+import de.dktutzer.tcgwatcher.data.service.CatalogListingService;
+import de.dktutzer.tcgwatcher.data.service.CollationKeys.Language;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class CatalogListingController {
+
+  private final CatalogListingService catalogListingService;
+
+  @GetMapping("/cards")
+  public List<PokemonCardEntity> cards(
+      @RequestParam(defaultValue = "en") String lang,
+      @RequestParam(defaultValue = "50") int limit) {
+    return catalogListingService.listCards(language(lang), limit);
+  }
+
+  // keyset paginated, pass the returned next cursor to get the following page
+  @GetMapping("/cards/browse")
+  public CatalogPage<PokemonCardEntity> browseCards(
+      @RequestParam(required = false) String set,
+      @RequestParam(defaultValue = "50") int limit,
+      @RequestParam(required = false) String cursor) {
+    try {
+      return catalogListingService.browseCards(set, limit, cursor);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  @GetMapping("/sets/browse")
+  public CatalogPage<PokemonSetEntity> browseSets(
+      @RequestParam(defaultValue = "newest") String order,
+      @RequestParam(defaultValue = "50") int limit,
+      @RequestParam(required = false) String cursor) {
+    if (!order.equals("newest") && !order.equals("oldest")) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "order must be newest or oldest: " + order);
+    }
+    try {
+      return catalogListingService.browseSets(order.equals("oldest"), limit, cursor);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  @GetMapping("/sets")
+  public List<PokemonSetEntity> sets(@RequestParam(defaultValue = "en") String lang) {
+    return catalogListingService.listSets(language(lang));
+  }
+
+  @GetMapping("/series")
+  public List<PokemonSeriesEntity> series(@RequestParam(defaultValue = "en") String lang) {
+    return catalogListingService.listSeries(language(lang));
+  }
+
+  private static Language language(String code) {
+    try {
+      return Language.of(code);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import de.dktutzer.tcgwatcher.data.data.model.DeckList;
+import de.dktutzer.tcgwatcher.data.service.deck.DeckListService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/decks")
+@RequiredArgsConstructor
+public class DeckListController {
+
+  private final DeckListService deckListService;
+
+  // the deck list as exported by TCG Live or TCG Online, one card per line
+  @PostMapping(value = "/resolve", consumes = MediaType.TEXT_PLAIN_VALUE)
+  public DeckList resolve(@RequestBody String deckList) {
+    try {
+      return deckListService.resolve(deckList);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  // a JSON array of deck lists, resolved in request order
+  @PostMapping(value = "/resolve-batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public List<DeckList> resolveBatch(@RequestBody List<String> deckLists) {
+    try {
+      return deckListService.resolveAll(deckLists);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+}
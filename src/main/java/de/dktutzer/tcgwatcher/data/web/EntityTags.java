@@ -0,0 +1,30 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+/**
+ * Conditional request handling shared by the controllers that set their own ETags.
+ */
+final class EntityTags {
+
+  private EntityTags() {
+  }
+
+  /**
+   * Whether an {@code If-None-Match} header matches the ETag. Uses the weak comparison RFC 9110
+   * prescribes for this header, so a {@code W/} prefix added by a proxy still matches.
+   */
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,72 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import de.dktutzer.tcgwatcher.data.service.hierarchy.CatalogHierarchyService;
+import de.dktutzer.tcgwatcher.data.service.hierarchy.RenderedHierarchy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Serves the pre-rendered series → sets tree. The stored byte arrays are written to the response
+ * as they are, no JPA or Jackson work happens per request.
+ */
+@RestController
+@RequestMapping("/api/hierarchy")
+@RequiredArgsConstructor
+public class HierarchyController {
+
+  private final CatalogHierarchyService catalogHierarchyService;
+
+  @GetMapping
+  public ResponseEntity<byte[]> hierarchy(
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    RenderedHierarchy rendered = catalogHierarchyService.rendered();
+    boolean gzip = acceptsGzip(acceptEncoding);
+    String etag = gzip ? rendered.gzipEtag() : rendered.identityEtag();
+
+    // clients revalidate on every launch; a match costs a header compare and nothing else
+    boolean notModified = EntityTags.matches(ifNoneMatch, etag);
+    var response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+        .eTag(etag)
+        .cacheControl(CacheControl.noCache())
+        .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (notModified) {
+      return response.build();
+    }
+    byte[] body = gzip ? rendered.gzip() : rendered.identity();
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.contentType(MediaType.APPLICATION_JSON)
+        .contentLength(body.length)
+        .body(body);
+  }
+
+  // gzip unless explicitly refused with q=0
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      if (parts[0].trim().equalsIgnoreCase("gzip")) {
+        for (int i = 1; i < parts.length; i++) {
+          String param = parts[i].trim().replace(" ", "");
+          if (param.equals("q=0") || param.startsWith("q=0.") && param.substring(4).matches("0*")) {
+            return false;
+          }
+        }
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,89 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import de.dktutzer.tcgwatcher.data.service.image.DiskImageCache.CachedImage;
+import de.dktutzer.tcgwatcher.data.service.image.ImageProxyService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Serves set logos/symbols and card images from the local image cache. Images are immutable per
+ * content hash, which is also the ETag.
+ *
+ * <p>The file is handed to Tomcat's sendfile support when the connector offers it, so the bytes go
+ * from the page cache to the socket without passing through the JVM; otherwise it is copied with
+ * {@link FileChannel#transferTo}.
+ */
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+public class ImageController {
+
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+  private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(7));
+
+  private final ImageProxyService imageProxyService;
+
+  @GetMapping("/{ownerId}/{kind}")
+  public void image(@PathVariable String ownerId, @PathVariable String kind,
+      HttpServletRequest request, HttpServletResponse response) throws IOException {
+    CachedImage image;
+    try {
+      image = imageProxyService.find(ownerId, kind)
+          .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+              "No " + kind + " image for " + ownerId));
+    } catch (RestClientException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Upstream image unavailable", e);
+    }
+
+    String etag = "\"" + image.contentHash() + "\"";
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL.getHeaderValue());
+    if (EntityTags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+      response.setStatus(HttpStatus.NOT_MODIFIED.value());
+      return;
+    }
+    response.setContentType(image.contentType());
+    response.setContentLengthLong(image.size());
+
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, image.file().toAbsolutePath().toString());
+      request.setAttribute(SENDFILE_START, 0L);
+      request.setAttribute(SENDFILE_END, image.size());
+      return;
+    }
+    try (FileChannel file = FileChannel.open(image.file(), StandardOpenOption.READ)) {
+      OutputStream out = response.getOutputStream();
+      WritableByteChannel channel = Channels.newChannel(out);
+      long position = 0;
+      while (position < image.size()) {
+        position += file.transferTo(position, image.size() - position, channel);
+      }
+      out.flush();
+    } catch (NoSuchFileException e) {
+      // evicted after the lookup, the client retries
+      response.reset();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Image was evicted", e);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import de.dktutzer.tcgwatcher.data.data.model.PriceAggregate;
+import de.dktutzer.tcgwatcher.data.data.model.PricePoint;
+import de.dktutzer.tcgwatcher.data.service.price.PriceSeriesService;
+import de.dktutzer.tcgwatcher.data.service.price.PriceSeriesService.Metric;
+import de.dktutzer.tcgwatcher.data.service.price.PriceSeriesService.Resolution;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/prices")
+@RequiredArgsConstructor
+public class PriceSeriesController {
+
+  private final PriceSeriesService priceSeriesService;
+
+  // e.g. /api/prices/cardmarket/273537?from=2024-01-01&to=2024-03-31
+  @GetMapping("/{source}/{productId}")
+  public List<PricePoint> range(@PathVariable String source, @PathVariable String productId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    checkRange(from, to);
+    return priceSeriesService.range(source, productId, from, to);
+  }
+
+  // e.g. /api/prices/cardmarket/273537/downsample?metric=TREND&resolution=WEEKLY&from=...&to=...
+  @GetMapping("/{source}/{productId}/downsample")
+  public List<PriceAggregate> downsample(@PathVariable String source,
+      @PathVariable String productId,
+      @RequestParam(defaultValue = "TREND") Metric metric,
+      @RequestParam(defaultValue = "DAILY") Resolution resolution,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    checkRange(from, to);
+    return priceSeriesService.downsample(source, productId, metric, resolution, from, to);
+  }
+
+  private static void checkRange(LocalDate from, LocalDate to) {
+    if (from.isAfter(to)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from is after to");
+    }
+  }
+}
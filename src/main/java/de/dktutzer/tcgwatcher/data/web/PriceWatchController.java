@@ -0,0 +1,46 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PriceWatchEntity;
+import de.dktutzer.tcgwatcher.data.service.alert.PriceAlertService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/price-watches")
+@RequiredArgsConstructor
+public class PriceWatchController {
+
+  private final PriceAlertService priceAlertService;
+
+  @GetMapping
+  public List<PriceWatchEntity> watches(@RequestParam("user") String userId) {
+    return priceAlertService.findWatches(userId);
+  }
+
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public PriceWatchEntity add(@RequestBody PriceWatchEntity watch) {
+    try {
+      return priceAlertService.addWatch(watch);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  @DeleteMapping("/{id}")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void delete(@PathVariable String id) {
+    priceAlertService.deleteWatch(id);
+  }
+}
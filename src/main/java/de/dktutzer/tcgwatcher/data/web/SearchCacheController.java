@@ -0,0 +1,21 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import de.dktutzer.tcgwatcher.data.data.model.SearchCacheStats;
+import de.dktutzer.tcgwatcher.data.service.SearchResultCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search-cache")
+@RequiredArgsConstructor
+public class SearchCacheController {
+
+  private final SearchResultCache searchResultCache;
+
+  @GetMapping("/stats")
+  public SearchCacheStats stats() {
+    return searchResultCache.stats();
+  }
+}
@@ -0,0 +1,25 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSetEntity;
+import de.dktutzer.tcgwatcher.data.service.CatalogSearchService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sets")
+@RequiredArgsConstructor
+public class SetSearchController {
+
+  private final CatalogSearchService catalogSearchService;
+
+  @GetMapping("/search")
+  public List<PokemonSetEntity> search(
+      @RequestParam("q") String query,
+      @RequestParam(defaultValue = "50") int limit) {
+    return catalogSearchService.searchSets(query, limit);
+  }
+}
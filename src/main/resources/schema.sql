@@ -0,0 +1,148 @@
+-- Schema of the generated quicksearch.db.
+-- Used by the headless import profile (ddl-auto=none); must be kept in sync with the entities.
+
+CREATE TABLE IF NOT EXISTS qs_pokemon_series
+(
+    id          TEXT NOT NULL PRIMARY KEY,
+    name_de     TEXT NOT NULL,
+    name_fr     TEXT NOT NULL,
+    name_en     TEXT NOT NULL,
+    sort_key_de BLOB,
+    sort_key_fr BLOB,
+    sort_key_en BLOB
+);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_series_sort_de ON qs_pokemon_series (sort_key_de, id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_series_sort_en ON qs_pokemon_series (sort_key_en, id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_series_sort_fr ON qs_pokemon_series (sort_key_fr, id);
+
+CREATE TABLE IF NOT EXISTS qs_pokemon_sets
+(
+    id            TEXT   NOT NULL PRIMARY KEY,
+    name_de       TEXT   NOT NULL,
+    name_fr       TEXT   NOT NULL,
+    name_en       TEXT   NOT NULL,
+    code          TEXT   NOT NULL,
+    abbreviation  TEXT   NOT NULL,
+    total         NUMBER NOT NULL,
+    official      NUMBER NOT NULL,
+    tcgp_id       TEXT   NOT NULL,
+    cm_product_id TEXT   NOT NULL,
+    series_id     TEXT   NOT NULL REFERENCES qs_pokemon_series (id),
+    sort_key_de   BLOB,
+    sort_key_fr   BLOB,
+    sort_key_en   BLOB,
+    release_date  TEXT
+);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_sets_sort_de ON qs_pokemon_sets (sort_key_de, id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_sets_sort_en ON qs_pokemon_sets (sort_key_en, id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_sets_sort_fr ON qs_pokemon_sets (sort_key_fr, id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_sets_release ON qs_pokemon_sets (release_date, id);
+
+CREATE TABLE IF NOT EXISTS qs_pokemon_cards
+(
+    id                 TEXT NOT NULL PRIMARY KEY,
+    name_de            TEXT NOT NULL,
+    name_fr            TEXT NOT NULL,
+    name_en            TEXT NOT NULL,
+    code               TEXT NOT NULL,
+    cm_product_id      TEXT NOT NULL,
+    cm_page_id         TEXT NOT NULL,
+    tcgp_id            TEXT NOT NULL,
+    set_id             TEXT NOT NULL,
+    number             TEXT,
+    number_sort        TEXT,
+    reprint_cluster_id TEXT NOT NULL,
+    species_key        TEXT,
+    evolution_chain_id TEXT,
+    evolution_stage    INTEGER,
+    sort_key_de        BLOB,
+    sort_key_fr        BLOB,
+    sort_key_en        BLOB
+);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_cards_reprint_cluster ON qs_pokemon_cards (reprint_cluster_id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_cards_evolution_chain ON qs_pokemon_cards (evolution_chain_id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_cards_sort_de ON qs_pokemon_cards (sort_key_de, id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_cards_sort_en ON qs_pokemon_cards (sort_key_en, id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_cards_sort_fr ON qs_pokemon_cards (sort_key_fr, id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_cards_set_number ON qs_pokemon_cards (set_id, number_sort, id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_cards_code ON qs_pokemon_cards (code);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_cards_cm_page_id ON qs_pokemon_cards (cm_page_id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_cards_cm_product_id ON qs_pokemon_cards (cm_product_id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_cards_tcgp_id ON qs_pokemon_cards (tcgp_id);
+
+CREATE TABLE IF NOT EXISTS qs_pokemon_evolutions
+(
+    id           TEXT NOT NULL PRIMARY KEY,
+    chain_id     TEXT NOT NULL,
+    from_species TEXT NOT NULL,
+    to_species   TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_evolutions_chain ON qs_pokemon_evolutions (chain_id);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_evolutions_from ON qs_pokemon_evolutions (from_species);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_evolutions_to ON qs_pokemon_evolutions (to_species);
+
+CREATE TABLE IF NOT EXISTS qs_pokemon_card_dex
+(
+    id      TEXT    NOT NULL PRIMARY KEY,
+    card_id TEXT    NOT NULL,
+    dex_id  INTEGER NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_qs_pokemon_card_dex_dex_id ON qs_pokemon_card_dex (dex_id);
+
+CREATE TABLE IF NOT EXISTS qs_pokemon_card_details
+(
+    id      TEXT NOT NULL PRIMARY KEY,
+    payload BLOB NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS qs_pokemon_images
+(
+    id       TEXT NOT NULL PRIMARY KEY,
+    owner_id TEXT NOT NULL,
+    kind     TEXT NOT NULL,
+    url      TEXT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS qs_fts_pokemon_cards
+(
+    id    TEXT NOT NULL PRIMARY KEY,
+    names TEXT NOT NULL,
+    code  TEXT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS price_series
+(
+    id          TEXT    NOT NULL PRIMARY KEY,
+    source      TEXT    NOT NULL,
+    product_id  TEXT    NOT NULL,
+    first_day   INTEGER NOT NULL,
+    last_day    INTEGER NOT NULL,
+    point_count INTEGER NOT NULL,
+    last_low    INTEGER NOT NULL,
+    last_avg    INTEGER NOT NULL,
+    last_trend  INTEGER NOT NULL,
+    days        BLOB    NOT NULL,
+    low         BLOB    NOT NULL,
+    avg         BLOB    NOT NULL,
+    trend       BLOB    NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_price_series_product ON price_series (source, product_id);
+
+CREATE TABLE IF NOT EXISTS price_watches
+(
+    id          TEXT    NOT NULL PRIMARY KEY,
+    user_id     TEXT    NOT NULL,
+    source      TEXT    NOT NULL,
+    product_id  TEXT    NOT NULL,
+    metric      TEXT    NOT NULL,
+    kind        TEXT    NOT NULL,
+    threshold   INTEGER NOT NULL,
+    window_days INTEGER NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_price_watches_user ON price_watches (user_id);
+
+CREATE TABLE IF NOT EXISTS catalog_generation
+(
+    id         INTEGER NOT NULL PRIMARY KEY,
+    generation INTEGER NOT NULL
+);
@@ -0,0 +1,104 @@
+package de.dktutzer.tcgwatcher.data.benchmark;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.model.DeckList;
+import de.dktutzer.tcgwatcher.data.service.deck.DeckListIndex;
+import de.dktutzer.tcgwatcher.data.service.deck.DeckListParser;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Parse and resolve time of deck lists against an index over a generated catalog: a typical
+ * 60-card list with 20 lines, one whose set codes are unknown and resolve by name, and a batch of
+ * 1000 lists. Start it with
+ * {@code ./mvnw test -Dtest=DeckListBenchmark -Dtcgwatcher.benchmark=true}, optionally with
+ * {@code -Dtcgwatcher.benchmark.cards=1000000}.
+ */
+@EnabledIfSystemProperty(named = "tcgwatcher.benchmark", matches = "true")
+class DeckListBenchmark {
+
+  private static final int SETS = 200;
+  private static final int ITERATIONS = 20_000;
+  private static final int BATCH = 1_000;
+
+  @Test
+  void parseAndResolve() {
+    int cardCount = Integer.getInteger("tcgwatcher.benchmark.cards", 100_000);
+    List<PokemonCardEntity> cards = new ArrayList<>(cardCount);
+    for (int i = 0; i < cardCount; i++) {
+      var card = new PokemonCardEntity();
+      int set = i % SETS;
+      int number = i / SETS + 1;
+      card.setId("set" + set + "-" + number);
+      card.setCode(setCode(set) + " " + number);
+      card.setNumber(String.valueOf(number));
+      card.setNameEn("Card " + (i % 5_000));
+      card.setCmProductId(String.valueOf(500_000 + i));
+      cards.add(card);
+    }
+    long buildStart = System.nanoTime();
+    DeckListIndex index = DeckListIndex.build(cards);
+    long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+    String byCode = deckList(cards, false);
+    String byName = deckList(cards, true);
+    List<String> batch = new ArrayList<>(BATCH);
+    for (int i = 0; i < BATCH; i++) {
+      batch.add(i % 10 == 0 ? byName : byCode);
+    }
+
+    System.out.println();
+    System.out.printf(Locale.ROOT, "%d cards, index built in %d ms%n", cardCount, buildMillis);
+    System.out.printf(Locale.ROOT, "%-28s %12s%n", "deck list", "µs per op");
+    report("60 cards by set code", ITERATIONS,
+        () -> index.resolve(DeckListParser.parse(byCode)).unresolved());
+    report("60 cards by name", ITERATIONS,
+        () -> index.resolve(DeckListParser.parse(byName)).unresolved());
+    report("batch of " + BATCH + " lists", ITERATIONS / BATCH, () -> {
+      int unresolved = 0;
+      for (String deckList : batch) {
+        DeckList resolved = index.resolve(DeckListParser.parse(deckList));
+        unresolved += resolved.unresolved();
+      }
+      return unresolved;
+    });
+  }
+
+  private static String setCode(int set) {
+    return "S" + (char) ('A' + set / 26 % 26) + (char) ('A' + set % 26);
+  }
+
+  // 20 lines of 3 cards; unknown set codes force the name fallback
+  private static String deckList(List<PokemonCardEntity> cards, boolean unknownSetCodes) {
+    StringBuilder text = new StringBuilder("Pokémon: 20\n");
+    for (int line = 0; line < 20; line++) {
+      PokemonCardEntity card = cards.get(line * 997 % cards.size());
+      String code = card.getCode();
+      String setCode = unknownSetCodes ? "ZZZ" : code.substring(0, code.indexOf(' '));
+      text.append("3 ")
+          .append(card.getNameEn()).append(' ')
+          .append(setCode).append(' ')
+          .append(card.getNumber()).append('\n');
+    }
+    return text.append("\nTotal Cards: 60\n").toString();
+  }
+
+  // average after a warm up of the same length
+  private static void report(String name, int iterations, IntSupplier run) {
+    int sink = 0;
+    for (int i = 0; i < iterations; i++) {
+      sink += run.getAsInt();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      sink += run.getAsInt();
+    }
+    double micros = (System.nanoTime() - start) / 1e3 / iterations;
+    System.out.printf(Locale.ROOT, "%-28s %12.1f%s%n", name, micros,
+        sink == Integer.MIN_VALUE ? "!" : "");
+  }
+}
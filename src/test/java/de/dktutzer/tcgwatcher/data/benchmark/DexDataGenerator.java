@@ -0,0 +1,317 @@
+package de.dktutzer.tcgwatcher.data.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a synthetic cards-database style tree (series .ts -> set .ts + folder -> card .ts) that
+ * {@code TCGDexService.readAllSeries} can parse, plus a matching Cardmarket product-id-to-url CSV
+ * zip. Everything is derived from a seed, so two runs with the same config produce the same tree.
+ *
+ * <p>Usage: {@code DexDataGenerator <targetDir> <totalCards> [cardsPerSet] [setsPerSeries] [seed]}
+ */
+public class DexDataGenerator {
+
+  public static final String CSV_ZIP_NAME = "product-id-to-url-cardmarket.csv.zip";
+  public static final String DEX_DIR_NAME = "dexdata";
+
+  private static final String[] SYLLABLES_EN = {
+      "char", "bulb", "squir", "pika", "mew", "eev", "snor", "gen", "dra", "lap",
+      "mag", "vul", "gyar", "ono", "zap", "mol", "art", "lug", "hoo", "cel"};
+  private static final String[] SYLLABLES_DE = {
+      "glu", "bisa", "schig", "pika", "mew", "evo", "rela", "gar", "dra", "lap",
+      "mag", "vul", "garä", "onö", "zap", "lav", "ark", "lug", "hoo", "cel"};
+  private static final String[] SYLLABLES_FR = {
+      "sala", "bulbi", "cara", "pika", "mew", "évo", "ronf", "ecto", "dra", "lok",
+      "magn", "goup", "lévi", "onix", "élec", "sulf", "artik", "lug", "ho", "célé"};
+  private static final String[] SUFFIXES = {"", "", "", "", " ex", " V", " GX", " VMAX"};
+  private static final String[] TYPES = {
+      "Grass", "Fire", "Water", "Lightning", "Psychic", "Fighting", "Darkness", "Metal", "Dragon",
+      "Colorless"};
+  private static final String[] RARITIES = {
+      "Common", "Uncommon", "Rare", "Double rare", "Illustration rare", "Ultra Rare"};
+  private static final String[] STAGES = {"Basic", "Stage1", "Stage2"};
+  private static final String[] ATTACK_WORDS = {
+      "Flame", "Tackle", "Surf", "Bolt", "Slash", "Crush", "Burst", "Claw", "Storm", "Beam"};
+
+  private final GeneratorConfig config;
+  private final Random random;
+
+  public DexDataGenerator(GeneratorConfig config) {
+    this.config = config;
+    this.random = new Random(config.seed());
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println(
+          "Usage: DexDataGenerator <targetDir> <totalCards> [cardsPerSet] [setsPerSeries] [seed]");
+      System.exit(1);
+    }
+    int totalCards = Integer.parseInt(args[1]);
+    int cardsPerSet = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+    int setsPerSeries = args.length > 3 ? Integer.parseInt(args[3]) : 12;
+    long seed = args.length > 4 ? Long.parseLong(args[4]) : 42L;
+    var result = new DexDataGenerator(
+        new GeneratorConfig(totalCards, cardsPerSet, setsPerSeries, 1025, seed))
+        .generate(Path.of(args[0]));
+    System.out.println(result);
+  }
+
+  /**
+   * Generates the tree below {@code targetDir/dexdata} and the CSV zip at
+   * {@code targetDir/product-id-to-url-cardmarket.csv.zip}. Existing files are overwritten.
+   */
+  public GeneratedData generate(Path targetDir) throws IOException {
+    Path dexDir = targetDir.resolve(DEX_DIR_NAME);
+    Files.createDirectories(dexDir);
+    Path csvZip = targetDir.resolve(CSV_ZIP_NAME);
+
+    int cardsWritten = 0;
+    int setsWritten = 0;
+    int seriesWritten = 0;
+    int cmProductId = 100_000;
+    int tcgpId = 500_000;
+    LocalDate releaseDate = LocalDate.of(1999, 1, 9);
+
+    try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(csvZip));
+        Writer csv = new BufferedWriter(new OutputStreamWriter(zos, StandardCharsets.UTF_8))) {
+      zos.putNextEntry(new ZipEntry("product-id-to-url-cardmarket.csv"));
+      csv.write("cardmarket_product_id,url\n");
+
+      while (cardsWritten < config.totalCards()) {
+        seriesWritten++;
+        String seriesId = String.format(Locale.ROOT, "syn%02d", seriesWritten);
+        String seriesFolder = String.format(Locale.ROOT, "Synthetic Series %02d", seriesWritten);
+        writeSeries(dexDir, seriesId, seriesFolder, seriesWritten);
+
+        Path seriesDir = dexDir.resolve(seriesFolder);
+        for (int s = 1; s <= config.setsPerSeries() && cardsWritten < config.totalCards(); s++) {
+          setsWritten++;
+          String setId = String.format(Locale.ROOT, "%s-%02d", seriesId, s);
+          String setFolder = String.format(Locale.ROOT, "Synthetic Set %04d", setsWritten);
+          String setCode = setCode(setsWritten);
+          int cardsInSet = Math.min(config.cardsPerSet(), config.totalCards() - cardsWritten);
+          releaseDate = releaseDate.plusDays(30 + random.nextInt(60));
+          writeSet(seriesDir, seriesFolder, setId, setFolder, setCode, cardsInSet, releaseDate,
+              cmProductId++, tcgpId++);
+
+          Path setDir = seriesDir.resolve(setFolder);
+          Files.createDirectories(setDir);
+          for (int number = 1; number <= cardsInSet; number++) {
+            int cardCmId = cmProductId++;
+            String pageId = writeCard(setDir, setFolder, number, setCode, cardCmId, tcgpId++);
+            csv.write(cardCmId + ",https://www.cardmarket.com/en/Pokemon/Products/Singles/"
+                + slug(setFolder) + "/" + pageId + "\n");
+          }
+          cardsWritten += cardsInSet;
+        }
+      }
+      csv.flush();
+      zos.closeEntry();
+    }
+
+    return new GeneratedData(dexDir, csvZip, seriesWritten, setsWritten, cardsWritten);
+  }
+
+  private void writeSeries(Path dexDir, String seriesId, String folder, int index)
+      throws IOException {
+    String content = """
+        import { Serie } from '../interfaces'
+
+        const serie: Serie = {
+        \tid: "%s",
+        \tname: {
+        \t\ten: "Synthetic Series %d",
+        \t\tfr: "Série synthétique %d",
+        \t\tde: "Synthetische Serie %d"
+        \t}
+        }
+
+        export default serie
+        """.formatted(seriesId, index, index, index);
+    Files.writeString(dexDir.resolve(folder + ".ts"), content, StandardCharsets.UTF_8);
+  }
+
+  private void writeSet(Path seriesDir, String seriesFolder, String setId, String setFolder,
+      String setCode, int official, LocalDate releaseDate, int cmSetId, int tcgpSetId)
+      throws IOException {
+    Files.createDirectories(seriesDir);
+    String content = """
+        import { Set } from '../../interfaces'
+        import serie from '../%s'
+
+        const set: Set = {
+        \tid: "%s",
+        \tname: {
+        \t\ten: "%s",
+        \t\tfr: "%s (FR)",
+        \t\tde: "%s (DE)"
+        \t},
+        \tserie: serie,
+        \tcardCount: {
+        \t\tofficial: %d
+        \t},
+        \treleaseDate: "%s",
+        \ttcgOnline: "%s",
+        \tabbreviations: {
+        \t\tofficial: "%s"
+        \t},
+        \tthirdParty: {
+        \t\tcardmarket: %d,
+        \t\ttcgplayer: %d
+        \t}
+        }
+
+        export default set
+        """.formatted(seriesFolder, setId, setFolder, setFolder, setFolder, official, releaseDate,
+        setCode, setCode, cmSetId, tcgpSetId);
+    Files.writeString(seriesDir.resolve(setFolder + ".ts"), content, StandardCharsets.UTF_8);
+  }
+
+  private String writeCard(Path setDir, String setFolder, int number, String setCode,
+      int cmProductId, int tcgpId) throws IOException {
+    StringBuilder sb = new StringBuilder(1024);
+    sb.append("import { Card } from '../../../interfaces'\n")
+        .append("import Set from '../").append(setFolder).append("'\n\n")
+        .append("const card: Card = {\n")
+        .append("\tset: Set,\n\n");
+
+    String pageName;
+    if (random.nextInt(100) < 20) {
+      // trainer / energy card without pokedex data
+      int trainer = random.nextInt(400);
+      String en = "Trainer " + capitalize(SYLLABLES_EN[trainer % SYLLABLES_EN.length]) + " " + trainer;
+      appendLocalized(sb, "name", en, "Trainer " + trainer + " (DE)", "Dresseur " + trainer);
+      sb.append("\tillustrator: \"Synthetic Artist ").append(trainer % 37).append("\",\n")
+          .append("\trarity: \"").append(RARITIES[random.nextInt(3)]).append("\",\n")
+          .append("\tcategory: \"Trainer\",\n\n")
+          .append("\teffect: {\n\t\ten: \"Draw ").append(1 + trainer % 4).append(" cards.\"\n\t},\n\n");
+      pageName = en;
+    } else {
+      int species = random.nextInt(config.speciesCount());
+      int stage = species % 3;
+      String suffix = SUFFIXES[random.nextInt(SUFFIXES.length)];
+      String en = speciesName(SYLLABLES_EN, species) + suffix;
+      appendLocalized(sb, "name", en, speciesName(SYLLABLES_DE, species) + suffix,
+          speciesName(SYLLABLES_FR, species) + suffix);
+      String type = TYPES[species % TYPES.length];
+      sb.append("\tillustrator: \"Synthetic Artist ").append(species % 37).append("\",\n")
+          .append("\trarity: \"").append(RARITIES[random.nextInt(RARITIES.length)]).append("\",\n")
+          .append("\tcategory: \"Pokemon\",\n")
+          .append("\thp: ").append(40 + 10 * (stage * 3 + species % 5)).append(",\n")
+          .append("\ttypes: [\"").append(type).append("\"],\n")
+          .append("\tstage: \"").append(STAGES[stage]).append("\",\n");
+      if (stage > 0) {
+        appendLocalized(sb, "evolveFrom", speciesName(SYLLABLES_EN, species - 1),
+            speciesName(SYLLABLES_DE, species - 1), speciesName(SYLLABLES_FR, species - 1));
+      }
+      if (random.nextInt(100) == 0) {
+        int partner = random.nextInt(config.speciesCount());
+        sb.append("\tdexId: [").append(species + 1).append(", ").append(partner + 1).append("],\n\n");
+      } else {
+        sb.append("\tdexId: [").append(species + 1).append("],\n\n");
+      }
+      appendAttacks(sb, species, type);
+      sb.append("\tweaknesses: [{\n")
+          .append("\t\ttype: \"").append(TYPES[(species + 3) % TYPES.length]).append("\",\n")
+          .append("\t\tvalue: \"x2\"\n")
+          .append("\t}],\n\n")
+          .append("\tretreat: ").append(1 + stage).append(",\n\n");
+      pageName = en;
+    }
+
+    sb.append("\tthirdParty: {\n")
+        .append("\t\tcardmarket: ").append(cmProductId).append(",\n")
+        .append("\t\ttcgplayer: ").append(tcgpId).append("\n")
+        .append("\t}\n")
+        .append("}\n\n")
+        .append("export default card\n");
+
+    Files.writeString(setDir.resolve(number + ".ts"), sb.toString(), StandardCharsets.UTF_8);
+    return slug(pageName) + "-V1-" + setCode + number;
+  }
+
+  private void appendAttacks(StringBuilder sb, int species, String type) {
+    // attacks only depend on the species and a small variant number, so reprints share them
+    int variant = random.nextInt(3);
+    int count = 1 + (species + variant) % 2;
+    List<String> attacks = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String word = ATTACK_WORDS[(species + variant + i) % ATTACK_WORDS.length];
+      attacks.add("{\n"
+          + "\t\tname: \"" + type + " " + word + "\",\n"
+          + "\t\tcost: \"" + type + (i > 0 ? " Colorless" : "") + "\",\n"
+          + "\t\tdamage: " + (10 + 20 * ((species + i + variant) % 9)) + ",\n"
+          + "\t\teffect: \"Flip a coin. If heads, this attack does " + (10 * (i + 1))
+          + " more damage.\"\n"
+          + "\t}");
+    }
+    sb.append("\tattacks: [").append(String.join(", ", attacks)).append("],\n\n");
+  }
+
+  private static void appendLocalized(StringBuilder sb, String key, String en, String de,
+      String fr) {
+    sb.append('\t').append(key).append(": {\n")
+        .append("\t\ten: \"").append(en).append("\",\n")
+        .append("\t\tfr: \"").append(fr).append("\",\n")
+        .append("\t\tde: \"").append(de).append("\"\n")
+        .append("\t},\n\n");
+  }
+
+  private static String speciesName(String[] syllables, int species) {
+    int n = syllables.length;
+    String name = syllables[species % n] + syllables[(species / n) % n]
+        + (species >= n * n ? syllables[(species / (n * n)) % n] : "");
+    return capitalize(name);
+  }
+
+  private static String setCode(int setIndex) {
+    StringBuilder code = new StringBuilder();
+    int v = setIndex;
+    for (int i = 0; i < 3; i++) {
+      code.insert(0, (char) ('A' + v % 26));
+      v /= 26;
+    }
+    return code.toString();
+  }
+
+  private static String capitalize(String s) {
+    return s.isEmpty() ? s : s.substring(0, 1).toUpperCase(Locale.ROOT) + s.substring(1);
+  }
+
+  private static String slug(String s) {
+    return s.trim().replaceAll("[^\\p{L}\\p{N}]+", "-");
+  }
+
+  /**
+   * @param totalCards    number of cards to write overall
+   * @param cardsPerSet   cards per set (the last set may be smaller)
+   * @param setsPerSeries sets per series
+   * @param speciesCount  number of distinct pokedex entries to draw from
+   * @param seed          random seed
+   */
+  public record GeneratorConfig(
+      int totalCards, int cardsPerSet, int setsPerSeries, int speciesCount, long seed) {
+
+    public static GeneratorConfig forCardCount(int totalCards) {
+      return new GeneratorConfig(totalCards, 200, 12, 1025, 42L);
+    }
+  }
+
+  public record GeneratedData(
+      Path dexDir, Path csvZip, int seriesCount, int setCount, int cardCount) {
+  }
+}
@@ -0,0 +1,132 @@
+package de.dktutzer.tcgwatcher.data.benchmark;
+
+import de.dktutzer.tcgwatcher.data.benchmark.DexDataGenerator.GeneratedData;
+import de.dktutzer.tcgwatcher.data.benchmark.DexDataGenerator.GeneratorConfig;
+import de.dktutzer.tcgwatcher.data.service.TCGDexService;
+import de.dktutzer.tcgwatcher.data.service.TCGMapperService;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Generates synthetic catalogs of growing size and runs the parser and the full import against
+ * each of them, reporting wall time, peak heap and the resulting database size.
+ *
+ * <p>Not part of the normal test run. Start it with
+ * {@code ./mvnw test -Dtest=ImportScalingBenchmark -Dtcgwatcher.benchmark=true}, optionally with
+ * {@code -Dtcgwatcher.benchmark.scales=10000,100000} and a larger {@code -Xmx}.
+ */
+@SpringBootTest(properties = {
+    "spring.shell.interactive.enabled=false",
+    "spring.datasource.url=jdbc:sqlite:target/quicksearch-benchmark.db",
+    "logging.level.de=info"})
+@EnabledIfSystemProperty(named = "tcgwatcher.benchmark", matches = "true")
+class ImportScalingBenchmark {
+
+  private static final Path WORK_DIR = Path.of("target", "benchmark");
+  private static final Path DB_FILE = Path.of("target", "quicksearch-benchmark.db");
+
+  @Autowired
+  private TCGMapperService tcgMapperService;
+
+  @Test
+  void importScaling() throws IOException {
+    String scales = System.getProperty("tcgwatcher.benchmark.scales", "10000,100000,1000000");
+    List<Result> results = new ArrayList<>();
+
+    for (int cards : Arrays.stream(scales.split(",")).map(String::trim).mapToInt(Integer::parseInt)
+        .toArray()) {
+      Path target = WORK_DIR.resolve("catalog-" + cards);
+      long genStart = System.nanoTime();
+      GeneratedData data = Files.isDirectory(target.resolve(DexDataGenerator.DEX_DIR_NAME))
+          ? existing(target, cards)
+          : new DexDataGenerator(GeneratorConfig.forCardCount(cards)).generate(target);
+      long genMillis = (System.nanoTime() - genStart) / 1_000_000;
+
+      // parse only
+      resetPeakHeap();
+      long parseStart = System.nanoTime();
+      var series = TCGDexService.readAllSeries(data.dexDir().toString());
+      long parseMillis = (System.nanoTime() - parseStart) / 1_000_000;
+      long parsePeak = peakHeap();
+      int parsedCards = series.values().stream()
+          .flatMap(s -> s.sets().values().stream())
+          .mapToInt(set -> set.cards().size())
+          .sum();
+      series = null;
+
+      // full import into sqlite
+      ReflectionTestUtils.setField(tcgMapperService, "dexDataDir", data.dexDir().toString());
+      ReflectionTestUtils.setField(tcgMapperService, "csvPath", data.csvZip().toString());
+      ReflectionTestUtils.setField(tcgMapperService, "cmProductIdToCodeCache", null);
+      resetPeakHeap();
+      long importStart = System.nanoTime();
+      tcgMapperService.readFromFilesAndWriteToSqlite();
+      long importMillis = (System.nanoTime() - importStart) / 1_000_000;
+      long importPeak = peakHeap();
+
+      results.add(new Result(cards, parsedCards, genMillis, parseMillis, parsePeak, importMillis,
+          importPeak, Files.size(DB_FILE)));
+      print(results);
+    }
+  }
+
+  private static GeneratedData existing(Path target, int cards) {
+    return new GeneratedData(target.resolve(DexDataGenerator.DEX_DIR_NAME),
+        target.resolve(DexDataGenerator.CSV_ZIP_NAME), -1, -1, cards);
+  }
+
+  private static void resetPeakHeap() {
+    System.gc();
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+      }
+    }
+  }
+
+  private static long peakHeap() {
+    long peak = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+    }
+    return peak;
+  }
+
+  private static void print(List<Result> results) {
+    System.out.println();
+    System.out.println(String.format(Locale.ROOT, "%10s %10s %10s %10s %12s %10s %12s %12s",
+        "cards", "parsed", "gen ms", "parse ms", "parse heap", "import ms", "import heap",
+        "db size"));
+    for (Result r : results) {
+      System.out.println(String.format(Locale.ROOT, "%10d %10d %10d %10d %10dMB %10d %10dMB %10dMB",
+          r.cards(), r.parsedCards(), r.generateMillis(), r.parseMillis(), r.parsePeakHeap() >> 20,
+          r.importMillis(), r.importPeakHeap() >> 20, r.dbSize() >> 20));
+    }
+  }
+
+  private record Result(
+      int cards,
+      int parsedCards,
+      long generateMillis,
+      long parseMillis,
+      long parsePeakHeap,
+      long importMillis,
+      long importPeakHeap,
+      long dbSize) {
+  }
+}
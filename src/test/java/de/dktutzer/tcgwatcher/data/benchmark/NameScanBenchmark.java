@@ -0,0 +1,111 @@
+package de.dktutzer.tcgwatcher.data.benchmark;
+
+import de.dktutzer.tcgwatcher.data.benchmark.DexDataGenerator.GeneratedData;
+import de.dktutzer.tcgwatcher.data.benchmark.DexDataGenerator.GeneratorConfig;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.service.TCGMapperService;
+import de.dktutzer.tcgwatcher.data.service.persistence.QuickSearchCardsSqliteRepository;
+import de.dktutzer.tcgwatcher.data.service.scan.NameScanner;
+import de.dktutzer.tcgwatcher.data.service.scan.PackedNameColumn;
+import de.dktutzer.tcgwatcher.data.service.scan.ScalarNameScanner;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Compares the packed name scan (Vector API and scalar, single threaded and parallel) with
+ * {@link String#contains} over the normalized names and SQLite LIKE over the whole catalog.
+ *
+ * <p>Uses the catalog of {@link ImportScalingBenchmark} if present, otherwise imports a generated
+ * one. Start it with
+ * {@code ./mvnw test -Dtest=NameScanBenchmark -Dtcgwatcher.benchmark=true}, optionally with
+ * {@code -Dtcgwatcher.benchmark.cards=1000000}.
+ */
+@SpringBootTest(properties = {
+    "spring.shell.interactive.enabled=false",
+    "spring.datasource.url=jdbc:sqlite:target/quicksearch-benchmark.db",
+    "logging.level.de=info"})
+@EnabledIfSystemProperty(named = "tcgwatcher.benchmark", matches = "true")
+class NameScanBenchmark {
+
+  private static final List<String> QUERIES = List.of("chu", "ex", "mega", "urak", "zzq");
+  private static final int ITERATIONS = 50;
+
+  @Autowired
+  private QuickSearchCardsSqliteRepository quickSearchCardsSqliteRepository;
+  @Autowired
+  private TCGMapperService tcgMapperService;
+
+  @Test
+  void scanVersusContainsVersusLike() throws Exception {
+    if (quickSearchCardsSqliteRepository.count() == 0) {
+      int cards = Integer.getInteger("tcgwatcher.benchmark.cards", 100_000);
+      GeneratedData data = new DexDataGenerator(GeneratorConfig.forCardCount(cards))
+          .generate(Path.of("target", "benchmark", "catalog-" + cards));
+      ReflectionTestUtils.setField(tcgMapperService, "dexDataDir", data.dexDir().toString());
+      ReflectionTestUtils.setField(tcgMapperService, "csvPath", data.csvZip().toString());
+      tcgMapperService.readFromFilesAndWriteToSqlite();
+    }
+
+    List<PokemonCardEntity> cards = new ArrayList<>();
+    quickSearchCardsSqliteRepository.findAll().forEach(cards::add);
+    long buildStart = System.nanoTime();
+    PackedNameColumn column = PackedNameColumn.build(cards);
+    long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+    String[] names = cards.stream()
+        .map(c -> PackedNameColumn.normalize(c.getNameDe()) + "\n"
+            + PackedNameColumn.normalize(c.getNameEn()) + "\n"
+            + PackedNameColumn.normalize(c.getNameFr()))
+        .toArray(String[]::new);
+
+    NameScanner best = NameScanner.best();
+    NameScanner scalar = new ScalarNameScanner();
+    System.out.println();
+    System.out.printf(Locale.ROOT, "%d cards, %d KB packed, built in %d ms, best scanner %s%n",
+        column.cardCount(), column.byteSize() >> 10, buildMillis, best.getClass().getSimpleName());
+    System.out.printf(Locale.ROOT, "%-8s %8s %12s %12s %12s %12s %12s%n", "query", "matches",
+        "best ms", "best par ms", "scalar ms", "contains ms", "like ms");
+    for (String query : QUERIES) {
+      String needle = PackedNameColumn.normalize(query);
+      int matches = column.scan(query, best, false).length;
+      double bestMs = time(() -> column.scan(query, best, false).length);
+      double parallelMs = time(() -> column.scan(query, best, true).length);
+      double scalarMs = time(() -> column.scan(query, scalar, false).length);
+      double containsMs = time(() -> {
+        int found = 0;
+        for (String name : names) {
+          if (name.contains(needle)) {
+            found++;
+          }
+        }
+        return found;
+      });
+      double likeMs = time(() -> quickSearchCardsSqliteRepository
+          .search("%" + needle + "%", Limit.of(Integer.MAX_VALUE)).size());
+      System.out.printf(Locale.ROOT, "%-8s %8d %12.3f %12.3f %12.3f %12.3f %12.3f%n", query,
+          matches, bestMs, parallelMs, scalarMs, containsMs, likeMs);
+    }
+  }
+
+  // average after a warm up of the same length
+  private static double time(IntSupplier run) {
+    int sink = 0;
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += run.getAsInt();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += run.getAsInt();
+    }
+    double millis = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    return sink == Integer.MIN_VALUE ? -1 : millis;
+  }
+}
@@ -0,0 +1,146 @@
+package de.dktutzer.tcgwatcher.data.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSeriesEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSetEntity;
+import de.dktutzer.tcgwatcher.data.service.encoding.CatalogBinaryCodec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Payload size (plain and gzip) and serialization throughput of the binary catalog encoding
+ * against Jackson for typical result pages: a search page of reprints, a card listing page and
+ * the full set listing. Start it with
+ * {@code ./mvnw test -Dtest=ResponseEncodingBenchmark -Dtcgwatcher.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "tcgwatcher.benchmark", matches = "true")
+class ResponseEncodingBenchmark {
+
+  private static final String[][] NAMES = {
+      {"Pikachu", "Pikachu", "Pikachu"}, {"Glurak", "Dracaufeu", "Charizard"},
+      {"Turtok", "Tortank", "Blastoise"}, {"Bisaflor", "Florizarre", "Venusaur"},
+      {"Mewtu", "Mewtwo", "Mewtwo"}, {"Relaxo", "Ronflex", "Snorlax"},
+      {"Evoli", "Évoli", "Eevee"}, {"Professor Eich", "Professeur Chen", "Professor Oak"}};
+  private static final long MEASURE_NANOS = 1_000_000_000L;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void binaryVersusJson() {
+    System.out.println();
+    System.out.printf(Locale.ROOT, "%-22s %10s %10s %10s %10s %12s %12s%n", "page", "json B",
+        "json gz B", "binary B", "binary gz", "json ops/s", "binary ops/s");
+    // a search for one name returns its reprints across many sets
+    report("search 50 reprints", cards(50, 1), CatalogBinaryCodec.CARDS);
+    report("listing 200 cards", cards(200, NAMES.length), CatalogBinaryCodec.CARDS);
+    report("listing 1000 cards", cards(1000, NAMES.length), CatalogBinaryCodec.CARDS);
+    report("all 170 sets", sets(170), CatalogBinaryCodec.SETS);
+  }
+
+  private <T> void report(String page, List<T> rows, CatalogBinaryCodec.Schema<T> schema) {
+    Supplier<byte[]> json = () -> {
+      try {
+        return objectMapper.writeValueAsBytes(rows);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+    Supplier<byte[]> binary = () -> CatalogBinaryCodec.encode(schema, rows);
+    byte[] jsonBytes = json.get();
+    byte[] binaryBytes = binary.get();
+    System.out.printf(Locale.ROOT, "%-22s %10d %10d %10d %10d %12.0f %12.0f%n", page,
+        jsonBytes.length, gzip(jsonBytes).length, binaryBytes.length, gzip(binaryBytes).length,
+        opsPerSecond(json), opsPerSecond(binary));
+  }
+
+  // after a warm up of the same length
+  private static double opsPerSecond(Supplier<byte[]> encode) {
+    long sink = 0;
+    for (int round = 0; round < 2; round++) {
+      long ops = 0;
+      long start = System.nanoTime();
+      long elapsed;
+      do {
+        sink += encode.get().length;
+        ops++;
+        elapsed = System.nanoTime() - start;
+      } while (elapsed < MEASURE_NANOS);
+      if (round == 1) {
+        return sink == Long.MIN_VALUE ? -1 : ops * 1e9 / elapsed;
+      }
+    }
+    throw new IllegalStateException();
+  }
+
+  private static byte[] gzip(byte[] bytes) {
+    var out = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static List<PokemonCardEntity> cards(int count, int distinctNames) {
+    List<PokemonCardEntity> cards = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String[] names = NAMES[i % distinctNames];
+      String setId = "sv" + (i / 8 + 1);
+      int number = i % 200 + 1;
+      var card = new PokemonCardEntity();
+      card.setId(setId + "-" + number);
+      card.setNameDe(names[0]);
+      card.setNameFr(names[1]);
+      card.setNameEn(names[2]);
+      card.setCode(setId.toUpperCase(Locale.ROOT) + " " + number);
+      card.setCmProductId(String.valueOf(700_000 + i));
+      card.setCmPageId(
+          names[2].replace(' ', '-') + "-V1-" + setId.toUpperCase(Locale.ROOT) + number);
+      card.setTcgpId(String.valueOf(500_000 + i));
+      card.setSetId(setId);
+      card.setReprintClusterId(Integer.toHexString(names[2].hashCode()));
+      if (i % distinctNames < 7) {
+        card.setSpeciesKey("dex:" + (i % distinctNames + 1));
+        card.setEvolutionChainId("dex:" + (i % distinctNames + 1));
+        card.setEvolutionStage(i % 3);
+      }
+      cards.add(card);
+    }
+    return cards;
+  }
+
+  private static List<PokemonSetEntity> sets(int count) {
+    List<PokemonSetEntity> sets = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      var series = new PokemonSeriesEntity();
+      series.setId("series" + i / 12);
+      series.setNameDe("Serie " + i / 12);
+      series.setNameFr("Série " + i / 12);
+      series.setNameEn("Series " + i / 12);
+      var set = new PokemonSetEntity();
+      set.setId("set" + i);
+      set.setNameDe("Erweiterung " + i);
+      set.setNameFr("Extension " + i);
+      set.setNameEn("Expansion " + i);
+      set.setCode("S" + i);
+      set.setAbbreviation("S" + i);
+      set.setTotal(100 + i % 150);
+      set.setOfficial(90 + i % 150);
+      set.setTcgpId(String.valueOf(1_000 + i));
+      set.setCmProductId(String.valueOf(2_000 + i));
+      set.setSeries(series);
+      sets.add(set);
+    }
+    return sets;
+  }
+}
@@ -0,0 +1,79 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.dktutzer.tcgwatcher.data.data.model.DexCardData;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CardFingerprintsTest {
+
+  private static final String FIRE_SPIN = """
+      {
+        en: "Fire Spin",
+        fr: "Danse Flamme",
+      }""";
+
+  @Test
+  void reprintsShareTheFingerprint() {
+    DexCardData original = charizard("base1-4", "4", "Rare Holo", "Mitsuhiro Arita",
+        Map.of("en", "Charizard", "de", "Glurak", "fr", "Dracaufeu"), FIRE_SPIN, "100");
+    // other set, number, rarity and artist, a japanese name and german attack names added
+    DexCardData reprint = charizard("base4-4", "4/130", "Rare Holo", "Ken Sugimori",
+        Map.of("en", "Charizard", "de", "Glurak", "fr", "Dracaufeu", "ja", "リザードン"), """
+            {
+              en: 'Fire Spin',
+              de: "Feuerwirbel",
+              fr: "Danse Flamme",
+            }""", "100");
+
+    assertThat(CardFingerprints.fingerprint(reprint))
+        .isEqualTo(CardFingerprints.fingerprint(original));
+  }
+
+  @Test
+  void aCorrectedTranslationDoesNotSplitTheCluster() {
+    DexCardData original = charizard("base1-4", "4", "Rare Holo", "Mitsuhiro Arita",
+        Map.of("en", "Charizard", "de", "Glurack"), FIRE_SPIN, "100");
+    DexCardData corrected = charizard("base2-4", "4", "Rare Holo", "Mitsuhiro Arita",
+        Map.of("en", "Charizard", "de", "Glurak"), FIRE_SPIN, "100");
+
+    assertThat(CardFingerprints.fingerprint(corrected))
+        .isEqualTo(CardFingerprints.fingerprint(original));
+  }
+
+  @Test
+  void variantsGetTheirOwnFingerprint() {
+    String original = CardFingerprints.fingerprint(charizard("base1-4", "4", "Rare Holo",
+        "Mitsuhiro Arita", Map.of("en", "Charizard"), FIRE_SPIN, "100"));
+
+    // same name and attack, other damage
+    assertThat(CardFingerprints.fingerprint(charizard("x-1", "1", "Rare", "Arita",
+        Map.of("en", "Charizard"), FIRE_SPIN, "120"))).isNotEqualTo(original);
+    // other attack
+    assertThat(CardFingerprints.fingerprint(charizard("x-2", "2", "Rare", "Arita",
+        Map.of("en", "Charizard"), "{ en: \"Flamethrower\" }", "100"))).isNotEqualTo(original);
+    // ex variant of the name
+    assertThat(CardFingerprints.fingerprint(charizard("x-3", "3", "Rare", "Arita",
+        Map.of("en", "Charizard ex"), FIRE_SPIN, "100"))).isNotEqualTo(original);
+  }
+
+  @Test
+  void fallsBackToTheFirstLanguageWithoutEnglish() {
+    assertThat(CardFingerprints.canonical(Map.of("fr", "Dracaufeu", "de", "Glurak")))
+        .isEqualTo("Glurak");
+    assertThat(CardFingerprints.canonical(Map.of())).isNull();
+  }
+
+  private static DexCardData charizard(String id, String number, String rarity, String artist,
+      Map<String, String> names, String attackName, String damage) {
+    return new DexCardData(id, names, number, "Pokemon", List.of("Stage 2"), rarity, "120",
+        List.of("Fire"), Map.of("en", "Charmeleon"), "Stage2", List.of(),
+        List.of(Map.of("name", attackName, "cost", "Fire, Fire, Fire, Fire", "damage", damage)),
+        List.of(Map.of("type", "Water", "value", "×2")), List.of(),
+        List.of("Colorless", "Colorless", "Colorless"), 3, 3, artist,
+        Map.of("en", "Spits fire that is hot enough to melt boulders."),
+        Map.of("cardmarket", id), List.of(6), null);
+  }
+}
@@ -0,0 +1,29 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CardNumbersTest {
+
+  @Test
+  void ordersNumbersNumericallyAndSubsetsLast() {
+    List<String> numbers = List.of("TG05", "10", "177a", "2", "SV001", "102", "1", "177", "TG10");
+
+    List<String> sorted = numbers.stream()
+        .sorted(Comparator.comparing(CardNumbers::sortKey))
+        .toList();
+
+    assertThat(sorted)
+        .containsExactly("1", "2", "10", "102", "177", "177a", "SV001", "TG05", "TG10");
+  }
+
+  @Test
+  void ignoresLeadingZeros() {
+    assertThat(CardNumbers.sortKey("TG05")).isEqualTo(CardNumbers.sortKey("TG5"));
+    assertThat(CardNumbers.sortKey("0")).isEqualTo("000000");
+    assertThat(CardNumbers.sortKey(null)).isEmpty();
+  }
+}
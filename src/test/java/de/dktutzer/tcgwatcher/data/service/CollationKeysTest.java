@@ -0,0 +1,48 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.dktutzer.tcgwatcher.data.service.CollationKeys.Language;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CollationKeysTest {
+
+  private final CollationKeys collationKeys = new CollationKeys();
+
+  @Test
+  void unsignedByteOrderOfKeysIsLocaleOrder() {
+    List<String> names = List.of("Zubat", "Évoli", "Äther-Paket", "Bisasam", "abra", "Ebon");
+
+    assertThat(sorted(names, Language.DE))
+        .containsExactly("abra", "Äther-Paket", "Bisasam", "Ebon", "Évoli", "Zubat");
+    assertThat(sorted(names, Language.FR))
+        .containsExactly("abra", "Äther-Paket", "Bisasam", "Ebon", "Évoli", "Zubat");
+  }
+
+  @Test
+  void keysAreCachedPerLanguage() {
+    assertThat(collationKeys.sortKey(Language.DE, "Pikachu"))
+        .isSameAs(collationKeys.sortKey(Language.DE, "Pikachu"));
+    assertThat(collationKeys.sortKey(Language.DE, null))
+        .isEqualTo(collationKeys.sortKey(Language.DE, ""));
+  }
+
+  @Test
+  void languageFromCode() {
+    assertThat(Language.of("DE")).isEqualTo(Language.DE);
+    assertThat(Language.of(" fr ")).isEqualTo(Language.FR);
+    assertThatThrownBy(() -> Language.of("jp")).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  // the order SQLite produces for the BLOB column
+  private List<String> sorted(List<String> names, Language language) {
+    return names.stream()
+        .sorted(Comparator.comparing((String name) -> collationKeys.sortKey(language, name),
+            Arrays::compareUnsigned))
+        .toList();
+  }
+}
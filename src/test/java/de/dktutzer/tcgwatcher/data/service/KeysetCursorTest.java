@@ -0,0 +1,33 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+  @Test
+  void roundTripsKeys() {
+    String cursor = KeysetCursor.encode("sv3pt5", "000151", "sv3pt5-151");
+
+    assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    assertThat(KeysetCursor.decode(cursor, 3)).containsExactly("sv3pt5", "000151", "sv3pt5-151");
+  }
+
+  @Test
+  void keepsEmptyAndNullKeys() {
+    assertThat(KeysetCursor.decode(KeysetCursor.encode("", "base1"), 2))
+        .containsExactly("", "base1");
+    assertThat(KeysetCursor.decode(KeysetCursor.encode(null, "base1"), 2))
+        .containsExactly("", "base1");
+  }
+
+  @Test
+  void rejectsForeignCursors() {
+    assertThatThrownBy(() -> KeysetCursor.decode("not base64!", 2))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> KeysetCursor.decode(KeysetCursor.encode("a", "b"), 3))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
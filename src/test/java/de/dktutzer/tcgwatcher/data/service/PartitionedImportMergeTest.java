@@ -0,0 +1,180 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.dktutzer.tcgwatcher.data.TcgWatcherDataApplication;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Imports the same dex files once in a single process and once as two partial databases that are
+ * merged like the coordinator of a partitioned import does, and compares the resulting tables.
+ * The Charmander line is split across both partitions, so the merged evolution graph has to be
+ * built from the merged card details.
+ */
+class PartitionedImportMergeTest {
+
+  private static final List<String> TABLES = List.of("qs_pokemon_series", "qs_pokemon_sets",
+      "qs_pokemon_cards", "qs_fts_pokemon_cards", "qs_pokemon_card_dex",
+      "qs_pokemon_card_details", "qs_pokemon_images", "qs_pokemon_evolutions");
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void mergedPartitionsMatchASingleProcessImport() throws Exception {
+    Path dexData = writeDexData(dir.resolve("dexdata"));
+    Path single = dir.resolve("single.db");
+    Path base = dir.resolve("base.db");
+    Path swsh = dir.resolve("swsh.db");
+    Path merged = dir.resolve("merged.db");
+
+    runImport(dexData, single, "");
+    runImport(dexData, base, "Base");
+    runImport(dexData, swsh, "Sword & Shield");
+    try (ConfigurableApplicationContext coordinator = context(dexData, merged)
+        .web(WebApplicationType.NONE)
+        .properties("spring.main.lazy-initialization=true",
+            "spring.jpa.hibernate.ddl-auto=none",
+            "spring.sql.init.mode=always",
+            "spring.sql.init.schema-locations=classpath:schema.sql")
+        .run()) {
+      assertThat(coordinator.getBean(PartitionedImportService.class)
+          .mergePartials(List.of(base, swsh))).isEqualTo(5);
+    }
+
+    for (String table : TABLES) {
+      assertThat(rows(merged, table)).as(table).isEqualTo(rows(single, table));
+    }
+    assertThat(rows(single, "qs_pokemon_evolutions")).hasSize(2);
+    assertThat(rows(single, "qs_pokemon_card_dex")).hasSize(5);
+  }
+
+  private void runImport(Path dexData, Path database, String series) {
+    context(dexData, database)
+        .profiles(HeadlessImportRunner.PROFILE)
+        .properties("app.import.partition.series=" + series)
+        .run()
+        .close();
+  }
+
+  private SpringApplicationBuilder context(Path dexData, Path database) {
+    return new SpringApplicationBuilder(TcgWatcherDataApplication.class)
+        .properties("spring.datasource.url=jdbc:sqlite:" + database,
+            "app.dex.source=files",
+            "app.dex.data.dir=" + dexData,
+            "app.external.csv.path=" + dir.resolve("missing.csv"),
+            "app.catalog.offheap.file=" + dir.resolve(database.getFileName() + ".catalog"),
+            "app.import.workers=1",
+            "app.export.columnar.dir=");
+  }
+
+  // every row as its rendered columns, sorted, so the rowid order of the inserts does not matter
+  private static List<String> rows(Path database, String table) throws SQLException {
+    List<String> rows = new ArrayList<>();
+    try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+        Statement statement = connection.createStatement();
+        ResultSet result = statement.executeQuery("SELECT * FROM " + table)) {
+      ResultSetMetaData meta = result.getMetaData();
+      while (result.next()) {
+        StringBuilder row = new StringBuilder();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+          Object value = result.getObject(i);
+          row.append(meta.getColumnName(i)).append('=')
+              .append(value instanceof byte[] bytes ? HexFormat.of().formatHex(bytes) : value)
+              .append(';');
+        }
+        rows.add(row.toString());
+      }
+    }
+    rows.sort(null);
+    return rows;
+  }
+
+  private static Path writeDexData(Path base) throws IOException {
+    series(base, "Base", "base", "Base");
+    set(base, "Base", "Base Set", "base1", "Grundset", 102, "1999-01-09");
+    card(base, "Base/Base Set", "4", "Charizard", "Glurak", 6, "Stage2", "Charmeleon");
+    card(base, "Base/Base Set", "24", "Charmeleon", "Glutexo", 5, "Stage1", "Charmander");
+    card(base, "Base/Base Set", "58", "Pikachu", "Pikachu", 25, "Basic", null);
+
+    series(base, "Sword & Shield", "swsh", "Schwert & Schild");
+    set(base, "Sword & Shield", "Darkness Ablaze", "swsh3", "Flammende Finsternis", 189,
+        "2020-08-14");
+    card(base, "Sword & Shield/Darkness Ablaze", "22", "Charmander", "Glumanda", 4, "Basic",
+        null);
+    card(base, "Sword & Shield/Darkness Ablaze", "136", "Charizard", "Glurak", 6, "Stage2",
+        "Charmeleon");
+    return base;
+  }
+
+  private static void series(Path base, String folder, String id, String nameDe)
+      throws IOException {
+    Files.createDirectories(base.resolve(folder));
+    Files.writeString(base.resolve(folder + ".ts"), """
+        const serie: Serie = {
+        	id: "%s",
+        	name: {
+        		en: "%s",
+        		de: "%s",
+        	},
+        }
+        """.formatted(id, folder, nameDe));
+  }
+
+  private static void set(Path base, String series, String folder, String id, String nameDe,
+      int official, String releaseDate) throws IOException {
+    Files.createDirectories(base.resolve(series).resolve(folder));
+    Files.writeString(base.resolve(series).resolve(folder + ".ts"), """
+        const set: Set = {
+        	id: "%s",
+        	name: {
+        		en: "%s",
+        		de: "%s",
+        	},
+        	cardCount: {
+        		official: %d,
+        	},
+        	releaseDate: "%s",
+        }
+        """.formatted(id, folder, nameDe, official, releaseDate));
+  }
+
+  private static void card(Path base, String set, String number, String nameEn, String nameDe,
+      int dexId, String stage, String evolveFrom) throws IOException {
+    String evolution = evolveFrom == null ? "" : """
+        	evolveFrom: {
+        		en: "%s",
+        	},
+        """.formatted(evolveFrom);
+    Files.writeString(base.resolve(set).resolve(number + ".ts"), """
+        const card: Card = {
+        	name: {
+        		en: "%s",
+        		de: "%s",
+        	},
+        	illustrator: "Mitsuhiro Arita",
+        	rarity: "Rare",
+        	category: "Pokemon",
+        	dexId: [%d],
+        %s	stage: "%s",
+        	retreat: 1,
+        }
+        """.formatted(nameEn, nameDe, dexId, evolution, stage));
+  }
+}
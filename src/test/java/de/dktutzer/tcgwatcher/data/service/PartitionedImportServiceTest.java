@@ -0,0 +1,31 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PartitionedImportServiceTest {
+
+  @Test
+  void largestSeriesGoToTheLeastLoadedPartition() {
+    Map<String, Long> sizes = Map.of(
+        "Scarlet & Violet", 900L,
+        "Sword & Shield", 800L,
+        "Sun & Moon", 500L,
+        "XY", 300L,
+        "Base", 100L);
+
+    assertThat(PartitionedImportService.partition(sizes, 2)).containsExactly(
+        List.of("Base", "Scarlet & Violet", "XY"),
+        List.of("Sun & Moon", "Sword & Shield"));
+  }
+
+  @Test
+  void dropsPartitionsWithoutSeries() {
+    assertThat(PartitionedImportService.partition(Map.of("XY", 1L, "Base", 1L), 8))
+        .containsExactly(List.of("Base"), List.of("XY"));
+    assertThat(PartitionedImportService.partition(Map.of(), 4)).isEmpty();
+  }
+}
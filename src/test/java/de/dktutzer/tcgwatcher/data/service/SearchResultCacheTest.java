@@ -0,0 +1,47 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SearchResultCacheTest {
+
+  // seeded from the catalog_generation row at startup
+  private final SearchResultCache cache = new SearchResultCache(1_000, 1);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void answersRepeatedQueriesOfOneGenerationFromTheCache() {
+    assertThat(search()).containsExactly("result 1");
+    assertThat(search()).containsExactly("result 1");
+
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void importMovesLookupsToTheNewGeneration() {
+    assertThat(search()).containsExactly("result 1");
+
+    cache.onCatalogImported(new CatalogImportedEvent(Instant.now(), 100, 2));
+
+    assertThat(search()).containsExactly("result 2");
+    assertThat(loads).hasValue(2);
+    assertThat(cache.stats().generation()).isEqualTo(2);
+  }
+
+  @Test
+  void neverGoesBackToAnOlderGeneration() {
+    cache.onCatalogImported(new CatalogImportedEvent(Instant.now(), 100, 5));
+    cache.onCatalogImported(new CatalogImportedEvent(Instant.now(), 100, 3));
+
+    assertThat(cache.stats().generation()).isEqualTo(5);
+  }
+
+  private List<String> search() {
+    return cache.get("cards", "pikachu", false, 10,
+        () -> List.of("result " + loads.incrementAndGet()));
+  }
+}
@@ -0,0 +1,118 @@
+package de.dktutzer.tcgwatcher.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.dktutzer.tcgwatcher.data.data.model.DexCardData;
+import de.dktutzer.tcgwatcher.data.data.model.DexSeriesData;
+import de.dktutzer.tcgwatcher.data.data.model.DexSetData;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.RestTemplate;
+
+class TCGDexApiClientTest {
+
+  private static final Map<String, String> RESPONSES = Map.of(
+      "/v2/en/series", """
+          [{"id":"base","name":"Base"}]""",
+      "/v2/en/series/base", """
+          {"id":"base","name":"Base","sets":[{"id":"base1","name":"Base Set"}]}""",
+      "/v2/de/series/base", """
+          {"id":"base","name":"Basis","sets":[{"id":"base1","name":"Grundset"}]}""",
+      "/v2/en/sets/base1", """
+          {"id":"base1","name":"Base Set","releaseDate":"1999-01-09",
+           "cardCount":{"total":102,"official":102},"abbreviation":{"official":"BS"},
+           "logo":"https://assets.tcgdex.net/en/base/base1/logo",
+           "cards":[{"id":"base1-4","localId":"4","name":"Charizard"}]}""",
+      "/v2/de/sets/base1", """
+          {"id":"base1","name":"Grundset","cards":[{"id":"base1-4","localId":"4","name":"Glurak"}]}""",
+      "/v2/en/cards/base1-4", """
+          {"id":"base1-4","localId":"4","name":"Charizard","category":"Pokemon","hp":120,
+           "types":["Fire"],"evolveFrom":"Charmeleon","stage":"Stage2","dexId":[6],"retreat":3,
+           "rarity":"Rare","set":{"id":"base1","name":"Base Set"},
+           "pricing":{"cardmarket":{"idProduct":273699}}}""",
+      "/v2/de/cards/base1-4", """
+          {"id":"base1-4","localId":"4","name":"Glurak","evolveFrom":"Glutexo",
+           "set":{"id":"base1","name":"Grundset"}}""");
+
+  @TempDir
+  Path cacheDir;
+
+  private HttpServer server;
+  private final AtomicInteger notModified = new AtomicInteger();
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  void readsCatalogAndRevalidatesFromCache() {
+    TCGDexApiClient client = new TCGDexApiClient(new RestTemplate(),
+        "http://localhost:" + server.getAddress().getPort(), List.of("en", "de", "fr"), 4,
+        cacheDir.toString());
+
+    Map<String, DexSeriesData> series = client.readAllSeries();
+
+    assertThat(series).containsOnlyKeys("base");
+    assertThat(series.get("base").name()).containsEntry("en", "Base").containsEntry("de", "Basis");
+    DexSetData set = series.get("base").sets().get("base1");
+    assertThat(set.series()).isEqualTo("base");
+    assertThat(set.cardCount()).isEqualTo(102);
+    assertThat(set.releaseDate()).isEqualTo("1999-01-09 00:00:00.000");
+    assertThat(set.abbreviations()).containsEntry("official", "BS");
+    DexCardData card = set.cards().get("4");
+    assertThat(card.number()).isEqualTo("4");
+    assertThat(card.names()).containsEntry("en", "Charizard").containsEntry("de", "Glurak")
+        .doesNotContainKey("fr");
+    assertThat(card.evolveFrom()).containsEntry("de", "Glutexo");
+    assertThat(card.dexId()).containsExactly(6);
+    assertThat(card.thirdParty()).containsEntry("cardmarket", "273699");
+    assertThat(notModified).hasValue(0);
+
+    // second run is answered from the cache
+    assertThat(client.readAllSeries()).isEqualTo(series);
+    assertThat(notModified).hasValue(RESPONSES.size());
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String body = RESPONSES.get(exchange.getRequestURI().getPath());
+    if (body == null) {
+      exchange.sendResponseHeaders(404, -1);
+      exchange.close();
+      return;
+    }
+    String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+    exchange.getResponseHeaders().set("ETag", etag);
+    if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+      notModified.incrementAndGet();
+      exchange.sendResponseHeaders(304, -1);
+      exchange.close();
+      return;
+    }
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package de.dktutzer.tcgwatcher.data.service.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PriceWatchEntity;
+import de.dktutzer.tcgwatcher.data.service.price.PriceSeriesCodec;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PriceAlertIndexTest {
+
+  private static final String SERIES = "cardmarket:273537";
+
+  private final PriceAlertIndex index = PriceAlertIndex.build(List.of(
+      watch("below-5", "TREND", "BELOW", 500, 0),
+      watch("below-4", "TREND", "BELOW", 400, 0),
+      watch("below-2", "TREND", "BELOW", 200, 0),
+      watch("above-10", "TREND", "ABOVE", 1_000, 0),
+      watch("low-below-5", "LOW", "BELOW", 500, 0),
+      watch("rise-20", "TREND", "RISE_PERCENT", 2_000, 7),
+      watch("drop-50", "TREND", "DROP_PERCENT", 5_000, 7)));
+
+  @Test
+  void firesOnlyTheThresholdsThePriceCrossed() {
+    // trend 6.00 -> 3.50 crosses 5.00 and 4.00, not 2.00; low does not change
+    assertThat(evaluate(prices(300, 600), prices(300, 350), 600L))
+        .containsExactlyInAnyOrder("below-5", "below-4");
+    // staying below a threshold does not fire again
+    assertThat(evaluate(prices(300, 350), prices(300, 300), null)).isEmpty();
+    assertThat(evaluate(prices(300, 900), prices(300, 1_000), 900L)).containsExactly("above-10");
+  }
+
+  @Test
+  void percentWatchesCompareWithTheReferencePrice() {
+    assertThat(evaluate(prices(300, 1_100), prices(300, 1_250), 1_000L))
+        .containsExactly("rise-20");
+    assertThat(evaluate(prices(300, 1_250), prices(300, 1_300), 1_000L)).isEmpty();
+    // 4.00 -> 1.90: crosses 4.00 and 2.00 and drops more than 50% below 4.00
+    assertThat(evaluate(prices(300, 400), prices(300, 190), 400L))
+        .containsExactlyInAnyOrder("below-4", "below-2", "drop-50");
+    // no reference price in the window: percent watches stay silent
+    assertThat(evaluate(prices(300, 1_100), prices(300, 1_250), null)).isEmpty();
+  }
+
+  @Test
+  void newProductsFireEveryWatchWhoseConditionHolds() {
+    assertThat(evaluate(null, new long[]{PriceSeriesCodec.toRaw(450L), 0,
+        PriceSeriesCodec.toRaw(1_500L)}, null))
+        .containsExactlyInAnyOrder("low-below-5", "above-10");
+    assertThat(index.isWatched("cardmarket:1")).isFalse();
+  }
+
+  @Test
+  void rejectsInvalidWatches() {
+    assertThatThrownBy(
+        () -> PriceAlertIndex.validate(watch("x", "TREND", "RISE_PERCENT", 2_000, 0)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PriceAlertIndex.validate(watch("x", "MEDIAN", "BELOW", 500, 0)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private List<String> evaluate(long[] previous, long[] current, Long reference) {
+    List<String> fired = new ArrayList<>();
+    index.evaluate(SERIES, previous, current, (metric, windowDays) -> reference,
+        ordinal -> fired.add(index.watch(ordinal).getId()));
+    return fired;
+  }
+
+  // raw low and trend, no avg
+  private static long[] prices(long low, long trend) {
+    return new long[]{PriceSeriesCodec.toRaw(low), 0, PriceSeriesCodec.toRaw(trend)};
+  }
+
+  private static PriceWatchEntity watch(String id, String metric, String kind, long threshold,
+      int windowDays) {
+    var watch = new PriceWatchEntity();
+    watch.setId(id);
+    watch.setUserId("ash");
+    watch.setSource("cardmarket");
+    watch.setProductId("273537");
+    watch.setMetric(metric);
+    watch.setKind(kind);
+    watch.setThreshold(threshold);
+    watch.setWindowDays(windowDays);
+    return watch;
+  }
+}
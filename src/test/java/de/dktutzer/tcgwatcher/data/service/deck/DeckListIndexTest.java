@@ -0,0 +1,68 @@
+package de.dktutzer.tcgwatcher.data.service.deck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.model.DeckList;
+import de.dktutzer.tcgwatcher.data.data.model.DeckList.MatchType;
+import de.dktutzer.tcgwatcher.data.service.deck.DeckListParser.Line;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DeckListIndexTest {
+
+  private final DeckListIndex index = DeckListIndex.build(List.of(
+      card("sv03-125", "OBF 125", "Charizard ex", "Glurak-ex", "741234"),
+      card("sv03-223", "OBF 223", "Charizard ex", "Glurak-ex", "741300"),
+      card("sv03.5-016", "MEW 016", "Pidgey", "Taubsi", "739001"),
+      card("sv01-189", "SVI 189", "Professor's Research", "Forschung des Professors", "702001")));
+
+  @Test
+  void resolvesBySetCodeAndNumber() {
+    DeckList.Entry entry = index.resolve(new Line(1, 4, "Charizard ex", "obf", "223"));
+
+    assertThat(entry.matchedBy()).isEqualTo(MatchType.SET_CODE_NUMBER);
+    assertThat(entry.card().getId()).isEqualTo("sv03-223");
+    assertThat(entry.card().getCmProductId()).isEqualTo("741300");
+    // the catalog pads the number, the export does not
+    assertThat(index.resolve(new Line(2, 2, "Pidgey", "MEW", "16")).card().getId())
+        .isEqualTo("sv03.5-016");
+  }
+
+  @Test
+  void fallsBackToTheNameForUnknownSetCodes() {
+    DeckList.Entry sameNumber = index.resolve(new Line(1, 4, "Charizard EX", "PAF", "223"));
+    DeckList.Entry otherNumber = index.resolve(new Line(2, 4, "Charizard ex", "PAF", "54"));
+    DeckList.Entry german = index.resolve(new Line(3, 4, "Forschung des Professors", null, null));
+
+    assertThat(sameNumber.matchedBy()).isEqualTo(MatchType.NAME);
+    assertThat(sameNumber.card().getId()).isEqualTo("sv03-223");
+    assertThat(otherNumber.card().getId()).isEqualTo("sv03-125");
+    assertThat(german.card().getId()).isEqualTo("sv01-189");
+  }
+
+  @Test
+  void countsCardsAndUnresolvedLines() {
+    DeckList deckList = index.resolve(DeckListParser.parse("""
+        4 Charizard ex OBF 125
+        3 Unknown Card XYZ 1
+        4 Professor's Research SVI 189
+        """));
+
+    assertThat(deckList.cardCount()).isEqualTo(11);
+    assertThat(deckList.unresolved()).isEqualTo(1);
+    assertThat(deckList.entries().get(1).resolved()).isFalse();
+    assertThat(deckList.entries().get(1).line()).isEqualTo(2);
+  }
+
+  private static PokemonCardEntity card(String id, String code, String nameEn, String nameDe,
+      String cmProductId) {
+    var card = new PokemonCardEntity();
+    card.setId(id);
+    card.setCode(code);
+    card.setNameEn(nameEn);
+    card.setNameDe(nameDe);
+    card.setCmProductId(cmProductId);
+    return card;
+  }
+}
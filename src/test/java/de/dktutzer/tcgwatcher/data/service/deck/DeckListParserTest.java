@@ -0,0 +1,63 @@
+package de.dktutzer.tcgwatcher.data.service.deck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.dktutzer.tcgwatcher.data.service.deck.DeckListParser.Line;
+import org.junit.jupiter.api.Test;
+
+class DeckListParserTest {
+
+  @Test
+  void parsesTcgLiveExport() {
+    String export = """
+        Pokémon: 3
+        4 Charizard ex OBF 125
+        2 Pidgey MEW 16
+
+        Trainer: 1
+        4 Professor's Research SVI 189
+        4 Rare Candy SVI 191
+
+        Energy: 1
+        6 Basic {R} Energy SVE 2
+
+        Total Cards: 60
+        """;
+
+    assertThat(DeckListParser.parse(export)).containsExactly(
+        new Line(2, 4, "Charizard ex", "OBF", "125"),
+        new Line(3, 2, "Pidgey", "MEW", "16"),
+        new Line(6, 4, "Professor's Research", "SVI", "189"),
+        new Line(7, 4, "Rare Candy", "SVI", "191"),
+        new Line(10, 6, "Basic {R} Energy", "SVE", "2"));
+  }
+
+  @Test
+  void parsesTcgOnlineLinesPromosAndSubsetNumbers() {
+    String export = "****** Pokémon Trading Card Game Deck List ******\r\n"
+        + "* 1 Pikachu PR-SW 20\r\n"
+        + "* 2 Charizard VSTAR SWSH SWSH262\r\n"
+        + "* 1 Radiant Greninja ASR TG05\r\n";
+
+    assertThat(DeckListParser.parse(export)).containsExactly(
+        new Line(2, 1, "Pikachu", "PR-SW", "20"),
+        new Line(3, 2, "Charizard VSTAR", "SWSH", "SWSH262"),
+        new Line(4, 1, "Radiant Greninja", "ASR", "TG05"));
+  }
+
+  @Test
+  void keepsOnlyTheNameWithoutSetCodeAndNumber() {
+    assertThat(DeckListParser.parse("3 Arven\n2 Boss's Orders 172\n4 Basic Fire Energy Energy 2"))
+        .containsExactly(
+            new Line(1, 3, "Arven", null, null),
+            new Line(2, 2, "Boss's Orders 172", null, null),
+            new Line(3, 4, "Basic Fire Energy Energy 2", null, null));
+  }
+
+  @Test
+  void skipsLinesWithoutQuantity() {
+    assertThat(DeckListParser.parse("Total Cards: 60\n2024 regionals list\n0 Pikachu SVI 1\n4"))
+        .isEmpty();
+    assertThat(DeckListParser.parse(null)).isEmpty();
+  }
+}
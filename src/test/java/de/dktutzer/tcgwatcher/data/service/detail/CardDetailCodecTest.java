@@ -0,0 +1,54 @@
+package de.dktutzer.tcgwatcher.data.service.detail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.dktutzer.tcgwatcher.data.data.model.CardDetail;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CardDetailCodecTest {
+
+  @Test
+  void roundTripsAllAttributes() {
+    CardDetail charizard = new CardDetail("base1-4",
+        Map.of("en", "Charizard", "de", "Glurak"), "Pokemon", List.of("Stage 2"), "Rare Holo",
+        "120", List.of("Fire"), "Stage2", Map.of("en", "Charmeleon", "de", "Glutexo"),
+        List.of(Map.of("name", "Energy Burn", "type", "Pokemon Power")),
+        List.of(Map.of("name", "Fire Spin", "cost", "Fire, Fire, Fire, Fire", "damage", "100")),
+        List.of(Map.of("type", "Water", "value", "×2")),
+        List.of(Map.of("type", "Fighting", "value", "-30")),
+        List.of("Colorless", "Colorless", "Colorless"), 3, 3, "Mitsuhiro Arita",
+        Map.of("en", "Spits fire that is hot enough to melt boulders."), List.of(6));
+
+    byte[] payload = CardDetailCodec.encode(charizard);
+
+    assertThat(CardDetailCodec.decode(payload)).isEqualTo(charizard);
+    // raw deflate, not the JSON itself
+    assertThat(new String(payload, StandardCharsets.UTF_8)).doesNotContain("Charizard");
+  }
+
+  @Test
+  void dropsEmptyAndNullAttributes() {
+    CardDetail trainer = new CardDetail("base1-91", Map.of("en", "Bill"), "Trainer", List.of(),
+        "", null, List.of(), null, Map.of(), List.of(), List.of(), null, null, List.of(), null,
+        null, "", Map.of("en", "", "de", "Zieh 2 Karten."), null);
+
+    CardDetail decoded = CardDetailCodec.decode(CardDetailCodec.encode(trainer));
+
+    // empty strings, lists and maps are not written, so they come back as null like missing ones;
+    // the inclusion applies to map values too
+    assertThat(decoded).isEqualTo(new CardDetail("base1-91", Map.of("en", "Bill"), "Trainer",
+        null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+        Map.of("de", "Zieh 2 Karten."), null));
+  }
+
+  @Test
+  void roundTripsADetailWithoutAnything() {
+    CardDetail empty = new CardDetail(null, null, null, null, null, null, null, null, null, null,
+        null, null, null, null, null, null, null, null, null);
+
+    assertThat(CardDetailCodec.decode(CardDetailCodec.encode(empty))).isEqualTo(empty);
+  }
+}
@@ -0,0 +1,110 @@
+package de.dktutzer.tcgwatcher.data.service.encoding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSeriesEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonSetEntity;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CatalogBinaryCodecTest {
+
+  @Test
+  void roundTripsCardsIncludingNulls() {
+    PokemonCardEntity charizard = card("base1-4", "Glurak", "Dracaufeu", "Charizard");
+    charizard.setSpeciesKey("dex:6");
+    charizard.setEvolutionChainId("dex:4");
+    charizard.setEvolutionStage(2);
+    PokemonCardEntity trainer = card("base1-91", "Bill", "Léo", "Bill");
+
+    List<PokemonCardEntity> decoded = CatalogBinaryCodec.decode(CatalogBinaryCodec.CARDS,
+        CatalogBinaryCodec.encode(CatalogBinaryCodec.CARDS, List.of(charizard, trainer)));
+
+    assertThat(decoded).hasSize(2);
+    assertThat(decoded.getFirst()).usingRecursiveComparison().isEqualTo(charizard);
+    assertThat(decoded.get(1)).usingRecursiveComparison().isEqualTo(trainer);
+    assertThat(decoded.get(1).getSpeciesKey()).isNull();
+    assertThat(decoded.get(1).getEvolutionStage()).isNull();
+  }
+
+  @Test
+  void writesRepeatedStringsOnce() {
+    List<PokemonCardEntity> cards = new ArrayList<>();
+    for (int i = 1; i <= 100; i++) {
+      cards.add(card("sv1-" + i, "Pikachu", "Pikachu", "Pikachu"));
+    }
+
+    byte[] encoded = CatalogBinaryCodec.encode(CatalogBinaryCodec.CARDS, cards);
+
+    String text = new String(encoded, StandardCharsets.ISO_8859_1);
+    assertThat(text.split("Pikachu", -1)).hasSize(2);
+    assertThat(text.split("fp", -1)).hasSize(2);
+  }
+
+  @Test
+  void flattensTheSeriesOfSets() {
+    var series = new PokemonSeriesEntity();
+    series.setId("base");
+    series.setNameEn("Base");
+    var set = new PokemonSetEntity();
+    set.setId("base1");
+    set.setNameEn("Base Set");
+    set.setTotal(102);
+    set.setOfficial(102);
+    set.setSeries(series);
+
+    PokemonSetEntity decoded = CatalogBinaryCodec.decode(CatalogBinaryCodec.SETS,
+        CatalogBinaryCodec.encode(CatalogBinaryCodec.SETS, List.of(set))).getFirst();
+
+    assertThat(decoded.getTotal()).isEqualTo(102);
+    assertThat(decoded.getSeries().getId()).isEqualTo("base");
+    assertThat(decoded.getSeries().getNameEn()).isEqualTo("Base");
+  }
+
+  @Test
+  void skipsColumnsTheReaderDoesNotKnow() {
+    var set = new PokemonSetEntity();
+    set.setId("base1");
+    set.setNameDe("Grundset");
+    set.setTotal(102);
+
+    PokemonSeriesEntity decoded = CatalogBinaryCodec.decode(CatalogBinaryCodec.SERIES,
+        CatalogBinaryCodec.encode(CatalogBinaryCodec.SETS, List.of(set))).getFirst();
+
+    assertThat(decoded.getId()).isEqualTo("base1");
+    assertThat(decoded.getNameDe()).isEqualTo("Grundset");
+  }
+
+  @Test
+  void rejectsForeignAndTruncatedPayloads() {
+    byte[] encoded = CatalogBinaryCodec.encode(CatalogBinaryCodec.CARDS,
+        List.of(card("base1-4", "Glurak", "Dracaufeu", "Charizard")));
+
+    assertThatThrownBy(() -> CatalogBinaryCodec.decode(CatalogBinaryCodec.CARDS,
+        "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> CatalogBinaryCodec.decode(CatalogBinaryCodec.CARDS,
+        Arrays.copyOf(encoded, encoded.length - 3)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static PokemonCardEntity card(String id, String de, String fr, String en) {
+    var card = new PokemonCardEntity();
+    card.setId(id);
+    card.setNameDe(de);
+    card.setNameFr(fr);
+    card.setNameEn(en);
+    card.setCode(id.toUpperCase());
+    card.setCmProductId("27" + id.hashCode());
+    card.setCmPageId("page-" + id);
+    card.setTcgpId("");
+    card.setSetId(id.substring(0, id.indexOf('-')));
+    card.setReprintClusterId("fp" + en.hashCode());
+    return card;
+  }
+}
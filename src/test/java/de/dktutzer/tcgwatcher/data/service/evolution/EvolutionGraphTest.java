@@ -0,0 +1,120 @@
+package de.dktutzer.tcgwatcher.data.service.evolution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.dktutzer.tcgwatcher.data.data.model.TCGWatcherCardModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class EvolutionGraphTest {
+
+  @Test
+  void branchingChainSharesOneChainWithStagesPerBranch() {
+    EvolutionGraph graph = EvolutionGraph.build(List.of(
+        card("sv03.5-133", "Eevee", 133, null),
+        card("sv03.5-134", "Vaporeon", 134, "Eevee"),
+        card("swsh08-135", "Jolteon V", 135, "Eevee"),
+        card("sv08-136", "Flareon ex", 136, "Eevee")));
+
+    for (String id : List.of("sv03.5-134", "swsh08-135", "sv08-136")) {
+      assertThat(chain(graph, id)).isEqualTo("dex:133");
+      assertThat(stage(graph, id)).isEqualTo(1);
+    }
+    assertThat(stage(graph, "sv03.5-133")).isZero();
+    assertThat(graph.speciesCount()).isEqualTo(4);
+    assertThat(graph.edgeCount()).isEqualTo(3);
+  }
+
+  @Test
+  void linearChainCountsStagesFromTheRoot() {
+    EvolutionGraph graph = EvolutionGraph.build(List.of(
+        card("base1-46", "Charmander", 4, null),
+        card("base1-24", "Charmeleon", 5, "Charmander"),
+        card("sv03-125", "Charizard ex", 6, "Charmeleon")));
+
+    assertThat(species(graph, "sv03-125")).isEqualTo("dex:6");
+    assertThat(stage(graph, "sv03-125")).isEqualTo(2);
+    assertThat(chain(graph, "sv03-125")).isEqualTo("dex:4");
+  }
+
+  @Test
+  void speciesOnACycleStayInOneChainAtStageZero() {
+    // broken data: each claims to evolve from the other
+    EvolutionGraph graph = EvolutionGraph.build(List.of(
+        card("x-1", "Alpha", 901, "Beta"),
+        card("x-2", "Beta", 902, "Alpha"),
+        card("x-3", "Gamma", 903, "Beta")));
+
+    assertThat(chain(graph, "x-1")).isEqualTo(chain(graph, "x-2")).isEqualTo("dex:901");
+    assertThat(stage(graph, "x-1")).isZero();
+    assertThat(stage(graph, "x-2")).isZero();
+    // nothing after the cycle is reachable from a root either
+    assertThat(stage(graph, "x-3")).isZero();
+    assertThat(chain(graph, "x-3")).isEqualTo("dex:901");
+  }
+
+  @Test
+  void unresolvedEvolveFromBecomesANameSpecies() {
+    EvolutionGraph graph = EvolutionGraph.build(List.of(
+        card("base5-4", "Dark Charizard", null, "Dark Charmeleon"),
+        card("base1-81", "Energy Removal", null, null)));
+
+    assertThat(species(graph, "base5-4")).isEqualTo("name:charizard");
+    assertThat(chain(graph, "base5-4")).isEqualTo("name:charizard");
+    assertThat(stage(graph, "base5-4")).isEqualTo(1);
+    // not part of any evolution and no pokedex number: no species
+    assertThat(graph.speciesOfCard("base1-81")).isEqualTo(-1);
+  }
+
+  @Test
+  void resultDoesNotDependOnTheInputOrder() {
+    List<TCGWatcherCardModel> cards = new ArrayList<>(List.of(
+        card("a-1", "Pikachu", 25, "Pichu"),
+        card("b-1", "Pikachu", 999, null),
+        card("c-1", "Raichu", 26, "Pikachu"),
+        card("d-1", "Pichu", 172, null),
+        card("e-1", "Alolan Raichu", 26, "Pikachu")));
+    EvolutionGraph expected = EvolutionGraph.build(cards);
+
+    Random random = new Random(1);
+    for (int round = 0; round < 20; round++) {
+      Collections.shuffle(cards, random);
+      EvolutionGraph graph = EvolutionGraph.build(cards);
+      for (TCGWatcherCardModel card : cards) {
+        assertThat(species(graph, card.getId())).isEqualTo(species(expected, card.getId()));
+        assertThat(chain(graph, card.getId())).isEqualTo(chain(expected, card.getId()));
+        assertThat(stage(graph, card.getId())).isEqualTo(stage(expected, card.getId()));
+      }
+    }
+    // the smallest card id names the species of a name
+    assertThat(species(expected, "c-1")).isEqualTo("dex:26");
+    assertThat(chain(expected, "c-1")).isEqualTo("dex:172");
+    assertThat(stage(expected, "c-1")).isEqualTo(2);
+  }
+
+  private static String species(EvolutionGraph graph, String cardId) {
+    return graph.speciesKey(graph.speciesOfCard(cardId));
+  }
+
+  private static String chain(EvolutionGraph graph, String cardId) {
+    return graph.chainId(graph.speciesOfCard(cardId));
+  }
+
+  private static int stage(EvolutionGraph graph, String cardId) {
+    return graph.stage(graph.speciesOfCard(cardId));
+  }
+
+  private static TCGWatcherCardModel card(String id, String name, Integer dexId,
+      String evolveFrom) {
+    return TCGWatcherCardModel.builder()
+        .id(id)
+        .names(Map.of("en", name))
+        .dexIds(dexId == null ? List.of() : List.of(dexId))
+        .evolveFrom(evolveFrom == null ? null : Map.of("en", evolveFrom))
+        .build();
+  }
+}
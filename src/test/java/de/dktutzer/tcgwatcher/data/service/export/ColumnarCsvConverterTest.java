@@ -0,0 +1,40 @@
+package de.dktutzer.tcgwatcher.data.service.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ColumnarCsvConverterTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void convertsEveryRowGroupWithQuotingAndNulls() throws IOException {
+    var columns = List.of(ColumnarFormat.Column.string("id"),
+        ColumnarFormat.Column.string("attacks"), ColumnarFormat.Column.integer("retreat"));
+    try (var writer = new ColumnarWriter(dir.resolve("cards.tcol"), columns, 2)) {
+      writer.addRow("sv03-125", "[{\"name\":\"Burning Darkness\",\"cost\":[\"R\",\"R\"]}]", 2);
+      writer.addRow("sv03-126", null, null);
+      writer.addRow("sv03-127", "", -1);
+      writer.addRow("Pikachu, \"the\"\nmouse", "Ünbekannt", 0);
+    }
+
+    List<Path> converted = ColumnarCsvConverter.convertDirectory(dir);
+
+    assertThat(converted).containsExactly(dir.resolve("cards.csv"));
+    assertThat(Files.readString(dir.resolve("cards.csv"), StandardCharsets.UTF_8)).isEqualTo(
+        "id,attacks,retreat\r\n"
+            + "sv03-125,\"[{\"\"name\"\":\"\"Burning Darkness\"\",\"\"cost\"\":[\"\"R\"\","
+            + "\"\"R\"\"]}]\",2\r\n"
+            + "sv03-126,,\r\n"
+            + "sv03-127,\"\",-1\r\n"
+            + "\"Pikachu, \"\"the\"\"\nmouse\",Ünbekannt,0\r\n");
+  }
+}
@@ -0,0 +1,51 @@
+package de.dktutzer.tcgwatcher.data.service.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ColumnarWriterTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void roundTripsAcrossRowGroups() throws IOException {
+    Path file = dir.resolve("cards" + ColumnarFormat.EXTENSION);
+    var columns = List.of(ColumnarFormat.Column.string("rarity"),
+        ColumnarFormat.Column.integer("retreat"));
+
+    try (var writer = new ColumnarWriter(file, columns, 4)) {
+      writer.addRow("Common", 1);
+      writer.addRow("Rare", null);
+      writer.addRow("Common", -2);
+      writer.addRow(null, 3);
+      writer.addRow("Ünbekannt", 0);
+    }
+
+    try (var reader = ColumnarReader.open(file)) {
+      assertThat(reader.columns()).isEqualTo(columns);
+      assertThat(reader.rowCount()).isEqualTo(5);
+      assertThat(reader.rowGroups()).hasSize(2);
+
+      var first = reader.rowGroups().getFirst();
+      var rarityStats = first.chunks().get(0);
+      assertThat(rarityStats.distinctCount()).isEqualTo(2);
+      assertThat(rarityStats.nullCount()).isEqualTo(1);
+      assertThat(rarityStats.minString()).isEqualTo("Common");
+      assertThat(rarityStats.maxString()).isEqualTo("Rare");
+      var retreatStats = first.chunks().get(1);
+      assertThat(retreatStats.minInt()).isEqualTo(-2);
+      assertThat(retreatStats.maxInt()).isEqualTo(3);
+
+      assertThat(reader.readStrings(0, "rarity")).containsExactly("Common", "Rare", "Common", null);
+      assertThat(reader.readInts(0, "retreat")).containsExactly(1, null, -2, 3);
+      assertThat(reader.readStrings(1, "rarity")).containsExactly("Ünbekannt");
+      assertThat(reader.readInts(1, "retreat")).containsExactly(0);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package de.dktutzer.tcgwatcher.data.service.generation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.foreign.Arena;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class CatalogGenerationsTest {
+
+  private final CatalogGenerations generations = new CatalogGenerations();
+  private final List<Arena> arenas = new ArrayList<>();
+
+  @Test
+  void nothingToLeaseBeforeTheFirstPublish() {
+    assertThat(generations.acquire()).isNull();
+  }
+
+  @Test
+  void replacedGenerationWithoutReadersIsReclaimedOnPublish() {
+    CatalogGeneration first = generation(1);
+    generations.publish(first);
+
+    generations.publish(generation(2));
+
+    assertThat(first.isLive()).isFalse();
+    assertThat(arenas.getFirst().scope().isAlive()).isFalse();
+    try (CatalogGeneration.Lease lease = generations.acquire()) {
+      assertThat(lease.generation().number()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void inFlightReaderKeepsItsGenerationUntilTheLeaseIsClosed() {
+    CatalogGeneration first = generation(1);
+    generations.publish(first);
+    CatalogGeneration.Lease inFlight = generations.acquire();
+
+    generations.publish(generation(2));
+
+    assertThat(inFlight.generation()).isSameAs(first);
+    assertThat(arenas.getFirst().scope().isAlive()).isTrue();
+    try (CatalogGeneration.Lease lease = generations.acquire()) {
+      assertThat(lease.generation().number()).isEqualTo(2);
+    }
+    inFlight.close();
+    assertThat(arenas.getFirst().scope().isAlive()).isFalse();
+    assertThat(arenas.getLast().scope().isAlive()).isTrue();
+  }
+
+  @Test
+  void closingALeaseTwiceReleasesOnce() {
+    CatalogGeneration first = generation(1);
+    generations.publish(first);
+    CatalogGeneration.Lease lease = generations.acquire();
+    lease.close();
+    lease.close();
+
+    assertThat(first.isLive()).isTrue();
+  }
+
+  @Test
+  void readersNeverSeeAReclaimedGenerationWhileGenerationsAreSwapped() throws Exception {
+    generations.publish(generation(0));
+    AtomicBoolean publishing = new AtomicBoolean(true);
+    List<Future<Integer>> readers = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+      for (int i = 0; i < 4; i++) {
+        readers.add(executor.submit(() -> {
+          int torn = 0;
+          long lastSeen = 0;
+          while (publishing.get()) {
+            try (CatalogGeneration.Lease lease = generations.acquire()) {
+              CatalogGeneration generation = lease.generation();
+              if (!generation.isLive() || generation.number() < lastSeen) {
+                torn++;
+              }
+              lastSeen = generation.number();
+            }
+          }
+          return torn;
+        }));
+      }
+      for (int number = 1; number <= 200; number++) {
+        generations.publish(generation(number));
+      }
+      publishing.set(false);
+      for (Future<Integer> reader : readers) {
+        assertThat(reader.get()).isZero();
+      }
+    }
+
+    // every generation but the current one has been unmapped
+    assertThat(arenas.subList(0, arenas.size() - 1))
+        .allSatisfy(arena -> assertThat(arena.scope().isAlive()).isFalse());
+    assertThat(arenas.getLast().scope().isAlive()).isTrue();
+  }
+
+  private CatalogGeneration generation(long number) {
+    Arena arena = Arena.ofShared();
+    arenas.add(arena);
+    return new CatalogGeneration(number, Instant.now(), 0, null, null, null, null, null, null,
+        arena, Runnable::run);
+  }
+}
@@ -0,0 +1,42 @@
+package de.dktutzer.tcgwatcher.data.service.hierarchy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.dktutzer.tcgwatcher.data.data.model.CatalogHierarchy;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class RenderedHierarchyTest {
+
+  private static final CatalogHierarchy HIERARCHY = new CatalogHierarchy(List.of(
+      new CatalogHierarchy.Series("me", "Mega-Entwicklung", "Méga-Évolution", "Mega Evolution",
+          List.of(new CatalogHierarchy.CardSet("me01", "MEG", "MEG", "Mega-Entwicklung",
+              "Méga-Évolution", "Mega Evolution", 188, 132)))));
+
+  @Test
+  void gzipDecodesToIdentity() throws IOException {
+    RenderedHierarchy rendered = RenderedHierarchy.render(HIERARCHY);
+
+    try (var in = new GZIPInputStream(new ByteArrayInputStream(rendered.gzip()))) {
+      assertThat(in.readAllBytes()).isEqualTo(rendered.identity());
+    }
+    assertThat(new String(rendered.identity(), StandardCharsets.UTF_8))
+        .startsWith("{\"series\":[{\"id\":\"me\"")
+        .contains("\"code\":\"MEG\"", "\"total\":188");
+  }
+
+  @Test
+  void etagsAreStrongStableAndPerEncoding() {
+    RenderedHierarchy rendered = RenderedHierarchy.render(HIERARCHY);
+
+    assertThat(rendered.identityEtag()).startsWith("\"").endsWith("\"")
+        .isEqualTo(RenderedHierarchy.render(HIERARCHY).identityEtag())
+        .isNotEqualTo(rendered.gzipEtag());
+    assertThat(RenderedHierarchy.render(new CatalogHierarchy(List.of())).identityEtag())
+        .isNotEqualTo(rendered.identityEtag());
+  }
+}
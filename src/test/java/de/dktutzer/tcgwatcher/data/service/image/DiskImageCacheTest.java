@@ -0,0 +1,177 @@
+package de.dktutzer.tcgwatcher.data.service.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.dktutzer.tcgwatcher.data.service.image.DiskImageCache.CachedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+class DiskImageCacheTest {
+
+  @TempDir
+  Path cacheDir;
+
+  private HttpServer server;
+  private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  void concurrentMissesFetchOnce() throws Exception {
+    DiskImageCache cache = cache(1 << 20);
+    var start = new CountDownLatch(1);
+    List<Future<CachedImage>> results = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 16; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return cache.get(url("/slow/a"));
+        }));
+      }
+      start.countDown();
+      for (Future<CachedImage> result : results) {
+        CachedImage image = result.get();
+        assertThat(image.size()).isEqualTo(100);
+        assertThat(image.contentType()).isEqualTo("image/webp");
+        assertThat(Files.size(image.file())).isEqualTo(100);
+      }
+    }
+    assertThat(hits.get("/slow/a")).hasValue(1);
+
+    // and later hits never reach the origin
+    cache.get(url("/slow/a"));
+    assertThat(hits.get("/slow/a")).hasValue(1);
+  }
+
+  @Test
+  void sameContentIsStoredOnce() {
+    DiskImageCache cache = cache(1 << 20);
+
+    CachedImage first = cache.get(url("/same/x"));
+    CachedImage second = cache.get(url("/same/y"));
+
+    assertThat(second.contentHash()).isEqualTo(first.contentHash());
+    assertThat(second.file()).isEqualTo(first.file());
+    assertThat(cache.blobCount()).isEqualTo(1);
+    assertThat(cache.totalBytes()).isEqualTo(100);
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedAboveBudget() {
+    DiskImageCache cache = cache(250);
+
+    CachedImage a = cache.get(url("/a"));
+    cache.get(url("/b"));
+    // a is now more recent than b
+    cache.get(url("/a"));
+    cache.get(url("/c"));
+
+    assertThat(cache.totalBytes()).isEqualTo(200);
+    assertThat(Files.exists(a.file())).isTrue();
+    assertThat(hits.get("/a")).hasValue(1);
+    cache.get(url("/b"));
+    assertThat(hits.get("/b")).hasValue(2);
+  }
+
+  @Test
+  void dropsBlobsThatCannotBeDeleted() throws IOException {
+    DiskImageCache cache = cache(150);
+    CachedImage a = cache.get(url("/a"));
+    // a non-empty directory in place of the blob makes the delete fail
+    Files.delete(a.file());
+    Files.createDirectories(a.file().resolve("busy"));
+
+    CachedImage b = cache.get(url("/b"));
+
+    assertThat(cache.blobCount()).isEqualTo(1);
+    assertThat(cache.totalBytes()).isEqualTo(100);
+    assertThat(Files.exists(b.file())).isTrue();
+  }
+
+  @Test
+  void reopensWithExistingBlobs() {
+    cache(1 << 20).get(url("/a"));
+
+    DiskImageCache reopened = cache(1 << 20);
+
+    assertThat(reopened.blobCount()).isEqualTo(1);
+    reopened.get(url("/a"));
+    assertThat(hits.get("/a")).hasValue(1);
+  }
+
+  @Test
+  void upstreamErrorsAreNotCached() {
+    DiskImageCache cache = cache(1 << 20);
+
+    assertThatThrownBy(() -> cache.get(url("/missing")))
+        .isInstanceOf(HttpClientErrorException.NotFound.class);
+    assertThat(cache.blobCount()).isZero();
+  }
+
+  private DiskImageCache cache(long maxBytes) {
+    return new DiskImageCache(new RestTemplate(), cacheDir.toString(), maxBytes);
+  }
+
+  private String url(String path) {
+    return "http://localhost:" + server.getAddress().getPort() + path;
+  }
+
+  // 100 bytes per image, identical for all paths below /same/
+  private void handle(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    hits.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+    if (path.equals("/missing")) {
+      exchange.sendResponseHeaders(404, -1);
+      exchange.close();
+      return;
+    }
+    if (path.startsWith("/slow/")) {
+      try {
+        Thread.sleep(200);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    String seed = path.startsWith("/same/") ? "/same/" : path;
+    byte[] bytes = new byte[100];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (seed.hashCode() + i);
+    }
+    exchange.getResponseHeaders().set("Content-Type", "image/webp");
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package de.dktutzer.tcgwatcher.data.service.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.model.CardResolution.IdentifierType;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CardResolutionIndexTest {
+
+  private final CardResolutionIndex index = CardResolutionIndex.build(List.of(
+      card("me1-104", "MEG 104", "Mega-Kangaskhan-ex-V1-MEG104", "845123", "612345"),
+      card("base1-4", "BS 4", "Charizard-V1-BS4", "273699", "845123")));
+
+  @Test
+  void resolvesMixedIdentifiers() {
+    assertThat(index.resolve(" meg  104 ").card().getId()).isEqualTo("me1-104");
+    assertThat(index.resolve("Charizard-V1-BS4").matchedBy()).isEqualTo(IdentifierType.CM_PAGE_ID);
+    assertThat(index.resolve("612345").matchedBy()).isEqualTo(IdentifierType.TCGP_ID);
+    assertThat(index.resolve("unknown").resolved()).isFalse();
+  }
+
+  @Test
+  void prefixSelectsTheIdentifierType() {
+    // a bare number prefers the Cardmarket product id
+    assertThat(index.resolve("845123").card().getId()).isEqualTo("me1-104");
+    assertThat(index.resolve("tcgp:845123").card().getId()).isEqualTo("base1-4");
+    assertThat(index.resolve("cm:612345").resolved()).isFalse();
+    assertThat(CardResolutionIndex.lookupValues("CODE:meg 104")).containsExactly("meg 104", "MEG 104");
+  }
+
+  private static PokemonCardEntity card(String id, String code, String cmPageId,
+      String cmProductId, String tcgpId) {
+    var card = new PokemonCardEntity();
+    card.setId(id);
+    card.setCode(code);
+    card.setCmPageId(cmPageId);
+    card.setCmProductId(cmProductId);
+    card.setTcgpId(tcgpId);
+    return card;
+  }
+}
@@ -0,0 +1,57 @@
+package de.dktutzer.tcgwatcher.data.service.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardDexEntity;
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PokedexIndexTest {
+
+  private static final List<PokemonCardEntity> CARDS = List.of(
+      card("sm10-20"), card("base1-4"), card("sv03-125"), card("base1-58"));
+
+  @Test
+  void listsTheCardsOfEveryPokemonOnThem() {
+    PokedexIndex index = PokedexIndex.build(CARDS, List.of(
+        dex("sv03-125", 6), dex("base1-4", 6), dex("base1-58", 25),
+        // tag team: Pikachu & Zekrom
+        dex("sm10-20", 25), dex("sm10-20", 644)));
+
+    assertThat(index.cardsOf(6)).extracting(PokemonCardEntity::getId)
+        .containsExactly("base1-4", "sv03-125");
+    assertThat(index.cardsOf(25)).extracting(PokemonCardEntity::getId)
+        .containsExactly("base1-58", "sm10-20");
+    assertThat(index.cardsOf(644)).extracting(PokemonCardEntity::getId)
+        .containsExactly("sm10-20");
+    assertThat(index.ordinalsOf(7)).isEmpty();
+    assertThat(index.ordinalsOf(-1)).isEmpty();
+  }
+
+  @Test
+  void skipsDexIdsOutOfRange() {
+    PokedexIndex index = PokedexIndex.build(CARDS, List.of(
+        dex("base1-4", 6), dex("base1-58", Integer.MAX_VALUE), dex("sv03-125", -6),
+        dex("sm10-20", PokedexIndex.MAX_DEX_ID + 1), dex("unknown-1", 25)));
+
+    assertThat(index.cardsOf(6)).extracting(PokemonCardEntity::getId).containsExactly("base1-4");
+    assertThat(index.ordinalsOf(Integer.MAX_VALUE)).isEmpty();
+    assertThat(index.ordinalsOf(PokedexIndex.MAX_DEX_ID + 1)).isEmpty();
+    assertThat(index.ordinalsOf(25)).isEmpty();
+  }
+
+  private static PokemonCardEntity card(String id) {
+    var card = new PokemonCardEntity();
+    card.setId(id);
+    return card;
+  }
+
+  private static PokemonCardDexEntity dex(String cardId, int dexId) {
+    var row = new PokemonCardDexEntity();
+    row.setId(cardId + ":" + dexId);
+    row.setCardId(cardId);
+    row.setDexId(dexId);
+    return row;
+  }
+}
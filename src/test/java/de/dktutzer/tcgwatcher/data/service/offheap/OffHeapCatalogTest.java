@@ -0,0 +1,69 @@
+package de.dktutzer.tcgwatcher.data.service.offheap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.service.offheap.OffHeapCatalog.Field;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OffHeapCatalogTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void looksUpCardsById() throws IOException {
+    Path file = dir.resolve("quicksearch.catalog");
+    OffHeapCatalogWriter.write(file, List.of(
+        card("swsh1-10", "Glumanda", 0),
+        card("base1-4", "Glurak", 2),
+        card("éclair-1", "Ätherium", null)));
+
+    OffHeapCatalog catalog = OffHeapCatalog.map(file);
+
+    assertThat(catalog.cardCount()).isEqualTo(3);
+    assertThat(catalog.stamp()).isZero();
+    int glurak = catalog.ordinalOf("base1-4");
+    assertThat(catalog.get(glurak, Field.NAME_DE)).isEqualTo("Glurak");
+    assertThat(catalog.evolutionStage(glurak)).isEqualTo(2);
+    assertThat(catalog.get(glurak, Field.CODE)).isNull();
+
+    PokemonCardEntity accented = catalog.toEntity(catalog.ordinalOf("éclair-1"));
+    assertThat(accented.getNameDe()).isEqualTo("Ätherium");
+    assertThat(accented.getSetId()).isEqualTo("éclair");
+    assertThat(accented.getEvolutionStage()).isNull();
+
+    assertThat(catalog.ordinalOf("base1-5")).isEqualTo(-1);
+    assertThat(catalog.ordinalOf("")).isEqualTo(-1);
+  }
+
+  @Test
+  void writeAndMapKeepsItsOwnCatalogWhenTheFileIsReplaced() throws IOException {
+    Path file = dir.resolve("quicksearch.catalog");
+    try (Arena arena = Arena.ofConfined()) {
+      OffHeapCatalog written = OffHeapCatalogWriter.writeAndMap(file,
+          List.of(card("base1-4", "Glurak", 2)), 42, arena);
+      // e.g. another process writing the catalog of another database
+      OffHeapCatalogWriter.write(file, List.of(card("swsh1-10", "Glumanda", 0)));
+
+      assertThat(written.ordinalOf("base1-4")).isZero();
+      assertThat(written.stamp()).isEqualTo(42L);
+      assertThat(written.ordinalOf("swsh1-10")).isEqualTo(-1);
+      assertThat(OffHeapCatalog.map(file).ordinalOf("swsh1-10")).isZero();
+    }
+  }
+
+  private static PokemonCardEntity card(String id, String nameDe, Integer stage) {
+    var card = new PokemonCardEntity();
+    card.setId(id);
+    card.setNameDe(nameDe);
+    card.setSetId(id.substring(0, id.indexOf('-')));
+    card.setEvolutionStage(stage);
+    return card;
+  }
+}
@@ -0,0 +1,53 @@
+package de.dktutzer.tcgwatcher.data.service.price;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class PriceSeriesCodecTest {
+
+  @Test
+  void appendAndDecodeRoundTrip() {
+    var series = PriceSeriesCodec.newSeries("cardmarket", "273537");
+    int start = (int) LocalDate.of(2024, 1, 1).toEpochDay();
+
+    assertTrue(PriceSeriesCodec.append(series, start, 120L, 150L, 140L));
+    assertTrue(PriceSeriesCodec.append(series, start + 1, 118L, null, 141L));
+    assertTrue(PriceSeriesCodec.append(series, start + 5, 90L, 2_000L, 139L));
+
+    var decoded = PriceSeriesCodec.decode(series);
+    assertArrayEquals(new int[]{start, start + 1, start + 5}, decoded.days());
+    assertEquals(118L, PriceSeriesCodec.fromRaw(decoded.low()[1]));
+    assertNull(PriceSeriesCodec.fromRaw(decoded.avg()[1]));
+    assertEquals(2_000L, PriceSeriesCodec.fromRaw(decoded.avg()[2]));
+    assertEquals(139L, PriceSeriesCodec.fromRaw(decoded.trend()[2]));
+    assertEquals(2, decoded.lowerBound(start + 2));
+  }
+
+  @Test
+  void rejectsOutOfOrderDays() {
+    var series = PriceSeriesCodec.newSeries("tcgplayer", "83586");
+    PriceSeriesCodec.append(series, 100, 1L, 1L, 1L);
+
+    assertFalse(PriceSeriesCodec.append(series, 100, 2L, 2L, 2L));
+    assertFalse(PriceSeriesCodec.append(series, 99, 2L, 2L, 2L));
+    assertEquals(1, series.getPointCount());
+  }
+
+  @Test
+  void dailyPointsWithSmallMovesTakeOneBytePerColumn() {
+    var series = PriceSeriesCodec.newSeries("cardmarket", "1");
+    for (int day = 0; day < 365; day++) {
+      PriceSeriesCodec.append(series, 20_000 + day, 100L + day % 7, 120L, 110L - day % 3);
+    }
+    // first entry may need two bytes for the absolute value, all following deltas fit in one
+    assertTrue(series.getDays().length <= 366);
+    assertTrue(series.getLow().length <= 366);
+    assertTrue(series.getTrend().length <= 366);
+  }
+}
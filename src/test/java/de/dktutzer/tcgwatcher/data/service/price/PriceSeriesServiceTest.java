@@ -0,0 +1,76 @@
+package de.dktutzer.tcgwatcher.data.service.price;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.dktutzer.tcgwatcher.data.data.model.PriceAggregate;
+import de.dktutzer.tcgwatcher.data.data.model.PricePoint;
+import de.dktutzer.tcgwatcher.data.service.price.PriceSeriesService.Metric;
+import de.dktutzer.tcgwatcher.data.service.price.PriceSeriesService.Resolution;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PriceSeriesServiceTest {
+
+  // monday 2024-01-01 to wednesday 2024-01-10, no snapshot on the 4th and 5th
+  private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+  private final PriceSeriesCodec.Decoded decoded = series();
+
+  @Test
+  void rangeReturnsTheStoredDaysWithinBothBounds() {
+    List<PricePoint> points =
+        PriceSeriesService.range(decoded, START.plusDays(2), START.plusDays(5));
+
+    assertEquals(List.of(START.plusDays(2), START.plusDays(5)),
+        points.stream().map(PricePoint::date).toList());
+    assertEquals(102L, points.getFirst().low());
+    assertNull(points.getFirst().avg());
+    assertEquals(205L, points.getLast().trend());
+  }
+
+  @Test
+  void rangeOutsideTheSeriesIsEmpty() {
+    assertTrue(PriceSeriesService.range(decoded, START.minusDays(10), START.minusDays(1))
+        .isEmpty());
+    assertTrue(PriceSeriesService.range(decoded, START.plusDays(20), START.plusDays(30))
+        .isEmpty());
+  }
+
+  @Test
+  void downsamplesPerIsoWeek() {
+    List<PriceAggregate> weeks = PriceSeriesService.downsample(decoded, Metric.LOW,
+        Resolution.WEEKLY, START, START.plusDays(9));
+
+    assertEquals(2, weeks.size());
+    // 100, 101, 102, 105, 106 (the 6th and 7th)
+    assertEquals(new PriceAggregate(START, 100, 106, 102.8, 5), weeks.get(0));
+    // monday 8th to wednesday 10th
+    assertEquals(new PriceAggregate(START.plusDays(7), 107, 109, 108.0, 3), weeks.get(1));
+  }
+
+  @Test
+  void downsamplingSkipsDaysWithoutTheMetric() {
+    List<PriceAggregate> days = PriceSeriesService.downsample(decoded, Metric.AVG,
+        Resolution.DAILY, START, START.plusDays(5));
+
+    // the avg of the 3rd was not reported
+    assertEquals(List.of(START, START.plusDays(1), START.plusDays(5)),
+        days.stream().map(PriceAggregate::periodStart).toList());
+    assertEquals(new PriceAggregate(START.plusDays(1), 151, 151, 151.0, 1), days.get(1));
+  }
+
+  private static PriceSeriesCodec.Decoded series() {
+    var series = PriceSeriesCodec.newSeries("cardmarket", "273537");
+    for (int day = 0; day < 10; day++) {
+      if (day == 3 || day == 4) {
+        continue;
+      }
+      PriceSeriesCodec.append(series, (int) START.plusDays(day).toEpochDay(), 100L + day,
+          day == 2 ? null : 150L + day, 200L + day);
+    }
+    return PriceSeriesCodec.decode(series);
+  }
+}
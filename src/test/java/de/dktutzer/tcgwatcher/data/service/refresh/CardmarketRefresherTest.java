@@ -0,0 +1,160 @@
+package de.dktutzer.tcgwatcher.data.service.refresh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.dktutzer.tcgwatcher.data.data.model.PriceSnapshot;
+import de.dktutzer.tcgwatcher.data.service.refresh.CardmarketRefresher.Result;
+import de.dktutzer.tcgwatcher.data.service.refresh.CardmarketRefresher.Target;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+class CardmarketRefresherTest {
+
+  private static final String PAGE = """
+      <dl class="labeled row mx-auto g-0">
+        <dt class="col-6 col-xl-5">Available items</dt><dd class="col-6 col-xl-7">1234</dd>
+        <dt class="col-6 col-xl-5">From</dt><dd class="col-6 col-xl-7">%s €</dd>
+        <dt class="col-6 col-xl-5">Price Trend</dt><dd class="col-6 col-xl-7"><span>1.234,56 €</span></dd>
+        <dt class="col-6 col-xl-5">30-days average price</dt><dd class="col-6 col-xl-7"><span>12,00 €</span></dd>
+      </dl>""";
+
+  private HttpServer server;
+  private final List<Long> arrivals = Collections.synchronizedList(new ArrayList<>());
+  private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+  private final AtomicLong throttledAt = new AtomicLong();
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", this::handle);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  void fetchesAtTheRateLimitWithoutExceedingIt() throws Exception {
+    List<Target> targets = IntStream.range(0, 60)
+        .mapToObj(i -> new Target(String.valueOf(i), "Card-" + i))
+        .toList();
+    List<List<PriceSnapshot.Entry>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    Result result = refresher(50, 5).refresh(targets, 25, batches::add);
+
+    assertThat(result.fetched()).isEqualTo(60);
+    assertThat(result.failed()).isZero();
+    assertThat(batches).extracting(List::size).containsExactlyInAnyOrder(25, 25, 10);
+    PriceSnapshot.Entry entry = batches.getFirst().getFirst();
+    assertThat(entry.low()).isEqualTo(Long.parseLong(entry.productId()) + 2);
+    assertThat(entry.trend()).isEqualTo(123456L);
+    assertThat(entry.avg()).isEqualTo(1200L);
+
+    // after the burst of 5 one request per 20 ms: 55 * 20 ms
+    List<Long> sorted = arrivals.stream().sorted().toList();
+    long spanMillis = (sorted.getLast() - sorted.getFirst()) / 1_000_000;
+    assertThat(spanMillis).isBetween(900L, 2000L);
+  }
+
+  @Test
+  void retriesThrottledAndFailingPagesButNotMissingOnes() throws Exception {
+    List<Target> targets = List.of(new Target("429", "Throttled"), new Target("503", "Flaky"),
+        new Target("404", "Missing"), new Target("1", "Fine"));
+    List<PriceSnapshot.Entry> persisted = Collections.synchronizedList(new ArrayList<>());
+
+    Result result = refresher(100, 10).refresh(targets, 100, persisted::addAll);
+
+    assertThat(persisted).extracting(PriceSnapshot.Entry::productId)
+        .containsExactlyInAnyOrder("429", "503", "1");
+    assertThat(result.failed()).isEqualTo(1);
+    assertThat(result.retries()).isEqualTo(3);
+    assertThat(attempts.get("404")).hasValue(1);
+  }
+
+  @Test
+  void retryAfterPausesTheWholeHost() throws Exception {
+    List<Target> targets = IntStream.range(0, 20)
+        .mapToObj(i -> new Target(i == 0 ? "4291" : String.valueOf(i), "Card-" + i))
+        .toList();
+
+    Result result = refresher(1000, 1).refresh(targets, 100, entries -> { });
+
+    assertThat(result.fetched()).isEqualTo(20);
+    assertThat(result.retries()).isEqualTo(1);
+    // requests sent before the 429 arrived may still trickle in, after that nothing reaches the
+    // host during the second of Retry-After
+    long throttled = throttledAt.get();
+    assertThat(arrivals).noneMatch(arrival -> arrival > throttled + 100_000_000L
+        && arrival < throttled + 900_000_000L);
+    assertThat(Collections.max(arrivals) - throttled).isGreaterThan(900_000_000L);
+  }
+
+  @Test
+  void parsesDisplayedPrices() {
+    assertThat(CardmarketPageParser.cents("0,02 €")).isEqualTo(2L);
+    assertThat(CardmarketPageParser.cents("1.234,56 €")).isEqualTo(123456L);
+    assertThat(CardmarketPageParser.cents("1,234.56 €")).isEqualTo(123456L);
+    assertThat(CardmarketPageParser.cents("12 €")).isEqualTo(1200L);
+    assertThat(CardmarketPageParser.cents("N/A")).isNull();
+  }
+
+  private CardmarketRefresher refresher(double ratePerSecond, int burst) {
+    return new CardmarketRefresher(new RestTemplate(),
+        "http://localhost:" + server.getAddress().getPort() + "/products?idProduct={productId}",
+        ratePerSecond, burst, 32, 3, Duration.ofMillis(10));
+  }
+
+  // 429 once (4291 with a Retry-After of a second), 503 twice, 404 always, every other id a page
+  // with its id as "From" cents - 2
+  private void handle(HttpExchange exchange) throws IOException {
+    arrivals.add(System.nanoTime());
+    String id = exchange.getRequestURI().getQuery().substring("idProduct=".length());
+    int attempt = attempts.computeIfAbsent(id, i -> new AtomicInteger()).incrementAndGet();
+    int status = switch (id) {
+      case "429", "4291" -> attempt <= 1 ? 429 : 200;
+      case "503" -> attempt <= 2 ? 503 : 200;
+      case "404" -> 404;
+      default -> 200;
+    };
+    if (status != 200) {
+      if (status == 429) {
+        if (id.equals("4291")) {
+          throttledAt.set(System.nanoTime());
+        }
+        exchange.getResponseHeaders().set("Retry-After", id.equals("4291") ? "1" : "0");
+      }
+      exchange.sendResponseHeaders(status, -1);
+      exchange.close();
+      return;
+    }
+    long cents = Long.parseLong(id) + 2;
+    byte[] body = PAGE.formatted(String.format("%d,%02d", cents / 100, cents % 100))
+        .getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
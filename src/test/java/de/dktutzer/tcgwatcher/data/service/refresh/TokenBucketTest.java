@@ -0,0 +1,77 @@
+package de.dktutzer.tcgwatcher.data.service.refresh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void burstIsFreeThenTokensAreSpacedByTheRate() {
+    TokenBucket bucket = new TokenBucket(4, 2, now::get);
+
+    assertThat(bucket.reserve()).isZero();
+    assertThat(bucket.reserve()).isZero();
+    // reserved ahead: each further token is due a quarter second after the previous one
+    assertThat(bucket.reserve()).isEqualTo(SECOND / 4);
+    assertThat(bucket.reserve()).isEqualTo(SECOND / 2);
+    assertThat(bucket.reserve()).isEqualTo(3 * SECOND / 4);
+  }
+
+  @Test
+  void refillsUpToTheBurstOnly() {
+    TokenBucket bucket = new TokenBucket(10, 3, now::get);
+    for (int i = 0; i < 3; i++) {
+      bucket.reserve();
+    }
+
+    now.addAndGet(60 * SECOND);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(bucket.reserve()).isZero();
+    }
+    assertThat(bucket.reserve()).isEqualTo(SECOND / 10);
+  }
+
+  @Test
+  void pauseDrainsTheBurstAndDelaysTheNextToken() {
+    TokenBucket bucket = new TokenBucket(4, 3, now::get);
+
+    bucket.pause(Duration.ofSeconds(2));
+
+    assertThat(bucket.paused()).isTrue();
+    assertThat(bucket.reserve()).isEqualTo(2 * SECOND);
+    assertThat(bucket.reserve()).isEqualTo(2 * SECOND + SECOND / 4);
+    // a shorter pause does not cut the running one short
+    bucket.pause(Duration.ofSeconds(1));
+    assertThat(bucket.reserve()).isEqualTo(2 * SECOND + SECOND / 2);
+
+    now.addAndGet(2 * SECOND);
+    assertThat(bucket.paused()).isFalse();
+  }
+
+  @Test
+  void neverHandsOutMoreThanBurstPlusRate() {
+    TokenBucket bucket = new TokenBucket(50, 5, now::get);
+    long[] due = new long[1000];
+    for (int i = 0; i < due.length; i++) {
+      // callers arrive in uneven clumps
+      now.addAndGet(i % 7 == 0 ? 40_000_000L : 0);
+      due[i] = now.get() + bucket.reserve();
+    }
+
+    // due times are ascending, so the tokens within one second are a contiguous range
+    for (int first = 0, last = 0; first < due.length; first++) {
+      while (last < due.length && due[last] < due[first] + SECOND) {
+        last++;
+      }
+      assertThat(last - first).isLessThanOrEqualTo(5 + 50);
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package de.dktutzer.tcgwatcher.data.service.scan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** The vector scan has to report exactly the cards the scalar scan reports. */
+class VectorNameScannerTest {
+
+  // multi-byte UTF-8 (ø, œ, é) next to ASCII, so needles and matches straddle lanes unevenly
+  private static final String[] SYLLABLES = {"a", "pi", "ka", "chu", "ø", "œu", "é", "ex", " ", "z"};
+
+  private final NameScanner scalar = new ScalarNameScanner();
+  private NameScanner vector;
+
+  @BeforeEach
+  void vectorScanner() {
+    assumeTrue(NameScanner.VectorSupport.AVAILABLE, "jdk.incubator.vector is not available");
+    vector = new VectorNameScanner();
+  }
+
+  @Test
+  void matchesTheScalarScanForRandomNamesAndNeedles() {
+    Random random = new Random(42);
+    for (int round = 0; round < 200; round++) {
+      Packed packed = packed(random, 1 + random.nextInt(300));
+      for (int query = 0; query < 20; query++) {
+        byte[] needle = query % 4 == 0
+            ? syllables(random, 1 + random.nextInt(3))
+            : slice(random, packed.data(), 1 + random.nextInt(query % 4 == 1 ? 4 : 90));
+        int from = random.nextInt(packed.cardCount());
+        int to = from + random.nextInt(packed.cardCount() - from + 1);
+        assertSameMatches(packed, from, to, needle);
+      }
+    }
+  }
+
+  @Test
+  void matchesTheScalarScanForNeedlesAtEveryOffsetAroundLaneBoundaries() {
+    Packed packed = packed(new Random(7), 400);
+    for (int boundary = 64; boundary < packed.data().length - 64; boundary += 64) {
+      for (int offset = boundary - 3; offset <= boundary + 3; offset++) {
+        for (int length : new int[]{1, 2, 3, 31, 32, 33, 64, 65}) {
+          int end = Math.min(packed.data().length, offset + length);
+          byte[] needle = Arrays.copyOfRange(packed.data(), offset, end);
+          assertSameMatches(packed, 0, packed.cardCount(), needle);
+        }
+      }
+    }
+  }
+
+  @Test
+  void matchesTheScalarScanForSingleBytesSeparatorsAndAccents() {
+    Packed packed = packed(new Random(3), 1_000);
+    for (String needle : new String[]{"a", "z", " ", "\n", "\nz", "u\np", "ø", "œu", "é", "éx",
+        "q", "pikachu"}) {
+      assertSameMatches(packed, 0, packed.cardCount(), needle.getBytes(StandardCharsets.UTF_8));
+      assertSameMatches(packed, 17, 517, needle.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void doesNotReportAMatchThatRunsIntoTheNextCard() {
+    Packed packed = pack(List.of(List.of("pika"), List.of("chu"), List.of("raichu")));
+
+    assertThat(scan(vector, packed, 0, 3, "a\nc".getBytes(StandardCharsets.UTF_8))).isEmpty();
+    assertThat(scan(vector, packed, 0, 3, "chu\n".getBytes(StandardCharsets.UTF_8)))
+        .containsExactly(1, 2);
+  }
+
+  private void assertSameMatches(Packed packed, int from, int to, byte[] needle) {
+    assertThat(scan(vector, packed, from, to, needle))
+        .as("needle '%s' in cards [%d, %d)", new String(needle, StandardCharsets.UTF_8), from, to)
+        .containsExactlyElementsOf(scan(scalar, packed, from, to, needle));
+  }
+
+  private static List<Integer> scan(NameScanner scanner, Packed packed, int from, int to,
+      byte[] needle) {
+    List<Integer> matches = new ArrayList<>();
+    scanner.scan(packed.data(), packed.starts(), from, to, needle, matches::add);
+    return matches;
+  }
+
+  private static Packed packed(Random random, int cardCount) {
+    List<List<String>> cards = new ArrayList<>();
+    for (int card = 0; card < cardCount; card++) {
+      cards.add(IntStream.range(0, 1 + random.nextInt(3))
+          .mapToObj(name -> new String(syllables(random, 1 + random.nextInt(12)),
+              StandardCharsets.UTF_8))
+          .toList());
+    }
+    return pack(cards);
+  }
+
+  // the layout of PackedNameColumn: newline terminated names, starts[card] the first byte
+  private static Packed pack(List<List<String>> cards) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int[] starts = new int[cards.size() + 1];
+    for (int card = 0; card < cards.size(); card++) {
+      starts[card] = out.size();
+      for (String name : cards.get(card)) {
+        out.writeBytes(name.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+      }
+    }
+    starts[cards.size()] = out.size();
+    return new Packed(out.toByteArray(), starts);
+  }
+
+  private static byte[] syllables(Random random, int count) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      text.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    }
+    return text.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  // may cut a multi-byte character or span name and card boundaries, both have to agree as well
+  private static byte[] slice(Random random, byte[] data, int length) {
+    int from = random.nextInt(data.length);
+    return Arrays.copyOfRange(data, from, Math.min(data.length, from + length));
+  }
+
+  private record Packed(byte[] data, int[] starts) {
+
+    int cardCount() {
+      return starts.length - 1;
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.dktutzer.tcgwatcher.data.data.entities.PokemonCardEntity;
+import de.dktutzer.tcgwatcher.data.data.model.CardResolution;
+import de.dktutzer.tcgwatcher.data.data.model.CatalogPage;
+import de.dktutzer.tcgwatcher.data.service.encoding.CatalogBinaryCodec;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class CatalogBinaryMessageConverterTest {
+
+  private final CatalogBinaryMessageConverter converter = new CatalogBinaryMessageConverter();
+
+  @Test
+  void writesPagesAsTableAndCursorHeader() throws IOException {
+    var card = new PokemonCardEntity();
+    card.setId("base1-4");
+    card.setNameEn("Charizard");
+    Type type = ResolvableType.forClassWithGenerics(CatalogPage.class, PokemonCardEntity.class)
+        .getType();
+    var output = new MockHttpOutputMessage();
+
+    assertThat(converter.canWrite(type, CatalogPage.class,
+        CatalogBinaryMessageConverter.MEDIA_TYPE)).isTrue();
+    converter.write(new CatalogPage<>(List.of(card), "cursor"), type,
+        CatalogBinaryMessageConverter.MEDIA_TYPE, output);
+
+    assertThat(output.getHeaders().getFirst(CatalogBinaryMessageConverter.NEXT_CURSOR_HEADER))
+        .isEqualTo("cursor");
+    assertThat(CatalogBinaryCodec.decode(CatalogBinaryCodec.CARDS, output.getBodyAsBytes()))
+        .singleElement()
+        .satisfies(decoded -> assertThat(decoded.getNameEn()).isEqualTo("Charizard"));
+  }
+
+  @Test
+  void lastPageHasNoCursor() throws IOException {
+    Type type = ResolvableType.forClassWithGenerics(CatalogPage.class, PokemonCardEntity.class)
+        .getType();
+    var output = new MockHttpOutputMessage();
+
+    converter.write(new CatalogPage<PokemonCardEntity>(List.of(), null), type,
+        CatalogBinaryMessageConverter.MEDIA_TYPE, output);
+
+    assertThat(output.getHeaders().containsHeader(CatalogBinaryMessageConverter.NEXT_CURSOR_HEADER))
+        .isFalse();
+    assertThat(CatalogBinaryCodec.decode(CatalogBinaryCodec.CARDS, output.getBodyAsBytes()))
+        .isEmpty();
+  }
+
+  @Test
+  void hasNoFormForOtherTypes() {
+    Type type = ResolvableType.forClassWithGenerics(List.class, CardResolution.class).getType();
+
+    assertThat(converter.canWrite(type, List.class, CatalogBinaryMessageConverter.MEDIA_TYPE))
+        .isFalse();
+    assertThat(converter.canWrite(CardResolution.class, CardResolution.class,
+        CatalogBinaryMessageConverter.MEDIA_TYPE)).isFalse();
+  }
+}
@@ -0,0 +1,19 @@
+package de.dktutzer.tcgwatcher.data.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class EntityTagsTest {
+
+  @Test
+  void ifNoneMatch() {
+    String etag = "\"0123456789abcdef\"";
+
+    assertThat(EntityTags.matches(etag, etag)).isTrue();
+    assertThat(EntityTags.matches("\"other\", W/" + etag, etag)).isTrue();
+    assertThat(EntityTags.matches("*", etag)).isTrue();
+    assertThat(EntityTags.matches("\"other\"", etag)).isFalse();
+    assertThat(EntityTags.matches(null, etag)).isFalse();
+  }
+}